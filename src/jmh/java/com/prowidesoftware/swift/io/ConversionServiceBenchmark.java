@@ -0,0 +1,65 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io;
+
+import com.prowidesoftware.swift.model.SwiftMessage;
+import com.prowidesoftware.swift.utils.Lib;
+import org.apache.commons.lang3.Validate;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion of representative MT messages from the benchmark corpus between the FIN format and the internal XML
+ * representation.
+ *
+ * @since 8.0.2
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConversionServiceBenchmark {
+
+	@Param({"corpus/mt103.fin", "corpus/mt202cov.fin", "corpus/mt540.fin", "corpus/mt564.fin", "corpus/mt940.fin"})
+	public String sample;
+
+	private final ConversionService service = new ConversionService();
+	private SwiftMessage message;
+	private String xml;
+
+	@Setup
+	public void setup() throws IOException {
+		final String fin = Lib.readResource(sample);
+		Validate.notEmpty(fin, "sample not found: " + sample);
+		this.message = SwiftMessage.parse(fin);
+		this.xml = service.getXml(message);
+	}
+
+	@Benchmark
+	public String getXml() {
+		return service.getXml(message);
+	}
+
+	@Benchmark
+	public String getFIN() {
+		return service.getFIN(xml);
+	}
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io.parser;
+
+import com.prowidesoftware.swift.model.SwiftMessage;
+import com.prowidesoftware.swift.model.mt.AbstractMT;
+import com.prowidesoftware.swift.utils.Lib;
+import org.apache.commons.lang3.Validate;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of representative MT messages from the benchmark corpus, and their conversion into specific MT classes.
+ *
+ * @since 8.0.2
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MtParseBenchmark {
+
+	@Param({"corpus/mt103.fin", "corpus/mt202cov.fin", "corpus/mt540.fin", "corpus/mt564.fin", "corpus/mt940.fin"})
+	public String sample;
+
+	private String fin;
+	private SwiftMessage message;
+
+	@Setup
+	public void setup() throws IOException {
+		this.fin = Lib.readResource(sample);
+		Validate.notEmpty(fin, "sample not found: " + sample);
+		this.message = new SwiftParser(fin).message();
+	}
+
+	@Benchmark
+	public SwiftMessage message() throws IOException {
+		return new SwiftParser(fin).message();
+	}
+
+	@Benchmark
+	public AbstractMT toMT() {
+		return message.toMT();
+	}
+
+}
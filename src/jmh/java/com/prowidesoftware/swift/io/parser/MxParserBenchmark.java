@@ -0,0 +1,61 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io.parser;
+
+import com.prowidesoftware.swift.model.MxId;
+import com.prowidesoftware.swift.model.MxNode;
+import com.prowidesoftware.swift.utils.Lib;
+import org.apache.commons.lang3.Validate;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing and message type detection of representative MX messages from the benchmark corpus.
+ *
+ * @since 8.0.2
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MxParserBenchmark {
+
+	@Param({"corpus/pacs.008.xml", "corpus/camt.053.xml"})
+	public String sample;
+
+	private String xml;
+
+	@Setup
+	public void setup() throws IOException {
+		this.xml = Lib.readResource(sample);
+		Validate.notEmpty(xml, "sample not found: " + sample);
+	}
+
+	@Benchmark
+	public MxNode parse() {
+		return new MxParser(xml).parse();
+	}
+
+	@Benchmark
+	public MxId detectMessage() {
+		return new MxParser(xml).detectMessage();
+	}
+
+}
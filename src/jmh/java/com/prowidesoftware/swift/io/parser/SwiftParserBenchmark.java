@@ -0,0 +1,86 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io.parser;
+
+import com.prowidesoftware.swift.model.SwiftMessage;
+import com.prowidesoftware.swift.utils.Lib;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the buffered block scanning against the legacy char by char scan in the {@link SwiftParser}, and the
+ * byte level scan of encoded input against decoding it into a String first.
+ *
+ * @since 8.0.2
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SwiftParserBenchmark {
+
+	@Param({"MT320.txt", "smallStatement.STA"})
+	public String sample;
+
+	private String fin;
+	private byte[] bytes;
+
+	@Setup
+	public void setup() throws IOException {
+		this.fin = Lib.readResource(sample);
+		this.bytes = fin.getBytes(StandardCharsets.ISO_8859_1);
+	}
+
+	/**
+	 * Default parse, using the buffered scan mode
+	 */
+	@Benchmark
+	public SwiftMessage parse() throws IOException {
+		return SwiftMessage.parse(fin);
+	}
+
+	/**
+	 * Parse with the legacy char by char scan mode
+	 */
+	@Benchmark
+	public SwiftMessage parseLegacyScan() throws IOException {
+		final SwiftParser parser = new SwiftParser(fin);
+		parser.getConfiguration().setBufferedScan(false);
+		return parser.message();
+	}
+
+	/**
+	 * Parse of the encoded input with the byte level scan
+	 */
+	@Benchmark
+	public SwiftMessage parseBytes() throws IOException {
+		return new SwiftParser(bytes, StandardCharsets.ISO_8859_1).message();
+	}
+
+	/**
+	 * Parse of the encoded input decoded into a String first
+	 */
+	@Benchmark
+	public SwiftMessage parseDecodedBytes() throws IOException {
+		return new SwiftParser(new String(bytes, StandardCharsets.ISO_8859_1)).message();
+	}
+
+}
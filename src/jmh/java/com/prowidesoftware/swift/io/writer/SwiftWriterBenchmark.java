@@ -0,0 +1,59 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io.writer;
+
+import com.prowidesoftware.swift.model.SwiftMessage;
+import com.prowidesoftware.swift.utils.Lib;
+import org.apache.commons.lang3.Validate;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of representative MT messages from the benchmark corpus into FIN format.
+ *
+ * @since 8.0.2
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SwiftWriterBenchmark {
+
+	@Param({"corpus/mt103.fin", "corpus/mt202cov.fin", "corpus/mt540.fin", "corpus/mt564.fin", "corpus/mt940.fin"})
+	public String sample;
+
+	private SwiftMessage message;
+
+	@Setup
+	public void setup() throws IOException {
+		final String fin = Lib.readResource(sample);
+		Validate.notEmpty(fin, "sample not found: " + sample);
+		this.message = SwiftMessage.parse(fin);
+	}
+
+	@Benchmark
+	public String writeMessage() {
+		final StringWriter writer = new StringWriter();
+		SwiftWriter.writeMessage(message, writer);
+		return writer.toString();
+	}
+
+}
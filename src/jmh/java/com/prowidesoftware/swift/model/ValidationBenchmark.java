@@ -0,0 +1,56 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * IBAN and BIC validation.
+ *
+ * @since 8.0.2
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class IbanSample {
+		@Param({"DE89370400440532013000", "GB29NWBK60161331926819", "FR1420041010050500013M02606"})
+		public String iban;
+	}
+
+	@State(Scope.Benchmark)
+	public static class BicSample {
+		@Param({"BANKDEFFXXX", "BANKUS33"})
+		public String bic;
+	}
+
+	@Benchmark
+	public IbanValidationResult validateIban(final IbanSample sample) {
+		return new IBAN(sample.iban).validate();
+	}
+
+	@Benchmark
+	public BicValidationResult validateBic(final BicSample sample) {
+		return new BIC(sample.bic).validate();
+	}
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.model.field;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creation of specific field instances by name, as done when converting tags into fields.
+ *
+ * @since 8.0.2
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FieldBenchmark {
+
+	private static final String[][] FIELDS = {
+			{"20", "REF2019041500001"},
+			{"32A", "190415USD125000,00"},
+			{"50K", "/DE89370400440532013000\nACME GMBH\nHAUPTSTRASSE 1"},
+			{"59", "/US12345678901234\nGLOBAL TRADING INC"},
+			{"98A", ":SETT//20190416"},
+			{"35B", "ISIN DE0005140008\nDEUTSCHE BANK AG NA O.N."},
+			{"61", "1904150415D125000,00NTRFREF2019041500001//BANKREF0001"},
+			{"71A", "SHA"}
+	};
+
+	/**
+	 * Creates one instance of each field in the sample set
+	 */
+	@Benchmark
+	@OperationsPerInvocation(8)
+	public void getField(final Blackhole bh) {
+		for (String[] f : FIELDS) {
+			bh.consume(Field.getField(f[0], f[1]));
+		}
+	}
+
+}
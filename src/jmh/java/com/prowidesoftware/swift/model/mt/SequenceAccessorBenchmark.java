@@ -0,0 +1,91 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.model.mt;
+
+import com.prowidesoftware.swift.model.mt.mt5xx.MT540;
+import com.prowidesoftware.swift.model.mt.mt5xx.MT564;
+import com.prowidesoftware.swift.utils.Lib;
+import org.apache.commons.lang3.Validate;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading all the sequences of 16R/16S structured messages through the generated sequence accessors.
+ *
+ * @since 8.0.2
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SequenceAccessorBenchmark {
+
+	/**
+	 * Whether the block 4 lookup index is enabled
+	 */
+	@Param({"false", "true"})
+	public boolean indexed;
+
+	private MT540 mt540;
+	private MT564 mt564;
+
+	@Setup
+	public void setup() throws IOException {
+		this.mt540 = MT540.parse(load("corpus/mt540.fin"));
+		this.mt564 = MT564.parse(load("corpus/mt564.fin"));
+		this.mt540.getSwiftMessage().getBlock4().setIndexed(this.indexed);
+		this.mt564.getSwiftMessage().getBlock4().setIndexed(this.indexed);
+	}
+
+	@Benchmark
+	public void mt540(final Blackhole bh) {
+		bh.consume(mt540.getSequenceA());
+		bh.consume(mt540.getSequenceA1List());
+		bh.consume(mt540.getSequenceB());
+		bh.consume(mt540.getSequenceC());
+		bh.consume(mt540.getSequenceC1List());
+		bh.consume(mt540.getSequenceE());
+		bh.consume(mt540.getSequenceE1List());
+		bh.consume(mt540.getSequenceE3List());
+		bh.consume(mt540.getSequenceFList());
+	}
+
+	@Benchmark
+	public void mt564(final Blackhole bh) {
+		bh.consume(mt564.getSequenceA());
+		bh.consume(mt564.getSequenceA1List());
+		bh.consume(mt564.getSequenceB());
+		bh.consume(mt564.getSequenceB2List());
+		bh.consume(mt564.getSequenceC());
+		bh.consume(mt564.getSequenceD());
+		bh.consume(mt564.getSequenceEList());
+		bh.consume(mt564.getSequenceE1List());
+		bh.consume(mt564.getSequenceE2List());
+		bh.consume(mt564.getSequenceF());
+	}
+
+	private static String load(final String sample) throws IOException {
+		final String fin = Lib.readResource(sample);
+		Validate.notEmpty(fin, "sample not found: " + sample);
+		return fin;
+	}
+
+}
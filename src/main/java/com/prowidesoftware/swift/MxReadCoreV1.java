@@ -18,12 +18,37 @@ package com.prowidesoftware.swift;
 import com.prowidesoftware.swift.io.parser.MxParser;
 import com.prowidesoftware.swift.model.MxId;
 import com.prowidesoftware.swift.model.mx.AbstractMX;
+import com.prowidesoftware.swift.model.mx.BusinessHeader;
+import com.prowidesoftware.swift.model.mx.JaxbContextCache;
 import com.prowidesoftware.swift.model.mx.MxRead;
+import com.prowidesoftware.swift.model.mx.dic.ApplicationHeader;
+import com.prowidesoftware.swift.model.mx.dic.BusinessApplicationHeaderV01;
+import com.prowidesoftware.swift.utils.SafeXmlUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+
+import javax.xml.bind.JAXBException;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.util.StreamReaderDelegate;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
 
 /**
- * For the moment this is only available in the Prowide Integrator version.
- * 
- * To parse XML into the generic MxNode structure, or to parse business headers check {@link MxParser}
+ * Prowide Core implementation of the MX parsing.
+ *
+ * <p>The XML is read with a StAX reader; the AppHdr, if present before the Document, is unmarshalled into the
+ * message {@link BusinessHeader}, and the Document is unmarshalled into the target class with the JAXB context
+ * taken from the {@link JaxbContextCache}. No intermediate String or DOM is created, so messages can be read
+ * directly from a {@link Reader} or an {@link InputStream}. This class is thread safe.
+ *
+ * <p>To parse XML into the generic MxNode structure, or to parse business headers check {@link MxParser}
  */
 /*
  * 2015.03 miguel
@@ -31,19 +56,166 @@ import com.prowidesoftware.swift.model.mx.MxRead;
  * which was supposed to be here initially
  */
 public class MxReadCoreV1 implements MxRead {
+	private static final transient java.util.logging.Logger log = java.util.logging.Logger.getLogger(MxReadCoreV1.class.getName());
+
+	private static final String MX_PACKAGE = "com.prowidesoftware.swift.model.mx.Mx";
+
+	/**
+	 * Specific MX classes found in the classpath, by identifier
+	 */
+	private static final Map<String, Optional<Class<? extends AbstractMX>>> mxClasses = new ConcurrentHashMap<>();
 
 	/**
-	 * For the moment this is only available in the Prowide Integrator version
+	 * Parses the XML into the target class
+	 * @return the parsed message or null if the content could not be parsed
+	 * @see #read(Class, Reader, Class[])
 	 */
 	public AbstractMX read(final Class<? extends AbstractMX> targetClass, final String xml, final Class<? extends Object>[] classes) {
-		throw new UnsupportedOperationException("For the moment this is only available in the integrator version");
+		if (StringUtils.isBlank(xml)) {
+			return null;
+		}
+		return read(targetClass, new StringReader(xml), classes);
+	}
+
+	/**
+	 * Parses the XML read from the reader into the target class.
+	 * <p>The content may be a Document alone or the Document preceded by an AppHdr, within any root element.
+	 *
+	 * @param targetClass the specific MX class
+	 * @param reader the XML content, it is not closed
+	 * @param classes the classes bound by the message; if null or empty the target class is used
+	 * @return the parsed message or null if the content could not be parsed
+	 * @since 8.0.2
+	 */
+	public AbstractMX read(final Class<? extends AbstractMX> targetClass, final Reader reader, final Class<?>[] classes) {
+		Validate.notNull(reader, "reader must not be null");
+		try {
+			return read(targetClass, SafeXmlUtils.sharedInputFactory().createXMLStreamReader(reader), classes);
+		} catch (final XMLStreamException e) {
+			log.log(Level.SEVERE, "Error reading XML", e);
+		}
+		return null;
 	}
 
 	/**
-	 * For the moment this is only available in the Prowide Integrator version
+	 * Parses the XML read from the stream into the target class.
+	 * <p>The encoding is taken from the XML declaration.
+	 *
+	 * @param targetClass the specific MX class
+	 * @param stream the XML content, it is not closed
+	 * @param classes the classes bound by the message; if null or empty the target class is used
+	 * @return the parsed message or null if the content could not be parsed
+	 * @since 8.0.2
+	 * @see #read(Class, Reader, Class[])
+	 */
+	public AbstractMX read(final Class<? extends AbstractMX> targetClass, final InputStream stream, final Class<?>[] classes) {
+		Validate.notNull(stream, "stream must not be null");
+		try {
+			return read(targetClass, SafeXmlUtils.sharedInputFactory().createXMLStreamReader(stream), classes);
+		} catch (final XMLStreamException e) {
+			log.log(Level.SEVERE, "Error reading XML", e);
+		}
+		return null;
+	}
+
+	/**
+	 * Parses the XML into the specific MX class for the identifier.
+	 * <p>The specific MX classes are part of Prowide Integrator, if the class is not found in the classpath this
+	 * method returns null.
+	 *
+	 * @param xml the message content
+	 * @param id optional identification of the MX type; autodetected from namespace if null
+	 * @return the parsed message or null if the content could not be parsed
 	 */
 	public AbstractMX read(String xml, MxId id) {
-		throw new UnsupportedOperationException("For the moment this is only available in the integrator version");
+		if (StringUtils.isBlank(xml)) {
+			return null;
+		}
+		final MxId mxId = id != null ? id : new MxParser(xml).detectMessage();
+		if (mxId == null) {
+			log.warning("Cannot detect the MX type from the XML content");
+			return null;
+		}
+		final Class<? extends AbstractMX> targetClass = mxClass(mxId);
+		if (targetClass == null) {
+			log.warning("Class for " + mxId.id() + " not found in classpath, parsing of specific MX is supported in Prowide Integrator");
+			return null;
+		}
+		try {
+			return read(targetClass, xml, targetClass.newInstance().getClasses());
+		} catch (final ReflectiveOperationException e) {
+			log.log(Level.SEVERE, "Error creating " + targetClass.getName(), e);
+		}
+		return null;
+	}
+
+	private AbstractMX read(final Class<? extends AbstractMX> targetClass, final XMLStreamReader reader, final Class<?>[] classes) {
+		Validate.notNull(targetClass, "target class must not be null");
+		try {
+			BusinessHeader header = null;
+			while (reader.hasNext()) {
+				if (reader.getEventType() != XMLStreamConstants.START_ELEMENT) {
+					reader.next();
+				} else {
+					final String localName = reader.getLocalName();
+					if (MxParser.HEADER_LOCALNAME.equals(localName) && header == null) {
+						// the unmarshaller leaves the reader after the header end element
+						header = header(reader);
+					} else if (MxParser.DOCUMENT_LOCALNAME.equals(localName)) {
+						final Class<?>[] bound = classes != null && classes.length > 0 ? classes : new Class<?>[]{targetClass};
+						final AbstractMX result = JaxbContextCache.unmarshal(reader, targetClass, bound).getValue();
+						if (header != null) {
+							result.setBusinessHeader(header);
+						}
+						return result;
+					} else {
+						reader.next();
+					}
+				}
+			}
+			log.warning("Document element not found in XML content");
+		} catch (final XMLStreamException | JAXBException e) {
+			log.log(Level.SEVERE, "Error reading XML", e);
+		} finally {
+			try {
+				reader.close();
+			} catch (final XMLStreamException ignored) {
+				// the underlying source is not closed anyway
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Unmarshalls the AppHdr at the reader position, with the header version matching its namespace.
+	 * <p>The header model is not namespace qualified, so the elements are read ignoring their namespace, as
+	 * done by {@link MxParser} for the header.
+	 */
+	private static BusinessHeader header(final XMLStreamReader reader) throws JAXBException {
+		final boolean bah = StringUtils.equals(reader.getNamespaceURI(), BusinessHeader.NAMESPACE_BAH);
+		final XMLStreamReader unqualified = new StreamReaderDelegate(reader) {
+			@Override
+			public String getNamespaceURI() {
+				return "";
+			}
+		};
+		if (bah) {
+			return new BusinessHeader(JaxbContextCache.unmarshal(unqualified, BusinessApplicationHeaderV01.class, BusinessApplicationHeaderV01.class).getValue());
+		}
+		return new BusinessHeader(JaxbContextCache.unmarshal(unqualified, ApplicationHeader.class, ApplicationHeader.class).getValue());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Class<? extends AbstractMX> mxClass(final MxId id) {
+		final String className = MX_PACKAGE + id.camelized();
+		return mxClasses.computeIfAbsent(className, k -> {
+			try {
+				final Class<?> c = Class.forName(k);
+				return AbstractMX.class.isAssignableFrom(c) ? Optional.of((Class<? extends AbstractMX>) c) : Optional.empty();
+			} catch (final ClassNotFoundException e) {
+				return Optional.empty();
+			}
+		}).orElse(null);
 	}
 
 }
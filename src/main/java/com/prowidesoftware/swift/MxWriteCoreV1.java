@@ -15,20 +15,70 @@
  */
 package com.prowidesoftware.swift;
 
+import com.prowidesoftware.swift.io.parser.MxParser;
 import com.prowidesoftware.swift.model.MxNode;
 import com.prowidesoftware.swift.model.mx.AbstractMX;
 import com.prowidesoftware.swift.model.mx.BusinessHeader;
+import com.prowidesoftware.swift.model.mx.JaxbContextCache;
 import com.prowidesoftware.swift.model.mx.MxWrite;
+import com.prowidesoftware.swift.model.mx.XmlEventWriter;
+import org.apache.commons.lang3.Validate;
+
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.JAXBException;
+import javax.xml.namespace.QName;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.logging.Level;
 
 /**
- * For the moment this is only available in the Prowide Integrator version.
- * 
- * To create the XML from the generic structure check {@link MxNode} and {@link BusinessHeader}
+ * Prowide Core implementation of the MX serialization.
+ *
+ * <p>The Document is marshalled with the JAXB context of the message classes, taken from the {@link JaxbContextCache},
+ * straight into an {@link XmlEventWriter}, so the XML can be written to any {@link Writer} with no intermediate DOM.
+ * This class is thread safe.
+ *
+ * <p>To create the XML from the generic structure check {@link MxNode} and {@link BusinessHeader}
  */
 public class MxWriteCoreV1 implements MxWrite {
+	private static final transient java.util.logging.Logger log = java.util.logging.Logger.getLogger(MxWriteCoreV1.class.getName());
 
+	/**
+	 * Serializes the message Document into an XML string
+	 * @return the XML or null if errors occur during serialization
+	 * @see #write(Writer, String, AbstractMX, Class[], String, boolean)
+	 */
 	public String message(String namespace, AbstractMX obj, @SuppressWarnings("rawtypes") Class[] classes, String prefix, boolean includeXMLDeclaration) {
-		throw new UnsupportedOperationException("For the moment this is only available in the integrator version");
+		final StringWriter sw = new StringWriter();
+		try {
+			write(sw, namespace, obj, classes, prefix, includeXMLDeclaration);
+			return sw.getBuffer().toString();
+		} catch (final JAXBException e) {
+			log.log(Level.SEVERE, "Error writing XML:" + e + "\n for message: " + obj, e);
+		}
+		return null;
+	}
+
+	/**
+	 * Serializes the message Document into the given writer
+	 *
+	 * @param writer where the XML is written, it is flushed but not closed
+	 * @param namespace the Document namespace
+	 * @param obj the message to serialize
+	 * @param classes the classes bound by the message; if null or empty the message class is used
+	 * @param prefix optional prefix for the namespace (empty by default)
+	 * @param includeXMLDeclaration true to include the XML declaration
+	 * @throws JAXBException if an error occurs marshalling the message
+	 * @throws IllegalArgumentException if the writer or the message are null
+	 * @since 8.0.2
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public void write(final Writer writer, final String namespace, final AbstractMX obj, final Class[] classes, final String prefix, boolean includeXMLDeclaration) throws JAXBException {
+		Validate.notNull(writer, "writer must not be null");
+		Validate.notNull(obj, "message to write must not be null");
+		final JAXBElement element = new JAXBElement(new QName(namespace, MxParser.DOCUMENT_LOCALNAME), obj.getClass(), null, obj);
+		JaxbContextCache.marshal(element, new XmlEventWriter(writer, prefix, includeXMLDeclaration, MxParser.DOCUMENT_LOCALNAME), true,
+				classes != null && classes.length > 0 ? classes : new Class[]{obj.getClass()});
 	}
 
 }
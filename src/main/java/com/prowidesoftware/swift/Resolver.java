@@ -18,25 +18,51 @@ package com.prowidesoftware.swift;
 import com.prowidesoftware.swift.model.mx.MxRead;
 import com.prowidesoftware.swift.model.mx.MxWrite;
 
+import java.lang.reflect.Constructor;
+import java.util.Iterator;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
 /**
  * Helper class to find implementation of interfaces
  *
+ * <p>The implementation classes are resolved once, and a new instance of the resolved class is created on each call.
+ * An implementation registered with {@link #register(MxRead)} or {@link #register(MxWrite)} takes precedence;
+ * otherwise the first provider found with the {@link ServiceLoader} is used, then the Prowide Integrator
+ * implementation if available in the classpath, and finally the Prowide Core implementation.
+ *
  * @since 7.6
  */
 public class Resolver {
+	private static final transient java.util.logging.Logger log = java.util.logging.Logger.getLogger(Resolver.class.getName());
+
+	private static final String INTEGRATOR_MX_WRITE = "com.prowidesoftware.swift.model.mx.MxWriteIntegartorV1";
+	private static final String INTEGRATOR_MX_READ = "com.prowidesoftware.swift.model.mx.MxReadIntegratorV1";
+
+	private static volatile MxWrite registeredMxWrite;
+	private static volatile MxRead registeredMxRead;
+	private static volatile Supplier<MxWrite> resolvedMxWrite;
+	private static volatile Supplier<MxRead> resolvedMxRead;
 
 	private Resolver() {}
-	
+
 	/**
 	 * Returns the available implementation of the MxWrite interface depending if the runtime is Prowide Core or Prowide Integrator.
 	 * @return a specific implementation of the MxWrite interface
 	 */
 	public static MxWrite mxWrite() {
-		try {
-			return (MxWrite) Class.forName("com.prowidesoftware.swift.model.mx.MxWriteIntegartorV1").newInstance();
-		} catch (Exception ignored) {
-			return new MxWriteCoreV1();
+		final MxWrite registered = registeredMxWrite;
+		if (registered != null) {
+			return registered;
+		}
+		Supplier<MxWrite> result = resolvedMxWrite;
+		if (result == null) {
+			result = resolve(MxWrite.class, INTEGRATOR_MX_WRITE, MxWriteCoreV1::new);
+			resolvedMxWrite = result;
 		}
+		return result.get();
 	}
 
 	/**
@@ -44,10 +70,80 @@ public class Resolver {
 	 * @return a specific implementation of the MxRead interface
 	 */
 	public static MxRead mxRead() {
+		final MxRead registered = registeredMxRead;
+		if (registered != null) {
+			return registered;
+		}
+		Supplier<MxRead> result = resolvedMxRead;
+		if (result == null) {
+			result = resolve(MxRead.class, INTEGRATOR_MX_READ, MxReadCoreV1::new);
+			resolvedMxRead = result;
+		}
+		return result.get();
+	}
+
+	/**
+	 * Sets the MxWrite implementation to use instead of the resolved one.
+	 * <p>The registered instance is returned by all calls, so it must be thread safe.
+	 * @param mxWrite the implementation to use or null to use the resolved one again
+	 * @since 8.0.2
+	 */
+	public static void register(final MxWrite mxWrite) {
+		registeredMxWrite = mxWrite;
+	}
+
+	/**
+	 * Sets the MxRead implementation to use instead of the resolved one.
+	 * <p>The registered instance is returned by all calls, so it must be thread safe.
+	 * @param mxRead the implementation to use or null to use the resolved one again
+	 * @since 8.0.2
+	 */
+	public static void register(final MxRead mxRead) {
+		registeredMxRead = mxRead;
+	}
+
+	/**
+	 * Finds a service provider, or the given implementation class by name
+	 * @return a factory for the found implementation, or the default factory if none is available
+	 */
+	private static <T> Supplier<T> resolve(final Class<T> service, final String className, final Supplier<T> defaultFactory) {
 		try {
-			return (MxRead) Class.forName("com.prowidesoftware.swift.model.mx.MxReadIntegratorV1").newInstance();
-		} catch (Exception ignored) {
-			return new MxReadCoreV1();
+			final Iterator<T> it = ServiceLoader.load(service, Resolver.class.getClassLoader()).iterator();
+			if (it.hasNext()) {
+				final Class<?> provider = it.next().getClass();
+				log.fine("Using " + provider.getName() + " service provider for " + service.getSimpleName());
+				return factory(service, provider, defaultFactory);
+			}
+		} catch (final ServiceConfigurationError e) {
+			log.log(Level.WARNING, "Error loading " + service.getSimpleName() + " service provider", e);
+		} catch (final ReflectiveOperationException e) {
+			log.log(Level.WARNING, "Error creating " + service.getSimpleName() + " service provider", e);
 		}
+		try {
+			return factory(service, Class.forName(className), defaultFactory);
+		} catch (final ClassNotFoundException ignored) {
+			// not available in the classpath
+		} catch (final Exception e) {
+			log.log(Level.WARNING, "Error creating " + className, e);
+		}
+		return defaultFactory;
+	}
+
+	/**
+	 * Creates a factory calling the implementation no-arg constructor, checking first an instance can be created
+	 * @throws ReflectiveOperationException if the implementation cannot be instantiated
+	 * @throws ClassCastException if the implementation is not of the service type
+	 */
+	private static <T> Supplier<T> factory(final Class<T> service, final Class<?> implementation, final Supplier<T> defaultFactory) throws ReflectiveOperationException {
+		final Constructor<? extends T> constructor = implementation.asSubclass(service).getConstructor();
+		constructor.newInstance();
+		return () -> {
+			try {
+				return constructor.newInstance();
+			} catch (final ReflectiveOperationException e) {
+				log.log(Level.WARNING, "Error creating " + implementation.getName(), e);
+				return defaultFactory.get();
+			}
+		};
 	}
 }
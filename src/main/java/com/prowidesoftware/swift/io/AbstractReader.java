@@ -23,6 +23,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 
 import java.io.*;
+import java.nio.charset.Charset;
 import java.util.Iterator;
 import java.util.logging.Logger;
 
@@ -53,7 +54,7 @@ public abstract class AbstractReader implements Iterator<String>, Iterable<Strin
 	}
 
 	/**
-	 * Constructs a reader to read messages from a stream
+	 * Constructs a reader to read messages from a stream using the platform default charset
 	 * @throws IllegalArgumentException if stream is null
 	 */
 	public AbstractReader(final InputStream stream) {
@@ -61,6 +62,17 @@ public abstract class AbstractReader implements Iterator<String>, Iterable<Strin
 		this.reader = new InputStreamReader(stream);
 	}
 
+	/**
+	 * Constructs a reader to read messages from a stream with the given charset
+	 * @throws IllegalArgumentException if stream or charset are null
+	 * @since 8.0.2
+	 */
+	public AbstractReader(final InputStream stream, final Charset charset) {
+		Validate.notNull(stream, "stream must not be null");
+		Validate.notNull(charset, "charset must not be null");
+		this.reader = new InputStreamReader(stream, charset);
+	}
+
 	/**
 	 * Constructs a reader to read messages from a file
 	 * @throws IllegalArgumentException if file is null
@@ -0,0 +1,350 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io;
+
+import com.prowidesoftware.swift.io.parser.SwiftParser;
+import com.prowidesoftware.swift.io.parser.SwiftParserConfiguration;
+import com.prowidesoftware.swift.model.SwiftMessage;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+
+import java.nio.ByteBuffer;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * Push based parser for MT messages received in chunks, for example from a socket or a message queue.
+ *
+ * <p>The content is passed to the parser with the feed methods as it arrives, in chunks of any size, and each message
+ * is delivered to the listener as soon as it is complete. The parser keeps track of the block nesting across chunks,
+ * including the [LF]-} end of the text block and the service messages with the original message appended, so a
+ * message is never split in the middle of a block.
+ *
+ * <p>A message is complete when:
+ * <ul>
+ *     <li>its system trailer block (block S) ends</li>
+ *     <li>a new block 1 starts after a complete user message, or after the original message appended to a service
+ *     message such as an ACK</li>
+ *     <li>an RJE message separator ($) is found between blocks</li>
+ *     <li>{@link #flush()} is called, for example at the end of a frame or when the connection is closed</li>
+ * </ul>
+ *
+ * <p>Bytes are decoded as ISO-8859-1, that is one character per byte, so a chunk may end at any byte. Blank content
+ * between messages is ignored.
+ *
+ * <pre>
+ * IncrementalMessageParser parser = new IncrementalMessageParser(msg -&gt; ...);
+ * // on each read
+ * parser.feed(buffer);
+ * // on end of input
+ * parser.flush();
+ * </pre>
+ *
+ * <p>The parser never blocks nor waits for more content, the listener is called from the thread feeding the content.
+ * It is not thread safe, each connection or queue consumer should use its own instance.
+ *
+ * @since 8.0.2
+ */
+public class IncrementalMessageParser {
+	private static final transient java.util.logging.Logger log = java.util.logging.Logger.getLogger(IncrementalMessageParser.class.getName());
+
+	/**
+	 * Outside any block
+	 */
+	private static final int TOP = 0;
+	/**
+	 * Reading the block identifier
+	 */
+	private static final int BLOCK_ID = 1;
+	/**
+	 * Block 4 content start, not yet known if it is a text block
+	 */
+	private static final int BLOCK4_START = 2;
+	/**
+	 * Text block content, only [LF]-} ends the block
+	 */
+	private static final int TEXT = 3;
+	/**
+	 * Block content with nested brackets
+	 */
+	private static final int NESTED = 4;
+
+	private final Consumer<SwiftMessage> listener;
+	private final BiConsumer<String, Exception> errorHandler;
+	private SwiftParserConfiguration configuration = new SwiftParserConfiguration();
+
+	private final StringBuilder buffer = new StringBuilder(1024);
+	private int state = TOP;
+	private int depth = 0;
+	private int blockStart = 0;
+	private char blockId = 0;
+	private int block1Count = 0;
+	private boolean serviceMessage = false;
+
+	/**
+	 * Creates a parser that logs and skips the messages that cannot be parsed
+	 * @param listener receives each parsed message
+	 * @throws IllegalArgumentException if the listener is null
+	 */
+	public IncrementalMessageParser(final Consumer<SwiftMessage> listener) {
+		this(listener, (fin, e) -> log.log(Level.WARNING, "Skipping message that could not be parsed: " + fin, e));
+	}
+
+	/**
+	 * Creates a parser with a custom handler for the messages that cannot be parsed
+	 * @param listener receives each parsed message
+	 * @param errorHandler receives the raw content and the exception of each message that cannot be parsed
+	 * @throws IllegalArgumentException if any parameter is null
+	 */
+	public IncrementalMessageParser(final Consumer<SwiftMessage> listener, final BiConsumer<String, Exception> errorHandler) {
+		Validate.notNull(listener, "listener must not be null");
+		Validate.notNull(errorHandler, "errorHandler must not be null");
+		this.listener = listener;
+		this.errorHandler = errorHandler;
+	}
+
+	/**
+	 * Feeds the remaining bytes of the buffer, leaving the buffer position at its limit
+	 * @param bytes ISO-8859-1 or ASCII encoded content
+	 * @throws IllegalArgumentException if the buffer is null
+	 */
+	public void feed(final ByteBuffer bytes) {
+		Validate.notNull(bytes, "bytes must not be null");
+		if (bytes.hasArray()) {
+			feed(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+			bytes.position(bytes.limit());
+		} else {
+			while (bytes.hasRemaining()) {
+				accept((char) (bytes.get() & 0xFF));
+			}
+		}
+	}
+
+	/**
+	 * Feeds a range of bytes
+	 * @param bytes ISO-8859-1 or ASCII encoded content
+	 * @param offset position of the first byte to feed
+	 * @param length amount of bytes to feed
+	 * @throws IllegalArgumentException if the array is null
+	 * @throws IndexOutOfBoundsException if the range is not within the array bounds
+	 */
+	public void feed(final byte[] bytes, final int offset, final int length) {
+		Validate.notNull(bytes, "bytes must not be null");
+		checkRange(bytes.length, offset, length);
+		for (int i = offset; i < offset + length; i++) {
+			accept((char) (bytes[i] & 0xFF));
+		}
+	}
+
+	/**
+	 * Feeds a range of characters
+	 * @param chars the content
+	 * @param offset position of the first character to feed
+	 * @param length amount of characters to feed
+	 * @throws IllegalArgumentException if the array is null
+	 * @throws IndexOutOfBoundsException if the range is not within the array bounds
+	 */
+	public void feed(final char[] chars, final int offset, final int length) {
+		Validate.notNull(chars, "chars must not be null");
+		checkRange(chars.length, offset, length);
+		for (int i = offset; i < offset + length; i++) {
+			accept(chars[i]);
+		}
+	}
+
+	/**
+	 * Feeds the characters of the given sequence
+	 * @param chars the content
+	 * @throws IllegalArgumentException if the parameter is null
+	 */
+	public void feed(final CharSequence chars) {
+		Validate.notNull(chars, "chars must not be null");
+		for (int i = 0; i < chars.length(); i++) {
+			accept(chars.charAt(i));
+		}
+	}
+
+	/**
+	 * Parses and delivers the pending content, if any, as a message even if it is not complete.
+	 * <p>Use it when the end of a message is known by other means, such as the end of a frame, or at the end of the
+	 * input. An incomplete block is handled as in {@link SwiftParser#message()}.
+	 */
+	public void flush() {
+		emit(this.buffer.length());
+	}
+
+	/**
+	 * Discards the pending content without parsing it, for example when the connection is reset
+	 */
+	public void reset() {
+		this.buffer.setLength(0);
+		this.state = TOP;
+		this.depth = 0;
+		this.block1Count = 0;
+		this.serviceMessage = false;
+	}
+
+	/**
+	 * @return the amount of characters received and not yet delivered as part of a message
+	 */
+	public int getPendingLength() {
+		return this.buffer.length();
+	}
+
+	private void accept(final char c) {
+		switch (this.state) {
+			case TOP:
+				if (c == '{') {
+					this.blockStart = this.buffer.length();
+					this.blockId = 0;
+					this.depth = 1;
+					this.state = BLOCK_ID;
+				} else if (c == '$') {
+					// RJE message separator
+					flush();
+					return;
+				} else if (this.buffer.length() == 0 && Character.isWhitespace(c)) {
+					return;
+				}
+				this.buffer.append(c);
+				break;
+			case BLOCK_ID:
+				if (this.blockId == 0) {
+					this.blockId = c;
+					if (c == '1' && isComplete()) {
+						// a new message starts, the block start is kept
+						emit(this.blockStart);
+					}
+				}
+				this.buffer.append(c);
+				if (c == ':') {
+					this.state = this.blockId == '4' ? BLOCK4_START : NESTED;
+				} else {
+					nested(c);
+				}
+				break;
+			case BLOCK4_START:
+				// the first ':' or '{' tells if the block contains text fields or a list of tags
+				this.buffer.append(c);
+				if (c == ':') {
+					this.state = TEXT;
+				} else if (c == '{' || c == '}') {
+					this.state = NESTED;
+					nested(c);
+				}
+				break;
+			case TEXT:
+				this.buffer.append(c);
+				final int len = this.buffer.length();
+				if (c == '}' && this.buffer.charAt(len - 2) == '-' && this.buffer.charAt(len - 3) == '\n') {
+					endBlock();
+				}
+				break;
+			default:
+				this.buffer.append(c);
+				nested(c);
+				break;
+		}
+	}
+
+	private void nested(final char c) {
+		if (c == '{') {
+			this.depth++;
+		} else if (c == '}' && --this.depth == 0) {
+			endBlock();
+		}
+	}
+
+	private void endBlock() {
+		this.state = TOP;
+		this.depth = 0;
+		if (this.blockId == '1' && this.block1Count++ == 0) {
+			// {1:F21... the service id follows the application id
+			final int serviceIdStart = this.blockStart + 4;
+			this.serviceMessage = this.buffer.length() > serviceIdStart + 2
+					&& !"01".equals(this.buffer.substring(serviceIdStart, serviceIdStart + 2));
+		} else if (this.blockId == 'S' && isComplete()) {
+			flush();
+		}
+	}
+
+	/**
+	 * @return true if the pending content is a complete message, a user message or a service message with the
+	 * original message appended
+	 */
+	private boolean isComplete() {
+		return this.block1Count > 1 || this.block1Count == 1 && !this.serviceMessage;
+	}
+
+	/**
+	 * Parses and delivers the content up to the given position, keeping the rest as pending content
+	 */
+	private void emit(final int end) {
+		String fin = this.buffer.substring(0, end);
+		if (this.state == TOP || end < this.buffer.length()) {
+			// content after the last block
+			fin = StringUtils.stripEnd(fin, null);
+		}
+		if (end < this.buffer.length()) {
+			// the block being read is kept as the start of the next message
+			this.blockStart -= end;
+		} else {
+			this.state = TOP;
+			this.depth = 0;
+		}
+		this.buffer.delete(0, end);
+		this.block1Count = 0;
+		this.serviceMessage = false;
+		if (StringUtils.isBlank(fin)) {
+			return;
+		}
+		final SwiftMessage message;
+		try {
+			final SwiftParser parser = new SwiftParser(fin);
+			parser.setConfiguration(this.configuration);
+			message = parser.message();
+		} catch (final Exception e) {
+			this.errorHandler.accept(fin, e);
+			return;
+		}
+		this.listener.accept(message);
+	}
+
+	private static void checkRange(final int size, final int offset, final int length) {
+		if (offset < 0 || length < 0 || offset + length > size) {
+			throw new IndexOutOfBoundsException("offset " + offset + " and length " + length + " out of bounds for " + size);
+		}
+	}
+
+	/**
+	 * @return the configuration used to parse each message
+	 */
+	public SwiftParserConfiguration getConfiguration() {
+		return configuration;
+	}
+
+	/**
+	 * Sets the configuration used to parse each message
+	 * @param configuration the parser configuration
+	 * @throws IllegalArgumentException if the configuration is null
+	 */
+	public void setConfiguration(final SwiftParserConfiguration configuration) {
+		Validate.notNull(configuration, "configuration must not be null");
+		this.configuration = configuration;
+	}
+
+}
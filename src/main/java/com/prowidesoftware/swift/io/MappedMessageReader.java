@@ -0,0 +1,356 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io;
+
+import com.prowidesoftware.ProwideException;
+import org.apache.commons.lang3.Validate;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+
+/**
+ * Reader for large RJE and PPC files that maps the file in memory instead of reading it through a character stream.
+ *
+ * <p>The file is mapped in read only regions, and the message boundaries, the RJE split char or the PPC begin and end
+ * markers, are found scanning the mapped bytes. {@link #nextSlice()} returns each message as a {@link Slice}, a view
+ * over the mapped bytes with its file offset, so the file can be indexed or skipped with no copy into the heap; the
+ * message content is decoded into a String only when {@link Slice#toString()} or {@link #next()} is called.
+ * A previously indexed message can be read again with {@link #setPosition(long)}.
+ *
+ * <p>The split is done at byte level, so the charset must be ASCII compatible (such as UTF-8 or ISO-8859-1), which is
+ * the case of all charsets used for FIN content. The default charset is the platform default, the same used by
+ * {@link RJEReader#RJEReader(File)} and {@link PPCReader#PPCReader(File)}, and the returned messages are the same as
+ * returned by those readers.
+ *
+ * <p>Since this class extends {@link AbstractReader} it can also be used with {@link #nextMT()},
+ * {@link #nextSwiftMessage()} and {@link ParallelMessageParser}.
+ *
+ * @since 8.0.2
+ */
+public class MappedMessageReader extends AbstractReader implements Closeable {
+
+	/**
+	 * Supported file formats
+	 */
+	public enum Format {
+		/**
+		 * Messages separated by the RJE split char
+		 * @see RJEReader
+		 */
+		RJE,
+		/**
+		 * Messages enclosed between the PPC begin and end markers
+		 * @see PPCReader
+		 */
+		PPC
+	}
+
+	/**
+	 * Default size of each mapped region of the file
+	 */
+	static final int DEFAULT_REGION_SIZE = 256 * 1024 * 1024;
+
+	private final FileChannel channel;
+	private final long size;
+	private final Format format;
+	private final Charset charset;
+	private int regionSize = DEFAULT_REGION_SIZE;
+	private byte splitChar = (byte) RJEReader.SPLITCHAR;
+
+	private ByteBuffer region;
+	private long regionStart;
+	private long position = 0;
+
+	/**
+	 * Maps the file to read messages in the given format using the platform default charset
+	 * @param file the file to read
+	 * @param format the file format
+	 * @throws IOException if the file cannot be opened
+	 * @throws IllegalArgumentException if file or format are null or if the file does not exist
+	 */
+	public MappedMessageReader(final File file, final Format format) throws IOException {
+		this(file, format, Charset.defaultCharset());
+	}
+
+	/**
+	 * Maps the file to read messages in the given format using the given charset
+	 * @param file the file to read
+	 * @param format the file format
+	 * @param charset an ASCII compatible charset to decode the messages
+	 * @throws IOException if the file cannot be opened
+	 * @throws IllegalArgumentException if any parameter is null or if the file does not exist
+	 */
+	public MappedMessageReader(final File file, final Format format, final Charset charset) throws IOException {
+		super((Reader) null);
+		Validate.notNull(file, "file must not be null");
+		Validate.isTrue(file.exists(), "Non existent file: " + file.getAbsolutePath());
+		Validate.notNull(format, "format must not be null");
+		Validate.notNull(charset, "charset must not be null");
+		this.format = format;
+		this.charset = charset;
+		this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		this.size = this.channel.size();
+	}
+
+	/**
+	 * Returns true if the file has more messages.
+	 * <p>For RJE a blank message can be returned if the file contains consecutive split chars, while a single
+	 * split char at the end of the file is ignored.
+	 */
+	@Override
+	public boolean hasNext() {
+		if (this.format == Format.PPC) {
+			this.position = indexOf(this.position, (byte) PPCReader.BEGIN);
+		}
+		return this.position < this.size;
+	}
+
+	/**
+	 * Returns the next message decoded
+	 * @throws NoSuchElementException if there are no more messages
+	 */
+	@Override
+	public String next() {
+		return nextSlice().toString();
+	}
+
+	/**
+	 * Returns the next message as a view over the mapped file, with no decoding
+	 * @return the next message slice
+	 * @throws NoSuchElementException if there are no more messages
+	 * @throws ProwideException if the file cannot be read
+	 */
+	public Slice nextSlice() {
+		if (!hasNext()) {
+			throw new NoSuchElementException("No more messages in the file");
+		}
+		final long start;
+		final byte end;
+		if (this.format == Format.PPC) {
+			// skip the begin marker
+			start = this.position + 1;
+			end = PPCReader.END;
+		} else {
+			start = this.position;
+			end = this.splitChar;
+		}
+		final long p = indexOf(start, end);
+		// the next message starts after the end marker
+		this.position = p < this.size ? p + 1 : p;
+		return new Slice(start, slice(start, p - start));
+	}
+
+	/**
+	 * Skips the given amount of messages with no decoding
+	 * @param count the amount of messages to skip
+	 * @return the amount of messages actually skipped, less than count if the end of the file is reached
+	 */
+	public long skip(final long count) {
+		long skipped = 0;
+		while (skipped < count && hasNext()) {
+			nextSlice();
+			skipped++;
+		}
+		return skipped;
+	}
+
+	/**
+	 * @return the current file offset, where the next message is looked for
+	 */
+	public long getPosition() {
+		return this.position;
+	}
+
+	/**
+	 * Moves the reader to the given file offset.
+	 * <p>To read again a message, use the {@link Slice#getOffset()} for RJE files, and the offset minus one, the
+	 * begin marker position, for PPC files.
+	 * @param position a file offset between 0 and the file size
+	 * @throws IllegalArgumentException if the offset is not within the file
+	 */
+	public void setPosition(final long position) {
+		Validate.isTrue(position >= 0 && position <= this.size, "position must be between 0 and the file size");
+		this.position = position;
+	}
+
+	/**
+	 * @return the file size in bytes
+	 */
+	public long getSize() {
+		return this.size;
+	}
+
+	/**
+	 * Overwrites the default standard RJE split char {@link RJEReader#SPLITCHAR}; has no effect for PPC files
+	 * @param c an ASCII character to use as message separator
+	 */
+	public void setSplitChar(final char c) {
+		Validate.isTrue(c < 0x80, "split char must be an ASCII character");
+		this.splitChar = (byte) c;
+	}
+
+	/**
+	 * Sets the size of each mapped region, to be used in tests
+	 */
+	void setRegionSize(final int regionSize) {
+		this.regionSize = regionSize;
+		this.region = null;
+	}
+
+	/**
+	 * Closes the file channel.
+	 * <p>Slices already returned remain readable until they are garbage collected.
+	 */
+	@Override
+	public void close() throws IOException {
+		this.region = null;
+		this.channel.close();
+	}
+
+	/**
+	 * Finds the next occurrence of a byte, scanning the current region with indexed reads and mapping the next region
+	 * only when the end of the current one is reached
+	 * @param from the file offset where the scan starts
+	 * @param b the byte to find
+	 * @return the file offset of the byte, or the file size if it is not found
+	 */
+	private long indexOf(final long from, final byte b) {
+		long p = from;
+		while (p < this.size) {
+			final ByteBuffer buffer = region(p);
+			final long start = this.regionStart;
+			final int limit = buffer.limit();
+			for (int i = (int) (p - start); i < limit; i++) {
+				if (buffer.get(i) == b) {
+					return start + i;
+				}
+			}
+			p = start + limit;
+		}
+		return this.size;
+	}
+
+	/**
+	 * Returns the mapped region containing the given file offset, mapping a new region starting at it if necessary
+	 */
+	private ByteBuffer region(final long p) {
+		if (this.region == null || p < this.regionStart || p >= this.regionStart + this.region.limit()) {
+			this.regionStart = p;
+			this.region = map(p, (int) Math.min(this.regionSize, this.size - p));
+		}
+		return this.region;
+	}
+
+	/**
+	 * Returns the bytes from the current region if they are within it, or maps them otherwise
+	 */
+	private ByteBuffer slice(final long start, final long length) {
+		if (length > Integer.MAX_VALUE) {
+			throw new ProwideException("Message at offset " + start + " exceeds the maximum supported length");
+		}
+		if (this.region != null && start >= this.regionStart && start + length <= this.regionStart + this.region.limit()) {
+			final ByteBuffer result = this.region.duplicate();
+			result.position((int) (start - this.regionStart));
+			result.limit((int) (start - this.regionStart + length));
+			return result.slice();
+		}
+		return map(start, (int) length);
+	}
+
+	private ByteBuffer map(final long start, final int length) {
+		try {
+			return this.channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+		} catch (final IOException e) {
+			throw new ProwideException("Error mapping file region at offset " + start, e);
+		}
+	}
+
+	/**
+	 * A message content as a view over the mapped file bytes.
+	 *
+	 * <p>As a {@link CharSequence} each byte is returned as one char, which is the actual content for ASCII messages;
+	 * {@link #toString()} decodes the bytes with the reader charset.
+	 */
+	public final class Slice implements CharSequence {
+		private final long offset;
+		private final ByteBuffer bytes;
+
+		private Slice(final long offset, final ByteBuffer bytes) {
+			this.offset = offset;
+			this.bytes = bytes;
+		}
+
+		/**
+		 * @return the file offset of the message first byte
+		 */
+		public long getOffset() {
+			return offset;
+		}
+
+		/**
+		 * @return a read only view of the message bytes
+		 */
+		public ByteBuffer getBytes() {
+			return this.bytes.asReadOnlyBuffer();
+		}
+
+		@Override
+		public int length() {
+			return this.bytes.limit();
+		}
+
+		@Override
+		public char charAt(final int index) {
+			return (char) (this.bytes.get(index) & 0xFF);
+		}
+
+		@Override
+		public CharSequence subSequence(final int start, final int end) {
+			final ByteBuffer sub = this.bytes.duplicate();
+			sub.position(start);
+			sub.limit(end);
+			return new Slice(this.offset + start, sub.slice());
+		}
+
+		/**
+		 * @return true if the message is empty or contains only whitespace
+		 */
+		public boolean isBlank() {
+			for (int i = 0; i < this.bytes.limit(); i++) {
+				if (!Character.isWhitespace(charAt(i))) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * @return the message content decoded with the reader charset
+		 */
+		@Override
+		public String toString() {
+			return charset.decode(this.bytes.duplicate()).toString();
+		}
+	}
+
+}
@@ -20,6 +20,7 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.nio.charset.Charset;
 import java.util.logging.Logger;
 
 /**
@@ -70,6 +71,14 @@ public class PPCReader extends AbstractReader {
 		super(stream);
 	}
 
+	/**
+	 * Constructs a PPCReader to read messages from a stream using the given encoding
+	 * @since 8.0.2
+	 */
+	public PPCReader(final InputStream stream, final Charset charset) {
+		super(stream, charset);
+	}
+
 	/**
 	 * Constructs a PPCReader to read messages from a file
 	 */
@@ -0,0 +1,341 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io;
+
+import com.prowidesoftware.ProwideException;
+import com.prowidesoftware.swift.io.parser.SwiftParser;
+import com.prowidesoftware.swift.io.parser.SwiftParserConfiguration;
+import com.prowidesoftware.swift.model.SwiftMessage;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Bulk parser for files with many MT messages, such as RJE or PPC end of day files, that parses the messages in
+ * parallel.
+ *
+ * <p>The messages are split by the given {@link RJEReader} or {@link PPCReader} in the thread consuming the result
+ * stream, and each message is parsed by a {@link SwiftParser} in the configured executor, by default the common
+ * {@link ForkJoinPool}. The amount of messages read and not yet consumed is bounded by {@link #setMaxPending(int)},
+ * so the reader is not read ahead further than that and the memory usage is kept bounded regardless of the file
+ * size.
+ *
+ * <p>The results are returned in the file order by default, or as soon as each message is parsed if
+ * {@link #setOrdered(boolean)} is set to false. Parse errors are captured per message in the {@link Result}, a failed
+ * message does not stop the processing of the rest.
+ *
+ * <pre>
+ * ParallelMessageParser parser = new ParallelMessageParser();
+ * try (Stream&lt;ParallelMessageParser.Result&gt; results = parser.parse(new RJEReader(file))) {
+ *     results.forEach(r -&gt; ...);
+ * }
+ * </pre>
+ *
+ * @since 8.0.2
+ */
+public class ParallelMessageParser {
+	private static final transient java.util.logging.Logger log = java.util.logging.Logger.getLogger(ParallelMessageParser.class.getName());
+
+	/**
+	 * Default maximum amount of messages read and not yet consumed
+	 */
+	public static final int DEFAULT_MAX_PENDING = 256;
+
+	private final Executor executor;
+	private int maxPending = DEFAULT_MAX_PENDING;
+	private boolean ordered = true;
+	private SwiftParserConfiguration configuration = new SwiftParserConfiguration();
+
+	/**
+	 * Creates a parser that uses the common {@link ForkJoinPool}
+	 */
+	public ParallelMessageParser() {
+		this(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Creates a parser that uses the given executor to parse the messages
+	 * @param executor the executor for the parse tasks
+	 * @throws IllegalArgumentException if the executor is null
+	 */
+	public ParallelMessageParser(final Executor executor) {
+		Validate.notNull(executor, "executor must not be null");
+		this.executor = executor;
+	}
+
+	/**
+	 * Reads the messages from the reader and returns a stream with the parse results.
+	 *
+	 * <p>The stream is lazy, messages are read as the stream is consumed, and it must be consumed from a single
+	 * thread. Blank messages, for example produced by a trailing separator in an RJE file, are skipped. Closing the
+	 * stream stops reading and discards the pending messages.
+	 *
+	 * @param reader an RJE or PPC reader
+	 * @return a stream of results, one per non blank message found in the reader
+	 * @throws IllegalArgumentException if the reader is null
+	 */
+	public Stream<Result> parse(final AbstractReader reader) {
+		Validate.notNull(reader, "reader must not be null");
+		final ResultSpliterator spliterator = new ResultSpliterator(reader);
+		return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+	}
+
+	/**
+	 * Reads the messages from the reader and returns a stream with the parsed messages.
+	 * <p>Messages that could not be parsed are logged and skipped.
+	 *
+	 * @param reader an RJE or PPC reader
+	 * @return a stream of parsed messages
+	 * @throws IllegalArgumentException if the reader is null
+	 * @see #parse(AbstractReader)
+	 */
+	public Stream<SwiftMessage> messages(final AbstractReader reader) {
+		return parse(reader).filter(r -> {
+			if (r.getException() != null) {
+				log.log(Level.WARNING, "Skipping message #" + r.getIndex() + " that could not be parsed", r.getException());
+				return false;
+			}
+			return true;
+		}).map(Result::getMessage);
+	}
+
+	/**
+	 * @return the maximum amount of messages read and not yet consumed
+	 */
+	public int getMaxPending() {
+		return maxPending;
+	}
+
+	/**
+	 * Sets the maximum amount of messages read from the reader and not yet consumed from the result stream.
+	 * <p>A higher value allows more messages to be parsed in parallel, at the cost of more memory.
+	 * @param maxPending a positive number
+	 * @throws IllegalArgumentException if the parameter is not positive
+	 */
+	public void setMaxPending(final int maxPending) {
+		Validate.isTrue(maxPending > 0, "maxPending must be positive");
+		this.maxPending = maxPending;
+	}
+
+	/**
+	 * @return true if the results are returned in the same order of the messages in the reader
+	 */
+	public boolean isOrdered() {
+		return ordered;
+	}
+
+	/**
+	 * @param ordered true (default) to return the results in the same order of the messages in the reader, false to
+	 * return each result as soon as its message is parsed
+	 */
+	public void setOrdered(final boolean ordered) {
+		this.ordered = ordered;
+	}
+
+	/**
+	 * @return the configuration used for each message parser
+	 */
+	public SwiftParserConfiguration getConfiguration() {
+		return configuration;
+	}
+
+	/**
+	 * Sets the configuration used for each message parser; the configuration must not be changed while a stream
+	 * is being consumed.
+	 * @param configuration the parser configuration
+	 * @throws IllegalArgumentException if the configuration is null
+	 */
+	public void setConfiguration(final SwiftParserConfiguration configuration) {
+		Validate.notNull(configuration, "configuration must not be null");
+		this.configuration = configuration;
+	}
+
+	private Result parseMessage(final long index, final String fin) {
+		final SwiftParser parser = new SwiftParser(fin);
+		parser.setConfiguration(this.configuration);
+		try {
+			final SwiftMessage message = parser.message();
+			return new Result(index, fin, message, parser.getErrors(), null);
+		} catch (final Exception e) {
+			return new Result(index, fin, null, parser.getErrors(), e);
+		}
+	}
+
+	/**
+	 * Reads messages ahead up to the pending limit, and returns the parse results in order or in completion order
+	 */
+	private final class ResultSpliterator extends Spliterators.AbstractSpliterator<Result> {
+		private final AbstractReader reader;
+		private final boolean ordered = ParallelMessageParser.this.ordered;
+		private final int maxPending = ParallelMessageParser.this.maxPending;
+		private final Deque<CompletableFuture<Result>> pending = new ArrayDeque<>();
+		private final BlockingQueue<Result> completed = new LinkedBlockingQueue<>();
+		private int inFlight = 0;
+		private long index = 0;
+		private boolean eof = false;
+		private volatile boolean closed = false;
+
+		private ResultSpliterator(final AbstractReader reader) {
+			super(Long.MAX_VALUE, Spliterator.NONNULL | (ParallelMessageParser.this.ordered ? Spliterator.ORDERED : 0));
+			this.reader = reader;
+		}
+
+		@Override
+		public boolean tryAdvance(final Consumer<? super Result> action) {
+			if (this.closed) {
+				return false;
+			}
+			fill();
+			final Result result;
+			if (this.ordered) {
+				final CompletableFuture<Result> head = this.pending.poll();
+				if (head == null) {
+					return false;
+				}
+				result = head.join();
+			} else {
+				if (this.inFlight == 0) {
+					return false;
+				}
+				try {
+					result = this.completed.take();
+				} catch (final InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new ProwideException(e);
+				}
+				this.inFlight--;
+			}
+			action.accept(result);
+			return true;
+		}
+
+		/**
+		 * Reads and submits messages until the pending limit is reached or the reader is exhausted
+		 */
+		private void fill() {
+			while (!this.eof && pendingSize() < this.maxPending) {
+				if (!this.reader.hasNext()) {
+					this.eof = true;
+					break;
+				}
+				final String fin = this.reader.next();
+				if (fin == null) {
+					this.eof = true;
+				} else if (StringUtils.isNotBlank(fin)) {
+					final long i = this.index++;
+					final CompletableFuture<Result> future = CompletableFuture.supplyAsync(() -> parseMessage(i, fin), executor)
+							.exceptionally(t -> new Result(i, fin, null, null, t instanceof Exception ? (Exception) t : new ProwideException(t)));
+					if (this.ordered) {
+						this.pending.add(future);
+					} else {
+						this.inFlight++;
+						future.thenAccept(this.completed::add);
+					}
+				}
+			}
+		}
+
+		private int pendingSize() {
+			return this.ordered ? this.pending.size() : this.inFlight;
+		}
+
+		private void close() {
+			this.closed = true;
+			for (final CompletableFuture<Result> f : this.pending) {
+				f.cancel(false);
+			}
+			this.pending.clear();
+			this.completed.clear();
+		}
+	}
+
+	/**
+	 * The result of parsing one message
+	 */
+	public static final class Result {
+		private final long index;
+		private final String fin;
+		private final SwiftMessage message;
+		private final List<String> errors;
+		private final Exception exception;
+
+		private Result(final long index, final String fin, final SwiftMessage message, final List<String> errors, final Exception exception) {
+			this.index = index;
+			this.fin = fin;
+			this.message = message;
+			this.errors = errors != null ? Collections.unmodifiableList(errors) : Collections.emptyList();
+			this.exception = exception;
+		}
+
+		/**
+		 * @return the zero based position of the message among the non blank messages in the reader
+		 */
+		public long getIndex() {
+			return index;
+		}
+
+		/**
+		 * @return the message raw content as read from the reader
+		 */
+		public String getFin() {
+			return fin;
+		}
+
+		/**
+		 * @return the parsed message or null if the parse failed
+		 */
+		public SwiftMessage getMessage() {
+			return message;
+		}
+
+		/**
+		 * @return the errors reported by the parser, see {@link SwiftParser#getErrors()}, never null
+		 */
+		public List<String> getErrors() {
+			return errors;
+		}
+
+		/**
+		 * @return the exception thrown by the parser or null if the parse did not fail
+		 */
+		public Exception getException() {
+			return exception;
+		}
+
+		/**
+		 * @return true if the message was parsed with no exception and no errors reported by the parser
+		 */
+		public boolean isSuccess() {
+			return exception == null && errors.isEmpty();
+		}
+	}
+
+}
@@ -20,6 +20,7 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.nio.charset.Charset;
 
 /**
  * Helper class to read RJE files.
@@ -62,6 +63,14 @@ public class RJEReader extends AbstractReader {
 		super(stream);
 	}
 
+	/**
+	 * Constructs a RJEReader to read messages from a stream using the given encoding
+	 * @since 8.0.2
+	 */
+	public RJEReader(final InputStream stream, final Charset charset) {
+		super(stream, charset);
+	}
+
 	/**
 	 * Constructs a RJEReader to read messages from a file
 	 */
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io.parser;
+
+import com.prowidesoftware.swift.model.SwiftBlock1;
+import com.prowidesoftware.swift.model.SwiftBlock2Input;
+import com.prowidesoftware.swift.model.SwiftBlock2Output;
+
+import java.util.function.Predicate;
+
+/**
+ * Creates the header blocks checking the value format upfront, so a malformed value is decoded once in lenient mode
+ * instead of failing the strict decoding first.
+ *
+ * <p>The checks are the same done by the strict setValue of each block, and the error messages are the same of the
+ * exceptions thrown by them.
+ *
+ * @since 8.0.2
+ */
+final class HeaderDecoder {
+
+	private static final String BLOCK2_INPUT_FORMAT = "Value must match: I<mt><address>[<pri>[<monitoring>[<obsolescence>]]]";
+	private static final String BLOCK2_OUTPUT_FORMAT = "Value must match: O<mt><time><mir><date><time>[<pri>]";
+
+	// Suppress default constructor for noninstantiability
+	private HeaderDecoder() {
+		throw new AssertionError();
+	}
+
+	/**
+	 * Creates the block 1
+	 * @param s the block value, including the block identifier
+	 * @param errors receives the format error, if any, and decides if the block is decoded in lenient mode
+	 * @return the created block
+	 * @throws IllegalArgumentException if the value is malformed and the error consumer does not accept it
+	 */
+	static SwiftBlock1 block1(final String s, final Predicate<SwiftParseError> errors) {
+		return new SwiftBlock1(s, report(checkBlock1(s), errors));
+	}
+
+	/**
+	 * Creates the block 2 for an input message
+	 * @see #block1(String, Predicate)
+	 */
+	static SwiftBlock2Input block2Input(final String s, final Predicate<SwiftParseError> errors) {
+		return new SwiftBlock2Input(s, report(checkBlock2Input(s), errors));
+	}
+
+	/**
+	 * Creates the block 2 for an output message
+	 * @see #block1(String, Predicate)
+	 */
+	static SwiftBlock2Output block2Output(final String s, final Predicate<SwiftParseError> errors) {
+		return new SwiftBlock2Output(s, report(checkBlock2Output(s), errors));
+	}
+
+	/**
+	 * @return true if there is an error and it is accepted, meaning the block must be decoded in lenient mode
+	 */
+	private static boolean report(final SwiftParseError error, final Predicate<SwiftParseError> errors) {
+		if (error == null) {
+			return false;
+		}
+		if (!errors.test(error)) {
+			throw new IllegalArgumentException(error.getMessage());
+		}
+		return true;
+	}
+
+	/**
+	 * @see SwiftBlock1#setValue(String, boolean)
+	 */
+	static SwiftParseError checkBlock1(final String s) {
+		final int len = s.length();
+		if (s.startsWith("1")) {
+			if (!s.startsWith("1:")) {
+				return new SwiftParseError('1', 1, ":", found(s, 1), "expected '1:' at the beginning of value and found '" + s.substring(0, 1) + "'");
+			}
+			if (len != 26 && len != 27) {
+				return new SwiftParseError('1', Math.min(len, 27), "26 or 27 characters", String.valueOf(len),
+						"block value " + s + " cannot be parsed because it has an invalid size, expected 26 or 27 and found " + len);
+			}
+		} else if (len != 24 && len != 25) {
+			return new SwiftParseError('1', Math.min(len, 25), "24 or 25 characters", String.valueOf(len),
+					"block value " + s + " cannot be parsed because it has an invalid size, expected 24 or 25 and found " + len);
+		}
+		return null;
+	}
+
+	/**
+	 * @see SwiftBlock2Input#setValue(String, boolean)
+	 */
+	static SwiftParseError checkBlock2Input(final String s) {
+		final int len = s.length();
+		if (len < 16 || len > 23) {
+			return new SwiftParseError('2', Math.min(len, 23), "16 to 23 characters", String.valueOf(len),
+					"expected a string value of 17 up to 23 chars and obtained a " + len + " chars string: '" + s + "'");
+		}
+		final int offset = s.startsWith("2:") ? 2 : 0;
+		final int size = len - offset;
+		if (size != 16 && size != 17 && size != 18 && size != 21) {
+			return new SwiftParseError('2', Math.min(len, offset + 21), "16, 17, 18 or 21 characters", String.valueOf(size), BLOCK2_INPUT_FORMAT);
+		}
+		if (Character.toUpperCase(s.charAt(offset)) != 'I') {
+			return new SwiftParseError('2', offset, "I", found(s, offset), BLOCK2_INPUT_FORMAT);
+		}
+		return null;
+	}
+
+	/**
+	 * @see SwiftBlock2Output#setValue(String, boolean)
+	 */
+	static SwiftParseError checkBlock2Output(final String s) {
+		final int len = s.length();
+		if (len < 46 || len > 49) {
+			return new SwiftParseError('2', Math.min(len, 49), "46 to 49 characters", String.valueOf(len),
+					"expected a string value of 46 and up to 49 chars and obtained a " + len + " chars string: '" + s + "'");
+		}
+		final int offset = s.startsWith("2:") ? 2 : 0;
+		final int size = len - offset;
+		if (size != 46 && size != 47) {
+			return new SwiftParseError('2', Math.min(len, offset + 47), "46 or 47 characters", String.valueOf(size), BLOCK2_OUTPUT_FORMAT);
+		}
+		if (Character.toUpperCase(s.charAt(offset)) != 'O') {
+			return new SwiftParseError('2', offset, "O", found(s, offset), BLOCK2_OUTPUT_FORMAT);
+		}
+		return null;
+	}
+
+	private static String found(final String s, final int offset) {
+		return offset < s.length() ? s.substring(offset, offset + 1) : "";
+	}
+
+}
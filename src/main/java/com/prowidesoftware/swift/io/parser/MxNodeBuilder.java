@@ -0,0 +1,174 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io.parser;
+
+import com.prowidesoftware.swift.model.MxNode;
+import com.prowidesoftware.swift.utils.SafeXmlUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Builds an {@link MxNode} tree from XML content read with StAX, directly from a stream or reader.
+ *
+ * <p>The resulting tree is the same created by {@link MxParser#parse()}: the namespace uri, if present, is stored as
+ * attribute named "xmlns" in the first node of each namespace. The node value is the text content directly within
+ * the element, including text split in several chunks by the XML reader, or null if the element has no text.
+ *
+ * <p>Element names and namespace uris are interned per builder, so nodes with the same name share the same String
+ * instance, also among the trees built by the same builder instance. The text of all open elements is kept in a
+ * single buffer and only one String is created for each element with text.
+ *
+ * <p>This class is not thread safe, a builder instance can be reused to parse several messages in the same thread.
+ *
+ * @since 8.0.2
+ */
+public final class MxNodeBuilder {
+
+	/**
+	 * Maximum amount of interned names kept by each builder
+	 */
+	private static final int MAX_NAMES = 4096;
+
+	private final Map<String, String> names = new HashMap<>();
+	private final StringBuilder text = new StringBuilder(256);
+	private int[] textStart = new int[32];
+
+	/**
+	 * Builds the tree from the stream, with the encoding taken from the XML declaration
+	 * @param stream the XML content, it is not closed
+	 * @return the root node of the tree
+	 * @throws XMLStreamException if the content is not well-formed XML
+	 * @throws IllegalArgumentException if the stream is null
+	 */
+	public MxNode build(final InputStream stream) throws XMLStreamException {
+		Validate.notNull(stream, "stream must not be null");
+		return build(SafeXmlUtils.sharedInputFactory().createXMLStreamReader(stream));
+	}
+
+	/**
+	 * Builds the tree from the reader
+	 * @param reader the XML content, it is not closed
+	 * @return the root node of the tree
+	 * @throws XMLStreamException if the content is not well-formed XML
+	 * @throws IllegalArgumentException if the reader is null
+	 */
+	public MxNode build(final Reader reader) throws XMLStreamException {
+		Validate.notNull(reader, "reader must not be null");
+		return build(SafeXmlUtils.sharedInputFactory().createXMLStreamReader(reader));
+	}
+
+	/**
+	 * Builds the tree from the StAX reader current position up to the end of the root element
+	 * @param reader a StAX reader positioned at the start of the document or at the root element, it is closed
+	 * @return the root node of the tree or null if the reader contains no elements
+	 * @throws XMLStreamException if the content is not well-formed XML
+	 */
+	public MxNode build(final XMLStreamReader reader) throws XMLStreamException {
+		try {
+			return read(reader);
+		} finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Builds the tree for a single element, leaving the reader positioned at the element end.
+	 * <p>The element is the root of the returned tree, and it is given the "xmlns" attribute with its namespace.
+	 * @param reader a StAX reader positioned at the start of an element
+	 * @return the element node
+	 * @throws XMLStreamException if the content is not well-formed XML
+	 * @throws IllegalArgumentException if the reader is not positioned at the start of an element
+	 */
+	public MxNode buildElement(final XMLStreamReader reader) throws XMLStreamException {
+		Validate.isTrue(reader.getEventType() == XMLStreamConstants.START_ELEMENT, "the reader must be positioned at the start of an element");
+		return read(reader);
+	}
+
+	private MxNode read(final XMLStreamReader reader) throws XMLStreamException {
+		this.text.setLength(0);
+		MxNode current = null;
+		int depth = 0;
+		int event = reader.getEventType();
+		while (true) {
+			switch (event) {
+				case XMLStreamConstants.START_ELEMENT:
+					final MxNode node = new MxNode(current, intern(reader.getLocalName()));
+					for (int i = 0; i < reader.getAttributeCount(); i++) {
+						node.addAttribute(intern(reader.getAttributeLocalName(i)), reader.getAttributeValue(i));
+					}
+					// set uri as xmlns attribute for the first node in namespace
+					final String uri = intern(StringUtils.defaultString(reader.getNamespaceURI()));
+					if (current == null || !StringUtils.equals(current.getAttribute("xmlns"), uri)) {
+						node.addAttribute("xmlns", uri);
+					}
+					if (depth == this.textStart.length) {
+						this.textStart = Arrays.copyOf(this.textStart, depth * 2);
+					}
+					this.textStart[depth++] = this.text.length();
+					current = node;
+					break;
+				case XMLStreamConstants.END_ELEMENT:
+					final int start = this.textStart[--depth];
+					if (this.text.length() > start) {
+						current.setValue(this.text.substring(start));
+						this.text.setLength(start);
+					}
+					if (current.getParent() == null) {
+						return current;
+					}
+					current = current.getParent();
+					break;
+				case XMLStreamConstants.CHARACTERS:
+				case XMLStreamConstants.CDATA:
+				case XMLStreamConstants.SPACE:
+					if (current != null) {
+						this.text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+					}
+					break;
+				default:
+					break;
+			}
+			if (!reader.hasNext()) {
+				return null;
+			}
+			event = reader.next();
+		}
+	}
+
+	private String intern(final String name) {
+		if (name == null) {
+			return null;
+		}
+		final String found = this.names.get(name);
+		if (found != null) {
+			return found;
+		}
+		if (this.names.size() < MAX_NAMES) {
+			this.names.put(name, name);
+		}
+		return name;
+	}
+
+}
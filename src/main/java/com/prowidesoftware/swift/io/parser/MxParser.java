@@ -27,7 +27,6 @@ import com.prowidesoftware.swift.utils.Lib;
 import com.prowidesoftware.swift.utils.SafeXmlUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
-import org.xml.sax.XMLReader;
 
 import java.io.File;
 import java.io.IOException;
@@ -74,6 +73,7 @@ public class MxParser {
 	
 	private String buffer = null;
 	private MxStructureInfo info = null;
+	private MxAnalysis analysis = null;
 
 	/**
 	 * Construct a parser for a file containing a single MX message
@@ -107,17 +107,14 @@ public class MxParser {
 	 * Non-namespace aware parse.<br>
 	 * Parses the complete message content into an {@link MxNode} tree structure.
 	 * The parser should be initialized with a valid source.
+	 * <p>To build the tree directly from a stream or reader use {@link MxNodeBuilder}
 	 *
 	 * @since 7.7
 	 */
 	public MxNode parse() {
 		Validate.notNull(buffer, "the source must be initialized");
 		try {
-			XMLReader xmlReader = SafeXmlUtils.reader(true, null);
-			final MxNodeContentHandler contentHandler = new MxNodeContentHandler();
-			xmlReader.setContentHandler(contentHandler);
-			xmlReader.parse(new org.xml.sax.InputSource(new StringReader(this.buffer)));
-			return contentHandler.getRootNode();
+			return new MxNodeBuilder().build(new StringReader(this.buffer));
 		} catch (final Exception e) {
 			log.log(Level.SEVERE, "Error parsing XML", e);
 		}
@@ -133,11 +130,20 @@ public class MxParser {
 	 * @return parsed header or null if the content cannot be parsed or the header is not present in the XML
 	 */
 	public BusinessHeader parseBusinessHeader() {
-		final BusinessHeader bh = new BusinessHeader();
-		final MxNode tree = parse();
+		return analyze().getBusinessHeader();
+	}
+
+	/**
+	 * Parses the first AppHdr found in the tree
+	 * @param tree a message tree or the AppHdr subtree
+	 * @return parsed header or null if the tree is null or does not contain the header
+	 * @see #parseBusinessHeader()
+	 */
+	static BusinessHeader parseBusinessHeader(final MxNode tree) {
 		if (tree != null) {
 			MxNode appHdr = tree.findFirstByName(HEADER_LOCALNAME);
 			if (appHdr != null) {
+				final BusinessHeader bh = new BusinessHeader();
 				final String ns = appHdr.getAttribute("xmlns");
 				if ((ns != null && ns.equals(BusinessHeader.NAMESPACE_AH)) || (appHdr.findFirstByName("From") != null)) {
 					bh.setApplicationHeader(parseApplicationHeader(tree));
@@ -221,11 +227,14 @@ public class MxParser {
 	 * @since 7.7
 	 */
 	public MxId detectMessage() {
+		if (this.analysis != null) {
+			return this.analysis.id;
+		}
 		if (StringUtils.isBlank(this.buffer)) {
 			log.log(Level.SEVERE, "cannot detect message from null or empty content");
 			return null;
 		}
-		final javax.xml.stream.XMLInputFactory xif = SafeXmlUtils.inputFactory();
+		final javax.xml.stream.XMLInputFactory xif = SafeXmlUtils.sharedInputFactory();
 		try {
 			final javax.xml.stream.XMLStreamReader reader = xif.createXMLStreamReader(new StringReader(this.buffer));
 			while (reader.hasNext()) {
@@ -276,44 +285,89 @@ public class MxParser {
 		if (this.info != null) {
 			return this.info;
 		}
-		this.info = new MxStructureInfo();
+		return analyze().getStructureInfo();
+	}
+
+	/**
+	 * Reads the message once to detect its type and analyze its structure.
+	 *
+	 * <p>The result combines what is returned by {@link #detectMessage()} and {@link #analyzeMessage()}, from a
+	 * single StAX scan of the content, and gives access to the header returned by {@link #parseBusinessHeader()}.
+	 * The scan builds only the AppHdr element into an {@link MxNode} tree, and the header is parsed from that tree on
+	 * the first call to {@link MxAnalysis#getBusinessHeader()}. The result is kept by this parser, so later calls to
+	 * this method or to the methods above do not read the content again.
+	 *
+	 * @return the analysis result, never null
+	 * @since 8.0.2
+	 */
+	public MxAnalysis analyze() {
+		if (this.analysis != null) {
+			return this.analysis;
+		}
+		final MxStructureInfo info = new MxStructureInfo();
+		final MxAnalysis result = new MxAnalysis(info);
 		if (StringUtils.isBlank(this.buffer)) {
 			log.log(Level.WARNING, "cannot analyze message from null or empty content");
-			return this.info;
+		} else {
+			scan(result);
 		}
-		final javax.xml.stream.XMLInputFactory xif = SafeXmlUtils.inputFactory();
+		this.info = info;
+		this.analysis = result;
+		return result;
+	}
+
+	private void scan(final MxAnalysis result) {
+		final MxStructureInfo info = result.info;
+		final javax.xml.stream.XMLInputFactory xif = SafeXmlUtils.sharedInputFactory();
+		boolean idResolved = false;
 		try {
 			final javax.xml.stream.XMLStreamReader reader = xif.createXMLStreamReader(new StringReader(this.buffer));
 			boolean first = true;
 			while (reader.hasNext()) {
 				int event = reader.next();
 				if (javax.xml.stream.XMLStreamConstants.START_ELEMENT == event) {
-					if (!this.info.containsDocument && reader.getLocalName().equals(DOCUMENT_LOCALNAME)) {
-						this.info.containsDocument = true;
-						this.info.documentNamespace = readNamespace(reader);
-						this.info.documentPrefix = StringUtils.trimToNull(reader.getPrefix());
-					} else if (!this.info.containsHeader && reader.getLocalName().equals(HEADER_LOCALNAME)) {
-						this.info.containsHeader = true;
-						this.info.headerNamespace = readNamespace(reader);
-						this.info.headerPrefix = StringUtils.trimToNull(reader.getPrefix());
+					final String localName = reader.getLocalName();
+					if (!idResolved && localName.equals(DOCUMENT_LOCALNAME)) {
+						// same as detectMessage, the first Document with a namespace for its prefix gives the id
+						final String ns = readNamespace(reader);
+						if (ns != null) {
+							idResolved = true;
+							try {
+								result.id = new MxId(ns);
+							} catch (final IllegalArgumentException e) {
+								log.log(Level.FINE, "cannot detect message type from namespace " + ns, e);
+							}
+						}
+					}
+					if (!info.containsDocument && localName.equals(DOCUMENT_LOCALNAME)) {
+						info.containsDocument = true;
+						info.documentNamespace = readNamespace(reader);
+						info.documentPrefix = StringUtils.trimToNull(reader.getPrefix());
+					} else if (!info.containsHeader && localName.equals(HEADER_LOCALNAME)) {
+						info.containsHeader = true;
+						info.headerNamespace = readNamespace(reader);
+						info.headerPrefix = StringUtils.trimToNull(reader.getPrefix());
 					} else if (first) {
-						this.info.containsWrapper = true;
+						info.containsWrapper = true;
 					}
 					first = false;
+					if (result.headerNode == null && localName.equalsIgnoreCase(HEADER_LOCALNAME)) {
+						// the header is small, keep its subtree to parse it on demand without reading the content again
+						result.headerNode = new MxNodeBuilder().buildElement(reader);
+					}
 				}
 			}
 		} catch (final Exception e) {
 			log.log(Level.SEVERE, "error while analyzing message: "+ e.getMessage());
 			info.exception = e;
 		}
-		return this.info;
 	}
 
 	/**
 	 * Gets the namespace, if any, from current position in the parameter reader
 	 * @since 7.8.4
 	 */
-	private String readNamespace(final javax.xml.stream.XMLStreamReader reader) {
+	static String readNamespace(final javax.xml.stream.XMLStreamReader reader) {
 		if (reader.getNamespaceCount() > 0) {
 			//log.finest("ELEMENT START: " + reader.getLocalName() + " , namespace count is: " + reader.getNamespaceCount());
 			for (int nsIndex = 0; nsIndex < reader.getNamespaceCount(); nsIndex++) {
@@ -328,6 +382,57 @@ public class MxParser {
 		return null;
 	}
 		
+	/**
+	 * Result of {@link MxParser#analyze()}
+	 *
+	 * @since 8.0.2
+	 */
+	public static final class MxAnalysis {
+		private final MxStructureInfo info;
+		private MxId id = null;
+		private MxNode headerNode = null;
+		private boolean headerParsed = false;
+		private BusinessHeader header = null;
+
+		private MxAnalysis(final MxStructureInfo info) {
+			this.info = info;
+		}
+
+		/**
+		 * @return the message type as returned by {@link MxParser#detectMessage()}
+		 */
+		public MxId getMxId() {
+			return id;
+		}
+
+		/**
+		 * @return the structure information as returned by {@link MxParser#analyzeMessage()}
+		 */
+		public MxStructureInfo getStructureInfo() {
+			return info;
+		}
+
+		/**
+		 * Gets the header, parsing it on the first call from the AppHdr element captured by the scan.
+		 * <p>Errors are logged and not reported in the structure information, which only reflects the message structure.
+		 * @return the header as returned by {@link MxParser#parseBusinessHeader()}
+		 */
+		public BusinessHeader getBusinessHeader() {
+			if (!headerParsed) {
+				headerParsed = true;
+				if (info.exception == null && headerNode != null) {
+					try {
+						header = parseBusinessHeader(headerNode);
+					} catch (final Exception e) {
+						log.log(Level.SEVERE, "error while parsing the header: " + e.getMessage());
+					}
+				}
+				headerNode = null;
+			}
+			return header;
+		}
+	}
+
 	/**
 	 * Helper bean used by {@link MxParser#analyzeMessage()} to return 
 	 * structure information from an MX message
@@ -457,8 +562,7 @@ public class MxParser {
 	/* alternative future implementation using DOM instead of MxNode
 	public String stripDocument1() {
 		try {
-		    javax.xml.parsers.DocumentBuilderFactory dbf = javax.xml.parsers.DocumentBuilderFactory.newInstance();
-		    org.w3c.dom.Document doc = dbf.newDocumentBuilder().parse(new org.xml.sax.InputSource(new StringReader(this.buffer)));
+		    org.w3c.dom.Document doc = SafeXmlUtils.pooledDocumentBuilder(true).parse(new org.xml.sax.InputSource(new StringReader(this.buffer)));
 		    javax.xml.xpath.XPath xPath = javax.xml.xpath.XPathFactory.newInstance().newXPath();
 		    org.w3c.dom.Node result = (org.w3c.dom.Node)xPath.evaluate("Document", doc, javax.xml.xpath.XPathConstants.NODE);
 		    return nodeToString(result);
@@ -0,0 +1,409 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io.parser;
+
+import com.prowidesoftware.swift.model.MxId;
+import com.prowidesoftware.swift.model.MxPath;
+import com.prowidesoftware.swift.model.mx.BusinessHeader;
+import com.prowidesoftware.swift.utils.SafeXmlUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+
+/**
+ * Extracts a few values from an MX message reading the XML with StAX, with no {@link com.prowidesoftware.swift.model.MxNode}
+ * tree nor DOM.
+ *
+ * <p>The values are given by paths with the syntax of {@link MxPath}. Absolute paths are matched from the XML root
+ * element, while relative paths, that have no start node in a stream, are matched at any depth; for example
+ * <code>GrpHdr/MsgId</code> matches the MsgId within the first GrpHdr found, regardless of the wrapper and
+ * message elements around it. A position predicate in the first segment of a relative path counts the matching
+ * elements within their parent, so <code>CdtTrfTxInf[2]/PmtId/UETR</code> matches the second CdtTrfTxInf of its parent
+ * element. The value of each path is the text of the first matching element.
+ *
+ * <p>Besides the paths values, the extraction detects the message type from the Document namespace, as
+ * {@link MxParser#detectMessage()}, and can optionally parse the AppHdr into a {@link BusinessHeader}, as
+ * {@link MxParser#parseBusinessHeader()}. When the header is parsed, its content is not matched against the paths.
+ *
+ * <p>The reading stops as soon as all paths are found and the Document element has been reached, so for large
+ * messages only the leading part of the XML is read when the values are at the beginning of the message, as it is
+ * the case of the group header.
+ *
+ * <pre>
+ * MxValueExtractor extractor = new MxValueExtractor("GrpHdr/MsgId", "CdtTrfTxInf/IntrBkSttlmAmt", "CdtTrfTxInf/PmtId/UETR");
+ * MxValueExtractor.Result result = extractor.extract(xml);
+ * String reference = result.getValue("GrpHdr/MsgId");
+ * </pre>
+ *
+ * <p>Instances are immutable and thread safe.
+ *
+ * @since 8.0.2
+ */
+public final class MxValueExtractor {
+	private static final transient java.util.logging.Logger log = java.util.logging.Logger.getLogger(MxValueExtractor.class.getName());
+
+	private final MxPath[] paths;
+	private final boolean parseHeader;
+
+	/**
+	 * Creates an extractor for the given paths
+	 * @param paths absolute or relative paths, see {@link MxPath}
+	 * @throws IllegalArgumentException if any path is null
+	 */
+	public MxValueExtractor(final String... paths) {
+		this(Arrays.asList(Validate.notNull(paths, "paths must not be null")), false);
+	}
+
+	/**
+	 * Creates an extractor for the given paths
+	 * @param paths absolute or relative paths, see {@link MxPath}
+	 * @param parseHeader true to also parse the AppHdr into a {@link BusinessHeader}
+	 * @throws IllegalArgumentException if any path is null
+	 */
+	public MxValueExtractor(final Collection<String> paths, final boolean parseHeader) {
+		Validate.notNull(paths, "paths must not be null");
+		this.paths = new MxPath[paths.size()];
+		int i = 0;
+		for (final String path : paths) {
+			this.paths[i++] = MxPath.compile(path);
+		}
+		this.parseHeader = parseHeader;
+	}
+
+	/**
+	 * Extracts the values from the XML content
+	 * @param xml the message content
+	 * @return the extraction result, with no values if the content is null or empty
+	 */
+	public Result extract(final String xml) {
+		if (StringUtils.isBlank(xml)) {
+			log.log(Level.WARNING, "cannot extract values from null or empty content");
+			return new Result(this.paths);
+		}
+		return extract(new StringReader(xml));
+	}
+
+	/**
+	 * Extracts the values from the reader
+	 * @param reader the message content, it is not closed
+	 * @return the extraction result
+	 * @throws IllegalArgumentException if the reader is null
+	 */
+	public Result extract(final Reader reader) {
+		Validate.notNull(reader, "reader must not be null");
+		final Result result = new Result(this.paths);
+		try {
+			extract(SafeXmlUtils.sharedInputFactory().createXMLStreamReader(reader), result);
+		} catch (final XMLStreamException e) {
+			log.log(Level.SEVERE, "error while extracting values: " + e.getMessage());
+			result.exception = e;
+		}
+		return result;
+	}
+
+	/**
+	 * Extracts the values from the stream, with the encoding taken from the XML declaration
+	 * @param stream the message content, it is not closed
+	 * @return the extraction result
+	 * @throws IllegalArgumentException if the stream is null
+	 */
+	public Result extract(final InputStream stream) {
+		Validate.notNull(stream, "stream must not be null");
+		final Result result = new Result(this.paths);
+		try {
+			extract(SafeXmlUtils.sharedInputFactory().createXMLStreamReader(stream), result);
+		} catch (final XMLStreamException e) {
+			log.log(Level.SEVERE, "error while extracting values: " + e.getMessage());
+			result.exception = e;
+		}
+		return result;
+	}
+
+	private void extract(final XMLStreamReader reader, final Result result) throws XMLStreamException {
+		final Matcher matcher = new Matcher(this.paths, result);
+		boolean document = false;
+		boolean header = false;
+		try {
+			while (reader.hasNext() && !(document && matcher.pending == 0)) {
+				switch (reader.next()) {
+					case XMLStreamConstants.START_ELEMENT:
+						final String localName = reader.getLocalName();
+						if (!document && MxParser.DOCUMENT_LOCALNAME.equals(localName)) {
+							document = true;
+							result.documentNamespace = MxParser.readNamespace(reader);
+						} else if (this.parseHeader && !header && MxParser.HEADER_LOCALNAME.equals(localName)) {
+							header = true;
+							result.header = MxParser.parseBusinessHeader(new MxNodeBuilder().buildElement(reader));
+							break;
+						}
+						matcher.start(localName);
+						break;
+					case XMLStreamConstants.END_ELEMENT:
+						matcher.end();
+						break;
+					case XMLStreamConstants.CHARACTERS:
+					case XMLStreamConstants.CDATA:
+					case XMLStreamConstants.SPACE:
+						matcher.text(reader);
+						break;
+					default:
+						break;
+				}
+			}
+		} finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Matching state of the paths for one extraction
+	 */
+	private static final class Matcher {
+		private final MxPath[] paths;
+		private final Result result;
+		/*
+		 * per path: amount of segments matched by the open elements, depth where the first segment matched,
+		 * and count of the elements matching each segment name within the current parent
+		 */
+		private final int[] matched;
+		private final int[] base;
+		private final int[][] counts;
+		/*
+		 * per relative path with a position in its first segment: count of the elements matching the first segment
+		 * name within the current parent at each depth
+		 */
+		private final int[][] siblings;
+		private int pending;
+
+		private int depth = 0;
+		private final StringBuilder text = new StringBuilder();
+		private int[] textStart = new int[32];
+		private boolean[] capture = new boolean[32];
+
+		private Matcher(final MxPath[] paths, final Result result) {
+			this.paths = paths;
+			this.result = result;
+			this.matched = new int[paths.length];
+			this.base = new int[paths.length];
+			this.counts = new int[paths.length][];
+			this.siblings = new int[paths.length][];
+			for (int p = 0; p < paths.length; p++) {
+				this.base[p] = paths[p].isAbsolute() ? 0 : -1;
+				this.counts[p] = new int[paths[p].size()];
+				if (!paths[p].isAbsolute() && paths[p].size() > 0 && paths[p].getPosition(0) != MxPath.ANY) {
+					this.siblings[p] = new int[32];
+				}
+				if (paths[p].size() > 0) {
+					this.pending++;
+				}
+			}
+		}
+
+		private void start(final String localName) {
+			final int d = this.depth;
+			if (d == this.capture.length) {
+				this.capture = Arrays.copyOf(this.capture, d * 2);
+				this.textStart = Arrays.copyOf(this.textStart, d * 2);
+			}
+			this.capture[d] = false;
+			for (int p = 0; p < this.paths.length; p++) {
+				final MxPath path = this.paths[p];
+				if (this.result.found[p] || path.size() == 0) {
+					continue;
+				}
+				if (this.siblings[p] != null) {
+					if (d + 1 >= this.siblings[p].length) {
+						this.siblings[p] = Arrays.copyOf(this.siblings[p], (d + 1) * 2);
+					}
+					// the children of this element are counted from zero
+					this.siblings[p][d + 1] = 0;
+				}
+				final int k;
+				if (this.base[p] < 0) {
+					if (!path.matchesName(0, localName)) {
+						continue;
+					}
+					if (this.siblings[p] != null && ++this.siblings[p][d] != path.getPosition(0)) {
+						continue;
+					}
+					// relative paths may start at any depth, regardless of the first segment position
+					this.base[p] = d;
+					k = 0;
+				} else {
+					k = d - this.base[p];
+					if (this.matched[p] != k || k >= path.size() || !path.matchesName(k, localName)) {
+						continue;
+					}
+					final int position = path.getPosition(k);
+					if (++this.counts[p][k] != position && position != MxPath.ANY) {
+						continue;
+					}
+				}
+				this.matched[p] = k + 1;
+				if (k + 1 < path.size()) {
+					this.counts[p][k + 1] = 0;
+				} else {
+					this.capture[d] = true;
+				}
+			}
+			this.textStart[d] = this.text.length();
+			this.depth++;
+		}
+
+		private void text(final XMLStreamReader reader) {
+			if (this.depth > 0 && this.capture[this.depth - 1]) {
+				this.text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+			}
+		}
+
+		private void end() {
+			final int d = --this.depth;
+			String value = null;
+			if (this.capture[d]) {
+				if (this.text.length() > this.textStart[d]) {
+					value = this.text.substring(this.textStart[d]);
+				}
+				this.text.setLength(this.textStart[d]);
+				this.capture[d] = false;
+			}
+			for (int p = 0; p < this.paths.length; p++) {
+				if (this.result.found[p] || this.base[p] < 0) {
+					continue;
+				}
+				final int k = d - this.base[p];
+				if (this.matched[p] == k + 1) {
+					this.matched[p] = k;
+					if (k + 1 == this.paths[p].size()) {
+						this.result.found[p] = true;
+						this.result.values[p] = value;
+						this.pending--;
+					}
+					if (k == 0 && !this.paths[p].isAbsolute()) {
+						// look for the next element matching the first segment
+						this.base[p] = -1;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * The values extracted from one message
+	 */
+	public static final class Result {
+		private final MxPath[] paths;
+		private final boolean[] found;
+		private final String[] values;
+		private String documentNamespace;
+		private BusinessHeader header;
+		private Exception exception;
+
+		private Result(final MxPath[] paths) {
+			this.paths = paths;
+			this.found = new boolean[paths.length];
+			this.values = new String[paths.length];
+		}
+
+		/**
+		 * @param path one of the extractor paths
+		 * @return the text of the first element matching the path, or null if not found or if the element has no text
+		 */
+		public String getValue(final String path) {
+			for (int p = 0; p < this.paths.length; p++) {
+				if (this.paths[p].toString().equals(path)) {
+					return this.values[p];
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * @param path one of the extractor paths
+		 * @return true if an element matching the path was found
+		 */
+		public boolean isFound(final String path) {
+			for (int p = 0; p < this.paths.length; p++) {
+				if (this.paths[p].toString().equals(path)) {
+					return this.found[p];
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * @return the values keyed by path, in the extractor order; paths not found are mapped to null
+		 */
+		public Map<String, String> getValues() {
+			final Map<String, String> result = new LinkedHashMap<>(this.paths.length * 2);
+			for (int p = 0; p < this.paths.length; p++) {
+				if (!result.containsKey(this.paths[p].toString())) {
+					result.put(this.paths[p].toString(), this.values[p]);
+				}
+			}
+			return Collections.unmodifiableMap(result);
+		}
+
+		/**
+		 * @return the namespace declared in the Document element for its prefix, or null if not found
+		 */
+		public String getDocumentNamespace() {
+			return documentNamespace;
+		}
+
+		/**
+		 * @return the message type from the Document namespace, or null if not found or if the namespace is not a
+		 * valid MX namespace
+		 * @see MxParser#detectMessage()
+		 */
+		public MxId getMxId() {
+			if (this.documentNamespace != null) {
+				try {
+					return new MxId(this.documentNamespace);
+				} catch (final IllegalArgumentException e) {
+					log.log(Level.FINE, "cannot detect message type from namespace " + this.documentNamespace, e);
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * @return the parsed header, or null if not present or if the extractor does not parse the header
+		 */
+		public BusinessHeader getHeader() {
+			return header;
+		}
+
+		/**
+		 * @return the error found while reading the XML, or null if the content was read with no errors
+		 */
+		public Exception getException() {
+			return exception;
+		}
+	}
+
+}
@@ -0,0 +1,474 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io.parser;
+
+import com.prowidesoftware.swift.model.MessageIOType;
+import com.prowidesoftware.swift.model.SwiftMessage;
+import org.apache.commons.lang3.Validate;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the routing information of an MT message directly from its FIN text, without parsing the message.
+ *
+ * <p>The basic and application headers (blocks 1 and 2) are decoded from their fixed positions, and the user header
+ * and trailer blocks (blocks 3 and 5) are scanned only for the fields of interest. The text block (block 4) is
+ * skipped without reading its fields. The values are the same returned by the corresponding {@link SwiftMessage}
+ * getters once the message is parsed with the default lenient configuration.
+ *
+ * <pre>
+ * SwiftHeaderScanner.Header header = SwiftHeaderScanner.scan(fin);
+ * if ("103".equals(header.getMessageType()) &amp;&amp; header.getUETR() != null) {
+ *     ...
+ * }
+ * </pre>
+ *
+ * <p>Only the first message in the content is scanned. Malformed content does not produce an error, the values
+ * that cannot be found are returned as null.
+ *
+ * @since 8.0.2
+ */
+public final class SwiftHeaderScanner {
+
+	// Suppress default constructor for noninstantiability
+	private SwiftHeaderScanner() {
+		throw new AssertionError();
+	}
+
+	/**
+	 * Scans the message headers
+	 * @param fin the message in its FIN format
+	 * @return the header information found
+	 * @throws IllegalArgumentException if the parameter is null
+	 */
+	public static Header scan(final String fin) {
+		Validate.notNull(fin, "fin must not be null");
+		return scan((CharSequence) fin);
+	}
+
+	/**
+	 * Scans the message headers
+	 * @param fin the message in its FIN format
+	 * @return the header information found
+	 * @throws IllegalArgumentException if the parameter is null
+	 */
+	public static Header scan(final char[] fin) {
+		Validate.notNull(fin, "fin must not be null");
+		return scan(fin, 0, fin.length);
+	}
+
+	/**
+	 * Scans the message headers from a range of the given array
+	 * @param fin an array containing the message in its FIN format
+	 * @param offset position of the message start
+	 * @param length amount of characters of the message
+	 * @return the header information found
+	 * @throws IllegalArgumentException if the array is null
+	 * @throws IndexOutOfBoundsException if the range is not within the array bounds
+	 */
+	public static Header scan(final char[] fin, final int offset, final int length) {
+		Validate.notNull(fin, "fin must not be null");
+		return scan(CharBuffer.wrap(fin, offset, length));
+	}
+
+	/**
+	 * Scans the message headers from its ASCII (or ISO-8859-1) encoded bytes
+	 * @param fin the message in its FIN format
+	 * @return the header information found
+	 * @throws IllegalArgumentException if the parameter is null
+	 */
+	public static Header scan(final byte[] fin) {
+		Validate.notNull(fin, "fin must not be null");
+		return scan(fin, 0, fin.length);
+	}
+
+	/**
+	 * Scans the message headers from a range of the given ASCII (or ISO-8859-1) encoded bytes
+	 * @param fin an array containing the message in its FIN format
+	 * @param offset position of the message start
+	 * @param length amount of bytes of the message
+	 * @return the header information found
+	 * @throws IllegalArgumentException if the array is null
+	 * @throws IndexOutOfBoundsException if the range is not within the array bounds
+	 */
+	public static Header scan(final byte[] fin, final int offset, final int length) {
+		Validate.notNull(fin, "fin must not be null");
+		if (offset < 0 || length < 0 || offset + length > fin.length) {
+			throw new IndexOutOfBoundsException("offset " + offset + " and length " + length + " out of bounds for " + fin.length);
+		}
+		return scan(new Bytes(fin, offset, length));
+	}
+
+	private static Header scan(final CharSequence s) {
+		final Header h = new Header();
+		String block1 = null;
+		String block2 = null;
+		final int len = s.length();
+		int i = 0;
+		while (true) {
+			final int open = indexOf(s, '{', i);
+			final int colon = open >= 0 ? indexOf(s, ':', open + 1) : -1;
+			if (colon < 0) {
+				break;
+			}
+			final int end;
+			final char id = colon == open + 2 ? s.charAt(open + 1) : ' ';
+			if (id == '1' || id == '2') {
+				if (id == '1' && block1 != null) {
+					// start of a subsequent message
+					break;
+				}
+				end = indexOf(s, '}', colon + 1);
+				final String value = substring(s, colon + 1, end < 0 ? len : end);
+				if (id == '1') {
+					block1 = value;
+				} else if (block2 == null) {
+					block2 = value;
+				}
+			} else if (id == '4' && isTextBlock(s, colon + 1)) {
+				end = indexOfTextBlockEnd(s, colon + 1);
+			} else {
+				end = indexOfBlockEnd(s, colon + 1);
+				if (id == '3') {
+					scanTags(s, colon + 1, end < 0 ? len : end, h, true);
+				} else if (id == '5') {
+					scanTags(s, colon + 1, end < 0 ? len : end, h, false);
+				}
+			}
+			if (end < 0) {
+				break;
+			}
+			i = end + 1;
+		}
+		decodeHeaders(h, block1, block2);
+		return h;
+	}
+
+	/**
+	 * Fills the values from the blocks 1 and 2 fixed positions
+	 */
+	private static void decodeHeaders(final Header h, final String block1, final String block2) {
+		String logicalTerminal = null;
+		if (block1 != null) {
+			// application id (1), service id (2), logical terminal (12), session (4) and sequence (6)
+			h.serviceId = part(block1, 1, 2);
+			logicalTerminal = part(block1, 3, 12);
+			h.serviceMessage = !"01".equals(h.serviceId) && h.serviceId != null;
+		}
+		if (block2 != null && block2.length() > 0) {
+			h.messageType = part(block2, 1, 3);
+			if (Character.toUpperCase(block2.charAt(0)) == 'I') {
+				// I, message type (3), receiver address (12), priority (1), delivery monitoring (1), obsolescence (3)
+				h.direction = MessageIOType.outgoing;
+				h.priority = part(block2, 16, 1);
+				h.sender = logicalTerminal;
+				h.receiver = part(block2, 4, 12);
+			} else {
+				// O, message type (3), input time (4), MIR: date (6), logical terminal (12), session (4), sequence (6)
+				// then output date (6), output time (4) and priority (1)
+				h.direction = MessageIOType.incoming;
+				h.priority = part(block2, 46, 1);
+				h.sender = part(block2, 14, 12);
+				h.receiver = logicalTerminal;
+			}
+		}
+		if (h.serviceMessage) {
+			h.sender = logicalTerminal;
+			h.receiver = null;
+		}
+	}
+
+	/**
+	 * Reads the fields of interest from the blocks 3 or 5, keeping the first occurrence of each field
+	 */
+	private static void scanTags(final CharSequence s, final int start, final int end, final Header h, final boolean userHeader) {
+		int i = start;
+		while (i < end) {
+			final int open = indexOf(s, '{', i);
+			if (open < 0 || open >= end) {
+				return;
+			}
+			int close = indexOf(s, '}', open + 1);
+			if (close < 0 || close > end) {
+				close = end;
+			}
+			final int colon = indexOf(s, ':', open + 1);
+			if (colon >= 0 && colon < close) {
+				final String name = substring(s, open + 1, colon);
+				// an empty value is null, as in the parsed Tag
+				final String value = colon + 1 < close ? substring(s, colon + 1, close) : null;
+				if (userHeader) {
+					if (h.mur == null && "108".equals(name)) {
+						h.mur = value;
+					} else if (h.validationFlag == null && "119".equals(name)) {
+						h.validationFlag = value;
+					} else if (h.uetr == null && "121".equals(name)) {
+						h.uetr = value;
+					}
+				} else if (!h.pdeFlag && "PDE".equals(name)) {
+					h.pdeFlag = true;
+					h.pde = value;
+				} else if (!h.pdmFlag && "PDM".equals(name)) {
+					h.pdmFlag = true;
+					h.pdm = value;
+				}
+			}
+			i = close + 1;
+		}
+	}
+
+	/**
+	 * Same as the parser text block detection: the first ':' or '{' after the block identifier tells if the block
+	 * contains text fields or a list of tags, defaulting to text
+	 */
+	private static boolean isTextBlock(final CharSequence s, final int start) {
+		for (int i = start; i < s.length(); i++) {
+			final char c = s.charAt(i);
+			if (c == '{') {
+				return false;
+			} else if (c == ':') {
+				return true;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return the position of the closing bracket of a text block, that is the [LF]-} sequence, or -1 if not found
+	 */
+	private static int indexOfTextBlockEnd(final CharSequence s, final int start) {
+		for (int i = Math.max(start, 2); i < s.length(); i++) {
+			if (s.charAt(i) == '}' && s.charAt(i - 1) == '-' && s.charAt(i - 2) == '\n') {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @return the position of the bracket closing the block, balancing nested brackets, or -1 if not found
+	 */
+	private static int indexOfBlockEnd(final CharSequence s, final int start) {
+		int depth = 1;
+		for (int i = start; i < s.length(); i++) {
+			final char c = s.charAt(i);
+			if (c == '{') {
+				depth++;
+			} else if (c == '}' && --depth == 0) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static int indexOf(final CharSequence s, final char c, final int start) {
+		for (int i = start; i < s.length(); i++) {
+			if (s.charAt(i) == c) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static String substring(final CharSequence s, final int start, final int end) {
+		return s.subSequence(start, end).toString();
+	}
+
+	/**
+	 * @return the value fragment, truncated to the available characters, or null if it starts after the value end
+	 */
+	private static String part(final String value, final int start, final int size) {
+		if (start >= value.length()) {
+			return null;
+		}
+		return value.substring(start, Math.min(start + size, value.length()));
+	}
+
+	/**
+	 * Character view of single byte encoded content
+	 */
+	private static final class Bytes implements CharSequence {
+		private final byte[] bytes;
+		private final int offset;
+		private final int length;
+
+		private Bytes(final byte[] bytes, final int offset, final int length) {
+			this.bytes = bytes;
+			this.offset = offset;
+			this.length = length;
+		}
+
+		@Override
+		public int length() {
+			return this.length;
+		}
+
+		@Override
+		public char charAt(final int index) {
+			return (char) (this.bytes[this.offset + index] & 0xFF);
+		}
+
+		@Override
+		public CharSequence subSequence(final int start, final int end) {
+			return new Bytes(this.bytes, this.offset + start, end - start);
+		}
+
+		@Override
+		public String toString() {
+			return new String(this.bytes, this.offset, this.length, StandardCharsets.ISO_8859_1);
+		}
+	}
+
+	/**
+	 * Routing information of a message, as read from its headers and trailers.
+	 *
+	 * <p>Instances are immutable.
+	 */
+	public static final class Header {
+		private String serviceId;
+		private boolean serviceMessage;
+		private MessageIOType direction;
+		private String messageType;
+		private String priority;
+		private String sender;
+		private String receiver;
+		private String mur;
+		private String validationFlag;
+		private String uetr;
+		private boolean pdeFlag;
+		private String pde;
+		private boolean pdmFlag;
+		private String pdm;
+
+		private Header() {
+		}
+
+		/**
+		 * @return the service id from block 1, for example "01" for user to user messages and "21" for acknowledges
+		 */
+		public String getServiceId() {
+			return serviceId;
+		}
+
+		/**
+		 * @return true if the service id is present and it is anything but 01
+		 * @see SwiftMessage#isServiceMessage()
+		 */
+		public boolean isServiceMessage() {
+			return serviceMessage;
+		}
+
+		/**
+		 * @return the message direction from block 2, or null if block 2 is not present
+		 * @see SwiftMessage#getDirection()
+		 */
+		public MessageIOType getDirection() {
+			return direction;
+		}
+
+		/**
+		 * @return the message type from block 2, for example "103", or null if block 2 is not present
+		 * @see SwiftMessage#getType()
+		 */
+		public String getMessageType() {
+			return messageType;
+		}
+
+		/**
+		 * @return the message priority from block 2, or null if not present
+		 */
+		public String getPriority() {
+			return priority;
+		}
+
+		/**
+		 * @return the sender logical terminal address
+		 * @see SwiftMessage#getSender()
+		 */
+		public String getSender() {
+			return sender;
+		}
+
+		/**
+		 * @return the receiver logical terminal address, always null for service messages
+		 * @see SwiftMessage#getReceiver()
+		 */
+		public String getReceiver() {
+			return receiver;
+		}
+
+		/**
+		 * @return the message user reference, field 108 from block 3
+		 * @see SwiftMessage#getMUR()
+		 */
+		public String getMUR() {
+			return mur;
+		}
+
+		/**
+		 * @return the validation flag, field 119 from block 3, for example STP or REMIT
+		 */
+		public String getValidationFlag() {
+			return validationFlag;
+		}
+
+		/**
+		 * @return the unique end to end transaction reference, field 121 from block 3
+		 * @see SwiftMessage#getUETR()
+		 */
+		public String getUETR() {
+			return uetr;
+		}
+
+		/**
+		 * @return true if the possible duplicate emission trailer is present in block 5, with or without value
+		 */
+		public boolean isPDE() {
+			return pdeFlag;
+		}
+
+		/**
+		 * @return the possible duplicate emission trailer value, or null if not present or empty
+		 * @see SwiftMessage#getPDE()
+		 */
+		public String getPDE() {
+			return pde;
+		}
+
+		/**
+		 * @return true if the possible duplicate message trailer is present in block 5, with or without value
+		 */
+		public boolean isPDM() {
+			return pdmFlag;
+		}
+
+		/**
+		 * @return the possible duplicate message trailer value, or null if not present or empty
+		 * @see SwiftMessage#getPDM()
+		 */
+		public String getPDM() {
+			return pdm;
+		}
+
+		@Override
+		public String toString() {
+			return ToStringBuilder.reflectionToString(this);
+		}
+	}
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io.parser;
+
+/**
+ * A format problem found while parsing a message header.
+ *
+ * <p>Instances are immutable.
+ *
+ * @see SwiftParser#getParseErrors()
+ * @since 8.0.2
+ */
+public final class SwiftParseError {
+	private final char block;
+	private final int offset;
+	private final String expected;
+	private final String found;
+	private final String message;
+
+	SwiftParseError(final char block, final int offset, final String expected, final String found, final String message) {
+		this.block = block;
+		this.offset = offset;
+		this.expected = expected;
+		this.found = found;
+		this.message = message;
+	}
+
+	/**
+	 * @return the identifier of the block with the problem, for example '1' or '2'
+	 */
+	public char getBlock() {
+		return block;
+	}
+
+	/**
+	 * @return the position in the block value where the problem was found, starting at zero and including the block
+	 * identifier if present in the value
+	 */
+	public int getOffset() {
+		return offset;
+	}
+
+	/**
+	 * @return a description of the expected content, for example "I or O" or "46 or 47 characters"
+	 */
+	public String getExpected() {
+		return expected;
+	}
+
+	/**
+	 * @return the content found, for example the wrong character or the actual length
+	 */
+	public String getFound() {
+		return found;
+	}
+
+	/**
+	 * @return the error message, the same reported in {@link SwiftParser#getErrors()}
+	 */
+	public String getMessage() {
+		return message;
+	}
+
+	@Override
+	public String toString() {
+		return message;
+	}
+
+}
@@ -22,9 +22,14 @@ import com.prowidesoftware.deprecation.TargetYear;
 import com.prowidesoftware.swift.model.*;
 import com.prowidesoftware.swift.utils.Lib;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -49,10 +54,57 @@ public class SwiftParser {
 
 	private static final transient java.util.logging.Logger log = java.util.logging.Logger.getLogger(SwiftParser.class.getName());
 
+	/**
+	 * Initial size of the character window used in buffered scan mode
+	 */
+	private static final int WINDOW_SIZE = 8192;
+
 	private Reader reader;
 
 	private StringBuilder buffer;
 
+	/**
+	 * Characters read from the reader in buffered scan mode.
+	 * @see SwiftParserConfiguration#isBufferedScan()
+	 */
+	private char[] window;
+
+	/**
+	 * Amount of valid characters in the window
+	 */
+	private int windowLength = 0;
+
+	/**
+	 * Offset in the window of the next character to consume
+	 */
+	private int windowPosition = 0;
+
+	/**
+	 * Flag set when the reader has been fully consumed into the window
+	 */
+	private boolean windowEof = false;
+
+	/**
+	 * Encoded content set with {@link #setData(ByteBuffer, Charset)}, scanned at byte level in buffered scan mode
+	 */
+	private byte[] bytes;
+
+	/**
+	 * Current position and end of the content in the bytes array
+	 */
+	private int bytesPosition = 0;
+	private int bytesLimit = 0;
+
+	/**
+	 * Charset to decode the block contents found in the bytes array
+	 */
+	private Charset charset;
+
+	/**
+	 * Scan mode in use for the current reader, taken from the configuration at the first read
+	 */
+	private Boolean bufferedScan;
+
 	/**
 	 * Reference to the current message being parsed.
 	 * This should be used when some parsing decision needs to be made based on a previous item parsed,
@@ -65,6 +117,11 @@ public class SwiftParser {
 	 */
 	private final List<String> errors = new ArrayList<>();
 
+	/**
+	 * Header format errors found while parsing the message, also reported as text in {@link #errors}
+	 */
+	private final List<SwiftParseError> parseErrors = new ArrayList<>();
+
 	private int lastBlockStartOffset = 0;
 
 	/**
@@ -97,6 +154,44 @@ public class SwiftParser {
 		this(new StringReader(message));
 	}
 
+	/**
+	 * Constructor with the message bytes, decoded as UTF-8
+	 * @param message the swift message encoded in UTF-8 or ASCII
+	 * @throws IllegalArgumentException if the message is null
+	 * @see #setData(ByteBuffer, Charset)
+	 * @since 8.0.2
+	 */
+	public SwiftParser(final byte[] message) {
+		this(message, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Constructor with the message bytes and their charset
+	 * @param message the encoded swift message
+	 * @param charset the message charset
+	 * @throws IllegalArgumentException if any parameter is null
+	 * @see #setData(ByteBuffer, Charset)
+	 * @since 8.0.2
+	 */
+	public SwiftParser(final byte[] message, final Charset charset) {
+		this();
+		Validate.notNull(message, "message must not be null");
+		setData(ByteBuffer.wrap(message), charset);
+	}
+
+	/**
+	 * Constructor with the message bytes and their charset
+	 * @param message the encoded swift message, from its position to its limit
+	 * @param charset the message charset
+	 * @throws IllegalArgumentException if any parameter is null
+	 * @see #setData(ByteBuffer, Charset)
+	 * @since 8.0.2
+	 */
+	public SwiftParser(final ByteBuffer message, final Charset charset) {
+		this();
+		setData(message, charset);
+	}
+
 	/**
 	 * default constructor.<br>
 	 * <b>NOTE</b>: If this constructor is called, setReader must be called to use the parser
@@ -123,6 +218,16 @@ public class SwiftParser {
 	public void setReader(final Reader r) {
 		this.buffer = new StringBuilder();
 		this.reader = r;
+		this.window = null;
+		this.windowLength = 0;
+		this.windowPosition = 0;
+		this.windowEof = false;
+		this.bytes = null;
+		this.bytesPosition = 0;
+		this.bytesLimit = 0;
+		this.charset = null;
+		this.bufferedScan = null;
+		this.lastBlockStartOffset = 0;
 	}
 
 	/**
@@ -133,6 +238,49 @@ public class SwiftParser {
 		setReader(new StringReader(data));
 	}
 
+	/**
+	 * sets the input data to the received bytes, from the buffer position to its limit. The buffer position is not
+	 * modified.
+	 *
+	 * <p>When the charset encodes the ASCII characters as single bytes that cannot be part of other characters, as
+	 * UTF-8, US-ASCII, ISO-8859 and windows-125x charsets do, the block boundaries are found scanning the bytes in
+	 * buffered scan mode, and only the content of each block is decoded, once, when the block is read. The input is
+	 * not copied when the buffer is backed by an array, so it must not be modified while the parser is in use. Other
+	 * charsets, and the char by char scan mode, decode the content with the given charset as it is read.
+	 *
+	 * @param data the encoded swift message
+	 * @param charset the message charset
+	 * @throws IllegalArgumentException if any parameter is null
+	 * @since 8.0.2
+	 */
+	public void setData(final ByteBuffer data, final Charset charset) {
+		Validate.notNull(data, "data must not be null");
+		Validate.notNull(charset, "charset must not be null");
+		final ByteBuffer source = data.duplicate();
+		final byte[] array;
+		final int offset;
+		if (source.hasArray()) {
+			array = source.array();
+			offset = source.arrayOffset() + source.position();
+		} else {
+			array = new byte[source.remaining()];
+			source.get(array);
+			offset = 0;
+		}
+		final int length = data.remaining();
+		setReader(new InputStreamReader(new ByteArrayInputStream(array, offset, length), charset));
+		if (isAsciiCompatible(charset)) {
+			this.bytes = array;
+			this.bytesPosition = offset;
+			this.bytesLimit = offset + length;
+			this.charset = charset;
+		}
+	}
+
+	private static boolean isAsciiCompatible(final Charset charset) {
+		return StandardCharsets.UTF_8.equals(charset) || StandardCharsets.US_ASCII.equals(charset) || charset.name().startsWith("windows-125") || charset.name().startsWith("ISO-8859-");
+	}
+
 	/**
 	 * Parse a SWIFT message into a data structure.
 	 *
@@ -157,6 +305,7 @@ public class SwiftParser {
 
 		// Clear all errors before starting the parse process
 		this.errors.clear();
+		this.parseErrors.clear();
 		try {
 			boolean done = false;
 			SwiftBlock b;
@@ -231,14 +380,24 @@ public class SwiftParser {
 			utBuffer.append(s);
 			utBuffer.append("}");
 			boolean done = false;
-			
+			if (isBufferedScan() && this.bytes != null) {
+				// the rest of the content is in the bytes array, the reader is not used
+				utBuffer.append(decode(this.bytesPosition, this.bytesLimit));
+				this.bytesPosition = this.bytesLimit;
+				done = true;
+			} else if (isBufferedScan() && this.window != null) {
+				// append the content already read into the window
+				utBuffer.append(this.window, this.windowPosition, this.windowLength - this.windowPosition);
+				this.windowPosition = this.windowLength;
+			}
+
 			while (!done) {
 				// try to read a block of data
 				final char[] data = new char[128];
 				final int size = this.reader.read(data);
 				if (size > 0) {
 					// append the read buffer
-					utBuffer.append(data);
+					utBuffer.append(data, 0, size);
 				} else {
 					// we are done
 					done = true;
@@ -304,7 +463,11 @@ public class SwiftParser {
 				break;
 			case '4': // block 4
 				if (this.configuration.isParseTextBlock()) {
-					if (isTextBlock(s)) {
+					if (this.configuration.isLazyTextBlock()) {
+						// the configuration may be changed or replaced before the block is accessed
+						final SwiftParserConfiguration lazyConfiguration = copy(this.configuration);
+						b = new SwiftBlock4(s, content -> parseLazyBlock4(lazyConfiguration, content));
+					} else if (isTextBlock(s)) {
 						b = consumeBlock4(new SwiftBlock4(), s);
 					} else {
 						b = consumeTagListBlock(new SwiftBlock4(), s);
@@ -332,54 +495,70 @@ public class SwiftParser {
 	}
 
 	/**
-	 * Creates the block 1, dealing with the {@link IllegalArgumentException} in case of lenient mode
+	 * Parses the raw content of a block 4 created in lazy mode, the same as done by {@link #createBlock(char, String)}.
+	 * The errors found are kept by the parser created for the call and are not reported to the originating parser.
+	 * @param configuration the configuration of the parser that read the block
+	 * @see SwiftParserConfiguration#isLazyTextBlock()
 	 */
-	private SwiftBlock1 createBlock1(final String s) {
-		try {
-			return new SwiftBlock1(s, false);
-		} catch (IllegalArgumentException e) {
-			if (this.configuration.isLenient()) {
-				// if configuration is lenient we record the default strict parsing error and try again in lenient mode
-				this.errors.add(e.getMessage());
-				return new SwiftBlock1(s, true);
-			} else {
-				throw e;
-			}
+	private static SwiftBlock4 parseLazyBlock4(final SwiftParserConfiguration configuration, final String s) {
+		final SwiftParser parser = new SwiftParser();
+		parser.setConfiguration(configuration);
+		if (parser.isTextBlock(s)) {
+			return parser.consumeBlock4(new SwiftBlock4(), s);
+		} else {
+			return (SwiftBlock4) parser.consumeTagListBlock(new SwiftBlock4(), s);
 		}
 	}
 
 	/**
-	 * Creates the block 2, dealing with the {@link IllegalArgumentException} in case of lenient mode
+	 * Copies the configuration values
+	 */
+	private static SwiftParserConfiguration copy(final SwiftParserConfiguration configuration) {
+		final SwiftParserConfiguration result = new SwiftParserConfiguration();
+		result.setLenient(configuration.isLenient());
+		result.setParseTextBlock(configuration.isParseTextBlock());
+		result.setParseTrailerBlock(configuration.isParseTrailerBlock());
+		result.setParseUserBlock(configuration.isParseUserBlock());
+		result.setBufferedScan(configuration.isBufferedScan());
+		result.setLazyTextBlock(configuration.isLazyTextBlock());
+		return result;
+	}
+
+	/**
+	 * Creates the block 1. If the value is malformed the error is reported and the block is created in lenient mode,
+	 * or an {@link IllegalArgumentException} is thrown if the configuration is not lenient
+	 */
+	private SwiftBlock1 createBlock1(final String s) {
+		return HeaderDecoder.block1(s, this::headerError);
+	}
+
+	/**
+	 * Creates the block 2 for an input message
+	 * @see #createBlock1(String)
 	 */
 	private SwiftBlock2Input createBlock2Input(final String s) {
-		try {
-			return new SwiftBlock2Input(s, false);
-		} catch (IllegalArgumentException e) {
-			if (this.configuration.isLenient()) {
-				// if configuration is lenient we record the default strict parsing error and try again in lenient mode
-				this.errors.add(e.getMessage());
-				return new SwiftBlock2Input(s, true);
-			} else {
-				throw e;
-			}
-		}
+		return HeaderDecoder.block2Input(s, this::headerError);
 	}
 
 	/**
-	 * Creates the block 2, dealing with the {@link IllegalArgumentException} in case of lenient mode
+	 * Creates the block 2 for an output message
+	 * @see #createBlock1(String)
 	 */
 	private SwiftBlock2Output createBlock2Output(final String s) {
-		try {
-			return new SwiftBlock2Output(s, false);
-		} catch (IllegalArgumentException e) {
-			if (this.configuration.isLenient()) {
-				// if configuration is lenient we record the default strict parsing error and try again in lenient mode
-				this.errors.add(e.getMessage());
-				return new SwiftBlock2Output(s, true);
-			} else {
-				throw e;
-			}
+		return HeaderDecoder.block2Output(s, this::headerError);
+	}
+
+	/**
+	 * Records a header format error if the configuration is lenient
+	 * @return true if the error was recorded, false if the parse must fail
+	 */
+	private boolean headerError(final SwiftParseError error) {
+		if (this.configuration.isLenient()) {
+			this.errors.add(error.getMessage());
+			this.parseErrors.add(error);
+			return true;
 		}
+		return false;
 	}
 
 	/**
@@ -912,6 +1091,9 @@ public class SwiftParser {
 	 * @throws IOException if an error occurred during read
 	 */
 	protected String readUntilBlockEnds() throws IOException {
+		if (isBufferedScan()) {
+			return scanUntilBlockEnds();
+		}
 		final int start = buffer==null? 0 : buffer.length();
 		int len = 0;
 		int c;
@@ -1056,6 +1238,9 @@ public class SwiftParser {
 	 * @throws IOException if thrown during read
 	 */
 	protected String findBlockStart() throws IOException {
+		if (isBufferedScan()) {
+			return scanBlockStart();
+		}
 		final StringBuilder textUntilBlock = new StringBuilder();
 		int c;
 		do {
@@ -1094,6 +1279,201 @@ public class SwiftParser {
 		return c;
 	}
 
+	/**
+	 * Buffered scan mode implementation of {@link #findBlockStart()}.
+	 * Seeks the next block start in the window with an index scan.
+	 */
+	private String scanBlockStart() throws IOException {
+		if (this.bytes != null) {
+			return scanBytesBlockStart();
+		}
+		compactWindow();
+		final int begin = this.windowPosition;
+		int i = begin;
+		while (i < this.windowLength || fillWindow()) {
+			if (this.window[i] == '{') {
+				this.lastBlockStartOffset = i;
+				this.windowPosition = i + 1;
+				return i > begin ? new String(this.window, begin, i - begin) : StringUtils.EMPTY;
+			}
+			i++;
+		}
+		this.windowPosition = i;
+		return i > begin ? new String(this.window, begin, i - begin) : StringUtils.EMPTY;
+	}
+
+	/**
+	 * Buffered scan mode implementation of {@link #readUntilBlockEnds()}.
+	 *
+	 * <p>Finds the block end in the window with index scans, using the same end of block logic as the character
+	 * by character implementation: the closing bracket balancing nested blocks, or the [LF]-} sequence if the block
+	 * is a text block. The block content is created from the window offsets without copying any previous content.
+	 */
+	private String scanUntilBlockEnds() throws IOException {
+		if (this.bytes != null) {
+			return scanBytesUntilBlockEnds();
+		}
+		final int start = this.windowPosition;
+		int i = start;
+		int starts = 1;
+		Boolean isTextBlock = null;
+		while (true) {
+			if (i == this.windowLength && !fillWindow()) {
+				// EOF reached before a proper closing bracket
+				if (i > start) {
+					final String error = "Missing or invalid closing bracket in block " + this.window[start];
+					if (configuration.isLenient()) {
+						this.errors.add(error);
+					} else {
+						throw new IllegalArgumentException(error);
+					}
+				}
+				break;
+			}
+			final char c = this.window[i];
+			if (isTextBlock == null && i - start >= 3) {
+				// decide the text block flag on the fourth char, from the last block start
+				isTextBlock = this.lastBlockStartOffset <= i && isTextBlock(new String(this.window, this.lastBlockStartOffset, i + 1 - this.lastBlockStartOffset));
+			}
+			if (isTextBlock != null && isTextBlock) {
+				// nested brackets are ignored, only [LF]-} ends the block
+				if (c == '}' && this.window[i - 1] == '-' && this.window[i - 2] == '\n') {
+					this.windowPosition = i + 1;
+					return new String(this.window, start, i - start);
+				}
+			} else if (c == '{') {
+				starts++;
+				this.lastBlockStartOffset = i;
+			} else if (c == '}') {
+				starts--;
+				if (starts == 0) {
+					this.windowPosition = i + 1;
+					return new String(this.window, start, i - start);
+				}
+			}
+			i++;
+		}
+		this.windowPosition = i;
+		return i > start ? new String(this.window, start, i - start) : StringUtils.EMPTY;
+	}
+
+	/**
+	 * Byte level implementation of {@link #scanBlockStart()}, for content set with {@link #setData(ByteBuffer, Charset)}
+	 */
+	private String scanBytesBlockStart() {
+		final int begin = this.bytesPosition;
+		int i = begin;
+		while (i < this.bytesLimit) {
+			if (this.bytes[i] == '{') {
+				this.lastBlockStartOffset = i;
+				this.bytesPosition = i + 1;
+				return decode(begin, i);
+			}
+			i++;
+		}
+		this.bytesPosition = i;
+		return decode(begin, i);
+	}
+
+	/**
+	 * Byte level implementation of {@link #scanUntilBlockEnds()}, for content set with
+	 * {@link #setData(ByteBuffer, Charset)}. The block boundaries are ASCII characters, so they are found comparing
+	 * bytes, and only the block content is decoded.
+	 */
+	private String scanBytesUntilBlockEnds() {
+		final int start = this.bytesPosition;
+		int i = start;
+		int starts = 1;
+		Boolean isTextBlock = null;
+		while (i < this.bytesLimit) {
+			final byte c = this.bytes[i];
+			if (isTextBlock == null && i - start >= 3) {
+				// decide the text block flag on the fourth byte, from the last block start
+				isTextBlock = this.lastBlockStartOffset <= i && isTextBlock(decode(this.lastBlockStartOffset, i + 1));
+			}
+			if (isTextBlock != null && isTextBlock) {
+				// nested brackets are ignored, only [LF]-} ends the block
+				if (c == '}' && this.bytes[i - 1] == '-' && this.bytes[i - 2] == '\n') {
+					this.bytesPosition = i + 1;
+					return decode(start, i);
+				}
+			} else if (c == '{') {
+				starts++;
+				this.lastBlockStartOffset = i;
+			} else if (c == '}') {
+				starts--;
+				if (starts == 0) {
+					this.bytesPosition = i + 1;
+					return decode(start, i);
+				}
+			}
+			i++;
+		}
+		// EOF reached before a proper closing bracket
+		if (i > start) {
+			final String error = "Missing or invalid closing bracket in block " + (char) this.bytes[start];
+			if (configuration.isLenient()) {
+				this.errors.add(error);
+			} else {
+				throw new IllegalArgumentException(error);
+			}
+		}
+		this.bytesPosition = i;
+		return decode(start, i);
+	}
+
+	/**
+	 * Decodes the content of the bytes array between the given positions, start inclusive and end exclusive
+	 */
+	private String decode(final int start, final int end) {
+		return end > start ? new String(this.bytes, start, end - start, this.charset) : StringUtils.EMPTY;
+	}
+
+	/**
+	 * Reads the next chunk of characters from the reader into the window, growing the window if it is full.
+	 * @return true if more characters were read, false if the reader was fully consumed
+	 */
+	private boolean fillWindow() throws IOException {
+		if (this.windowEof) {
+			return false;
+		}
+		if (this.window == null) {
+			this.window = new char[WINDOW_SIZE];
+		} else if (this.windowLength == this.window.length) {
+			this.window = Arrays.copyOf(this.window, this.window.length * 2);
+		}
+		final int read = this.reader.read(this.window, this.windowLength, this.window.length - this.windowLength);
+		if (read < 0) {
+			this.windowEof = true;
+			return false;
+		}
+		this.windowLength += read;
+		return true;
+	}
+
+	/**
+	 * Discards the already consumed characters when they fill more than half of the window
+	 */
+	private void compactWindow() {
+		if (this.window != null && this.windowPosition > this.window.length / 2) {
+			final int shift = this.windowPosition;
+			System.arraycopy(this.window, shift, this.window, 0, this.windowLength - shift);
+			this.windowLength -= shift;
+			this.windowPosition = 0;
+			this.lastBlockStartOffset = Math.max(0, this.lastBlockStartOffset - shift);
+		}
+	}
+
+	/**
+	 * Scan mode for the current reader, latched at the first read
+	 */
+	private boolean isBufferedScan() {
+		if (this.bufferedScan == null) {
+			this.bufferedScan = this.configuration.isBufferedScan();
+		}
+		return this.bufferedScan;
+	}
+
 	/**
 	 * Get a copy of the errors found during the parsing of the message.
 	 * <p>You can manipulate this copy without affecting the original list.
@@ -1104,6 +1484,18 @@ public class SwiftParser {
 		return new ArrayList(this.errors);
 	}
 
+	/**
+	 * Get a copy of the header format errors found during the parsing of the message, with the position and the
+	 * expected and found content of each error.
+	 * <p>These errors are only reported in lenient mode, and their messages are also included in {@link #getErrors()}.
+	 *
+	 * @return a copy of the list of header errors found
+	 * @since 8.0.2
+	 */
+	public List<SwiftParseError> getParseErrors() {
+		return new ArrayList<>(this.parseErrors);
+	}
+
 	/**
 	 * Gets the current parse configuration
 	 * @since 7.8
@@ -27,6 +27,8 @@ public class SwiftParserConfiguration {
 	private boolean parseTextBlock = true;
 	private boolean parseTrailerBlock = true;
 	private boolean parseUserBlock = true;
+	private boolean bufferedScan = true;
+	private boolean lazyTextBlock = false;
 
 	/**
 	 * Indicates whether the parser is permissive or not. Defaults to true, meaning the parser will do a best effort
@@ -86,4 +88,57 @@ public class SwiftParserConfiguration {
 	public void setParseUserBlock(final boolean parseUserBlock) {
 		this.parseUserBlock = parseUserBlock;
 	}
+
+	/**
+	 * Defines the scanning mode used to find the message blocks boundaries.
+	 * Defaults to true.
+	 *
+	 * <p>When true, the parser reads the input into a character window and finds the blocks start and end with index
+	 * scans over it, creating each block content directly from the window offsets. When false, the parser falls back
+	 * to the legacy implementation reading and buffering the input one character at a time. Both modes produce the
+	 * same parsed message.
+	 *
+	 * @since 8.0.2
+	 */
+	public boolean isBufferedScan() {
+		return bufferedScan;
+	}
+
+	/**
+	 * @see #isBufferedScan()
+	 * @param bufferedScan
+	 * @since 8.0.2
+	 */
+	public void setBufferedScan(final boolean bufferedScan) {
+		this.bufferedScan = bufferedScan;
+	}
+
+	/**
+	 * Defines if the text block (block 4) will be parsed on demand.
+	 * Defaults to false.
+	 *
+	 * <p>When true, and the text block parsing is enabled, the parser keeps the raw content of the block 4 and its
+	 * tags are parsed on the first access to the block content, with the same result as the default eager parsing.
+	 * This is convenient when only the headers are needed for most messages. While the block is not accessed,
+	 * {@link com.prowidesoftware.swift.io.writer.SwiftWriter} writes its raw content back as is.
+	 *
+	 * <p>The on demand parsing uses the default {@link SwiftParser} implementation, with the configuration values in
+	 * use when the block was read. Errors found by the deferred parsing are not reported by
+	 * {@link SwiftParser#getErrors()} of the parser that read the message.
+	 *
+	 * @see com.prowidesoftware.swift.model.SwiftBlock4#isParsed()
+	 * @since 8.0.2
+	 */
+	public boolean isLazyTextBlock() {
+		return lazyTextBlock;
+	}
+
+	/**
+	 * @see #isLazyTextBlock()
+	 * @param lazyTextBlock
+	 * @since 8.0.2
+	 */
+	public void setLazyTextBlock(final boolean lazyTextBlock) {
+		this.lazyTextBlock = lazyTextBlock;
+	}
 }
@@ -15,20 +15,28 @@
  */
 package com.prowidesoftware.swift.io.parser;
 
+import com.prowidesoftware.ProwideException;
 import com.prowidesoftware.swift.io.writer.FINWriterVisitor;
 import com.prowidesoftware.swift.model.*;
 import com.prowidesoftware.swift.model.field.Field;
 import com.prowidesoftware.swift.utils.SafeXmlUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
-import javax.xml.parsers.DocumentBuilder;
-import java.io.ByteArrayInputStream;
-import java.nio.charset.StandardCharsets;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 import java.util.logging.Level;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * This is the main parser for WIFE's XML internal representation.<br>
@@ -37,6 +45,11 @@ import java.util.logging.Level;
  * Standard for FIN Messages.<br>
  * <br>
  *
+ * The XML is read with StAX and the message blocks and tags are created while reading, without building a DOM.
+ * Besides single message documents, the {@link #messages(Reader)} methods read documents with any amount of
+ * &lt;message&gt; elements, such as bulk exports, one message at a time.<br>
+ * <br>
+ *
  * This implementation should be used by calling some of the the conversion
  * services.
  *
@@ -47,6 +60,7 @@ import java.util.logging.Level;
 public class XMLParser {
 	private static final transient java.util.logging.Logger log = java.util.logging.Logger.getLogger(XMLParser.class.getName());
 
+	private static final String MESSAGE = "message";
 	private static final String UNPARSEDTEXTS = "unparsedtexts";
 
 	/**
@@ -60,10 +74,21 @@ public class XMLParser {
 	 */
 	public SwiftMessage parse(final String xml) {
 		Validate.notNull(xml);
+		return parse(new StringReader(xml));
+	}
+
+	/**
+	 * Reads a message in its WIFE internal XML representation.
+	 * If there is any error during conversion, or the content does not contain exactly one &lt;message&gt;
+	 * element, this method returns null
+	 * @param reader the XML content, it is not closed
+	 * @return the XML parsed into a SwiftMessage object
+	 * @since 8.0.2
+	 */
+	public SwiftMessage parse(final Reader reader) {
+		Validate.notNull(reader, "reader must not be null");
 		try {
-			final DocumentBuilder db = SafeXmlUtils.documentBuilder();
-			final Document doc = db.parse(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
-			return createMessage(doc);
+			return parse(SafeXmlUtils.sharedInputFactory().createXMLStreamReader(reader));
 		} catch (final Exception e) {
 			log.log(Level.WARNING, "Error parsing XML", e);
 			return null;
@@ -71,217 +96,342 @@ public class XMLParser {
 	}
 
 	/**
-	 * Helper method for XML representation parsing.<br>
-	 *
-	 * @param doc
-	 *            Document object containing a message in XML format
-	 * @return SwiftMessage object populated with the given XML message data
+	 * Reads a message in its WIFE internal XML representation, with the encoding taken from the XML declaration.
+	 * If there is any error during conversion, or the content does not contain exactly one &lt;message&gt;
+	 * element, this method returns null
+	 * @param stream the XML content, it is not closed
+	 * @return the XML parsed into a SwiftMessage object
+	 * @since 8.0.2
 	 */
-	private SwiftMessage createMessage(final Document doc) {
-		final NodeList messageNL = doc.getElementsByTagName("message");
-
-		if (messageNL.getLength() == 1) {
-			final Node message = messageNL.item(0);
-			final SwiftMessage m = new SwiftMessage(false);
+	public SwiftMessage parse(final InputStream stream) {
+		Validate.notNull(stream, "stream must not be null");
+		try {
+			return parse(SafeXmlUtils.sharedInputFactory().createXMLStreamReader(stream));
+		} catch (final Exception e) {
+			log.log(Level.WARNING, "Error parsing XML", e);
+			return null;
+		}
+	}
 
-			final NodeList blocksNL = message.getChildNodes();
-			if (log.isLoggable(Level.FINE)) {
-				log.fine("blocks in message: " + blocksNL.getLength());
+	private SwiftMessage parse(final XMLStreamReader r) throws XMLStreamException {
+		try {
+			if (!nextMessage(r)) {
+				throw new IllegalArgumentException("<message> tag not found");
+			}
+			final SwiftMessage m = createMessage(r);
+			// the rest of the document is read to check it is well-formed and it has no other message
+			if (nextMessage(r)) {
+				throw new IllegalArgumentException("more than one <message> tag found");
 			}
+			return m;
+		} finally {
+			r.close();
+		}
+	}
 
-			for (int i = 0; i < blocksNL.getLength(); i++) {
-				final Node blockNode = blocksNL.item(i);
-				if (log.isLoggable(Level.FINE)) {
-					log.fine("evaluating node " + blockNode.getNodeName());
-				}
-				if (blockNode.getNodeType()==Node.ELEMENT_NODE) {
-					final String blockName = blockNode.getNodeName();
+	/**
+	 * Reads all the &lt;message&gt; elements found at any level in the XML content.
+	 * <p>The messages are parsed one at a time while the stream is consumed, so the whole document is never
+	 * loaded in memory. Errors reading the XML are thrown as {@link ProwideException} by the stream operations.
+	 * The underlying XML reader is released when the stream is closed.
+	 * @param reader the XML content, it is not closed
+	 * @return a sequential ordered stream of the parsed messages
+	 * @throws ProwideException if the XML reader cannot be created
+	 * @since 8.0.2
+	 */
+	public Stream<SwiftMessage> messages(final Reader reader) {
+		Validate.notNull(reader, "reader must not be null");
+		try {
+			return messages(SafeXmlUtils.sharedInputFactory().createXMLStreamReader(reader));
+		} catch (final XMLStreamException e) {
+			throw new ProwideException("Error reading XML", e);
+		}
+	}
+
+	/**
+	 * Reads all the &lt;message&gt; elements found at any level in the XML content, with the encoding taken from
+	 * the XML declaration.
+	 * @param stream the XML content, it is not closed
+	 * @return a sequential ordered stream of the parsed messages
+	 * @throws ProwideException if the XML reader cannot be created
+	 * @see #messages(Reader)
+	 * @since 8.0.2
+	 */
+	public Stream<SwiftMessage> messages(final InputStream stream) {
+		Validate.notNull(stream, "stream must not be null");
+		try {
+			return messages(SafeXmlUtils.sharedInputFactory().createXMLStreamReader(stream));
+		} catch (final XMLStreamException e) {
+			throw new ProwideException("Error reading XML", e);
+		}
+	}
 
-					if ("block1".equalsIgnoreCase(blockName)) {
-						m.setBlock1(getBlock1FromNode(blockNode));
-					} else if ("block2".equalsIgnoreCase(blockName)) {
-						m.setBlock2(getBlock2FromNode(blockNode));
-					} else if (UNPARSEDTEXTS.equalsIgnoreCase(blockName)) {
-						// unparsed texts at <message> level
-						m.setUnparsedTexts(getUnparsedTextsFromNode(blockNode));
-					} else {
-						// blocks 3, 4, 5 or user blocks
-						m.addBlock(getTagListBlockFromNode(blockNode));
+	private Stream<SwiftMessage> messages(final XMLStreamReader r) {
+		final Spliterator<SwiftMessage> spliterator = new Spliterators.AbstractSpliterator<SwiftMessage>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+			@Override
+			public boolean tryAdvance(final Consumer<? super SwiftMessage> action) {
+				try {
+					if (!nextMessage(r)) {
+						return false;
 					}
+					action.accept(createMessage(r));
+					return true;
+				} catch (final XMLStreamException e) {
+					throw new ProwideException("Error reading XML", e);
 				}
-			} // end block list iteration
-			return m;
-		} else {
-			throw new IllegalArgumentException("<message> tag not found");
+			}
+		};
+		return StreamSupport.stream(spliterator, false).onClose(() -> {
+			try {
+				r.close();
+			} catch (final XMLStreamException e) {
+				log.log(Level.FINE, "Error closing XML reader", e);
+			}
+		});
+	}
+
+	/**
+	 * Moves the reader to the start of the next &lt;message&gt; element
+	 * @return true if found, false if the end of the document is reached
+	 */
+	private static boolean nextMessage(final XMLStreamReader r) throws XMLStreamException {
+		while (r.hasNext()) {
+			if (r.next() == XMLStreamConstants.START_ELEMENT && MESSAGE.equals(r.getLocalName())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Moves the reader to the start of the next child element of the current element
+	 * @return true if found, false if the end of the current element is reached
+	 */
+	private static boolean nextChild(final XMLStreamReader r) throws XMLStreamException {
+		while (true) {
+			final int event = r.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				return true;
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				return false;
+			}
 		}
 	}
 
 	/**
 	 * Helper method for XML representation parsing.<br>
-	 * Given the &lt;block1&gt; node in the XML tree, returns the SwiftBlock1 object.
 	 *
-	 * @param blockNode Node object of the &lt;block1&gt; tag in the XML message
-	 * @return SwiftBlock1 object populated with the given portion of the XML message
+	 * @param r reader positioned at the start of a &lt;message&gt; element, it is left at the element end
+	 * @return SwiftMessage object populated with the given XML message data
 	 */
-	private SwiftBlock1 getBlock1FromNode(final Node blockNode) {
-		final NodeList fields = blockNode.getChildNodes();
-		if (log.isLoggable(Level.FINE)) {
-			log.fine(fields.getLength() + " children in <block1>");
+	private SwiftMessage createMessage(final XMLStreamReader r) throws XMLStreamException {
+		final SwiftMessage m = new SwiftMessage(false);
+		while (nextChild(r)) {
+			final String blockName = r.getLocalName();
+			if (log.isLoggable(Level.FINE)) {
+				log.fine("evaluating node " + blockName);
+			}
+			if ("block1".equalsIgnoreCase(blockName)) {
+				m.setBlock1(getBlock1(r));
+			} else if ("block2".equalsIgnoreCase(blockName)) {
+				m.setBlock2(getBlock2(r));
+			} else if (UNPARSEDTEXTS.equalsIgnoreCase(blockName)) {
+				// unparsed texts at <message> level
+				m.setUnparsedTexts(getUnparsedTexts(r));
+			} else {
+				// blocks 3, 4, 5 or user blocks
+				m.addBlock(getTagListBlock(r));
+			}
 		}
+		return m;
+	}
 
+	/**
+	 * Helper method for XML representation parsing.<br>
+	 * Reads the &lt;block1&gt; element and returns the SwiftBlock1 object.
+	 *
+	 * @param r reader positioned at the start of the &lt;block1&gt; element
+	 * @return SwiftBlock1 object populated with the given portion of the XML message
+	 */
+	private SwiftBlock1 getBlock1(final XMLStreamReader r) throws XMLStreamException {
 		final SwiftBlock1 b1 = new SwiftBlock1();
-
-		for (int i = 0; i < fields.getLength(); i++) {
-			final Node n = fields.item(i);
-			if ("APPLICATIONID".equalsIgnoreCase(n.getNodeName())) {
-				b1.setApplicationId(getText(n));
-			} else if ("SERVICEID".equalsIgnoreCase(n.getNodeName())) {
-				b1.setServiceId(getText(n));
-			} else if ("LOGICALTERMINAL".equalsIgnoreCase(n.getNodeName())) {
-				b1.setLogicalTerminal(getText(n));
-			} else if ("SESSIONNUMBER".equalsIgnoreCase(n.getNodeName())) {
-				b1.setSessionNumber(getText(n));
-			} else if ("SEQUENCENUMBER".equalsIgnoreCase(n.getNodeName())) {
-				b1.setSequenceNumber(getText(n));
-			} else if (UNPARSEDTEXTS.equalsIgnoreCase(n.getNodeName())) {
-				b1.setUnparsedTexts(getUnparsedTextsFromNode(n));
+		while (nextChild(r)) {
+			final String name = r.getLocalName();
+			if ("APPLICATIONID".equalsIgnoreCase(name)) {
+				b1.setApplicationId(getText(r));
+			} else if ("SERVICEID".equalsIgnoreCase(name)) {
+				b1.setServiceId(getText(r));
+			} else if ("LOGICALTERMINAL".equalsIgnoreCase(name)) {
+				b1.setLogicalTerminal(getText(r));
+			} else if ("SESSIONNUMBER".equalsIgnoreCase(name)) {
+				b1.setSessionNumber(getText(r));
+			} else if ("SEQUENCENUMBER".equalsIgnoreCase(name)) {
+				b1.setSequenceNumber(getText(r));
+			} else if (UNPARSEDTEXTS.equalsIgnoreCase(name)) {
+				b1.setUnparsedTexts(getUnparsedTexts(r));
+			} else {
+				skip(r);
 			}
 		}
-
 		return b1;
 	}
 
-	private String getText(final Node n) {
-		String text = null;
-		final Node c = n.getFirstChild();
-		if (c != null) {
-			if (c.getNodeType() == Node.TEXT_NODE) {
-				text = c.getNodeValue();
-			} else {
-				log.warning("Node is not TEXT_NODE: "+c);
+	/**
+	 * Reads the text content directly within the current element, skipping any nested element
+	 * @param r reader positioned at the start of an element, it is left at the element end
+	 * @return the element text or null if the element has no text
+	 */
+	private static String getText(final XMLStreamReader r) throws XMLStreamException {
+		StringBuilder text = null;
+		int depth = 1;
+		while (depth > 0) {
+			switch (r.next()) {
+				case XMLStreamConstants.START_ELEMENT:
+					depth++;
+					break;
+				case XMLStreamConstants.END_ELEMENT:
+					depth--;
+					break;
+				case XMLStreamConstants.CHARACTERS:
+				case XMLStreamConstants.CDATA:
+				case XMLStreamConstants.SPACE:
+					if (depth == 1) {
+						if (text == null) {
+							text = new StringBuilder(r.getTextLength());
+						}
+						text.append(r.getTextCharacters(), r.getTextStart(), r.getTextLength());
+					}
+					break;
+				default:
+					break;
+			}
+		}
+		return text != null ? text.toString() : null;
+	}
+
+	/**
+	 * Skips the current element and all its content
+	 * @param r reader positioned at the start of an element, it is left at the element end
+	 */
+	private static void skip(final XMLStreamReader r) throws XMLStreamException {
+		int depth = 1;
+		while (depth > 0) {
+			final int event = r.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				depth++;
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				depth--;
 			}
 		}
-		return text;
 	}
 
 	/**
 	 * Helper method for XML representation parsing.<br>
-	 * Given the &lt;block2&gt; node in the XML tree, returns the SwiftBlock1 object.
+	 * Reads the &lt;block2&gt; element and returns the SwiftBlock2 object.
 	 * The method checks for the "type" attribute in the &lt;block2&gt; tag and
 	 * returns a SwiftBlock2Input or SwiftBlock2Output.
 	 *
-	 * @param blockNode Node object of the &lt;block2&gt; tag in the XML message
+	 * @param r reader positioned at the start of the &lt;block2&gt; element
 	 * @return SwiftBlock2 object populated with the given portion of the XML message
-	 * @see #getBlock2InputFromNode(Node)
-	 * @see #getBlock2OutputFromNode(Node)
+	 * @see #getBlock2Input(XMLStreamReader)
+	 * @see #getBlock2Output(XMLStreamReader)
 	 */
-	private SwiftBlock2 getBlock2FromNode(final Node blockNode) {
-		final String type = getNodeAttribute(blockNode, "type");
+	private SwiftBlock2 getBlock2(final XMLStreamReader r) throws XMLStreamException {
+		final String type = r.getAttributeValue(null, "type");
 
 		if (type == null) {
 			log.severe("atrribute 'type' was expected but not found at <block2> xml tag");
-			return null;
 		} else if ("input".equals(type)) {
-			return getBlock2InputFromNode(blockNode);
+			return getBlock2Input(r);
 		} else if ("output".equals(type)) {
-			return getBlock2OutputFromNode(blockNode);
+			return getBlock2Output(r);
 		} else {
 			log.severe("expected 'input' or 'output' value for 'type' atribute at <block2> xml tag, and found: " + type);
-			return null;
 		}
+		skip(r);
+		return null;
 	}
 
 	/**
 	 * Helper method for XML representation parsing.<br>
-	 * Given the &lt;block2 type="input"&gt; node in the XML tree, returns the
-	 * SwiftBlock2Input object.
+	 * Reads the &lt;block2 type="input"&gt; element and returns the SwiftBlock2Input object.
 	 *
-	 * @param blockNode Node object of the &lt;block2&gt; tag in the XML message
+	 * @param r reader positioned at the start of the &lt;block2&gt; element
 	 * @return SwiftBlock2Input object populated with the given portion of the XML message
 	 */
-	private SwiftBlock2Input getBlock2InputFromNode(final Node blockNode) {
-		final NodeList fields = blockNode.getChildNodes();
-		if (log.isLoggable(Level.FINE)) {
-			log.fine(fields.getLength() + " childrens in <block2 type=\"input\">");
-		}
-
+	private SwiftBlock2Input getBlock2Input(final XMLStreamReader r) throws XMLStreamException {
 		final SwiftBlock2Input b2 = new SwiftBlock2Input();
-
-		for (int i = 0; i < fields.getLength(); i++) {
-			final Node n = fields.item(i);
-			if ("MESSAGETYPE".equalsIgnoreCase(n.getNodeName())) {
-				b2.setMessageType(getText(n));
-			} else if ("RECEIVERADDRESS".equalsIgnoreCase(n.getNodeName())) {
-				b2.setReceiverAddress(getText(n));
-			} else if ("MESSAGEPRIORITY".equalsIgnoreCase(n.getNodeName())) {
-				b2.setMessagePriority(getText(n));
-			} else if ("DELIVERYMONITORING".equalsIgnoreCase(n.getNodeName())) {
-				b2.setDeliveryMonitoring(getText(n));
-			} else if ("OBSOLESCENCEPERIOD".equalsIgnoreCase(n.getNodeName())) {
-				b2.setObsolescencePeriod(getText(n));
-			} else if (UNPARSEDTEXTS.equalsIgnoreCase(n.getNodeName())) {
-				b2.setUnparsedTexts(getUnparsedTextsFromNode(n));
+		while (nextChild(r)) {
+			final String name = r.getLocalName();
+			if ("MESSAGETYPE".equalsIgnoreCase(name)) {
+				b2.setMessageType(getText(r));
+			} else if ("RECEIVERADDRESS".equalsIgnoreCase(name)) {
+				b2.setReceiverAddress(getText(r));
+			} else if ("MESSAGEPRIORITY".equalsIgnoreCase(name)) {
+				b2.setMessagePriority(getText(r));
+			} else if ("DELIVERYMONITORING".equalsIgnoreCase(name)) {
+				b2.setDeliveryMonitoring(getText(r));
+			} else if ("OBSOLESCENCEPERIOD".equalsIgnoreCase(name)) {
+				b2.setObsolescencePeriod(getText(r));
+			} else if (UNPARSEDTEXTS.equalsIgnoreCase(name)) {
+				b2.setUnparsedTexts(getUnparsedTexts(r));
+			} else {
+				skip(r);
 			}
 		}
-
 		return b2;
 	}
 
 	/**
 	 * Helper method for XML representation parsing.<br>
-	 * Given the &lt;block2 type="output" node in the XML tree, returns the
-	 * SwiftBlock2Output object.
+	 * Reads the &lt;block2 type="output"&gt; element and returns the SwiftBlock2Output object.
 	 *
-	 * @param blockNode Node object of the &lt;block2&gt; tag in the XML message
+	 * @param r reader positioned at the start of the &lt;block2&gt; element
 	 * @return SwiftBlock2Output object populated with the given portion of the XML message
 	 */
-	private SwiftBlock2Output getBlock2OutputFromNode(final Node blockNode) {
-		final NodeList fields = blockNode.getChildNodes();
-		if (log.isLoggable(Level.FINE)) {
-			log.fine(fields.getLength() + " childrens in <block2 type=\"output\">");
-		}
-
+	private SwiftBlock2Output getBlock2Output(final XMLStreamReader r) throws XMLStreamException {
 		final SwiftBlock2Output b2 = new SwiftBlock2Output();
-
-		for (int i = 0; i < fields.getLength(); i++) {
-			final Node n = fields.item(i);
-			if ("MESSAGETYPE".equalsIgnoreCase(n.getNodeName())) {
-				b2.setMessageType(getText(n));
-			} else if ("SENDERINPUTTIME".equalsIgnoreCase(n.getNodeName())) {
-				b2.setSenderInputTime(getText(n));
-			} else if ("MIRDATE".equalsIgnoreCase(n.getNodeName())) {
-				b2.setMIRDate(getText(n));
-			} else if ("MIRLOGICALTERMINAL".equalsIgnoreCase(n.getNodeName())) {
-				b2.setMIRLogicalTerminal(getText(n));
-			} else if ("MIRSESSIONNUMBER".equalsIgnoreCase(n.getNodeName())) {
-				b2.setMIRSessionNumber(getText(n));
-			} else if ("MIRSEQUENCENUMBER".equalsIgnoreCase(n.getNodeName())) {
-				b2.setMIRSequenceNumber(getText(n));
-			} else if ("RECEIVEROUTPUTDATE".equalsIgnoreCase(n.getNodeName())) {
-				b2.setReceiverOutputDate(getText(n));
-			} else if ("RECEIVEROUTPUTTIME".equalsIgnoreCase(n.getNodeName())) {
-				b2.setReceiverOutputTime(getText(n));
-			} else if ("MESSAGEPRIORITY".equalsIgnoreCase(n.getNodeName())) {
-				b2.setMessagePriority(getText(n));
-			} else if (UNPARSEDTEXTS.equalsIgnoreCase(n.getNodeName())) {
-				b2.setUnparsedTexts(getUnparsedTextsFromNode(n));
+		while (nextChild(r)) {
+			final String name = r.getLocalName();
+			if ("MESSAGETYPE".equalsIgnoreCase(name)) {
+				b2.setMessageType(getText(r));
+			} else if ("SENDERINPUTTIME".equalsIgnoreCase(name)) {
+				b2.setSenderInputTime(getText(r));
+			} else if ("MIRDATE".equalsIgnoreCase(name)) {
+				b2.setMIRDate(getText(r));
+			} else if ("MIRLOGICALTERMINAL".equalsIgnoreCase(name)) {
+				b2.setMIRLogicalTerminal(getText(r));
+			} else if ("MIRSESSIONNUMBER".equalsIgnoreCase(name)) {
+				b2.setMIRSessionNumber(getText(r));
+			} else if ("MIRSEQUENCENUMBER".equalsIgnoreCase(name)) {
+				b2.setMIRSequenceNumber(getText(r));
+			} else if ("RECEIVEROUTPUTDATE".equalsIgnoreCase(name)) {
+				b2.setReceiverOutputDate(getText(r));
+			} else if ("RECEIVEROUTPUTTIME".equalsIgnoreCase(name)) {
+				b2.setReceiverOutputTime(getText(r));
+			} else if ("MESSAGEPRIORITY".equalsIgnoreCase(name)) {
+				b2.setMessagePriority(getText(r));
+			} else if (UNPARSEDTEXTS.equalsIgnoreCase(name)) {
+				b2.setUnparsedTexts(getUnparsedTexts(r));
+			} else {
+				skip(r);
 			}
 		}
-
 		return b2;
 	}
 
 	/**
 	 * Helper method for XML representation parsing.<br>
-	 * Given the &lt;block3&gt;, &lt;block4&gt;, &lt;block5&gt; or &lt;block&gt; (user block) node in
-	 * the XML tree, returns the corresponding SwiftTagListBlock object
+	 * Reads the &lt;block3&gt;, &lt;block4&gt;, &lt;block5&gt; or &lt;block&gt; (user block) element
+	 * and returns the corresponding SwiftTagListBlock object
 	 * populated with the given portion of the XML message.
 	 *
-	 * @param blockNode Node object of the &lt;block3&gt;, &lt;block4&gt;, &lt;block5&gt; or &lt;block&gt; tag in the XML message
-	 * @return SwiftTagListBlock object populated with the given portion of the XML message
+	 * @param r reader positioned at the start of the &lt;block3&gt;, &lt;block4&gt;, &lt;block5&gt; or &lt;block&gt; element
+	 * @return SwiftTagListBlock object populated with the given portion of the XML message, or null if the element
+	 * is not a block
 	 */
-	private SwiftTagListBlock getTagListBlockFromNode(final Node blockNode) {
-		final String blockName = blockNode.getNodeName();
+	private SwiftTagListBlock getTagListBlock(final XMLStreamReader r) throws XMLStreamException {
+		final String blockName = r.getLocalName();
 		SwiftTagListBlock b;
 		if ("block3".equalsIgnoreCase(blockName)) {
 			b = new SwiftBlock3();
@@ -290,31 +440,27 @@ public class XMLParser {
 		} else if ("block5".equalsIgnoreCase(blockName)) {
 			b = new SwiftBlock5();
 		} else if ("block".equalsIgnoreCase(blockName)) {
-			final String name = getNodeAttribute(blockNode, "name");
+			final String name = r.getAttributeValue(null, "name");
 			if (name != null) {
 				b = new SwiftBlockUser(name);
 			} else {
 				b = new SwiftBlockUser();
 			}
 		} else {
+			skip(r);
 			return null;
 		}
 
-		final NodeList fields = blockNode.getChildNodes();
-		if (log.isLoggable(Level.FINE)) {
-			log.fine(fields.getLength() + " children in tag list " + blockName);
-		}
-
-		for (int j = 0; j < fields.getLength(); j++) {
-			final Node t = fields.item(j);
-			if ("tag".equalsIgnoreCase(t.getNodeName())) {
-				final Tag tag = getTag(t);
-				b.append(tag);
-			} else if ("field".equalsIgnoreCase(t.getNodeName())) {
-					final Field field = getField(t);
-					b.append(field);
-			} else if (UNPARSEDTEXTS.equalsIgnoreCase(t.getNodeName())) {
-				b.setUnparsedTexts(getUnparsedTextsFromNode(t));
+		while (nextChild(r)) {
+			final String name = r.getLocalName();
+			if ("tag".equalsIgnoreCase(name)) {
+				b.append(getTag(r));
+			} else if ("field".equalsIgnoreCase(name)) {
+				b.append(getField(r));
+			} else if (UNPARSEDTEXTS.equalsIgnoreCase(name)) {
+				b.setUnparsedTexts(getUnparsedTexts(r));
+			} else {
+				skip(r);
 			}
 		}
 
@@ -323,66 +469,68 @@ public class XMLParser {
 
 	/**
 	 * Helper method for XML representation parsing.<br>
-	 * Parses the given &lt;tag&gt; Node and returns a Tag object containing data from
-	 * the expected &lt;name&gt; and &lt;value&gt; tags. If name or value are not found as
-	 * children of the given node, the Tag object is returned with empty values.
+	 * Reads the given &lt;tag&gt; element and returns a Tag object containing data from
+	 * the expected &lt;name&gt; and &lt;value&gt; elements. If name or value are not found as
+	 * children of the given element, the Tag object is returned with empty values.
 	 *
-	 * @param t the XML node to parse for name-value pair
-	 * @return a Tag object containing the name and value of the given XML node.
+	 * @param r reader positioned at the start of the &lt;tag&gt; element
+	 * @return a Tag object containing the name and value of the given XML element.
 	 */
-	private Tag getTag(final Node t) {
+	private Tag getTag(final XMLStreamReader r) throws XMLStreamException {
 		final Tag tag = new Tag();
-		final NodeList children = t.getChildNodes();
-		for (int i = 0; i < children.getLength(); i++) {
-			final Node n = children.item(i);
-			if ("name".equalsIgnoreCase(n.getNodeName())) {
-				tag.setName(getText(n));
-			}
-			if ("value".equalsIgnoreCase(n.getNodeName())) {
-				String text = getText(n);
-				//normalize line feeds (DOM parser removes carriage return characters from original XML file)
-				text = StringUtils.replace(text, "\n", FINWriterVisitor.SWIFT_EOL);
-				tag.setValue(text);
-			} else if (UNPARSEDTEXTS.equalsIgnoreCase(n.getNodeName())) {
-				tag.setUnparsedTexts(getUnparsedTextsFromNode(n));
+		while (nextChild(r)) {
+			final String name = r.getLocalName();
+			if ("name".equalsIgnoreCase(name)) {
+				tag.setName(getText(r));
+			} else if ("value".equalsIgnoreCase(name)) {
+				//normalize line feeds (the XML parser removes carriage return characters from original XML file)
+				tag.setValue(StringUtils.replace(getText(r), "\n", FINWriterVisitor.SWIFT_EOL));
+			} else if (UNPARSEDTEXTS.equalsIgnoreCase(name)) {
+				tag.setUnparsedTexts(getUnparsedTexts(r));
+			} else {
+				skip(r);
 			}
 		}
 		return tag;
 	}
-	
+
 	/**
 	 * Helper method for XML representation parsing.<br>
-	 * Parses the given &gt;field&lt; Node and returns a Field object containing data from
-	 * the expected &lt;name&gt; and &lt;component&gt; inner elements. 
+	 * Reads the given &lt;field&gt; element and returns a Field object containing data from
+	 * the expected &lt;name&gt; and &lt;component&gt; inner elements.
 	 * If &lt;name&gt; element is not set it will return null. Otherwise it will return a Field
 	 * instance filled with content from &lt;component&gt; elements.
 	 *
-	 * @param t the XML node to parse for name-value pair
+	 * @param r reader positioned at the start of the &lt;field&gt; element
 	 * @return a Field object or null if "name" element is not present
 	 */
-	private Field getField(final Node t) {
-		final NodeList children = t.getChildNodes();
+	private Field getField(final XMLStreamReader r) throws XMLStreamException {
 		String name = null;
-		for (int i = 0; i < children.getLength(); i++) {
-			final Node n = children.item(i);
-			if ("name".equalsIgnoreCase(n.getNodeName())) {
-				name = getText(n);
-				break;
+		final List<Integer> numbers = new ArrayList<>();
+		final List<String> values = new ArrayList<>();
+		while (nextChild(r)) {
+			final String element = r.getLocalName();
+			if ("name".equalsIgnoreCase(element)) {
+				final String text = getText(r);
+				if (name == null) {
+					name = text;
+				}
+			} else if ("component".equalsIgnoreCase(element)) {
+				final String number = r.getAttributeValue(null, "number");
+				final String text = getText(r);
+				if (StringUtils.isNumeric(number)) {
+					numbers.add(Integer.valueOf(number));
+					//normalize line feeds (the XML parser removes carriage return characters from original XML file)
+					values.add(StringUtils.replace(text, "\n", FINWriterVisitor.SWIFT_EOL));
+				}
+			} else {
+				skip(r);
 			}
 		}
 		if (name != null) {
-			Field field = Field.getField(name, null);
-			for (int i = 0; i < children.getLength(); i++) {
-				final Node n = children.item(i);
-				if ("component".equalsIgnoreCase(n.getNodeName())) {
-					final String number = getNodeAttribute(n, "number");
-					if (StringUtils.isNumeric(number)) {
-						String text = getText(n);
-						//normalize line feeds (DOM parser removes carriage return characters from original XML file)
-						text = StringUtils.replace(text, "\n", FINWriterVisitor.SWIFT_EOL);
-						field.setComponent(Integer.valueOf(number), text);
-					}
-				}
+			final Field field = Field.getField(name, null);
+			for (int i = 0; i < numbers.size(); i++) {
+				field.setComponent(numbers.get(i), values.get(i));
 			}
 			return field;
 		}
@@ -391,43 +539,22 @@ public class XMLParser {
 
 	/**
 	 * Helper method for XML representation parsing.<br>
-	 * Given the &lt;unparsedtexts&gt; node in the XML tree, returns an
-	 * UnparsedTextList object populated with the contents of the <text> child
-	 * tags of &lt;unparsedtexts&gt;.
+	 * Reads the &lt;unparsedtexts&gt; element and returns an
+	 * UnparsedTextList object populated with the contents of the &lt;text&gt; child
+	 * elements of &lt;unparsedtexts&gt;.
 	 *
-	 * @param blockNode Node object of the &lt;unparsedtexts&gt; tag in the XML message
-	 * @return UnparsedTextList object populated with the given &lt;text&gt; tags content of the &lt;unparsedtexts&gt;
+	 * @param r reader positioned at the start of the &lt;unparsedtexts&gt; element
+	 * @return UnparsedTextList object populated with the given &lt;text&gt; elements content of the &lt;unparsedtexts&gt;
 	 */
-	private UnparsedTextList getUnparsedTextsFromNode(final Node blockNode) {
+	private UnparsedTextList getUnparsedTexts(final XMLStreamReader r) throws XMLStreamException {
 		final UnparsedTextList unparsedTexts = new UnparsedTextList();
-
-		final NodeList texts = blockNode.getChildNodes();
-		if (log.isLoggable(Level.FINE)) {
-			log.fine(texts.getLength() + " children in <unparsedtexts>");
-		}
-		for (int j = 0; j < texts.getLength(); j++) {
-			final Node t = texts.item(j);
-			if ("text".equalsIgnoreCase(t.getNodeName())) {
-				unparsedTexts.addText(getText(t));
+		while (nextChild(r)) {
+			if ("text".equalsIgnoreCase(r.getLocalName())) {
+				unparsedTexts.addText(getText(r));
+			} else {
+				skip(r);
 			}
 		}
 		return unparsedTexts;
 	}
-
-	/**
-	 * Helper method for XML representation parsing.<br>
-	 * Gets the value of an expected attribute in a Node.
-	 *
-	 * @param n Node to analyze to find the attribute
-	 * @param attributeName the attribute name expected in the analyzed Node n
-	 * @return the value of the attribute expected, or null if the attribute was not found
-	 */
-	private String getNodeAttribute(final Node n, final String attributeName) {
-		final Node attr = n.getAttributes().getNamedItem(attributeName);
-		if ((attr == null) || !attr.getNodeName().equals(attributeName)) {
-			return null;
-		} else {
-			return attr.getNodeValue();
-		}
-	}
 }
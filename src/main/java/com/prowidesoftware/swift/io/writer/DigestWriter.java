@@ -0,0 +1,198 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io.writer;
+
+import org.apache.commons.lang3.Validate;
+
+import java.io.Writer;
+import java.security.MessageDigest;
+
+/**
+ * Writer sink that feeds the written content, encoded in UTF-8, directly into a {@link MessageDigest}, with no
+ * intermediate string or byte array of the whole content.
+ *
+ * <p>Optionally a second digest can be computed on a section of the content. When used with the
+ * {@link FINWriterVisitor} the section is the text block (block 4), so the checksum of the whole message and the
+ * checksum of its text block are computed in one single serialization pass.
+ *
+ * <p>The produced digests are the same as digesting the bytes of the written text encoded with
+ * {@link java.nio.charset.StandardCharsets#UTF_8}, including the replacement of malformed surrogates with '?'.
+ *
+ * @since 8.0.2
+ */
+public class DigestWriter extends Writer {
+
+	private static final int BUFFER_SIZE = 1024;
+
+	private final MessageDigest digest;
+	private final MessageDigest sectionDigest;
+	private final byte[] buffer = new byte[BUFFER_SIZE];
+	private int count = 0;
+	private char highSurrogate = 0;
+	private boolean sectionActive = false;
+	private boolean sectionWritten = false;
+
+	/**
+	 * Creates a writer that digests all the written content
+	 * @param digest the digest to update
+	 * @throws IllegalArgumentException if digest is null
+	 */
+	public DigestWriter(final MessageDigest digest) {
+		this(digest, null);
+	}
+
+	/**
+	 * Creates a writer that digests all the written content and also the content written between
+	 * {@link #startSection()} and {@link #endSection()}
+	 * @param digest the digest to update with the whole content
+	 * @param sectionDigest the digest to update with the section content, may be null
+	 * @throws IllegalArgumentException if digest is null or if both digests are the same instance
+	 */
+	public DigestWriter(final MessageDigest digest, final MessageDigest sectionDigest) {
+		Validate.notNull(digest, "digest cannot be null");
+		Validate.isTrue(digest != sectionDigest, "the section digest must be a different instance");
+		this.digest = digest;
+		this.sectionDigest = sectionDigest;
+	}
+
+	@Override
+	public void write(final int c) {
+		encode((char) c);
+	}
+
+	@Override
+	public void write(final char[] cbuf, final int off, final int len) {
+		for (int i = off; i < off + len; i++) {
+			encode(cbuf[i]);
+		}
+	}
+
+	@Override
+	public void write(final String str, final int off, final int len) {
+		for (int i = off; i < off + len; i++) {
+			encode(str.charAt(i));
+		}
+	}
+
+	@Override
+	public void flush() {
+		if (this.count > 0) {
+			this.digest.update(this.buffer, 0, this.count);
+			if (this.sectionActive) {
+				this.sectionDigest.update(this.buffer, 0, this.count);
+			}
+			this.count = 0;
+		}
+	}
+
+	@Override
+	public void close() {
+		flush();
+	}
+
+	/**
+	 * Starts digesting the written content also into the section digest, resetting any previous section.
+	 * <p>This call is ignored if the writer was created with no section digest.
+	 */
+	public void startSection() {
+		if (this.sectionDigest != null) {
+			flushPending();
+			this.sectionDigest.reset();
+			this.sectionActive = true;
+			this.sectionWritten = false;
+		}
+	}
+
+	/**
+	 * Stops digesting the written content into the section digest.
+	 */
+	public void endSection() {
+		if (this.sectionActive) {
+			flushPending();
+			this.sectionActive = false;
+			this.sectionWritten = true;
+		}
+	}
+
+	/**
+	 * Completes the digest of the whole written content and resets the writer.
+	 * @return the digest bytes
+	 */
+	public byte[] digest() {
+		flushPending();
+		return this.digest.digest();
+	}
+
+	/**
+	 * Completes the digest of the last section written.
+	 * @return the section digest bytes or null if no section was completed
+	 */
+	public byte[] sectionDigest() {
+		if (!this.sectionWritten) {
+			return null;
+		}
+		this.sectionWritten = false;
+		return this.sectionDigest.digest();
+	}
+
+	private void flushPending() {
+		if (this.highSurrogate != 0) {
+			this.highSurrogate = 0;
+			put('?');
+		}
+		flush();
+	}
+
+	private void encode(final char c) {
+		if (this.highSurrogate != 0) {
+			final char high = this.highSurrogate;
+			this.highSurrogate = 0;
+			if (Character.isLowSurrogate(c)) {
+				final int cp = Character.toCodePoint(high, c);
+				put(0xF0 | (cp >> 18));
+				put(0x80 | ((cp >> 12) & 0x3F));
+				put(0x80 | ((cp >> 6) & 0x3F));
+				put(0x80 | (cp & 0x3F));
+				return;
+			}
+			// unpaired high surrogate
+			put('?');
+		}
+		if (c < 0x80) {
+			put(c);
+		} else if (c < 0x800) {
+			put(0xC0 | (c >> 6));
+			put(0x80 | (c & 0x3F));
+		} else if (Character.isHighSurrogate(c)) {
+			this.highSurrogate = c;
+		} else if (Character.isLowSurrogate(c)) {
+			// unpaired low surrogate
+			put('?');
+		} else {
+			put(0xE0 | (c >> 12));
+			put(0x80 | ((c >> 6) & 0x3F));
+			put(0x80 | (c & 0x3F));
+		}
+	}
+
+	private void put(final int b) {
+		if (this.count == BUFFER_SIZE) {
+			flush();
+		}
+		this.buffer[this.count++] = (byte) b;
+	}
+
+}
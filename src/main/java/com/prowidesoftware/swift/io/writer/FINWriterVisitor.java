@@ -43,6 +43,11 @@ public class FINWriterVisitor implements IMessageVisitor {
 	private boolean block4asText = true;
 	private boolean trimTagValues = false;
 
+	/**
+	 * Set while writing a block 4 from its raw content
+	 */
+	private boolean rawBlock4 = false;
+
 	/**
 	 * @return true if the visitor is setup to trim tag values
 	 * @since 8.0.2
@@ -208,10 +213,34 @@ public class FINWriterVisitor implements IMessageVisitor {
 	//
 	////////////////////////////////////////////////////////////
 	public void startBlock4(SwiftBlock4 b) {
-		write("{4:" + (this.block4asText ? SWIFT_EOL : ""));
+		if (this.block4asText && this.writer instanceof DigestWriter) {
+			// digest the text block on its own, in the same pass as the whole message
+			((DigestWriter) this.writer).startSection();
+		}
+		// a block not parsed yet is written as is, unless the values must be trimmed
+		final String raw = this.trimTagValues ? null : b.getRawContent();
+		if (raw != null) {
+			this.rawBlock4 = true;
+			write("{" + raw + "}");
+		} else {
+			write("{4:" + (this.block4asText ? SWIFT_EOL : ""));
+		}
+	}
+
+	/**
+	 * Tells whether the block 4 being visited is written from its raw content, in which case its tags are not
+	 * visited.
+	 * @see com.prowidesoftware.swift.model.SwiftBlock4#getRawContent()
+	 * @since 8.0.2
+	 */
+	public boolean isRawBlock4() {
+		return this.rawBlock4;
 	}
 
 	public void tag(SwiftBlock4 b, Tag t) {
+		if (this.rawBlock4) {
+			return;
+		}
 		if (this.block4asText) {
 			appendTextTag(t);
 		} else {
@@ -220,6 +249,13 @@ public class FINWriterVisitor implements IMessageVisitor {
 	}
 
 	public void endBlock4(SwiftBlock4 b) {
+		if (this.rawBlock4) {
+			this.rawBlock4 = false;
+			if (this.writer instanceof DigestWriter) {
+				((DigestWriter) this.writer).endSection();
+			}
+			return;
+		}
 
 		// if block has unparsed texts, write them down
 		//
@@ -231,6 +267,10 @@ public class FINWriterVisitor implements IMessageVisitor {
 
 		// write block termination
 		write( (this.block4asText ? "-" : "") + "}");
+
+		if (this.writer instanceof DigestWriter) {
+			((DigestWriter) this.writer).endSection();
+		}
 	}
 
 	////////////////////////////////////////////////////////////
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.model;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Hash algorithms available for the proprietary message checksums.
+ *
+ * @see SwiftMessageUtils#calculateChecksum(SwiftMessage, ChecksumAlgorithm, ChecksumEncoding)
+ * @since 8.0.2
+ */
+public enum ChecksumAlgorithm {
+
+	/**
+	 * MD5, 16 bytes, this is the default algorithm used for the checksums in {@link AbstractSwiftMessage}
+	 */
+	MD5("MD5"),
+
+	/**
+	 * SHA-256, 32 bytes
+	 */
+	SHA256("SHA-256"),
+
+	/**
+	 * Non cryptographic 64-bit FNV-1a hash, 8 bytes; much faster than the cryptographic hashes and suitable for
+	 * duplicates detection but not for integrity verification against tampering
+	 */
+	FNV1A64(null);
+
+	private final String algorithm;
+
+	ChecksumAlgorithm(final String algorithm) {
+		this.algorithm = algorithm;
+	}
+
+	/**
+	 * Creates a new digest instance for this algorithm
+	 * @return a new digest
+	 * @throws NoSuchAlgorithmException if the algorithm is not available in the current platform
+	 */
+	public MessageDigest newDigest() throws NoSuchAlgorithmException {
+		if (this.algorithm == null) {
+			return new Fnv1a64Digest();
+		}
+		return MessageDigest.getInstance(this.algorithm);
+	}
+
+	/**
+	 * 64-bit FNV-1a hash exposed as a message digest
+	 */
+	private static final class Fnv1a64Digest extends MessageDigest {
+		private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+		private static final long PRIME = 0x100000001b3L;
+
+		private long hash = OFFSET_BASIS;
+
+		private Fnv1a64Digest() {
+			super("FNV-1a-64");
+		}
+
+		@Override
+		protected int engineGetDigestLength() {
+			return 8;
+		}
+
+		@Override
+		protected void engineUpdate(final byte input) {
+			this.hash = (this.hash ^ (input & 0xFF)) * PRIME;
+		}
+
+		@Override
+		protected void engineUpdate(final byte[] input, final int offset, final int len) {
+			long h = this.hash;
+			for (int i = offset; i < offset + len; i++) {
+				h = (h ^ (input[i] & 0xFF)) * PRIME;
+			}
+			this.hash = h;
+		}
+
+		@Override
+		protected byte[] engineDigest() {
+			final long h = this.hash;
+			engineReset();
+			final byte[] result = new byte[8];
+			for (int i = 7; i >= 0; i--) {
+				result[i] = (byte) (h >>> ((7 - i) * 8));
+			}
+			return result;
+		}
+
+		@Override
+		protected void engineReset() {
+			this.hash = OFFSET_BASIS;
+		}
+	}
+
+}
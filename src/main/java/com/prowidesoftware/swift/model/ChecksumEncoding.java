@@ -0,0 +1,61 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.model;
+
+import java.util.Base64;
+
+/**
+ * Text encodings available for the proprietary message checksums.
+ *
+ * @see SwiftMessageUtils#calculateChecksum(SwiftMessage, ChecksumAlgorithm, ChecksumEncoding)
+ * @since 8.0.2
+ */
+public enum ChecksumEncoding {
+
+	/**
+	 * Lowercase hexadecimal, two characters per byte; this is the default encoding used for the checksums in
+	 * {@link AbstractSwiftMessage}
+	 */
+	HEX,
+
+	/**
+	 * Standard base64 with padding, 24 characters for an MD5 and 44 for a SHA-256
+	 */
+	BASE64;
+
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	/**
+	 * Encodes the given bytes
+	 * @param bytes the digest bytes
+	 * @return the encoded text or null if the parameter is null
+	 */
+	public String encode(final byte[] bytes) {
+		if (bytes == null) {
+			return null;
+		}
+		if (this == BASE64) {
+			return Base64.getEncoder().encodeToString(bytes);
+		}
+		final char[] result = new char[bytes.length * 2];
+		for (int i = 0; i < bytes.length; i++) {
+			result[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0x0F];
+			result[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0x0F];
+		}
+		return new String(result);
+	}
+
+}
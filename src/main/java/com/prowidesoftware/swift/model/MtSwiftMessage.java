@@ -24,6 +24,7 @@ import com.prowidesoftware.swift.model.mt.ServiceIdType;
 import org.apache.commons.lang3.EnumUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
+import org.apache.commons.lang3.tuple.Pair;
 
 import javax.persistence.Column;
 import javax.persistence.DiscriminatorValue;
@@ -203,8 +204,9 @@ public class MtSwiftMessage extends AbstractSwiftMessage {
 			setTradeDate(SwiftMessageUtils.tradeDate(model));
 		}
 		setSender(bic11(model.getSender()));
-		setChecksum(SwiftMessageUtils.calculateChecksum(model));
-		setChecksumBody(SwiftMessageUtils.calculateChecksum(model.getBlock4()));
+		final Pair<String, String> checksums = SwiftMessageUtils.calculateChecksums(model, ChecksumAlgorithm.MD5, ChecksumEncoding.HEX);
+		setChecksum(checksums.getLeft());
+		setChecksumBody(checksums.getRight());
 		setPde(model.getPDE());
 		setPdm(model.getPDM());
 		setMir(model.getMIR());
@@ -21,9 +21,11 @@ import org.apache.commons.lang3.StringUtils;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 /**
@@ -42,11 +44,18 @@ public class MxNode {
 	private static final transient java.util.logging.Logger log = java.util.logging.Logger.getLogger(MxNode.class.getName());
 
 	public static  final transient String PATH_SEPARATOR = "/";
+	private static final int MAX_COMPILED_PATHS = 1024;
+	private static final Map<String, MxPath> paths = new ConcurrentHashMap<>();
 	private MxNode parent;
 	private final List<MxNode> children;
 	private String value;
 	private String localName;
 	private Map<String, String> attributes = null;
+	/*
+	 * attributes added with addAttribute are kept as name and value pairs until the map is requested
+	 */
+	private String[] attributePairs = null;
+	private int attributeCount = 0;
 
 	public MxNode() {
 		this.parent = null;
@@ -91,63 +100,38 @@ public class MxNode {
 	 * @since 7.7
 	 */
 	public MxNode findFirst(final String path) {
-		final List<MxNode> found = find(path);
-		if (!found.isEmpty()) {
-			return found.get(0);
-		} else {
-			return null;
-		}
+		return compiled(path).findFirst(this);
 	}
 
 	/**
 	 * Given a basic path, find all nodes matching the path parameter.<br>
 	 *
 	 * If the path starts with '/' it will search from the root element,
-	 * else it will search from this node.
+	 * else it will search from this node. Segments can include a position
+	 * predicate such as <code>Ntry[2]</code>, see {@link MxPath}.
 	 *
 	 * @param path absolute or relative path to find
 	 * @return found node or null
 	 * @since 7.7
 	 */
 	public List<MxNode> find(final String path) {
-		final String[] segments = StringUtils.split(path, PATH_SEPARATOR);
-		final MxNode start = path != null && path.startsWith(PATH_SEPARATOR) ? getRoot() : this;
-		return _find2(0, segments, start);
+		return compiled(path).find(this);
 	}
 
-	private List<MxNode> _find2(int index, final String[] segments, final MxNode node) {
-		if (index >= segments.length) {
-			return new ArrayList<>();
-		}
-		final List<MxNode> result = new ArrayList<>();
-		final String segment = segments[index];
-		int nextIndex = index + 1;
-		
-		//TODO en vez de remover el predicado, habria que soportarlo, devolviendo la/s instancia/s pedidas
-		if (StringUtils.equals(".", segment) || StringUtils.equalsIgnoreCase(node.localName, removePredicate(segment))) {
-			if (nextIndex == segments.length) {
-				result.add(node);
-				return result;
-			} else if (node.children != null) {
-				for (final MxNode n : node.children) {
-					result.addAll(_find2(nextIndex, segments, n));
-				}
-				return result;
+	/**
+	 * Gets the compiled path, reusing the paths already compiled up to a maximum
+	 */
+	private static MxPath compiled(final String path) {
+		MxPath result = paths.get(path);
+		if (result == null) {
+			result = MxPath.compile(path);
+			if (paths.size() < MAX_COMPILED_PATHS) {
+				paths.put(path, result);
 			}
-
 		}
 		return result;
 	}
 
-	private String removePredicate(final String segment) {
-		int index = segment.indexOf('[');
-		if (index > 0) {
-			return segment.substring(0, index);
-		} else {
-			return segment;
-		}
-	}
-
 	public MxNode getRoot() {
 		return _getRoot(this);
 	}
@@ -201,6 +185,14 @@ public class MxNode {
 		return parent;
 	}
 
+	/**
+	 * @return the element name, with no namespace prefix
+	 * @since 8.0.2
+	 */
+	public String getLocalName() {
+		return localName;
+	}
+
 	/**
 	 * Traverse the tree from this node looking for the first node matching the given name.
 	 * @param name a node name to find
@@ -243,6 +235,15 @@ public class MxNode {
 	 * @since 7.8
 	 */
 	public Map<String, String> getAttributes() {
+		if (this.attributes == null && this.attributeCount > 0) {
+			final Map<String, String> map = new HashMap<>();
+			for (int i = 0; i < this.attributeCount; i++) {
+				map.put(this.attributePairs[2 * i], this.attributePairs[2 * i + 1]);
+			}
+			this.attributes = map;
+			this.attributePairs = null;
+			this.attributeCount = 0;
+		}
 		return attributes;
 	}
 
@@ -251,6 +252,8 @@ public class MxNode {
 	 */
 	public void setAttributes(Map<String, String> attributes) {
 		this.attributes = attributes;
+		this.attributePairs = null;
+		this.attributeCount = 0;
 	}
 	
 	/**
@@ -259,11 +262,33 @@ public class MxNode {
 	 * @since 7.8
 	 */
 	public void addAttribute(final String name, final String value) {
-		if (this.attributes == null) {
-			this.attributes = new HashMap<>();
+		if (this.attributes != null) {
+			this.attributes.remove(name);
+			this.attributes.put(name, value);
+			return;
 		}
-		this.attributes.remove(name);
-		this.attributes.put(name, value);
+		final int index = attributeIndex(name);
+		if (index >= 0) {
+			this.attributePairs[2 * index + 1] = value;
+			return;
+		}
+		if (this.attributePairs == null) {
+			this.attributePairs = new String[2];
+		} else if (this.attributePairs.length == 2 * this.attributeCount) {
+			this.attributePairs = Arrays.copyOf(this.attributePairs, 4 * this.attributeCount);
+		}
+		this.attributePairs[2 * this.attributeCount] = name;
+		this.attributePairs[2 * this.attributeCount + 1] = value;
+		this.attributeCount++;
+	}
+
+	private int attributeIndex(final String name) {
+		for (int i = 0; i < this.attributeCount; i++) {
+			if (StringUtils.equals(this.attributePairs[2 * i], name)) {
+				return i;
+			}
+		}
+		return -1;
 	}
 
 	/**
@@ -274,7 +299,8 @@ public class MxNode {
 		if (this.attributes != null) {
 			return this.attributes.get(name);
 		}
-		return null;
+		final int index = attributeIndex(name);
+		return index >= 0 ? this.attributePairs[2 * index + 1] : null;
 	}
 	
 	/**
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.model;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A compiled path to find nodes in an {@link MxNode} tree.
+ *
+ * <p>The path syntax is the one supported by {@link MxNode#find(String)}: segments separated by '/', where each
+ * segment is an element name, compared ignoring case, or '.' to match any element. If the path starts with '/' it
+ * is evaluated from the root element, else from the given node; in both cases the first segment is matched against
+ * the start node itself. A segment can include a position predicate, as in <code>CdtTrfTxInf[2]</code>, to match
+ * only the n-th element with that name within its parent, starting at 1. Other predicates are ignored.
+ *
+ * <pre>
+ * MxPath amount = MxPath.compile("/Document/FIToFICstmrCdtTrf/CdtTrfTxInf[2]/IntrBkSttlmAmt");
+ * String value = amount.findValue(tree);
+ * </pre>
+ *
+ * <p>The path is parsed once when compiled and can be evaluated on any number of trees, with no intermediate
+ * collections. Instances are immutable and thread safe.
+ *
+ * @see MxPathSet
+ * @since 8.0.2
+ */
+public final class MxPath {
+
+	/**
+	 * Position value of a segment with no position predicate
+	 */
+	public static final int ANY = 0;
+
+	private static final String ANY_NAME = ".";
+
+	private final String path;
+	private final boolean absolute;
+	private final String[] names;
+	private final int[] positions;
+
+	private MxPath(final String path, final boolean absolute, final String[] names, final int[] positions) {
+		this.path = path;
+		this.absolute = absolute;
+		this.names = names;
+		this.positions = positions;
+	}
+
+	/**
+	 * Compiles the given path
+	 * @param path absolute or relative path
+	 * @return the compiled path
+	 * @throws IllegalArgumentException if the path is null
+	 */
+	public static MxPath compile(final String path) {
+		Validate.notNull(path, "path must not be null");
+		final String[] segments = StringUtils.split(path, MxNode.PATH_SEPARATOR);
+		final String[] names = new String[segments.length];
+		final int[] positions = new int[segments.length];
+		for (int i = 0; i < segments.length; i++) {
+			final String segment = segments[i];
+			final int open = segment.indexOf('[');
+			if (open > 0) {
+				names[i] = segment.substring(0, open);
+				positions[i] = position(segment.substring(open + 1, segment.endsWith("]") ? segment.length() - 1 : segment.length()));
+			} else {
+				names[i] = segment;
+				positions[i] = ANY;
+			}
+		}
+		return new MxPath(path, path.startsWith(MxNode.PATH_SEPARATOR), names, positions);
+	}
+
+	private static int position(final String predicate) {
+		final String trimmed = StringUtils.trim(predicate);
+		if (StringUtils.isNumeric(trimmed) && trimmed.length() < 10) {
+			return Integer.parseInt(trimmed);
+		}
+		return ANY;
+	}
+
+	/**
+	 * Finds all nodes matching this path
+	 * @param node the node to evaluate a relative path from, or any node of the tree for an absolute path
+	 * @return the found nodes in document order or an empty list if none is found
+	 */
+	public List<MxNode> find(final MxNode node) {
+		final List<MxNode> result = new ArrayList<>();
+		final MxNode start = start(node);
+		if (start != null && this.names.length > 0 && matches(0, start, 1)) {
+			collect(1, start, result, false);
+		}
+		return result;
+	}
+
+	/**
+	 * Finds the first node matching this path, stopping the traversal once found
+	 * @param node the node to evaluate a relative path from, or any node of the tree for an absolute path
+	 * @return the first found node in document order or null if not found
+	 */
+	public MxNode findFirst(final MxNode node) {
+		final MxNode start = start(node);
+		if (start != null && this.names.length > 0 && matches(0, start, 1)) {
+			return collect(1, start, null, true);
+		}
+		return null;
+	}
+
+	/**
+	 * Finds the value of the first node matching this path
+	 * @param node the node to evaluate a relative path from, or any node of the tree for an absolute path
+	 * @return the found node value or null if not found
+	 */
+	public String findValue(final MxNode node) {
+		final MxNode found = findFirst(node);
+		return found != null ? found.getValue() : null;
+	}
+
+	/**
+	 * Walks the children of the node matched by the previous segment
+	 * @return the first found node when first is true, null otherwise
+	 */
+	private MxNode collect(final int index, final MxNode node, final List<MxNode> result, final boolean first) {
+		if (index == this.names.length) {
+			if (first) {
+				return node;
+			}
+			result.add(node);
+			return null;
+		}
+		int count = 0;
+		for (final MxNode child : node.getChildren()) {
+			if (matchesName(index, child)) {
+				count++;
+				if (this.positions[index] == ANY || this.positions[index] == count) {
+					final MxNode found = collect(index + 1, child, result, first);
+					if (found != null) {
+						return found;
+					}
+					if (this.positions[index] == count) {
+						break;
+					}
+				}
+			}
+		}
+		return null;
+	}
+
+	MxNode start(final MxNode node) {
+		return node == null ? null : this.absolute ? node.getRoot() : node;
+	}
+
+	/**
+	 * @param index segment index
+	 * @param node the node to check
+	 * @param position the node position among its siblings with the same name, starting at 1
+	 * @return true if the node matches the segment name and position
+	 */
+	boolean matches(final int index, final MxNode node, final int position) {
+		return matchesName(index, node) && (this.positions[index] == ANY || this.positions[index] == position);
+	}
+
+	boolean matchesName(final int index, final MxNode node) {
+		return matchesName(index, node.getLocalName());
+	}
+
+	/**
+	 * @param index segment index
+	 * @param localName an element name
+	 * @return true if the segment is '.' or its name is equal to the given name ignoring case
+	 */
+	public boolean matchesName(final int index, final String localName) {
+		final String name = this.names[index];
+		return ANY_NAME.equals(name) || name.equalsIgnoreCase(localName);
+	}
+
+	/**
+	 * @return true if the path starts with '/' and is evaluated from the root element
+	 */
+	public boolean isAbsolute() {
+		return absolute;
+	}
+
+	/**
+	 * @return the amount of segments in the path
+	 */
+	public int size() {
+		return this.names.length;
+	}
+
+	/**
+	 * @param index segment index
+	 * @return the element name of the segment, with no predicate
+	 */
+	public String getName(final int index) {
+		return this.names[index];
+	}
+
+	/**
+	 * @param index segment index
+	 * @return the position predicate of the segment, starting at 1, or {@link #ANY} if the segment has no predicate
+	 */
+	public int getPosition(final int index) {
+		return this.positions[index];
+	}
+
+	/**
+	 * @return the path as compiled
+	 */
+	@Override
+	public String toString() {
+		return path;
+	}
+
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.model;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A group of compiled paths evaluated together in a single traversal of an {@link MxNode} tree.
+ *
+ * <p>The paths are merged by their common segments, so each tree node is visited at most once per evaluation
+ * regardless of the amount of paths, and the branches that do not match any path are not visited.
+ *
+ * <pre>
+ * MxPathSet paths = MxPathSet.compile(
+ *     "/Document/FIToFICstmrCdtTrf/GrpHdr/MsgId",
+ *     "/Document/FIToFICstmrCdtTrf/CdtTrfTxInf/IntrBkSttlmAmt");
+ * Map&lt;String, String&gt; values = paths.findValues(tree);
+ * </pre>
+ *
+ * <p>Instances are immutable and thread safe.
+ *
+ * @see MxPath
+ * @since 8.0.2
+ */
+public final class MxPathSet {
+
+	private final MxPath[] paths;
+	private final Step absolute;
+	private final Step relative;
+
+	private MxPathSet(final MxPath[] paths) {
+		this.paths = paths;
+		this.absolute = new Step(null, -1);
+		this.relative = new Step(null, -1);
+		for (int p = 0; p < paths.length; p++) {
+			Step step = paths[p].isAbsolute() ? this.absolute : this.relative;
+			for (int i = 0; i < paths[p].size(); i++) {
+				step = step.child(paths[p], i);
+			}
+			if (paths[p].size() > 0) {
+				step.addPath(p);
+			}
+		}
+	}
+
+	/**
+	 * Compiles the given paths
+	 * @param paths absolute or relative paths, see {@link MxPath}
+	 * @return the compiled set
+	 * @throws IllegalArgumentException if any path is null
+	 */
+	public static MxPathSet compile(final String... paths) {
+		Validate.notNull(paths, "paths must not be null");
+		return compile(Arrays.asList(paths));
+	}
+
+	/**
+	 * Compiles the given paths
+	 * @param paths absolute or relative paths, see {@link MxPath}
+	 * @return the compiled set
+	 * @throws IllegalArgumentException if any path is null
+	 */
+	public static MxPathSet compile(final Collection<String> paths) {
+		Validate.notNull(paths, "paths must not be null");
+		final MxPath[] compiled = new MxPath[paths.size()];
+		int i = 0;
+		for (final String path : paths) {
+			compiled[i++] = MxPath.compile(path);
+		}
+		return new MxPathSet(compiled);
+	}
+
+	/**
+	 * Finds the nodes matching each path
+	 * @param node the node to evaluate relative paths from, or any node of the tree for absolute paths
+	 * @return the found nodes for each path, in document order, keyed by path in the compiled order; a path with no
+	 * matches is mapped to an empty list
+	 */
+	public Map<String, List<MxNode>> find(final MxNode node) {
+		final List<MxNode>[] found = evaluate(node);
+		final Map<String, List<MxNode>> result = new LinkedHashMap<>(this.paths.length * 2);
+		for (int p = 0; p < this.paths.length; p++) {
+			if (!result.containsKey(this.paths[p].toString())) {
+				result.put(this.paths[p].toString(), found[p] != null ? found[p] : Collections.emptyList());
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Finds the value of the first node matching each path
+	 * @param node the node to evaluate relative paths from, or any node of the tree for absolute paths
+	 * @return the found values keyed by path in the compiled order; a path with no matches is mapped to null
+	 */
+	public Map<String, String> findValues(final MxNode node) {
+		final List<MxNode>[] found = evaluate(node);
+		final Map<String, String> result = new LinkedHashMap<>(this.paths.length * 2);
+		for (int p = 0; p < this.paths.length; p++) {
+			if (!result.containsKey(this.paths[p].toString())) {
+				result.put(this.paths[p].toString(), found[p] != null ? found[p].get(0).getValue() : null);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return the compiled paths, in the compiled order
+	 */
+	public List<MxPath> getPaths() {
+		return Collections.unmodifiableList(Arrays.asList(this.paths));
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<MxNode>[] evaluate(final MxNode node) {
+		final List<MxNode>[] found = new List[this.paths.length];
+		if (node != null) {
+			this.absolute.visitChildren(Collections.singletonList(node.getRoot()), found);
+			this.relative.visitChildren(Collections.singletonList(node), found);
+		}
+		return found;
+	}
+
+	/**
+	 * A segment shared by one or more paths
+	 */
+	private static final class Step {
+		private final MxPath path;
+		private final int index;
+		private final List<Step> children = new ArrayList<>();
+		private int[] ends = new int[0];
+
+		private Step(final MxPath path, final int index) {
+			this.path = path;
+			this.index = index;
+		}
+
+		/**
+		 * Gets the child step for the segment, reusing an existing step with the same name and position
+		 */
+		private Step child(final MxPath path, final int index) {
+			for (final Step s : this.children) {
+				if (s.path.getName(s.index).equalsIgnoreCase(path.getName(index)) && s.path.getPosition(s.index) == path.getPosition(index)) {
+					return s;
+				}
+			}
+			final Step s = new Step(path, index);
+			this.children.add(s);
+			return s;
+		}
+
+		private void addPath(final int p) {
+			this.ends = Arrays.copyOf(this.ends, this.ends.length + 1);
+			this.ends[this.ends.length - 1] = p;
+		}
+
+		/**
+		 * Matches the child steps against the given nodes, the children of the node matched by this step
+		 */
+		private void visitChildren(final List<MxNode> nodes, final List<MxNode>[] found) {
+			if (this.children.isEmpty()) {
+				return;
+			}
+			final int[] counts = new int[this.children.size()];
+			for (final MxNode n : nodes) {
+				for (int s = 0; s < counts.length; s++) {
+					final Step step = this.children.get(s);
+					if (step.path.matchesName(step.index, n) && step.path.matches(step.index, n, ++counts[s])) {
+						step.visit(n, found);
+					}
+				}
+			}
+		}
+
+		private void visit(final MxNode node, final List<MxNode>[] found) {
+			for (final int p : this.ends) {
+				if (found[p] == null) {
+					found[p] = new ArrayList<>();
+				}
+				found[p].add(node);
+			}
+			visitChildren(node.getChildren(), found);
+		}
+	}
+
+}
@@ -22,6 +22,7 @@ import com.prowidesoftware.deprecation.DeprecationUtils;
 import com.prowidesoftware.deprecation.ProwideDeprecated;
 import com.prowidesoftware.deprecation.TargetYear;
 import com.prowidesoftware.swift.io.parser.MxParser;
+import com.prowidesoftware.swift.io.parser.MxValueExtractor;
 import com.prowidesoftware.swift.model.mx.AbstractMX;
 import com.prowidesoftware.swift.model.mx.BusinessHeader;
 import com.prowidesoftware.swift.model.mx.dic.ApplicationHeader;
@@ -31,6 +32,7 @@ import javax.persistence.*;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
 import java.util.Objects;
 
 /**
@@ -70,6 +72,15 @@ public class MxSwiftMessage extends AbstractSwiftMessage {
 	private static final long serialVersionUID = -4394356007627575831L;
 	private static final transient java.util.logging.Logger log = java.util.logging.Logger.getLogger(MxSwiftMessage.class.getName());
 
+	private static final String GRPHDR_SENDER = "GrpHdr/InstgAgt/FinInstnId/BIC";
+	private static final String GRPHDR_RECEIVER = "GrpHdr/InstdAgt/FinInstnId/BIC";
+	private static final String GRPHDR_REFERENCE = "GrpHdr/MsgId";
+	/*
+	 * metadata is read in a single pass over the XML, with no tree
+	 */
+	private static final MxValueExtractor GROUP_HEADER = new MxValueExtractor(GRPHDR_SENDER, GRPHDR_RECEIVER, GRPHDR_REFERENCE);
+	private static final MxValueExtractor METADATA = new MxValueExtractor(Arrays.asList(GRPHDR_SENDER, GRPHDR_RECEIVER, GRPHDR_REFERENCE), true);
+
 	@Enumerated(EnumType.STRING)
 	@Column(length = 4, name = "business_process")
 	private MxBusinessProcess businessProcess;
@@ -184,10 +195,9 @@ public class MxSwiftMessage extends AbstractSwiftMessage {
 			 * update sender, receiver and reference
 			 * from business header or group header
 			 */
-			MxParser parser = new MxParser(this.message());
-			BusinessHeader h = parser.parseBusinessHeader();
-			if (!_update(h)) {
-				_update(parser.parse());
+			final MxValueExtractor.Result result = METADATA.extract(this.message());
+			if (!_update(result.getHeader())) {
+				_update(result);
 			}
 			/*
 			 * update identifier and namespace
@@ -195,7 +205,7 @@ public class MxSwiftMessage extends AbstractSwiftMessage {
 			if (id != null) {
 				_update(id);
 			} else {
-				_update(parser.detectMessage());
+				_update(result.getMxId());
 			}
 		}
 	}
@@ -242,8 +252,7 @@ public class MxSwiftMessage extends AbstractSwiftMessage {
 		 * from business header or group header
 		 */
 		if (!_update(mx.getBusinessHeader())) {
-			MxParser parser = new MxParser(this.message());
-			_update(parser.parse());
+			_update(GROUP_HEADER.extract(this.message()));
 		}
 		/*
 		 * update identifier and namespace
@@ -301,25 +310,19 @@ public class MxSwiftMessage extends AbstractSwiftMessage {
 	 * Updates sender, receiver and reference from the group header element (only present in a subset of Mx messages)
 	 * @return true if at least some property was updated
 	 */
-	private boolean _update(MxNode n) {
+	private boolean _update(final MxValueExtractor.Result result) {
 		boolean updated = false;
-		final MxNode groupHeader = n != null? n.findFirstByName("GrpHdr") : null;
-		if (groupHeader != null) {
-			MxNode senderBic = groupHeader.findFirst("./InstgAgt/FinInstnId/BIC");
-			if (senderBic != null) {
-				sender = bic11(senderBic.getValue());
-				updated = true;
-			}
-			MxNode receiverBic = groupHeader.findFirst("./InstdAgt/FinInstnId/BIC");
-			if (receiverBic != null) {
-				receiver = bic11(receiverBic.getValue());
-				updated = true;
-			}
-			MxNode reference = groupHeader.findFirst("./MsgId");
-			if (reference != null) {
-				setReference(reference.getValue());
-				updated = true;
-			}
+		if (result.isFound(GRPHDR_SENDER)) {
+			sender = bic11(result.getValue(GRPHDR_SENDER));
+			updated = true;
+		}
+		if (result.isFound(GRPHDR_RECEIVER)) {
+			receiver = bic11(result.getValue(GRPHDR_RECEIVER));
+			updated = true;
+		}
+		if (result.isFound(GRPHDR_REFERENCE)) {
+			setReference(result.getValue(GRPHDR_REFERENCE));
+			updated = true;
 		}
 		return updated;
 	}
@@ -18,10 +18,18 @@ package com.prowidesoftware.swift.model;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 
+import java.io.ObjectStreamException;
 import java.io.Serializable;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.Objects;
+import java.util.RandomAccess;
 import java.util.Stack;
+import java.util.function.Function;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
@@ -32,6 +40,9 @@ import com.google.gson.GsonBuilder;
  * stripped off before presentation. It mainly contains a list of
  * tags and its format representation, which is variable 
  * length and requires use of CRLF as a field delimiter.<br>
+ *
+ * <p>A block can also be created from its raw content with the tags parsed on demand, see
+ * {@link #SwiftBlock4(String, Function)}.
  * 
  * @author www.prowidesoftware.com
  * @since 4.0
@@ -39,6 +50,12 @@ import com.google.gson.GsonBuilder;
 public class SwiftBlock4 extends SwiftTagListBlock implements Serializable {
 	private static final long serialVersionUID = -623730182521597955L;
 
+	/**
+	 * The tags while the raw content is not parsed yet, null otherwise
+	 * @since 8.0.2
+	 */
+	private transient volatile LazyTagList lazyTags;
+
 	/**
 	 * Default constructor
 	 */
@@ -46,6 +63,32 @@ public class SwiftBlock4 extends SwiftTagListBlock implements Serializable {
 		super();
 	}
 
+	/**
+	 * Creates a block with its raw FIN content, the tags and unparsed texts are parsed on the first access to them.
+	 *
+	 * <p>The parsing is done once, by the first thread accessing the block content through any method of the block
+	 * or the list returned by {@link #getTags()}, and the result is the one returned by the parser function. Until
+	 * then, the raw content is available with {@link #getRawContent()}.
+	 *
+	 * <p>The deferred parsing is done after the original parser has finished, so the errors it finds are not reported
+	 * to the parser that created the block; when the parser function is not lenient, they are thrown to the caller
+	 * accessing the block content.
+	 *
+	 * @param content the block content as extracted by the parser, without the enclosing brackets, for example
+	 * "4:\r\n:20:REFERENCE\r\n-"
+	 * @param parser function to parse the content into a block
+	 * @throws IllegalArgumentException if any of the parameters is null
+	 * @see com.prowidesoftware.swift.io.parser.SwiftParserConfiguration#isLazyTextBlock()
+	 * @since 8.0.2
+	 */
+	public SwiftBlock4(final String content, final Function<String, SwiftBlock4> parser) {
+		super();
+		Validate.notNull(content, "parameter 'content' cannot be null");
+		Validate.notNull(parser, "parameter 'parser' cannot be null");
+		this.lazyTags = new LazyTagList(this, content, parser);
+		super.setTags(this.lazyTags);
+	}
+
 	/**
 	 * Constructor with tag initialization
 	 * @param tags the list of tags to initialize
@@ -150,6 +193,82 @@ public class SwiftBlock4 extends SwiftTagListBlock implements Serializable {
         return new SwiftBlock4(new ArrayList<>(stack));
 	}
 
+	/**
+	 * Tells whether the block content is parsed.
+	 * @return false if the block was created from its raw content and it has not been accessed yet, true otherwise
+	 * @since 8.0.2
+	 */
+	public boolean isParsed() {
+		return this.lazyTags == null;
+	}
+
+	/**
+	 * Gets the raw content of a block not parsed yet.
+	 * @return the content given to {@link #SwiftBlock4(String, Function)}, or null if the block is already parsed
+	 * @since 8.0.2
+	 */
+	public String getRawContent() {
+		final LazyTagList lazy = this.lazyTags;
+		return lazy != null ? lazy.content : null;
+	}
+
+	/**
+	 * Parses the raw content if the block is not parsed yet
+	 */
+	private void parse() {
+		final LazyTagList lazy = this.lazyTags;
+		if (lazy != null) {
+			lazy.tags();
+		}
+	}
+
+	@Override
+	protected void unparsedTextVerify() {
+		parse();
+		super.unparsedTextVerify();
+	}
+
+	@Override
+	public Integer getUnparsedTextsSize() {
+		parse();
+		return super.getUnparsedTextsSize();
+	}
+
+	@Override
+	public void setUnparsedTexts(final UnparsedTextList texts) {
+		parse();
+		super.setUnparsedTexts(texts);
+	}
+
+	@Override
+	public void setTags(final List<Tag> tags) {
+		parse();
+		super.setTags(tags);
+	}
+
+	@Override
+	public boolean equals(final Object o) {
+		parse();
+		if (o instanceof SwiftBlock4) {
+			((SwiftBlock4) o).parse();
+		}
+		return super.equals(o);
+	}
+
+	@Override
+	public int hashCode() {
+		parse();
+		return super.hashCode();
+	}
+
+	/**
+	 * Parses the raw content before the block is serialized
+	 */
+	protected Object writeReplace() throws ObjectStreamException {
+		parse();
+		return this;
+	}
+
 	/**
 	 * This method deserializes the JSON data into an block 4 object.
 	 * @see #toJson()
@@ -160,4 +279,118 @@ public class SwiftBlock4 extends SwiftTagListBlock implements Serializable {
 		return gson.fromJson(json, SwiftBlock4.class);
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Tag list parsing the block raw content on the first access
+	 */
+	private static final class LazyTagList extends AbstractList<Tag> implements RandomAccess, Serializable {
+		private static final long serialVersionUID = 1L;
+		private final transient SwiftBlock4 block;
+		private final transient String content;
+		private transient Function<String, SwiftBlock4> parser;
+		private transient volatile List<Tag> tags;
+
+		private LazyTagList(final SwiftBlock4 block, final String content, final Function<String, SwiftBlock4> parser) {
+			this.block = block;
+			this.content = content;
+			this.parser = parser;
+		}
+
+		private List<Tag> tags() {
+			List<Tag> result = this.tags;
+			if (result == null) {
+				synchronized (this) {
+					result = this.tags;
+					if (result == null) {
+						final SwiftBlock4 parsed = this.parser.apply(this.content);
+						result = parsed != null && parsed.getTags() != null ? parsed.getTags() : new ArrayList<>();
+						if (parsed != null && parsed.getUnparsedTextsSize() > 0) {
+							this.block.unparsedTexts = parsed.getUnparsedTexts();
+						}
+						this.parser = null;
+						this.tags = result;
+						this.block.lazyTags = null;
+					}
+				}
+			}
+			return result;
+		}
+
+		@Override
+		public Tag get(final int index) {
+			return tags().get(index);
+		}
+
+		@Override
+		public int size() {
+			return tags().size();
+		}
+
+		@Override
+		public Tag set(final int index, final Tag element) {
+			return tags().set(index, element);
+		}
+
+		@Override
+		public void add(final int index, final Tag element) {
+			tags().add(index, element);
+		}
+
+		@Override
+		public boolean add(final Tag element) {
+			return tags().add(element);
+		}
+
+		@Override
+		public boolean addAll(final Collection<? extends Tag> c) {
+			return tags().addAll(c);
+		}
+
+		@Override
+		public Tag remove(final int index) {
+			return tags().remove(index);
+		}
+
+		@Override
+		public boolean remove(final Object o) {
+			return tags().remove(o);
+		}
+
+		@Override
+		public void clear() {
+			tags().clear();
+		}
+
+		@Override
+		public Iterator<Tag> iterator() {
+			return tags().iterator();
+		}
+
+		@Override
+		public ListIterator<Tag> listIterator(final int index) {
+			return tags().listIterator(index);
+		}
+
+		@Override
+		public List<Tag> subList(final int fromIndex, final int toIndex) {
+			return tags().subList(fromIndex, toIndex);
+		}
+
+		@Override
+		public boolean equals(final Object o) {
+			return o == this || Objects.equals(tags(), o);
+		}
+
+		@Override
+		public int hashCode() {
+			return tags().hashCode();
+		}
+
+		/**
+		 * The block is serialized with the parsed tags
+		 */
+		private Object writeReplace() throws ObjectStreamException {
+			return new ArrayList<>(tags());
+		}
+	}
+
+}
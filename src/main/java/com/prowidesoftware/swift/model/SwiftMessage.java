@@ -24,6 +24,7 @@ import com.prowidesoftware.deprecation.TargetYear;
 import com.prowidesoftware.swift.io.parser.SwiftParser;
 import com.prowidesoftware.swift.io.parser.SwiftParserConfiguration;
 import com.prowidesoftware.swift.io.parser.XMLParser;
+import com.prowidesoftware.swift.io.writer.FINWriterVisitor;
 import com.prowidesoftware.swift.io.writer.SwiftWriter;
 import com.prowidesoftware.swift.io.writer.XMLWriterVisitor;
 import com.prowidesoftware.swift.model.field.*;
@@ -438,6 +439,11 @@ public class SwiftMessage implements Serializable, JsonSerializable {
 		Validate.notNull(block);
 		Validate.notNull(visitor);
 
+		if (visitor instanceof FINWriterVisitor && ((FINWriterVisitor) visitor).isRawBlock4()) {
+			// the block raw content is written as is, the tags are not parsed
+			return;
+		}
+
 		// iterate thru tags
 		for (final Iterator<Tag> it = block.tagIterator(); it.hasNext();) {
 			final Tag t = it.next();
@@ -1653,37 +1659,27 @@ public class SwiftMessage implements Serializable, JsonSerializable {
 			}
 			log.warning("Cannot determine the message type from application header (block 2)");
 		} else {
-			final StringBuilder className = new StringBuilder();
-			className.append("com.prowidesoftware.swift.model.mt.mt");
-			className.append(String.valueOf((char) type.charAt(0)));
-			className.append("xx.MT");
-			className.append(type);
+			MTVariant variant = null;
 			if (isSTP()) {
 				if (isType(102, 103)) {
-					className.append("_STP");
+					variant = MTVariant.STP;
 				} else {
 					log.warning("Unexpected STP flag in MT "+getType());
 				}
 			} else if (isREMIT()) {
 				if (isType(103)) {
-					className.append("_REMIT");
+					variant = MTVariant.REMIT;
 				} else {
 					log.warning("Unexpected REMIT flag in MT "+getType());
 				}
 			} else if (isCOV()) {
 				if (isType(202, 205)) {
-					className.append("COV");
+					variant = MTVariant.COV;
 				} else {
 					log.warning("Unexpected COV flag in MT "+getType());
 				}
 			}
-			log.finer("About to create an instance of "+className);
-			try {
-				final Class<?> mtClass = Class.forName(className.toString());
-				return (AbstractMT) mtClass.getConstructor(SwiftMessage.class).newInstance(this);
-			} catch (final Exception e) {
-				log.warning("Could not create instance of "+className+": "+e);
-			}
+			return MtFactory.create(this, type, variant);
 		}
 		return null;
 	}
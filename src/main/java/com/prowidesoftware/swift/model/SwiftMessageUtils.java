@@ -16,19 +16,18 @@
 package com.prowidesoftware.swift.model;
 
 import com.prowidesoftware.ProwideException;
+import com.prowidesoftware.swift.io.writer.DigestWriter;
 import com.prowidesoftware.swift.io.writer.SwiftWriter;
 import com.prowidesoftware.swift.model.field.CurrencyContainer;
 import com.prowidesoftware.swift.model.field.DateContainer;
 import com.prowidesoftware.swift.model.field.Field;
 import com.prowidesoftware.swift.model.field.Field30T;
 import com.prowidesoftware.swift.model.mt.AbstractMT;
+import com.prowidesoftware.swift.model.mt.MtFactory;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
+import org.apache.commons.lang3.tuple.Pair;
 
-import java.io.StringWriter;
-import java.lang.reflect.Method;
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.logging.Level;
@@ -286,16 +285,35 @@ public class SwiftMessageUtils {
 	 *
 	 * @param model the message
 	 * @return computed hash or null if errors occurred during computation or the message is null
+	 * @see #calculateChecksum(SwiftMessage, ChecksumAlgorithm, ChecksumEncoding)
 	 */
 	public static String calculateChecksum(final SwiftMessage model) {
+		return calculateChecksum(model, ChecksumAlgorithm.MD5, ChecksumEncoding.HEX);
+	}
+
+	/**
+	 * Proprietary checksum for message integrity verification or duplicates detection, computed with the given
+	 * algorithm and encoding.
+	 * <p>Please notice <strong>this is not the SWIFT trailer CHK field</strong>.
+	 * <p>The message is serialized in FIN format directly into the digest, with no intermediate text.
+	 *
+	 * @param model the message
+	 * @param algorithm the hash algorithm
+	 * @param encoding the text encoding for the hash
+	 * @return computed hash or null if errors occurred during computation or the message is null
+	 * @since 8.0.2
+	 */
+	public static String calculateChecksum(final SwiftMessage model, final ChecksumAlgorithm algorithm, final ChecksumEncoding encoding) {
 		if (model != null) {
-			final StringWriter writer = new StringWriter();
-			SwiftWriter.writeMessage(model, writer, true);
-			final String fin = writer.getBuffer().toString();
-			return md5(fin);
-		} else {
-			return null;
+			try {
+				final DigestWriter writer = new DigestWriter(algorithm.newDigest());
+				SwiftWriter.writeMessage(model, writer, true);
+				return encoding.encode(writer.digest());
+			} catch (NoSuchAlgorithmException e) {
+				log.log(Level.FINEST, e.getMessage(), e);
+			}
 		}
+		return null;
 	}
 
 	/**
@@ -308,46 +326,67 @@ public class SwiftMessageUtils {
 	 * @param b4 the message text block
 	 * @return computed hash or null if errors occurred during computation or the block is null
 	 * @since 7.9.5
+	 * @see #calculateChecksum(SwiftBlock4, ChecksumAlgorithm, ChecksumEncoding)
 	 */
 	public static String calculateChecksum(final SwiftBlock4 b4) {
+		return calculateChecksum(b4, ChecksumAlgorithm.MD5, ChecksumEncoding.HEX);
+	}
+
+	/**
+	 * Proprietary checksum for message text block (block 4) integrity verification or duplicates detection,
+	 * computed with the given algorithm and encoding.
+	 * <p>Please notice <strong>this is not the SWIFT trailer CHK field</strong>.
+	 *
+	 * @param b4 the message text block
+	 * @param algorithm the hash algorithm
+	 * @param encoding the text encoding for the hash
+	 * @return computed hash or null if errors occurred during computation or the block is null
+	 * @since 8.0.2
+	 */
+	public static String calculateChecksum(final SwiftBlock4 b4, final ChecksumAlgorithm algorithm, final ChecksumEncoding encoding) {
 		if (b4 != null) {
-			final StringWriter writer = new StringWriter();
-			SwiftWriter.writeBlock4(b4, writer);
-			final String fin = writer.getBuffer().toString();
-			return md5(fin);
-		} else {
-			return null;
+			try {
+				final DigestWriter writer = new DigestWriter(algorithm.newDigest());
+				SwiftWriter.writeBlock4(b4, writer);
+				return encoding.encode(writer.digest());
+			} catch (NoSuchAlgorithmException e) {
+				log.log(Level.FINEST, e.getMessage(), e);
+			}
 		}
+		return null;
 	}
-	
+
 	/**
-	 * Computes an MD5 hash on the parameter text
-	 * @param text the text to hash
-	 * @return computed hash or null if exceptions are thrown reading bytes or processing the digest
-	 * @since 7.9.5
+	 * Computes both the message checksum and the text block (block 4) checksum, in one single serialization of
+	 * the message whenever possible.
+	 * <p>The results are the same as calling {@link #calculateChecksum(SwiftMessage, ChecksumAlgorithm, ChecksumEncoding)}
+	 * and {@link #calculateChecksum(SwiftBlock4, ChecksumAlgorithm, ChecksumEncoding)}.
+	 *
+	 * @param model the message
+	 * @param algorithm the hash algorithm
+	 * @param encoding the text encoding for the hashes
+	 * @return a pair with the message checksum on the left and the block 4 checksum on the right, any of them may be
+	 * null if errors occurred during computation or the message or its block 4 are null
+	 * @since 8.0.2
 	 */
-	//TODO add base 64 encoding on top when upgraded to Java 8
-	private static String md5(final String text) {
+	public static Pair<String, String> calculateChecksums(final SwiftMessage model, final ChecksumAlgorithm algorithm, final ChecksumEncoding encoding) {
+		if (model == null) {
+			return Pair.of(null, null);
+		}
 		try {
-			byte[] bytesOfMessage = text.getBytes(StandardCharsets.UTF_8);
-			MessageDigest md = MessageDigest.getInstance("MD5");
-			byte[] thedigest = md.digest(bytesOfMessage);
-
-			//Converting the bytes to a Hex string
-			StringBuilder buff = new StringBuilder();
-			for (byte b : thedigest) {
-				String conversion = Integer.toString(b & 0xFF,16);
-				while (conversion.length() < 2) {
-					conversion = "0" + conversion;
-				}
-				buff.append(conversion);
+			final DigestWriter writer = new DigestWriter(algorithm.newDigest(), algorithm.newDigest());
+			SwiftWriter.writeMessage(model, writer, true);
+			final String checksum = encoding.encode(writer.digest());
+			final byte[] body = writer.sectionDigest();
+			if (body != null) {
+				return Pair.of(checksum, encoding.encode(body));
 			}
-
-			return buff.toString();
+			// the block 4 is missing, empty or was written with the tag block syntax
+			return Pair.of(checksum, calculateChecksum(model.getBlock4(), algorithm, encoding));
 		} catch (NoSuchAlgorithmException e) {
 			log.log(Level.FINEST, e.getMessage(), e);
 		}
-		return null;
+		return Pair.of(null, null);
 	}
 
 	/**
@@ -547,16 +586,13 @@ public class SwiftMessageUtils {
 	}
 
 	public static SwiftTagListBlock createSequenceSingle(final Class<? extends AbstractMT> mt, final String sequenceName, final Tag... tags) {
-		final String cn = mt.getName() + "$Sequence" + sequenceName;
-		try {
-			final Class<?> subSequenceClass = Class.forName(cn);
-			final Method method = subSequenceClass.getMethod("newInstance", Tag[].class);
-			return (SwiftTagListBlock) method.invoke(null, new Object[]{tags});
-		} catch (Exception e) {
-			String message = "Reflection error: mt="+mt.getName()+", sequenceName="+sequenceName+", tags="+ Arrays.toString(tags) +" - " + e.getMessage();
-			log.log(Level.WARNING, message, e);
+		final SwiftTagListBlock result = MtFactory.createSequence(mt, sequenceName, tags);
+		if (result == null) {
+			String message = "Reflection error: mt="+mt.getName()+", sequenceName="+sequenceName+", tags="+ Arrays.toString(tags);
+			log.warning(message);
 			throw new ProwideException(message);
 		}
+		return result;
 	}
 	
 	/**
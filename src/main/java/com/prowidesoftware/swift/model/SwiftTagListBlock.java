@@ -23,6 +23,7 @@ import com.prowidesoftware.deprecation.TargetYear;
 import com.prowidesoftware.swift.model.field.Field;
 import com.prowidesoftware.swift.model.field.Field16R;
 import com.prowidesoftware.swift.model.field.Field16S;
+import com.prowidesoftware.swift.model.field.FieldFactory;
 import com.prowidesoftware.swift.model.field.GenericField;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -54,6 +55,25 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 	 */
 	private List<Tag> tags = new ArrayList<>();
 
+	/**
+	 * Flag to enable the lookup index
+	 * @see #setIndexed(boolean)
+	 * @since 8.0.2
+	 */
+	private transient boolean indexed = false;
+
+	/**
+	 * Lookup index by tag name and number, built on demand when the index is enabled
+	 * @since 8.0.2
+	 */
+	private transient SwiftTagListIndex index;
+
+	/**
+	 * Sequence boundaries, built on demand by the sequence lookups when the index is enabled
+	 * @since 8.0.2
+	 */
+	private transient volatile SwiftTagListSequenceIndex sequenceIndex;
+
 	/**
 	 * Default constructor, shouldn't be used normally.
 	 * present only for subclasses
@@ -97,6 +117,94 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 		}
 	}
 
+	/**
+	 * Enables or disables the lookup index for this block.
+	 *
+	 * <p>When enabled, an index with the tag positions by name and by number is built on the first lookup and reused
+	 * by {@link #getTagByName(String)}, {@link #getTagsByName(String)}, {@link #containsTag(String)},
+	 * {@link #getTagValue(String)}, {@link #getTagByNumber(int)}, {@link #getTagsByNumber(int)},
+	 * {@link #containsTag(int)}, {@link #countByName(String)}, {@link #indexOfFirst(String)} and
+	 * {@link #indexOfLast(String)}, turning each lookup into a direct access instead of a scan of the tags.
+	 * The sequence lookups done by the generated MT sequence accessors, {@link #getSubBlock(String)},
+	 * {@link #getSubBlocks(String)}, {@link #getSubBlockDelimitedWithOptionalTail(String[], String[], String[])} and
+	 * {@link #getSubBlocksDelimitedWithOptionalTail(String[], String[], String[])}, also reuse the 16R/16S boundaries
+	 * of all sequences, found in a single pass over the tags.
+	 * This is convenient for large blocks queried several times, for example a block 4 of a securities message.
+	 * The lookup results are the same regardless of the index being enabled or not.
+	 *
+	 * <p>The index is discarded by any change done through this block API (add, set, append or remove tags)
+	 * and also when the tags list size changes. If tag names or values are modified directly on the Tag objects, or
+	 * the list returned by {@link #getTags()} is modified in place keeping its size, call this method again to discard
+	 * the index.
+	 *
+	 * <p>The index is disabled by default.
+	 *
+	 * @param indexed true to enable the index, false to disable it
+	 * @return this
+	 * @since 8.0.2
+	 */
+	public SwiftTagListBlock setIndexed(final boolean indexed) {
+		this.indexed = indexed;
+		invalidateIndex();
+		return this;
+	}
+
+	/**
+	 * @return true if the lookup index is enabled for this block
+	 * @see #setIndexed(boolean)
+	 * @since 8.0.2
+	 */
+	public boolean isIndexed() {
+		return this.indexed;
+	}
+
+	/**
+	 * Gets the current lookup index, building it if necessary
+	 */
+	private SwiftTagListIndex index() {
+		if (this.index == null || !this.index.isValidFor(this.tags)) {
+			this.index = new SwiftTagListIndex(this.tags);
+		}
+		return this.index;
+	}
+
+	/**
+	 * Gets the current sequence index, building it if necessary
+	 * @return the index, or null if the index is disabled and the lookup must scan the tags
+	 * @see #setIndexed(boolean)
+	 */
+	private SwiftTagListSequenceIndex sequenceIndex() {
+		if (!this.indexed) {
+			return null;
+		}
+		SwiftTagListSequenceIndex result = this.sequenceIndex;
+		if (result == null || !result.isValidFor(this.tags)) {
+			result = new SwiftTagListSequenceIndex(this.tags);
+			this.sequenceIndex = result;
+		}
+		return result;
+	}
+
+	/**
+	 * Creates new blocks with the tags between each pair of start and end positions, both inclusive
+	 */
+	private List<SwiftTagListBlock> blocks(final int[] positions) {
+		final List<SwiftTagListBlock> result = new ArrayList<>(positions.length / 2);
+		for (int i = 0; i < positions.length; i += 2) {
+			result.add(block(positions[i], positions[i + 1]));
+		}
+		return result;
+	}
+
+	private SwiftTagListBlock block(final int start, final int end) {
+		return new SwiftTagListBlock(new ArrayList<>(this.tags.subList(start, end + 1)));
+	}
+
+	private void invalidateIndex() {
+		this.index = null;
+		this.sequenceIndex = null;
+	}
+
 	/**
 	 * Gets the internal List of tags in block.
 	 * @return a List of Tag
@@ -115,6 +223,10 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 	 */
 	public Tag getTagByName(final String name) {
 		Validate.notNull(name, NAME_VALIDATION_MESSAGE);
+		if (this.indexed) {
+			final SwiftTagListIndex.Positions positions = index().byName(name);
+			return positions != null ? this.tags.get(positions.first()) : null;
+		}
 		for (Tag tag : this.tags) {
 			if (StringUtils.equals(tag.getName(),  name)) {
 				return tag;
@@ -184,6 +296,14 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 	 */
 	public Tag[] getTagsByName(final String name) {
 		Validate.notNull(name, NAME_VALIDATION_MESSAGE);
+		if (this.indexed) {
+			final SwiftTagListIndex.Positions positions = index().byName(name);
+			final Tag[] result = new Tag[positions != null ? positions.size() : 0];
+			for (int i = 0; i < result.length; i++) {
+				result[i] = this.tags.get(positions.get(i));
+			}
+			return result;
+		}
 		final List<Tag> l = new ArrayList<>();
 		for (Tag tag : this.tags) {
 			if (StringUtils.equals(tag.getName(), name)) {
@@ -221,6 +341,10 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
  	 * @return the first tag with the given number or null if no tag is found.
 	 */
 	public Tag getTagByNumber(final int tagNumber) {
+		if (this.indexed) {
+			final SwiftTagListIndex.Positions positions = index().byNumber(tagNumber);
+			return positions != null ? this.tags.get(positions.first()) : null;
+		}
 		for (Tag tag : this.tags) {
 			if (tag.isNumber(tagNumber)) {
 				return tag;
@@ -237,6 +361,13 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 	 */
 	public List<Tag> getTagsByNumber(final int tagNumber) {
 		final List<Tag> result = new ArrayList<>();
+		if (this.indexed) {
+			final SwiftTagListIndex.Positions positions = index().byNumber(tagNumber);
+			for (int i = 0; positions != null && i < positions.size(); i++) {
+				result.add(this.tags.get(positions.get(i)));
+			}
+			return result;
+		}
 		for (Tag tag : this.tags) {
 			if (tag.isNumber(tagNumber)) {
 				result.add(tag);
@@ -355,6 +486,10 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 		Validate.notNull(name, NAME_VALIDATION_MESSAGE);
 		
 		final boolean wildcard = name.endsWith("a");
+		if (!wildcard && !FieldFactory.isKnown(name)) {
+			// no field implementation for the requested name
+			return null;
+		}
 		for (Tag tag : this.tags) {
 			if (matchesName(wildcard, tag.getName(), name)) {
 				final Field field = tag.asField();
@@ -382,6 +517,10 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 		
 		final boolean wildcard = name.endsWith("a");
 		final List<Field> l = new ArrayList<>();
+		if (!wildcard && !FieldFactory.isKnown(name)) {
+			// no field implementation for the requested name
+			return l;
+		}
 		for (Tag tag : this.tags) {
 			if (matchesName(wildcard, tag.getName(), name)) {
 				final Field field = tag.asField();
@@ -573,6 +712,10 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 	 */
 	public int countByName(final String name) {
 		Validate.notNull(name, NAME_VALIDATION_MESSAGE);
+		if (this.indexed) {
+			final SwiftTagListIndex.Positions positions = index().byName(name);
+			return positions != null ? positions.size() : 0;
+		}
 		int count = 0;
 		for (final Tag tag : this.tags) {
 			if (StringUtils.equals(tag.getName(), name)) {
@@ -610,6 +753,7 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 		for (Tag t : tags) {
 			if (StringUtils.equals(t.getName(), name)) {
 				final Tag r = tags.remove(i);
+				invalidateIndex();
 				return r.getValue();
 			}
 			i++;
@@ -635,6 +779,7 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 			this.tags.remove(t);
 			removed++;
 		}
+		invalidateIndex();
 		return removed;
 	}
 
@@ -662,6 +807,7 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 	public void addTags(final List<Tag> tags) {
 		Validate.notNull(tags, "parameter 'tags' cannot not be null");
 		thisTagsNotNull().addAll(tags);
+		invalidateIndex();
 	}
 
     /**
@@ -677,6 +823,7 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
         // sanity check
         Validate.notNull(tag, TAG_VALIDATION_MESSAGE);
         thisTagsNotNull().add(index,tag);
+        invalidateIndex();
     }
 
 	/**
@@ -719,6 +866,7 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 	 public Tag setTag(int index, Tag tag) {
          // sanity check
          Validate.notNull(tag, TAG_VALIDATION_MESSAGE);
+		 invalidateIndex();
 		 return this.tags.set(index,tag);
 	 }
 
@@ -730,6 +878,7 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
      */
     public void setTags(final List<Tag> tags) {
         this.tags = tags;
+        invalidateIndex();
     }
 
 	 /**
@@ -819,6 +968,9 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
      * It searches for a starting 16R field (with blockName as value) and its correspondent 16S
      * field (with blockName as value) as block boundaries.
      *
+     * <p>When the lookup index is enabled, the boundaries of all the 16R/16S blocks are found in a single pass over
+     * the tags and reused in the following lookups, see {@link #setIndexed(boolean)}.
+     *
      * @param blockName block name, used for block
      * @return a list containing the found tags (the list can be empty if no tags are found)
      * @see #getSubBlocks(Tag, Tag)
@@ -826,7 +978,11 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
      * @since 6.0
      */
      public List<SwiftTagListBlock> getSubBlocks(final String blockName) {
-        return getSubBlocks(new Tag("16R", blockName), new Tag("16S", blockName));
+        final SwiftTagListSequenceIndex sequences = blockName == null || this.tags == null ? null : sequenceIndex();
+        if (sequences == null) {
+            return getSubBlocks(new Tag("16R", blockName), new Tag("16S", blockName));
+        }
+        return blocks(sequences.byBlockName(blockName));
      }
 
 	 /**
@@ -954,6 +1110,8 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
      * Gets all tags of a specific sub block, searching for the first occurrence of the starting 16R field (with blockName as value)
      * and its correspondent 16S field (with blockName as value).
      *
+     * <p>The boundaries are resolved with the same structure used by {@link #getSubBlocks(String)}.
+     *
      * @param blockName block name, used for block
      * @return a new block containing the found tags (the block can be empty if no tags are found)
      * @see #getSubBlock(Tag, Tag)
@@ -961,7 +1119,15 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
      * @since 6.0
      */
     public SwiftTagListBlock getSubBlock(final String blockName) {
-        return getSubBlock(new Tag("16R", blockName), new Tag("16S", blockName));
+        final SwiftTagListSequenceIndex sequences = blockName == null || this.tags == null ? null : sequenceIndex();
+        if (sequences == null) {
+            return getSubBlock(new Tag("16R", blockName), new Tag("16S", blockName));
+        }
+        final int[] positions = sequences.byBlockName(blockName);
+        if (positions.length == 0) {
+            return new SwiftTagListBlock();
+        }
+        return block(positions[0], positions[1]);
     }
 
     /**
@@ -1298,6 +1464,10 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 	  * @return a 0-based index of the found tag or -1 if not found
 	  */
 	 public int indexOfLast(final String tagname) {
+		 if (this.indexed && tagname != null) {
+			 final SwiftTagListIndex.Positions positions = index().byName(tagname);
+			 return positions != null ? positions.last() : -1;
+		 }
 		 int result = -1;
 		 if (this.tags != null && !this.tags.isEmpty()) {
 
@@ -1386,6 +1556,10 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 	 * @return a 0-based index of the found tag or -1 if not found
 	 */
 	public int indexOfFirst(final String tagname) {
+		if (this.indexed && tagname != null) {
+			final SwiftTagListIndex.Positions positions = index().byName(tagname);
+			return positions != null ? positions.first() : -1;
+		}
 		if (this.tags != null && !this.tags.isEmpty()) {
 
 			for (int i=0;i<this.tags.size();i++) {
@@ -1670,42 +1844,78 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 	  */
 	 public List<SwiftTagListBlock> getSubBlocksDelimitedWithOptionalTail(final String[] start, final String[] end, final String[] tail) {
 		 if (tags != null && !tags.isEmpty()) {
+			 final SwiftTagListSequenceIndex sequences = sequenceIndex();
+			 final int[] positions = sequences == null ? delimitedWithOptionalTail(false, start, end, tail)
+					 : sequences.computeIfAbsent(new SwiftTagListSequenceIndex.DelimitedKey(false, start, end, tail),
+							 () -> delimitedWithOptionalTail(false, start, end, tail));
 			 final List<SwiftTagListBlock> result = new ArrayList<>();
-			 int offset = 0;
-			 boolean done = false;
-			 while (!done) {
-				 final int s = indexOfAnyFirstAfterIndex(offset, start);
-				 final int e = indexOfAnyFirstAfterIndex(s+1, end);
+			 int i = 0;
+			 while (i < positions.length) {
+				 final SwiftTagListBlock l = new SwiftTagListBlock();
+				 i = appendPositions(l, positions, i);
+				 result.add(l);
+			 }
+			 return result;
+		 }
+		 return Collections.emptyList();
+	 }
 
-				 offset = e;
-				 if (s==-1 || e==-1) {
-					 done = true;
-				 } else if (e>=s) {
-					 final SwiftTagListBlock l = sublist(s, e);
-					 if (tail !=null && tail.length>0) {
-						 boolean abort = false;
-						 for (int i=e+1;i<tags.size() && !abort;i++) {
-							 boolean added = false;
-							 for (final String tn : tail) {
-								 final Tag tag = tags.get(i);
-								 if (StringUtils.equals(tag.getName(), tn)) {
-									 l.append(tag);
-									 offset++;
-									 added = true;
-								 }
-							 }
-							 if (!added) {
-								 abort = true;
+	 /**
+	  * Finds the tags for {@link #getSubBlocksDelimitedWithOptionalTail(String[], String[], String[])} and
+	  * {@link #getSubBlockDelimitedWithOptionalTail(String[], String[], String[])}.
+	  * @param first true to find only the first block
+	  * @return for each found block, the amount of tags followed by the tags positions
+	  */
+	 private int[] delimitedWithOptionalTail(final boolean first, final String[] start, final String[] end, final String[] tail) {
+		 final SwiftTagListSequenceIndex.Positions result = new SwiftTagListSequenceIndex.Positions();
+		 int offset = 0;
+		 boolean done = false;
+		 while (!done) {
+			 final int s = first ? indexOfAnyFirst(start) : indexOfAnyFirstAfterIndex(offset, start);
+			 final int e = indexOfAnyFirstAfterIndex(s+1, end);
+
+			 offset = e;
+			 if (s==-1 || e==-1) {
+				 done = true;
+			 } else if (e>=s) {
+				 final int count = result.size();
+				 result.add(0);
+				 for (int i=s; i<=e; i++) {
+					 result.add(i);
+				 }
+				 if (tail !=null && tail.length>0) {
+					 boolean abort = false;
+					 for (int i=e+1;i<tags.size() && !abort;i++) {
+						 boolean added = false;
+						 for (final String tn : tail) {
+							 if (StringUtils.equals(tags.get(i).getName(), tn)) {
+								 result.add(i);
+								 offset++;
+								 added = true;
 							 }
 						 }
+						 if (!added) {
+							 abort = true;
+						 }
 					 }
-					 result.add(l);
 				 }
+				 result.set(count, result.size() - count - 1);
+				 done = first;
 			 }
+		 }
+		 return result.toArray();
+	 }
 
-			 return result;
+	 /**
+	  * Appends to the block the tags of one group of positions
+	  * @return the index of the next group
+	  */
+	 private int appendPositions(final SwiftTagListBlock block, final int[] positions, final int index) {
+		 final int count = positions[index];
+		 for (int i = index + 1; i <= index + count; i++) {
+			 block.append(this.tags.get(positions[i]));
 		 }
-		 return Collections.emptyList();
+		 return index + count + 1;
 	 }
 
 	 /**
@@ -1800,27 +2010,13 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 	  */
 	 public SwiftTagListBlock getSubBlockDelimitedWithOptionalTail(final String[] start, final String[] end, final String[] tail) {
 		 if (tags != null && !tags.isEmpty()) {
-			 final int s = indexOfAnyFirst(start);
-			 final int e = indexOfAnyFirstAfterIndex(s+1, end);
-
-			 if (s!=-1 && e!=-1 && e>=s) {
-				 final SwiftTagListBlock result = sublist(s, e);
-				 if (tail ==null || tail.length==0) {
-					 return result;
-				 }
-				 boolean abort = false;
-				 for (int i=e+1;i<tags.size() && !abort;i++) {
-					 boolean added = false;
-					 for (final String tn : tail) {
-						 if (StringUtils.equals(tags.get(i).getName(), tn)) {
-							 result.append(tags.get(i));
-							 added = true;
-						 }
-					 }
-					 if (!added) {
-						 abort = true;
-					 }
-				 }
+			 final SwiftTagListSequenceIndex sequences = sequenceIndex();
+			 final int[] positions = sequences == null ? delimitedWithOptionalTail(true, start, end, tail)
+					 : sequences.computeIfAbsent(new SwiftTagListSequenceIndex.DelimitedKey(true, start, end, tail),
+							 () -> delimitedWithOptionalTail(true, start, end, tail));
+			 if (positions.length > 0) {
+				 final SwiftTagListBlock result = new SwiftTagListBlock();
+				 appendPositions(result, positions, 0);
 				 return result;
 			 }
 		 }
@@ -2025,6 +2221,7 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 	 public SwiftTagListBlock append (final SwiftTagListBlock block) {
 		 if ((block!= null) && !block.isEmpty()) {
 			 this.tags.addAll(block.getTags());
+			 invalidateIndex();
 		 }
 		 return this;
 	 }
@@ -2041,6 +2238,7 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 			 for (final SwiftTagListBlock b : blocks) {
 				 this.tags.addAll(b.getTags());
 			}
+			invalidateIndex();
 		 }
 		 return this;
 	 }
@@ -2055,6 +2253,7 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 	 public SwiftTagListBlock append(final Tag tag) {
 		 Validate.notNull(tag);
 		 this.tags.add(tag); 
+		 invalidateIndex();
 		 return this;
 	 }
 	 
@@ -2069,6 +2268,7 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 			 for (final Tag t : tags) {
 				 this.tags.add(t); 
 			}
+			invalidateIndex();
 		 }
 		 return this;
 	 }
@@ -2087,6 +2287,7 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 	 public SwiftTagListBlock append(final Field field) {
 		 Validate.notNull(field);
 		 this.tags.add(field.asTag()); 
+		 invalidateIndex();
 		 return this;
 	 }
 	 
@@ -2140,6 +2341,7 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 		 if (this.tags != null) {
 			 this.tags.clear();
 		 }
+		 invalidateIndex();
 		 return this;
 	 }
 
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Positions of the tags in a tag list, by tag name and by tag number, used by {@link SwiftTagListBlock} when
+ * its index is enabled.
+ *
+ * <p>The index is a snapshot of the list content at the moment it was built.
+ *
+ * @see SwiftTagListBlock#setIndexed(boolean)
+ * @since 8.0.2
+ */
+final class SwiftTagListIndex {
+
+	private final List<Tag> tags;
+	private final int size;
+	private final Map<String, Positions> byName = new HashMap<>();
+	private final Map<Integer, Positions> byNumber = new HashMap<>();
+
+	/**
+	 * Builds the index walking the list once
+	 * @param tags the tag list to index
+	 */
+	SwiftTagListIndex(final List<Tag> tags) {
+		this.tags = tags;
+		this.size = tags == null ? 0 : tags.size();
+		for (int i = 0; i < this.size; i++) {
+			final Tag tag = tags.get(i);
+			if (tag != null && tag.getName() != null) {
+				this.byName.computeIfAbsent(tag.getName(), k -> new Positions()).add(i);
+				final Integer number = tag.getNumber();
+				if (number != null) {
+					this.byNumber.computeIfAbsent(number, k -> new Positions()).add(i);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return true if this index was built for the given list and the list size has not changed
+	 */
+	boolean isValidFor(final List<Tag> tags) {
+		return this.tags == tags && this.size == (tags == null ? 0 : tags.size());
+	}
+
+	/**
+	 * @param name the tag name
+	 * @return the positions of the tags with the given name in ascending order or null if none
+	 */
+	Positions byName(final String name) {
+		return this.byName.get(name);
+	}
+
+	/**
+	 * @param number the tag number
+	 * @return the positions of the tags with the given number, regardless of the letter option, in ascending order or null if none
+	 */
+	Positions byNumber(final int number) {
+		return this.byNumber.get(number);
+	}
+
+	/**
+	 * Growable list of tag positions
+	 */
+	static final class Positions {
+		private int[] values = new int[2];
+		private int size = 0;
+
+		private void add(final int position) {
+			if (this.size == this.values.length) {
+				this.values = Arrays.copyOf(this.values, this.size * 2);
+			}
+			this.values[this.size++] = position;
+		}
+
+		int size() {
+			return this.size;
+		}
+
+		int get(final int i) {
+			return this.values[i];
+		}
+
+		int first() {
+			return this.values[0];
+		}
+
+		int last() {
+			return this.values[this.size - 1];
+		}
+	}
+
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.model;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Sequence boundaries in a tag list, used by {@link SwiftTagListBlock} to serve the sequence lookups done by the
+ * generated MT sequence accessors.
+ *
+ * <p>The 16R/16S boundaries for all sequence names are recorded in a single pass over the tags when the index is
+ * built. The boundaries of other generated sequence styles, such as sequences delimited by tag names with an
+ * optional tail, are computed on the first lookup and kept for the next ones.
+ *
+ * <p>Boundaries are kept as pairs of positions, start and end both inclusive. The index is a snapshot of the list
+ * content at the moment it was built. Like {@link SwiftTagListIndex}, it is only used when the block indexing is
+ * enabled with {@link SwiftTagListBlock#setIndexed(boolean)}, and it is discarded by the block on any change done
+ * through the block API. {@link #isValidFor(List)} only detects a different list or a change in its size; tags
+ * modified in place, or replaced in the list keeping its size, are not detected. Once built the index can be safely
+ * used from several threads.
+ *
+ * @since 8.0.2
+ */
+final class SwiftTagListSequenceIndex {
+
+	private static final int[] NONE = new int[0];
+
+	private final List<Tag> tags;
+	private final int size;
+	private final Map<String, int[]> byBlockName;
+	private final Map<Object, int[]> computed = new ConcurrentHashMap<>();
+
+	/**
+	 * Builds the index walking the list once
+	 * @param tags the tag list to index
+	 */
+	SwiftTagListSequenceIndex(final List<Tag> tags) {
+		this.tags = tags;
+		final int size = tags == null ? 0 : tags.size();
+		this.size = size;
+		final Map<String, Integer> open = new HashMap<>();
+		final Map<String, Positions> found = new HashMap<>();
+		for (int i = 0; i < size; i++) {
+			final Tag t = tags.get(i);
+			if (t == null) {
+				continue;
+			}
+			final boolean start = "16R".equals(t.getName());
+			if ((start || "16S".equals(t.getName())) && t.sortKey == null && t.unparsedTexts == null) {
+				// same match as Tag#equalsIgnoreCR against a 16R/16S tag created from the block name
+				final String blockName = StringUtils.replace(t.getValue(), "\r", "");
+				if (start) {
+					if (!open.containsKey(blockName)) {
+						open.put(blockName, i);
+					}
+				} else {
+					final Integer from = open.remove(blockName);
+					if (from != null) {
+						found.computeIfAbsent(blockName, k -> new Positions()).add(from, i);
+					}
+				}
+			}
+		}
+		// a not closed block extends up to the end of the list
+		for (final Map.Entry<String, Integer> e : open.entrySet()) {
+			found.computeIfAbsent(e.getKey(), k -> new Positions()).add(e.getValue(), size - 1);
+		}
+		final Map<String, int[]> byBlockName = new HashMap<>(found.size() * 2);
+		for (final Map.Entry<String, Positions> e : found.entrySet()) {
+			byBlockName.put(e.getKey(), e.getValue().toArray());
+		}
+		this.byBlockName = Collections.unmodifiableMap(byBlockName);
+	}
+
+	/**
+	 * Checks the index was built for the given list and the list size has not changed.
+	 * Modifications keeping the list size are not detected.
+	 * @return true if this index was built for the given list
+	 */
+	boolean isValidFor(final List<Tag> tags) {
+		return this.tags == tags && this.size == (tags == null ? 0 : tags.size());
+	}
+
+	/**
+	 * @param blockName the 16R/16S qualifier
+	 * @return the start and end positions of the blocks delimited by 16R and 16S with the given name, in ascending order
+	 */
+	int[] byBlockName(final String blockName) {
+		final int[] result = this.byBlockName.get(StringUtils.replace(blockName, "\r", ""));
+		return result != null ? result : NONE;
+	}
+
+	/**
+	 * Gets the result of a lookup, computing it on the first call
+	 * @param key the lookup criteria, must implement equals and hashCode
+	 * @param function computes the positions of the found tags
+	 * @return the computed or cached positions
+	 */
+	int[] computeIfAbsent(final Object key, final Supplier<int[]> function) {
+		return this.computed.computeIfAbsent(key, k -> function.get());
+	}
+
+	/**
+	 * Lookup key for the blocks delimited by tag names with an optional tail
+	 */
+	static final class DelimitedKey {
+		private final boolean first;
+		private final String[] start;
+		private final String[] end;
+		private final String[] tail;
+
+		DelimitedKey(final boolean first, final String[] start, final String[] end, final String[] tail) {
+			this.first = first;
+			this.start = start;
+			this.end = end;
+			this.tail = tail;
+		}
+
+		@Override
+		public boolean equals(final Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof DelimitedKey)) {
+				return false;
+			}
+			final DelimitedKey other = (DelimitedKey) o;
+			return first == other.first && Arrays.equals(start, other.start) && Arrays.equals(end, other.end) && Arrays.equals(tail, other.tail);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * (31 * (31 * Boolean.hashCode(first) + Arrays.hashCode(start)) + Arrays.hashCode(end)) + Arrays.hashCode(tail);
+		}
+	}
+
+	/**
+	 * Growable list of positions
+	 */
+	static final class Positions {
+		private int[] values = new int[4];
+		private int size = 0;
+
+		void add(final int position) {
+			if (this.size == this.values.length) {
+				this.values = Arrays.copyOf(this.values, this.values.length * 2);
+			}
+			this.values[this.size++] = position;
+		}
+
+		void add(final int start, final int end) {
+			add(start);
+			add(end);
+		}
+
+		int size() {
+			return this.size;
+		}
+
+		void set(final int i, final int position) {
+			this.values[i] = position;
+		}
+
+		int[] toArray() {
+			return Arrays.copyOf(this.values, this.size);
+		}
+	}
+
+}
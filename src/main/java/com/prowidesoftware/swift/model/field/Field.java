@@ -30,8 +30,6 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 import org.apache.commons.lang3.time.DateFormatUtils;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
@@ -544,30 +542,17 @@ public abstract class Field implements PatternContainer, JsonSerializable {
 	}
 
 	/**
-	 * Creates a Field instance for the given it's name and and optional value, using reflection.
-	 * 
+	 * Creates a Field instance for the given it's name and and optional value.
+	 *
+	 * <p>The field class for each name is resolved only once and kept in the {@link FieldFactory} registry.
+	 *
 	 * @param name a proper field name, ex: 32A, 22F, 20
 	 * @param value an optional field value or null to create the field with no initial content
 	 * @return a specific field object (example: Field32A) or null if exceptions occur during object creation.
 	 * @since 7.8
 	 */
 	static public Field getField(final String name, final String value) {
-		Object r = null;
-		try {
-			final Class<?> c = Class.forName("com.prowidesoftware.swift.model.field.Field" + name);
-			@SuppressWarnings("rawtypes")
-			final Class[] argsClass = new Class[] { String.class };
-			@SuppressWarnings("rawtypes")
-			final Constructor ct = c.getConstructor(argsClass);
-			final Object arglist[] = new Object[] { value };
-			r = ct.newInstance(arglist);
-		} catch (final ClassNotFoundException e) {
-			log.warning("Field class for Field" + name
-			        + " not found. This is normally caused by an unrecognized field in the message or a malformed message block structure.");
-		} catch (final Exception e) {
-			log.log(Level.WARNING, "An error occurred while creating an instance of " + name, e);
-		}
-		return (Field) r;
+		return FieldFactory.create(name, value);
 	}
 
 	/**
@@ -1209,18 +1194,7 @@ public abstract class Field implements PatternContainer, JsonSerializable {
 		JsonObject jsonObject = (JsonObject) parser.parse(json);
 		JsonElement nameElement = jsonObject.get("name");
 		if (nameElement != null) {
-			String name = nameElement.getAsString();
-			Object r = null;
-			try {
-				final Class<?> c = Class.forName("com.prowidesoftware.swift.model.field.Field" + name);
-				Method method = c.getMethod("fromJson", String.class);
-				return (Field) method.invoke(null, json);
-			} catch (final ClassNotFoundException e) {
-				log.warning("Field class for Field" + name + " not found. This is normally caused by an unrecognized field in the message or a malformed message block structure.");
-			} catch (final Exception e) {
-				log.log(Level.WARNING, "An error occured while creating an instance of " + name, e);
-			}
-			return (Field) r;
+			return FieldFactory.fromJson(nameElement.getAsString(), json);
 		}
 		return null;
 	}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.model.field;
+
+import org.apache.commons.lang3.Validate;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.logging.Level;
+
+/**
+ * Registry of factories to create specific field instances by field name, for example Field32A for "32A".
+ *
+ * <p>The registry is lazily filled: the first time a field name is requested its class is resolved and the
+ * constructor (or the static fromJson method) is looked up and kept in the registry, so subsequent calls for the
+ * same name create the field directly with no class lookup. Names with no field implementation are kept in a
+ * bounded negative cache so they are not resolved, nor reported in the log, again.
+ *
+ * <p>This class is thread safe.
+ *
+ * @since 8.0.2
+ */
+public final class FieldFactory {
+	private static final transient java.util.logging.Logger log = java.util.logging.Logger.getLogger(FieldFactory.class.getName());
+
+	private static final String FIELD_CLASS_PREFIX = "com.prowidesoftware.swift.model.field.Field";
+
+	/**
+	 * Maximum amount of unrecognized names kept in the negative cache, once reached another name is evicted to make
+	 * room for the new one
+	 */
+	private static final int UNKNOWN_NAMES_MAX_SIZE = 1024;
+
+	private static final Map<String, Function<String, ? extends Field>> constructors = new ConcurrentHashMap<>();
+	private static final Map<String, Function<String, ? extends Field>> jsonReaders = new ConcurrentHashMap<>();
+	private static final Set<String> unknownNames = ConcurrentHashMap.newKeySet();
+
+	// Suppress default constructor for noninstantiability
+	private FieldFactory() {
+		throw new AssertionError();
+	}
+
+	/**
+	 * Creates a specific field instance for the given name and value.
+	 *
+	 * @param name a proper field name, ex: 32A, 22F, 20
+	 * @param value an optional field value or null to create the field with no initial content
+	 * @return a specific field object (example: Field32A) or null if the field name is not recognized or an error
+	 * occurs during object creation
+	 */
+	public static Field create(final String name, final String value) {
+		final Function<String, ? extends Field> constructor = constructor(name);
+		return constructor != null ? constructor.apply(value) : null;
+	}
+
+	/**
+	 * Creates a specific field instance for the given name, from its JSON representation.
+	 *
+	 * @param name a proper field name, ex: 32A, 22F, 20
+	 * @param json the JSON representation of the field
+	 * @return a specific field object (example: Field32A) or null if the field name is not recognized or an error
+	 * occurs during object creation
+	 * @see Field#fromJson(String)
+	 */
+	public static Field fromJson(final String name, final String json) {
+		if (!isKnown(name)) {
+			return null;
+		}
+		final Function<String, ? extends Field> reader = jsonReaders.computeIfAbsent(name, FieldFactory::resolveJsonReader);
+		return reader != null ? reader.apply(json) : null;
+	}
+
+	/**
+	 * Gets the factory to create fields with the given name from the field value.
+	 *
+	 * @param name a proper field name, ex: 32A, 22F, 20
+	 * @return the field constructor or null if the field name is not recognized
+	 */
+	public static Function<String, ? extends Field> constructor(final String name) {
+		if (!isKnown(name)) {
+			return null;
+		}
+		return constructors.get(name);
+	}
+
+	/**
+	 * Checks if there is a field implementation for the given field name.
+	 *
+	 * @param name a field name, ex: 32A, 22F, 20
+	 * @return true if the field can be created by this factory
+	 */
+	public static boolean isKnown(final String name) {
+		if (name == null || unknownNames.contains(name)) {
+			return false;
+		}
+		if (constructors.containsKey(name)) {
+			return true;
+		}
+		final Function<String, ? extends Field> constructor = constructors.computeIfAbsent(name, FieldFactory::resolveConstructor);
+		if (constructor == null) {
+			addUnknown(name);
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Registers a custom factory for the given field name, replacing the default field implementation if any.
+	 *
+	 * @param name a field name, ex: 32A, 22F, 20
+	 * @param constructor function to create the field from its value
+	 * @throws IllegalArgumentException if any of the parameters is null
+	 */
+	public static void register(final String name, final Function<String, ? extends Field> constructor) {
+		Validate.notNull(name, "name must not be null");
+		Validate.notNull(constructor, "constructor must not be null");
+		constructors.put(name, constructor);
+		unknownNames.remove(name);
+	}
+
+	/**
+	 * Removes a custom factory registered for the given field name, so the default field implementation, if any, is
+	 * used again.
+	 *
+	 * @param name a field name, ex: 32A, 22F, 20
+	 * @see #register(String, Function)
+	 */
+	public static void unregister(final String name) {
+		if (name != null) {
+			constructors.remove(name);
+			unknownNames.remove(name);
+		}
+	}
+
+	/**
+	 * Adds the name to the negative cache, evicting other names while the cache is full, so each unknown name is
+	 * resolved and reported once while it is cached
+	 */
+	private static void addUnknown(final String name) {
+		final Iterator<String> it = unknownNames.iterator();
+		while (unknownNames.size() >= UNKNOWN_NAMES_MAX_SIZE && it.hasNext()) {
+			unknownNames.remove(it.next());
+		}
+		unknownNames.add(name);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Class<? extends Field> resolveClass(final String name) {
+		try {
+			final Class<?> c = Class.forName(FIELD_CLASS_PREFIX + name);
+			if (Field.class.isAssignableFrom(c)) {
+				return (Class<? extends Field>) c;
+			}
+		} catch (final ClassNotFoundException e) {
+			// not found, reported below
+		}
+		log.warning("Field class for Field" + name + " not found. This is normally caused by an unrecognized field in the message or a malformed message block structure.");
+		return null;
+	}
+
+	private static Function<String, ? extends Field> resolveConstructor(final String name) {
+		final Class<? extends Field> c = resolveClass(name);
+		if (c == null) {
+			return null;
+		}
+		try {
+			final Constructor<? extends Field> ct = c.getConstructor(String.class);
+			return value -> {
+				try {
+					return ct.newInstance(value);
+				} catch (final InvocationTargetException | InstantiationException | IllegalAccessException e) {
+					log.log(Level.WARNING, "An error occurred while creating an instance of " + name, e);
+					return null;
+				}
+			};
+		} catch (final NoSuchMethodException e) {
+			log.log(Level.WARNING, "Field class for Field" + name + " has no constructor from String", e);
+			return null;
+		}
+	}
+
+	private static Function<String, ? extends Field> resolveJsonReader(final String name) {
+		final Class<? extends Field> c = resolveClass(name);
+		if (c == null) {
+			return null;
+		}
+		try {
+			final Method method = c.getMethod("fromJson", String.class);
+			return json -> {
+				try {
+					return (Field) method.invoke(null, json);
+				} catch (final InvocationTargetException | IllegalAccessException e) {
+					log.log(Level.WARNING, "An error occured while creating an instance of " + name, e);
+					return null;
+				}
+			};
+		} catch (final NoSuchMethodException e) {
+			log.log(Level.WARNING, "Field class for Field" + name + " has no fromJson method", e);
+			return null;
+		}
+	}
+
+}
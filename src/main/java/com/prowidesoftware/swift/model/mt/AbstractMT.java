@@ -32,7 +32,6 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 
 import java.io.*;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Level;
@@ -465,7 +464,7 @@ public abstract class AbstractMT extends AbstractMessage implements JsonSerializ
 	@SuppressWarnings("unchecked")
 	public List<SwiftTagListBlock> getSequenceList(final String name) {
 		final String methodName = GETSEQUENCE+name+"List";
-		Object o = invokeHere(methodName, this, null);
+		Object o = invokeHere(methodName, null);
 		return (List<SwiftTagListBlock>)o;
 	}
 	
@@ -483,7 +482,7 @@ public abstract class AbstractMT extends AbstractMessage implements JsonSerializ
 	@SuppressWarnings("unchecked")
 	public /* cant make static, but should be */ List<SwiftTagListBlock> getSequenceList(final String name, final SwiftTagListBlock block) {
 		final String methodName = GETSEQUENCE+name+"List";
-		return (List<SwiftTagListBlock>) invokeHere(methodName, this, block);
+		return (List<SwiftTagListBlock>) invokeHere(methodName, block);
 	}
 	
 	/**
@@ -492,11 +491,7 @@ public abstract class AbstractMT extends AbstractMessage implements JsonSerializ
 	 * @see #getSequenceList(String)
 	 */
 	public boolean containsSequenceList(final String name) {
-		try {
-			return getClass().getMethod(GETSEQUENCE+name+"List") != null;
-		} catch (Exception e) { 
-			return false;
-		}
+		return SequenceAccessors.of(getClass()).contains(GETSEQUENCE+name+"List", false);
 	}
 	
 	/**
@@ -505,34 +500,17 @@ public abstract class AbstractMT extends AbstractMessage implements JsonSerializ
 	 * @see #getSequence(String)
 	 */
 	public boolean containsSequence(final String name) {
-		try {
-			return getClass().getMethod(GETSEQUENCE+name) != null;
-		} catch (Exception e) {
-			return false;
-		}
+		return SequenceAccessors.of(getClass()).contains(GETSEQUENCE+name, false);
 	}
 	
 	/**
+	 * Invokes the sequence accessor with the given name, resolved once per MT class
 	 * @since 7.6
 	 * @param methodName a method to invoke
-	 * @return result from reflection call
-	 */
-	private Object invokeHere(final String methodName, final Object where, final SwiftTagListBlock argument) {
-		try {
-			final Method method = argument==null ? 
-					getClass().getMethod(methodName)
-					: getClass().getMethod(methodName, SwiftTagListBlock.class) 
-					;
-			if (argument == null) {
-				return method.invoke(where);
-			} 
-			return method.invoke(where, argument);
-		} catch (final NoSuchMethodException e) {
-			log.log(Level.FINE, "Method "+methodName+" does not exist in "+getClass(), e);
-		} catch (Exception e) {
-			log.log(Level.WARNING, "An error occured while invoking " + methodName + " in " + where, e);
-		}
-		return null;
+	 * @return result from the accessor call or null if the accessor does not exist or fails
+	 */
+	private Object invokeHere(final String methodName, final SwiftTagListBlock argument) {
+		return SequenceAccessors.of(getClass()).invoke(methodName, this, argument);
 	}
 
 	/**
@@ -550,7 +528,7 @@ public abstract class AbstractMT extends AbstractMessage implements JsonSerializ
 	 */
 	public SwiftTagListBlock getSequence(final String name) {
 		final String methodName = GETSEQUENCE+name;
-		Object o = invokeHere(methodName, this, null);
+		Object o = invokeHere(methodName, null);
 		return (SwiftTagListBlock)o;
 	}
 	
@@ -564,7 +542,7 @@ public abstract class AbstractMT extends AbstractMessage implements JsonSerializ
 	 */
 	public /* cant make static, but should be */ SwiftTagListBlock getSequence(final String name, final SwiftTagListBlock block) {
 		final String methodName = GETSEQUENCE+name;
-		Object o = invokeHere(methodName, this, block);
+		Object o = invokeHere(methodName, block);
 		return (SwiftTagListBlock)o;
 	}
 
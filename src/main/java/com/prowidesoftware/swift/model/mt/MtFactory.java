@@ -0,0 +1,225 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.model.mt;
+
+import com.prowidesoftware.swift.model.SwiftMessage;
+import com.prowidesoftware.swift.model.SwiftTagListBlock;
+import com.prowidesoftware.swift.model.Tag;
+import org.apache.commons.lang3.Validate;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.logging.Level;
+
+/**
+ * Dispatch table to create specific MT instances, for example MT103_STP for a message type 103 with the STP
+ * variant, and MT sequences, with no per call class lookup.
+ *
+ * <p>The table is lazily filled: the first time a (message type, variant) pair is requested its class is resolved
+ * and its constructor from {@link SwiftMessage} is kept, so subsequent calls create the MT directly. Pairs with no
+ * MT implementation are kept in a bounded negative cache so they are not resolved, nor reported in the log, again.
+ * The same applies to the static factory methods of the MT inner sequence classes.
+ *
+ * <p>This class is thread safe.
+ *
+ * @see SwiftMessage#toMT()
+ * @since 8.0.2
+ */
+public final class MtFactory {
+	private static final transient java.util.logging.Logger log = java.util.logging.Logger.getLogger(MtFactory.class.getName());
+
+	/**
+	 * Maximum amount of unrecognized keys kept in each negative cache
+	 */
+	private static final int UNKNOWN_MAX_SIZE = 1024;
+
+	/*
+	 * one table per variant, index 0 is for messages with no variant and index ordinal+1 for each variant
+	 */
+	@SuppressWarnings("unchecked")
+	private static final Map<String, Function<SwiftMessage, ? extends AbstractMT>>[] constructors = new Map[MTVariant.values().length + 1];
+	private static final Set<String> unknownTypes = ConcurrentHashMap.newKeySet();
+
+	private static final Map<Class<? extends AbstractMT>, Map<String, Function<Tag[], ? extends SwiftTagListBlock>>> sequences = new ConcurrentHashMap<>();
+	private static final Set<String> unknownSequences = ConcurrentHashMap.newKeySet();
+
+	static {
+		for (int i = 0; i < constructors.length; i++) {
+			constructors[i] = new ConcurrentHashMap<>();
+		}
+	}
+
+	// Suppress default constructor for noninstantiability
+	private MtFactory() {
+		throw new AssertionError();
+	}
+
+	/**
+	 * Creates the specific MT instance for the given message, type and variant.
+	 *
+	 * @param m the message to wrap
+	 * @param type the message type number, ex: 103
+	 * @param variant an optional message variant or null for the plain message type
+	 * @return the created MT or null if the message type is not recognized or an error occurs during object creation
+	 */
+	public static AbstractMT create(final SwiftMessage m, final String type, final MTVariant variant) {
+		final Function<SwiftMessage, ? extends AbstractMT> constructor = constructor(type, variant);
+		return constructor != null ? constructor.apply(m) : null;
+	}
+
+	/**
+	 * Gets the factory to create MT instances from a {@link SwiftMessage} for the given type and variant.
+	 *
+	 * @param type the message type number, ex: 103
+	 * @param variant an optional message variant or null for the plain message type
+	 * @return the MT constructor or null if there is no MT implementation for the type and variant
+	 */
+	public static Function<SwiftMessage, ? extends AbstractMT> constructor(final String type, final MTVariant variant) {
+		if (type == null || type.isEmpty()) {
+			return null;
+		}
+		final Map<String, Function<SwiftMessage, ? extends AbstractMT>> table = table(variant);
+		final Function<SwiftMessage, ? extends AbstractMT> constructor = table.get(type);
+		if (constructor != null) {
+			return constructor;
+		}
+		final String className = className(type, variant);
+		if (unknownTypes.contains(className)) {
+			return null;
+		}
+		final Function<SwiftMessage, ? extends AbstractMT> resolved = table.computeIfAbsent(type, k -> resolveConstructor(className));
+		if (resolved == null && unknownTypes.size() < UNKNOWN_MAX_SIZE) {
+			unknownTypes.add(className);
+		}
+		return resolved;
+	}
+
+	/**
+	 * Registers a custom factory for the given type and variant, replacing the default MT implementation if any.
+	 *
+	 * @param type the message type number, ex: 103
+	 * @param variant an optional message variant or null for the plain message type
+	 * @param constructor function to create the MT from a {@link SwiftMessage}
+	 * @throws IllegalArgumentException if type or constructor are null
+	 */
+	public static void register(final String type, final MTVariant variant, final Function<SwiftMessage, ? extends AbstractMT> constructor) {
+		Validate.notNull(type, "type must not be null");
+		Validate.notNull(constructor, "constructor must not be null");
+		table(variant).put(type, constructor);
+		unknownTypes.remove(className(type, variant));
+	}
+
+	/**
+	 * Creates an instance of the MT inner sequence class with the given name, for example
+	 * MT535.SequenceB1b for mt MT535 and name B1b, containing the given tags.
+	 *
+	 * @param mt the MT class containing the sequence class
+	 * @param sequenceName the sequence name, ex: A, B1b
+	 * @param tags the tags to put in the sequence
+	 * @return a new sequence instance or null if the MT has no such sequence or an error occurs during object creation
+	 */
+	public static SwiftTagListBlock createSequence(final Class<? extends AbstractMT> mt, final String sequenceName, final Tag... tags) {
+		Validate.notNull(mt, "mt must not be null");
+		if (sequenceName == null) {
+			return null;
+		}
+		final Map<String, Function<Tag[], ? extends SwiftTagListBlock>> table = sequences.computeIfAbsent(mt, k -> new ConcurrentHashMap<>());
+		Function<Tag[], ? extends SwiftTagListBlock> factory = table.get(sequenceName);
+		if (factory == null) {
+			final String className = mt.getName() + "$Sequence" + sequenceName;
+			if (unknownSequences.contains(className)) {
+				return null;
+			}
+			factory = table.computeIfAbsent(sequenceName, k -> resolveSequence(mt, className));
+			if (factory == null) {
+				if (unknownSequences.size() < UNKNOWN_MAX_SIZE) {
+					unknownSequences.add(className);
+				}
+				return null;
+			}
+		}
+		return factory.apply(tags);
+	}
+
+	private static Map<String, Function<SwiftMessage, ? extends AbstractMT>> table(final MTVariant variant) {
+		return constructors[variant == null ? 0 : variant.ordinal() + 1];
+	}
+
+	private static String className(final String type, final MTVariant variant) {
+		final StringBuilder className = new StringBuilder();
+		className.append("com.prowidesoftware.swift.model.mt.mt");
+		className.append(type.charAt(0));
+		className.append("xx.MT");
+		className.append(type);
+		if (variant == MTVariant.STP) {
+			className.append("_STP");
+		} else if (variant == MTVariant.REMIT) {
+			className.append("_REMIT");
+		} else if (variant == MTVariant.COV) {
+			className.append("COV");
+		} else if (variant != null) {
+			className.append('_').append(variant.name());
+		}
+		return className.toString();
+	}
+
+	private static Function<SwiftMessage, ? extends AbstractMT> resolveConstructor(final String className) {
+		log.finer("About to resolve " + className);
+		try {
+			final Class<?> c = Class.forName(className);
+			if (!AbstractMT.class.isAssignableFrom(c)) {
+				log.warning("Could not create instance of " + className + ": not an MT class");
+				return null;
+			}
+			final Constructor<?> ct = c.getConstructor(SwiftMessage.class);
+			return m -> {
+				try {
+					return (AbstractMT) ct.newInstance(m);
+				} catch (final InvocationTargetException | InstantiationException | IllegalAccessException e) {
+					log.warning("Could not create instance of " + className + ": " + e);
+					return null;
+				}
+			};
+		} catch (final ClassNotFoundException | NoSuchMethodException e) {
+			log.warning("Could not create instance of " + className + ": " + e);
+			return null;
+		}
+	}
+
+	private static Function<Tag[], ? extends SwiftTagListBlock> resolveSequence(final Class<? extends AbstractMT> mt, final String className) {
+		try {
+			final Class<?> c = Class.forName(className, true, mt.getClassLoader());
+			final Method method = c.getMethod("newInstance", Tag[].class);
+			return tags -> {
+				try {
+					return (SwiftTagListBlock) method.invoke(null, new Object[]{tags});
+				} catch (final InvocationTargetException | IllegalAccessException e) {
+					log.log(Level.WARNING, "Could not create instance of " + className, e);
+					return null;
+				}
+			};
+		} catch (final ClassNotFoundException | NoSuchMethodException e) {
+			log.warning("Could not resolve sequence class " + className + ": " + e);
+			return null;
+		}
+	}
+
+}
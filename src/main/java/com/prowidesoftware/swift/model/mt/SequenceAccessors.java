@@ -0,0 +1,167 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.model.mt;
+
+import com.prowidesoftware.swift.model.SwiftTagListBlock;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+
+/**
+ * The sequence accessors of an MT class, by method name, used by the name based sequence API in {@link AbstractMT}.
+ *
+ * <p>The public getSequence methods of each class, with no parameters or with a {@link SwiftTagListBlock} parameter,
+ * are found once, the first time the class is used, and kept as method handles; so getting a sequence by name does
+ * not need a method lookup nor a reflective call.
+ *
+ * <p>This class is thread safe.
+ *
+ * @see AbstractMT#getSequence(String)
+ * @see AbstractMT#getSequenceList(String)
+ * @since 8.0.2
+ */
+final class SequenceAccessors {
+	private static final transient java.util.logging.Logger log = java.util.logging.Logger.getLogger(SequenceAccessors.class.getName());
+
+	private static final String GETSEQUENCE = "getSequence";
+	private static final MethodType NO_ARG = MethodType.methodType(Object.class, AbstractMT.class);
+	private static final MethodType BLOCK_ARG = MethodType.methodType(Object.class, AbstractMT.class, SwiftTagListBlock.class);
+
+	private static final ClassValue<SequenceAccessors> accessors = new ClassValue<SequenceAccessors>() {
+		@Override
+		protected SequenceAccessors computeValue(final Class<?> type) {
+			return new SequenceAccessors(type);
+		}
+	};
+
+	private final Map<String, Accessor> noArg;
+	private final Map<String, Accessor> blockArg;
+
+	private SequenceAccessors(final Class<?> type) {
+		final Map<String, Method> noArgMethods = new HashMap<>();
+		final Map<String, Method> blockArgMethods = new HashMap<>();
+		for (final Method method : type.getMethods()) {
+			if (method.getName().startsWith(GETSEQUENCE)) {
+				final Class<?>[] params = method.getParameterTypes();
+				if (params.length == 0) {
+					putMostSpecific(noArgMethods, method);
+				} else if (params.length == 1 && params[0] == SwiftTagListBlock.class) {
+					putMostSpecific(blockArgMethods, method);
+				}
+			}
+		}
+		this.noArg = accessors(noArgMethods, NO_ARG);
+		this.blockArg = accessors(blockArgMethods, BLOCK_ARG);
+	}
+
+	/**
+	 * @param type an MT class
+	 * @return the sequence accessors of the class
+	 */
+	static SequenceAccessors of(final Class<? extends AbstractMT> type) {
+		return accessors.get(type);
+	}
+
+	/**
+	 * @param methodName a getSequence method name
+	 * @param withBlock true for the method receiving the parent block as parameter, false for the method with no parameters
+	 * @return true if the class has the method
+	 */
+	boolean contains(final String methodName, final boolean withBlock) {
+		return (withBlock ? this.blockArg : this.noArg).containsKey(methodName);
+	}
+
+	/**
+	 * Calls a getSequence method
+	 * @param methodName a getSequence method name
+	 * @param mt the instance to call the method on
+	 * @param block the parent block parameter or null to call the method with no parameters
+	 * @return the method result or null if the method does not exist or fails
+	 */
+	Object invoke(final String methodName, final AbstractMT mt, final SwiftTagListBlock block) {
+		final Accessor accessor = (block == null ? this.noArg : this.blockArg).get(methodName);
+		if (accessor == null) {
+			log.fine("Method " + methodName + " does not exist in " + mt.getClass());
+			return null;
+		}
+		try {
+			return accessor.invoke(mt, block);
+		} catch (final Throwable e) {
+			log.log(Level.WARNING, "An error occured while invoking " + methodName + " in " + mt, e);
+			return null;
+		}
+	}
+
+	/**
+	 * Keeps the method with the most specific return type when a method is overridden with a covariant return,
+	 * as {@link Class#getMethod(String, Class[])} does
+	 */
+	private static void putMostSpecific(final Map<String, Method> methods, final Method method) {
+		final Method current = methods.get(method.getName());
+		if (current == null || current.getReturnType().isAssignableFrom(method.getReturnType())) {
+			methods.put(method.getName(), method);
+		}
+	}
+
+	private static Map<String, Accessor> accessors(final Map<String, Method> methods, final MethodType type) {
+		if (methods.isEmpty()) {
+			return Collections.emptyMap();
+		}
+		final Map<String, Accessor> result = new HashMap<>(methods.size() * 2);
+		for (final Map.Entry<String, Method> e : methods.entrySet()) {
+			result.put(e.getKey(), accessor(e.getValue(), type));
+		}
+		return result;
+	}
+
+	private static Accessor accessor(final Method method, final MethodType type) {
+		try {
+			MethodHandle handle = MethodHandles.publicLookup().unreflect(method);
+			if (Modifier.isStatic(method.getModifiers())) {
+				// static accessors ignore the MT instance
+				handle = MethodHandles.dropArguments(handle, 0, AbstractMT.class);
+			}
+			final MethodHandle exact = handle.asType(type);
+			if (type == NO_ARG) {
+				return (mt, block) -> exact.invokeExact(mt);
+			}
+			return (mt, block) -> exact.invokeExact(mt, block);
+		} catch (final IllegalAccessException e) {
+			// for example a public method in a non public class
+			return (mt, block) -> {
+				try {
+					return type == NO_ARG ? method.invoke(mt) : method.invoke(mt, block);
+				} catch (final InvocationTargetException ite) {
+					throw ite.getCause();
+				}
+			};
+		}
+	}
+
+	@FunctionalInterface
+	private interface Accessor {
+		Object invoke(AbstractMT mt, SwiftTagListBlock block) throws Throwable;
+	}
+
+}
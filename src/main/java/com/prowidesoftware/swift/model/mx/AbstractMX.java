@@ -30,14 +30,12 @@ import org.apache.commons.lang3.Validate;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.annotation.XmlTransient;
 import javax.xml.datatype.XMLGregorianCalendar;
 import javax.xml.transform.Source;
 import javax.xml.transform.dom.DOMResult;
 import javax.xml.transform.stream.StreamSource;
 import java.io.*;
-import java.util.HashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -333,14 +331,9 @@ public abstract class AbstractMX extends AbstractMessage implements IDocument, J
 	}
 
 	public Element element() {
-		final HashMap<String, String> properties = new HashMap<>();
-		// it didn't work as expected
-		// properties.put(JAXBRIContext.DEFAULT_NAMESPACE_REMAP, namespace);
 		try {
-			JAXBContext context = JAXBContext.newInstance(getClasses(), properties);
-
 			DOMResult res = new DOMResult();
-			context.createMarshaller().marshal(this, res);
+			JaxbContextCache.marshal(this, res, false, getClasses());
 			Document doc = (Document) res.getNode();
 
 			return (Element) doc.getFirstChild();
@@ -23,10 +23,8 @@ import java.util.TimeZone;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBElement;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Marshaller;
 import javax.xml.datatype.DatatypeConfigurationException;
 import javax.xml.datatype.DatatypeFactory;
 import javax.xml.datatype.XMLGregorianCalendar;
@@ -270,12 +268,8 @@ public class BusinessHeader {
 			return null;
 		}
 		try {
-			JAXBContext context = JAXBContext.newInstance(header.getClass());
-			final Marshaller marshaller = context.createMarshaller();
-			marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
-			 
 			final StringWriter sw = new StringWriter();
-			marshaller.marshal(_element(header), new XmlEventWriter(sw, prefix, includeXMLDeclaration, APPHDR));
+			JaxbContextCache.marshal(_element(header), new XmlEventWriter(sw, prefix, includeXMLDeclaration, APPHDR), true, header.getClass());
 			return sw.getBuffer().toString();
 			
 		} catch (JAXBException e) {
@@ -300,12 +294,8 @@ public class BusinessHeader {
 			return null;
 		}
 		try {
-			JAXBContext context = JAXBContext.newInstance(header.getClass());
-			final Marshaller marshaller = context.createMarshaller();
-			marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
-			 
 			DOMResult res = new DOMResult();
-			marshaller.marshal(_element(header), res);
+			JaxbContextCache.marshal(_element(header), res, true, header.getClass());
 			Document doc = (Document) res.getNode();
 			return (Element) doc.getFirstChild();
 			
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.model.mx;
+
+import org.apache.commons.lang3.Validate;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLEventWriter;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.Result;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of JAXB contexts used to marshal and unmarshal the MX model.
+ *
+ * <p>Creating a {@link JAXBContext} is expensive, while the context itself is thread safe and can be reused. This
+ * class keeps the contexts created for each set of bound classes, for example the classes returned by
+ * {@link AbstractMX#getClasses()} or a business header class. The cache is bounded, when the maximum size is
+ * exceeded the least recently used contexts are evicted.
+ *
+ * <p>Marshaller and Unmarshaller instances are not thread safe, and their configuration is changed by the caller,
+ * so {@link #marshaller(Class[])} and {@link #unmarshaller(Class[])} create new instances from the cached context.
+ * The marshal and unmarshal methods of this class reuse instances pooled per thread and per context instead; the
+ * pooled instances are never handed out, so their configuration is only the one set by this class.
+ *
+ * @since 8.0.2
+ */
+public final class JaxbContextCache {
+
+	/**
+	 * Default maximum amount of contexts kept in the cache
+	 */
+	public static final int DEFAULT_MAX_SIZE = 100;
+
+	private static volatile int maxSize = DEFAULT_MAX_SIZE;
+
+	private static final Map<List<Class<?>>, Entry> cache = new ConcurrentHashMap<>();
+
+	// Suppress default constructor for noninstantiability
+	private JaxbContextCache() {
+		throw new AssertionError();
+	}
+
+	/**
+	 * Gets the context for the given classes, creating it if it is not in the cache.
+	 *
+	 * @param classes the classes to be recognized by the context
+	 * @return the cached context
+	 * @throws JAXBException if an error occurs creating the context
+	 */
+	public static JAXBContext get(final Class<?>... classes) throws JAXBException {
+		return entry(classes).context;
+	}
+
+	/**
+	 * Creates a new marshaller from the cached context for the given classes.
+	 *
+	 * @param classes the classes to be recognized by the context
+	 * @return a new marshaller, owned by the caller
+	 * @throws JAXBException if an error occurs creating the context or the marshaller
+	 */
+	public static Marshaller marshaller(final Class<?>... classes) throws JAXBException {
+		return entry(classes).context.createMarshaller();
+	}
+
+	/**
+	 * Creates a new unmarshaller from the cached context for the given classes.
+	 *
+	 * @param classes the classes to be recognized by the context
+	 * @return a new unmarshaller, owned by the caller
+	 * @throws JAXBException if an error occurs creating the context or the unmarshaller
+	 */
+	public static Unmarshaller unmarshaller(final Class<?>... classes) throws JAXBException {
+		return entry(classes).context.createUnmarshaller();
+	}
+
+	/**
+	 * Marshals the element with a marshaller pooled for the current thread.
+	 *
+	 * @param element the JAXB element or root object to marshal
+	 * @param writer the output
+	 * @param formatted value for the {@link Marshaller#JAXB_FORMATTED_OUTPUT} property
+	 * @param classes the classes to be recognized by the context
+	 * @throws JAXBException if an error occurs creating the context or marshalling the element
+	 */
+	public static void marshal(final Object element, final XMLEventWriter writer, final boolean formatted, final Class<?>... classes) throws JAXBException {
+		final Entry entry = entry(classes);
+		final Marshaller marshaller = entry.takeMarshaller(formatted);
+		try {
+			marshaller.marshal(element, writer);
+		} finally {
+			entry.marshallers.set(marshaller);
+		}
+	}
+
+	/**
+	 * Marshals the element with a marshaller pooled for the current thread.
+	 *
+	 * @param element the JAXB element or root object to marshal
+	 * @param result the output, for example a DOMResult
+	 * @param formatted value for the {@link Marshaller#JAXB_FORMATTED_OUTPUT} property
+	 * @param classes the classes to be recognized by the context
+	 * @throws JAXBException if an error occurs creating the context or marshalling the element
+	 */
+	public static void marshal(final Object element, final Result result, final boolean formatted, final Class<?>... classes) throws JAXBException {
+		final Entry entry = entry(classes);
+		final Marshaller marshaller = entry.takeMarshaller(formatted);
+		try {
+			marshaller.marshal(element, result);
+		} finally {
+			entry.marshallers.set(marshaller);
+		}
+	}
+
+	/**
+	 * Unmarshals the element at the reader position with an unmarshaller pooled for the current thread.
+	 *
+	 * @param reader the input, positioned at the element start
+	 * @param declaredType the class of the element content
+	 * @param classes the classes to be recognized by the context
+	 * @return the unmarshalled element
+	 * @throws JAXBException if an error occurs creating the context or unmarshalling the element
+	 */
+	public static <T> JAXBElement<T> unmarshal(final XMLStreamReader reader, final Class<T> declaredType, final Class<?>... classes) throws JAXBException {
+		final Entry entry = entry(classes);
+		final Unmarshaller unmarshaller = entry.takeUnmarshaller();
+		try {
+			return unmarshaller.unmarshal(reader, declaredType);
+		} finally {
+			entry.unmarshallers.set(unmarshaller);
+		}
+	}
+
+	/**
+	 * Sets the maximum amount of contexts kept in the cache, evicting the least recently used if necessary.
+	 * @param size a positive number
+	 * @throws IllegalArgumentException if size is not positive
+	 */
+	public static void setMaxSize(final int size) {
+		Validate.isTrue(size > 0, "the cache size must be positive");
+		maxSize = size;
+		evict();
+	}
+
+	/**
+	 * @return the maximum amount of contexts kept in the cache
+	 */
+	public static int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * @return the current amount of contexts in the cache
+	 */
+	public static int size() {
+		return cache.size();
+	}
+
+	/**
+	 * Removes all contexts from the cache
+	 */
+	public static void clear() {
+		cache.clear();
+	}
+
+	private static Entry entry(final Class<?>[] classes) throws JAXBException {
+		Validate.notEmpty(classes, "at least one class must be provided");
+		Entry entry = cache.get(Arrays.asList(classes));
+		if (entry == null) {
+			// the context is created outside any lock, concurrent creations for the same key are harmless
+			final Entry created = new Entry(JAXBContext.newInstance(classes));
+			entry = cache.putIfAbsent(Arrays.asList(classes.clone()), created);
+			if (entry == null) {
+				entry = created;
+				evict();
+			}
+		}
+		entry.lastUsed = System.nanoTime();
+		return entry;
+	}
+
+	/**
+	 * Removes the least recently used contexts while the cache is over its maximum size
+	 */
+	private static void evict() {
+		while (cache.size() > maxSize) {
+			Map.Entry<List<Class<?>>, Entry> eldest = null;
+			for (final Map.Entry<List<Class<?>>, Entry> e : cache.entrySet()) {
+				if (eldest == null || e.getValue().lastUsed - eldest.getValue().lastUsed < 0) {
+					eldest = e;
+				}
+			}
+			if (eldest == null) {
+				return;
+			}
+			cache.remove(eldest.getKey(), eldest.getValue());
+		}
+	}
+
+	private static final class Entry {
+		private final JAXBContext context;
+		private final ThreadLocal<Marshaller> marshallers = new ThreadLocal<>();
+		private final ThreadLocal<Unmarshaller> unmarshallers = new ThreadLocal<>();
+		private volatile long lastUsed = System.nanoTime();
+
+		private Entry(final JAXBContext context) {
+			this.context = context;
+		}
+
+		/**
+		 * Takes the marshaller pooled for the current thread, creating it if necessary, and sets its only configurable
+		 * property. The marshaller is removed from the pool while in use, so a nested call creates its own.
+		 */
+		private Marshaller takeMarshaller(final boolean formatted) throws JAXBException {
+			Marshaller marshaller = marshallers.get();
+			if (marshaller == null) {
+				marshaller = context.createMarshaller();
+			} else {
+				marshallers.remove();
+			}
+			marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, formatted);
+			return marshaller;
+		}
+
+		/**
+		 * Takes the unmarshaller pooled for the current thread, creating it if necessary
+		 * @see #takeMarshaller(boolean)
+		 */
+		private Unmarshaller takeUnmarshaller() throws JAXBException {
+			final Unmarshaller unmarshaller = unmarshallers.get();
+			if (unmarshaller == null) {
+				return context.createUnmarshaller();
+			}
+			unmarshallers.remove();
+			return unmarshaller;
+		}
+	}
+
+}
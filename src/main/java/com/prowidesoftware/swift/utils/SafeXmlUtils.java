@@ -1,6 +1,11 @@
 package com.prowidesoftware.swift.utils;
 
 import com.prowidesoftware.ProwideException;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.DTDHandler;
+import org.xml.sax.EntityResolver;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 import org.xml.sax.SAXNotRecognizedException;
 import org.xml.sax.SAXNotSupportedException;
@@ -8,22 +13,51 @@ import org.xml.sax.XMLReader;
 
 import javax.xml.XMLConstants;
 import javax.xml.parsers.*;
+import javax.xml.stream.EventFilter;
+import javax.xml.stream.StreamFilter;
+import javax.xml.stream.XMLEventReader;
 import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLReporter;
+import javax.xml.stream.XMLResolver;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.util.XMLEventAllocator;
+import javax.xml.transform.Source;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
 import javax.xml.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
 
 /**
  * Reusable safe XML document builder to prevent XXE
  * https://cheatsheetseries.owasp.org/cheatsheets/XML_External_Entity_Prevention_Cheat_Sheet.html
+ *
+ * <p>The DOM and SAX factories, that are not thread safe, are looked up and configured only once per thread; the
+ * document builders and readers returned by {@link #documentBuilder(boolean)} and {@link #reader(boolean, Schema)}
+ * are new instances owned by the caller, as well as the factory returned by {@link #inputFactory()}.
+ *
+ * <p>For repeated parsing, {@link #pooledDocumentBuilder(boolean)} and {@link #pooledReader(boolean)} return
+ * instances pooled per thread and reset between uses, so they must be used by the calling thread only and must not
+ * be kept once the parsing is done; and {@link #sharedInputFactory()} returns a StAX input factory configured once
+ * and shared by all threads.
+ *
  * @since 8.0.5
  */
 public class SafeXmlUtils {
     private static transient final java.util.logging.Logger log = java.util.logging.Logger.getLogger(SafeXmlUtils.class.getName());
 
+    private static final ThreadLocal<Pool> POOL = new ThreadLocal<Pool>() {
+        @Override
+        protected Pool initialValue() {
+            return new Pool();
+        }
+    };
+
     // Suppress default constructor for noninstantiability
     private SafeXmlUtils() {
         throw new AssertionError();
@@ -44,6 +78,41 @@ public class SafeXmlUtils {
      * @throws ProwideException if the parser cannot be configured
      */
     public static DocumentBuilder documentBuilder(boolean namespaceAware) {
+        return newDocumentBuilder(POOL.get().documentBuilderFactory(namespaceAware));
+    }
+
+    /**
+     * Safe DOM parsing, with a document builder pooled for the current thread.
+     * <p>The builder is reset to its initial configuration before it is returned, so the error handler and entity
+     * resolver set by a previous use are discarded. The builder must be used by the current thread only and must
+     * not be kept once the parsing is done, because the next call in the same thread returns the same instance.
+     * @param namespaceAware factory awareness
+     * @throws ProwideException if the parser cannot be configured
+     * @see #documentBuilder(boolean)
+     * @since 8.0.2
+     */
+    public static DocumentBuilder pooledDocumentBuilder(boolean namespaceAware) {
+        final Pool pool = POOL.get();
+        final int i = namespaceAware ? 1 : 0;
+        DocumentBuilder builder = pool.documentBuilders[i];
+        if (builder == null) {
+            builder = newDocumentBuilder(pool.documentBuilderFactory(namespaceAware));
+            pool.documentBuilders[i] = builder;
+        } else {
+            builder.reset();
+        }
+        return builder;
+    }
+
+    private static DocumentBuilder newDocumentBuilder(DocumentBuilderFactory dbf) {
+        try {
+            return dbf.newDocumentBuilder();
+        } catch (ParserConfigurationException e) {
+            throw new ProwideException("Error configuring the XML document builder.", e);
+        }
+    }
+
+    private static DocumentBuilderFactory documentBuilderFactory(boolean namespaceAware) {
         String feature = null;
         try {
             DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
@@ -65,7 +134,7 @@ public class SafeXmlUtils {
             // set parameter
             dbf.setNamespaceAware(namespaceAware);
 
-            return dbf.newDocumentBuilder();
+            return dbf;
 
         } catch (ParserConfigurationException e) {
             throw new ProwideException("Error configuring the XML document builder. " +
@@ -89,6 +158,35 @@ public class SafeXmlUtils {
      * @throws ProwideException if the parser cannot be configured
      */
     public static XMLReader reader(boolean namespaceAware, Schema schema) throws ProwideException {
+        return newReader(schema != null ? parserFactory(namespaceAware, schema) : POOL.get().parserFactory(namespaceAware));
+    }
+
+    /**
+     * Safe SAX parser, with a reader pooled for the current thread.
+     * <p>The reader handlers are cleared before it is returned, and it is not reused while it is parsing or once any
+     * of its features or properties is changed. The reader must be used by the current thread only and must not be
+     * kept once the parsing is done, because the next call in the same thread returns the same instance.
+     * @param namespaceAware SAX factory awareness
+     * @throws ProwideException if the parser cannot be configured
+     * @see #reader(boolean, Schema)
+     * @since 8.0.2
+     */
+    public static XMLReader pooledReader(boolean namespaceAware) throws ProwideException {
+        final Pool pool = POOL.get();
+        final int i = namespaceAware ? 1 : 0;
+        PooledReader reader = pool.readers[i];
+        if (reader == null || reader.parsing || reader.modified) {
+            reader = new PooledReader(newReader(pool.parserFactory(namespaceAware)));
+            if (pool.readers[i] == null || !pool.readers[i].parsing) {
+                pool.readers[i] = reader;
+            }
+        } else {
+            reader.reset();
+        }
+        return reader;
+    }
+
+    private static SAXParserFactory parserFactory(boolean namespaceAware, Schema schema) {
         String feature = null;
         try {
             SAXParserFactory spf = SAXParserFactory.newInstance();
@@ -113,6 +211,17 @@ public class SafeXmlUtils {
                 spf.setSchema(schema);
             }
 
+            return spf;
+
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new ProwideException("Error configuring the XML parser. " +
+                    "The feature " + feature + " is probably not supported by your XML processor.", e);
+        }
+    }
+
+    private static XMLReader newReader(SAXParserFactory spf) {
+        String feature = null;
+        try {
             SAXParser saxParser = spf.newSAXParser();
             XMLReader reader = saxParser.getXMLReader();
 
@@ -155,6 +264,18 @@ public class SafeXmlUtils {
         return xif;
     }
 
+    /**
+     * Safe StAX parser, shared by all callers.
+     * <p>The factory is configured once and it is thread safe; its configuration cannot be changed and the setters
+     * throw {@link UnsupportedOperationException}. Use {@link #inputFactory()} to get a factory that can be further
+     * configured.
+     * @throws ProwideException if the parser cannot be configured
+     * @since 8.0.2
+     */
+    public static XMLInputFactory sharedInputFactory() {
+        return InputFactoryHolder.INSTANCE;
+    }
+
     /**
      * Safe transformer
      */
@@ -222,4 +343,271 @@ public class SafeXmlUtils {
         }
     }
 
+    /**
+     * Factories and instances kept for a single thread
+     */
+    private static final class Pool {
+        private final DocumentBuilderFactory[] documentBuilderFactories = new DocumentBuilderFactory[2];
+        private final DocumentBuilder[] documentBuilders = new DocumentBuilder[2];
+        private final SAXParserFactory[] parserFactories = new SAXParserFactory[2];
+        private final PooledReader[] readers = new PooledReader[2];
+
+        private DocumentBuilderFactory documentBuilderFactory(boolean namespaceAware) {
+            final int i = namespaceAware ? 1 : 0;
+            if (documentBuilderFactories[i] == null) {
+                documentBuilderFactories[i] = SafeXmlUtils.documentBuilderFactory(namespaceAware);
+            }
+            return documentBuilderFactories[i];
+        }
+
+        private SAXParserFactory parserFactory(boolean namespaceAware) {
+            final int i = namespaceAware ? 1 : 0;
+            if (parserFactories[i] == null) {
+                parserFactories[i] = SafeXmlUtils.parserFactory(namespaceAware, null);
+            }
+            return parserFactories[i];
+        }
+    }
+
+    /**
+     * Lazy initialization of the shared input factory
+     */
+    private static final class InputFactoryHolder {
+        private static final XMLInputFactory INSTANCE = new ImmutableInputFactory(inputFactory());
+    }
+
+    /**
+     * SAX reader wrapper that tracks whether the reader is in use or has been reconfigured, to decide if it can be
+     * reused
+     */
+    private static final class PooledReader implements XMLReader {
+        private final XMLReader reader;
+        private boolean parsing;
+        private boolean modified;
+
+        private PooledReader(XMLReader reader) {
+            this.reader = reader;
+        }
+
+        private void reset() {
+            reader.setContentHandler(null);
+            reader.setDTDHandler(null);
+            reader.setEntityResolver(null);
+            reader.setErrorHandler(null);
+        }
+
+        @Override
+        public boolean getFeature(String name) throws SAXNotRecognizedException, SAXNotSupportedException {
+            return reader.getFeature(name);
+        }
+
+        @Override
+        public void setFeature(String name, boolean value) throws SAXNotRecognizedException, SAXNotSupportedException {
+            modified = true;
+            reader.setFeature(name, value);
+        }
+
+        @Override
+        public Object getProperty(String name) throws SAXNotRecognizedException, SAXNotSupportedException {
+            return reader.getProperty(name);
+        }
+
+        @Override
+        public void setProperty(String name, Object value) throws SAXNotRecognizedException, SAXNotSupportedException {
+            modified = true;
+            reader.setProperty(name, value);
+        }
+
+        @Override
+        public void setEntityResolver(EntityResolver resolver) {
+            reader.setEntityResolver(resolver);
+        }
+
+        @Override
+        public EntityResolver getEntityResolver() {
+            return reader.getEntityResolver();
+        }
+
+        @Override
+        public void setDTDHandler(DTDHandler handler) {
+            reader.setDTDHandler(handler);
+        }
+
+        @Override
+        public DTDHandler getDTDHandler() {
+            return reader.getDTDHandler();
+        }
+
+        @Override
+        public void setContentHandler(ContentHandler handler) {
+            reader.setContentHandler(handler);
+        }
+
+        @Override
+        public ContentHandler getContentHandler() {
+            return reader.getContentHandler();
+        }
+
+        @Override
+        public void setErrorHandler(ErrorHandler handler) {
+            reader.setErrorHandler(handler);
+        }
+
+        @Override
+        public ErrorHandler getErrorHandler() {
+            return reader.getErrorHandler();
+        }
+
+        @Override
+        public void parse(InputSource input) throws IOException, SAXException {
+            parsing = true;
+            try {
+                reader.parse(input);
+            } finally {
+                parsing = false;
+            }
+        }
+
+        @Override
+        public void parse(String systemId) throws IOException, SAXException {
+            parsing = true;
+            try {
+                reader.parse(systemId);
+            } finally {
+                parsing = false;
+            }
+        }
+    }
+
+    /**
+     * Read only view of a configured input factory
+     */
+    private static final class ImmutableInputFactory extends XMLInputFactory {
+        private final XMLInputFactory factory;
+
+        private ImmutableInputFactory(XMLInputFactory factory) {
+            this.factory = factory;
+        }
+
+        @Override
+        public XMLStreamReader createXMLStreamReader(Reader reader) throws XMLStreamException {
+            return factory.createXMLStreamReader(reader);
+        }
+
+        @Override
+        public XMLStreamReader createXMLStreamReader(Source source) throws XMLStreamException {
+            return factory.createXMLStreamReader(source);
+        }
+
+        @Override
+        public XMLStreamReader createXMLStreamReader(InputStream stream) throws XMLStreamException {
+            return factory.createXMLStreamReader(stream);
+        }
+
+        @Override
+        public XMLStreamReader createXMLStreamReader(InputStream stream, String encoding) throws XMLStreamException {
+            return factory.createXMLStreamReader(stream, encoding);
+        }
+
+        @Override
+        public XMLStreamReader createXMLStreamReader(String systemId, InputStream stream) throws XMLStreamException {
+            return factory.createXMLStreamReader(systemId, stream);
+        }
+
+        @Override
+        public XMLStreamReader createXMLStreamReader(String systemId, Reader reader) throws XMLStreamException {
+            return factory.createXMLStreamReader(systemId, reader);
+        }
+
+        @Override
+        public XMLEventReader createXMLEventReader(Reader reader) throws XMLStreamException {
+            return factory.createXMLEventReader(reader);
+        }
+
+        @Override
+        public XMLEventReader createXMLEventReader(String systemId, Reader reader) throws XMLStreamException {
+            return factory.createXMLEventReader(systemId, reader);
+        }
+
+        @Override
+        public XMLEventReader createXMLEventReader(XMLStreamReader reader) throws XMLStreamException {
+            return factory.createXMLEventReader(reader);
+        }
+
+        @Override
+        public XMLEventReader createXMLEventReader(Source source) throws XMLStreamException {
+            return factory.createXMLEventReader(source);
+        }
+
+        @Override
+        public XMLEventReader createXMLEventReader(InputStream stream) throws XMLStreamException {
+            return factory.createXMLEventReader(stream);
+        }
+
+        @Override
+        public XMLEventReader createXMLEventReader(InputStream stream, String encoding) throws XMLStreamException {
+            return factory.createXMLEventReader(stream, encoding);
+        }
+
+        @Override
+        public XMLEventReader createXMLEventReader(String systemId, InputStream stream) throws XMLStreamException {
+            return factory.createXMLEventReader(systemId, stream);
+        }
+
+        @Override
+        public XMLStreamReader createFilteredReader(XMLStreamReader reader, StreamFilter filter) throws XMLStreamException {
+            return factory.createFilteredReader(reader, filter);
+        }
+
+        @Override
+        public XMLEventReader createFilteredReader(XMLEventReader reader, EventFilter filter) throws XMLStreamException {
+            return factory.createFilteredReader(reader, filter);
+        }
+
+        @Override
+        public XMLResolver getXMLResolver() {
+            return factory.getXMLResolver();
+        }
+
+        @Override
+        public void setXMLResolver(XMLResolver resolver) {
+            throw new UnsupportedOperationException("the shared input factory cannot be modified");
+        }
+
+        @Override
+        public XMLReporter getXMLReporter() {
+            return factory.getXMLReporter();
+        }
+
+        @Override
+        public void setXMLReporter(XMLReporter reporter) {
+            throw new UnsupportedOperationException("the shared input factory cannot be modified");
+        }
+
+        @Override
+        public void setProperty(String name, Object value) {
+            throw new UnsupportedOperationException("the shared input factory cannot be modified");
+        }
+
+        @Override
+        public Object getProperty(String name) {
+            return factory.getProperty(name);
+        }
+
+        @Override
+        public boolean isPropertySupported(String name) {
+            return factory.isPropertySupported(name);
+        }
+
+        @Override
+        public void setEventAllocator(XMLEventAllocator allocator) {
+            throw new UnsupportedOperationException("the shared input factory cannot be modified");
+        }
+
+        @Override
+        public XMLEventAllocator getEventAllocator() {
+            return factory.getEventAllocator();
+        }
+    }
+
 }
\ No newline at end of file
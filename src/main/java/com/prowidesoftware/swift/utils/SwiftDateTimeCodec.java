@@ -0,0 +1,368 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.utils;
+
+import org.apache.commons.lang3.time.DateFormatUtils;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+import java.util.logging.Level;
+
+/**
+ * Parser and formatter for the fixed length numeric date and time formats used in the SWIFT fields.
+ *
+ * <p>Values are parsed reading the digits directly, with no formatter instance, and validated with a non lenient
+ * calendar; the result is the same as parsing with a non lenient {@link java.text.SimpleDateFormat}, including the
+ * century resolution for two digits years: the year is set within 80 years before and 20 years after the current
+ * date. Unlike SimpleDateFormat, values must have exactly the format length and contain only digits, a trailing
+ * partial number is not accepted. Calendars are formatted in the default time zone, as {@link DateFormatUtils} does.
+ *
+ * <p>This class is thread safe.
+ *
+ * @since 8.0.2
+ */
+final class SwiftDateTimeCodec {
+	private static final transient java.util.logging.Logger log = java.util.logging.Logger.getLogger(SwiftDateTimeCodec.class.getName());
+
+	private static volatile CurrentYear currentYear;
+
+	/**
+	 * Supported formats
+	 */
+	enum Format {
+		MONTHDAY("MMdd"),
+		DATE2("yyMMdd"),
+		DATE3("yyMM"),
+		DATE4("yyyyMMdd"),
+		YEAR("yyyy"),
+		TIME2("HHmmss"),
+		HHMM("HHmm"),
+		HOUR("HH"),
+		DATETIME("yyyyMMddHHmm"),
+		DATETIME_SHORT_YEAR("yyMMddHHmm"),
+		DAYTIME("ddHHmm");
+
+		private final String pattern;
+		private final char[] letters;
+		private final int[] widths;
+
+		Format(final String pattern) {
+			this.pattern = pattern;
+			int runs = 0;
+			for (int i = 0; i < pattern.length(); i++) {
+				if (i == 0 || pattern.charAt(i) != pattern.charAt(i - 1)) {
+					runs++;
+				}
+			}
+			this.letters = new char[runs];
+			this.widths = new int[runs];
+			int run = -1;
+			for (int i = 0; i < pattern.length(); i++) {
+				if (i == 0 || pattern.charAt(i) != pattern.charAt(i - 1)) {
+					run++;
+					this.letters[run] = pattern.charAt(i);
+				}
+				this.widths[run]++;
+			}
+		}
+
+		/**
+		 * @return the equivalent {@link java.text.SimpleDateFormat} pattern
+		 */
+		String pattern() {
+			return this.pattern;
+		}
+
+		/**
+		 * @return the exact length of the values in this format
+		 */
+		int length() {
+			return this.pattern.length();
+		}
+
+		private boolean hasShortYear() {
+			for (int i = 0; i < this.letters.length; i++) {
+				if (this.letters[i] == 'y' && this.widths[i] == 2) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	// Suppress default constructor for noninstantiability
+	private SwiftDateTimeCodec() {
+		throw new AssertionError();
+	}
+
+	/**
+	 * Parses the value into a Calendar in the default time zone; date fields not present in the format are set to
+	 * 1970-01-01 and time fields not present are set to zero.
+	 *
+	 * @param value the value to parse
+	 * @param format the value format
+	 * @return the parsed calendar or null if the value is null or does not match the format
+	 */
+	static Calendar parse(final String value, final Format format) {
+		final int[] fields = fields(value, format);
+		if (fields == null) {
+			return null;
+		}
+		final GregorianCalendar cal = new GregorianCalendar();
+		cal.clear();
+		cal.setLenient(false);
+		cal.set(fields[0], fields[1] - 1, fields[2], fields[3], fields[4], fields[5]);
+		try {
+			cal.getTimeInMillis();
+		} catch (final IllegalArgumentException e) {
+			warn(value, format);
+			return null;
+		}
+		cal.setLenient(true);
+		if (format.hasShortYear() && fields[0] == centuryStartYear()) {
+			final Calendar centuryStart = new GregorianCalendar();
+			centuryStart.add(Calendar.YEAR, -80);
+			if (cal.before(centuryStart)) {
+				cal.add(Calendar.YEAR, 100);
+			}
+		}
+		// recompute all fields from the instant
+		cal.setTimeInMillis(cal.getTimeInMillis());
+		return cal;
+	}
+
+	/**
+	 * Parses the value into a date; the year is set to 1970 and the day to 1 if not present in the format.
+	 *
+	 * @param value the value to parse
+	 * @param format the value format
+	 * @return the parsed date or null if the value is null or does not match the format
+	 */
+	static LocalDate parseLocalDate(final String value, final Format format) {
+		final int[] fields = fields(value, format);
+		if (fields == null) {
+			return null;
+		}
+		try {
+			LocalDate result = LocalDate.of(fields[0], fields[1], fields[2]);
+			if (format.hasShortYear() && fields[0] == centuryStartYear() && result.isBefore(LocalDate.now().minusYears(80))) {
+				result = result.plusYears(100);
+			}
+			return result;
+		} catch (final DateTimeException e) {
+			warn(value, format);
+			return null;
+		}
+	}
+
+	/**
+	 * Parses the value into a time; the minutes and seconds are set to zero if not present in the format.
+	 *
+	 * @param value the value to parse
+	 * @param format the value format
+	 * @return the parsed time or null if the value is null or does not match the format
+	 */
+	static LocalTime parseLocalTime(final String value, final Format format) {
+		final int[] fields = fields(value, format);
+		if (fields == null) {
+			return null;
+		}
+		try {
+			return LocalTime.of(fields[3], fields[4], fields[5]);
+		} catch (final DateTimeException e) {
+			warn(value, format);
+			return null;
+		}
+	}
+
+	/**
+	 * Parses the value into a date and time.
+	 *
+	 * @param value the value to parse
+	 * @param format the value format
+	 * @return the parsed date and time or null if the value is null or does not match the format
+	 */
+	static LocalDateTime parseLocalDateTime(final String value, final Format format) {
+		final int[] fields = fields(value, format);
+		if (fields == null) {
+			return null;
+		}
+		try {
+			return LocalDateTime.of(fields[0], fields[1], fields[2], fields[3], fields[4], fields[5]);
+		} catch (final DateTimeException e) {
+			warn(value, format);
+			return null;
+		}
+	}
+
+	/**
+	 * Formats the calendar instant in the default time zone.
+	 *
+	 * @param date the calendar to format
+	 * @param format the result format
+	 * @return the formatted value or null if the calendar is null
+	 */
+	static String format(final Calendar date, final Format format) {
+		if (date == null) {
+			return null;
+		}
+		if (!(date instanceof GregorianCalendar) || !date.getTimeZone().hasSameRules(TimeZone.getDefault())) {
+			return DateFormatUtils.format(date.getTime(), format.pattern);
+		}
+		return format(date.get(Calendar.YEAR), date.get(Calendar.MONTH) + 1, date.get(Calendar.DAY_OF_MONTH),
+				date.get(Calendar.HOUR_OF_DAY), date.get(Calendar.MINUTE), date.get(Calendar.SECOND), format);
+	}
+
+	/**
+	 * Formats the given date and time fields, fields not present in the format are ignored.
+	 *
+	 * @return the formatted value
+	 */
+	static String format(final int year, final int month, final int day, final int hour, final int minute, final int second, final Format format) {
+		final StringBuilder result = new StringBuilder(format.length());
+		for (int i = 0; i < format.letters.length; i++) {
+			final int width = format.widths[i];
+			switch (format.letters[i]) {
+				case 'y':
+					if (width == 2) {
+						appendPadded(result, Math.abs(year) % 100, 2);
+					} else {
+						appendPadded(result, year, width);
+					}
+					break;
+				case 'M':
+					appendPadded(result, month, width);
+					break;
+				case 'd':
+					appendPadded(result, day, width);
+					break;
+				case 'H':
+					appendPadded(result, hour, width);
+					break;
+				case 'm':
+					appendPadded(result, minute, width);
+					break;
+				default:
+					appendPadded(result, second, width);
+			}
+		}
+		return result.toString();
+	}
+
+	/**
+	 * Reads the value digits into year, month, day, hour, minute and second
+	 */
+	private static int[] fields(final String value, final Format format) {
+		if (value == null) {
+			return null;
+		}
+		if (value.length() != format.length()) {
+			warn(value, format);
+			return null;
+		}
+		final int[] fields = {1970, 1, 1, 0, 0, 0};
+		int position = 0;
+		for (int i = 0; i < format.letters.length; i++) {
+			final int width = format.widths[i];
+			int number = 0;
+			for (int j = position; j < position + width; j++) {
+				final char c = value.charAt(j);
+				if (c < '0' || c > '9') {
+					warn(value, format);
+					return null;
+				}
+				number = number * 10 + (c - '0');
+			}
+			position += width;
+			switch (format.letters[i]) {
+				case 'y':
+					fields[0] = width == 2 ? resolveShortYear(number) : number;
+					break;
+				case 'M':
+					fields[1] = number;
+					break;
+				case 'd':
+					fields[2] = number;
+					break;
+				case 'H':
+					fields[3] = number;
+					break;
+				case 'm':
+					fields[4] = number;
+					break;
+				default:
+					fields[5] = number;
+			}
+		}
+		return fields;
+	}
+
+	/**
+	 * Resolves the century of a two digits year, within 80 years before and 20 years after the current year
+	 */
+	private static int resolveShortYear(final int year) {
+		final int startYear = centuryStartYear();
+		return (startYear / 100) * 100 + year + (year < startYear % 100 ? 100 : 0);
+	}
+
+	private static int centuryStartYear() {
+		final long now = System.currentTimeMillis();
+		CurrentYear current = currentYear;
+		if (current == null || now < current.from || now >= current.until) {
+			current = new CurrentYear();
+			currentYear = current;
+		}
+		return current.year - 80;
+	}
+
+	private static void appendPadded(final StringBuilder sb, final int value, final int width) {
+		for (int limit = 10, i = 1; i < width; i++, limit *= 10) {
+			if (value < limit) {
+				sb.append('0');
+			}
+		}
+		sb.append(value);
+	}
+
+	private static void warn(final String value, final Format format) {
+		log.log(Level.WARNING, "Could not parse '" + value + "' with pattern '" + format.pattern + "'");
+	}
+
+	/**
+	 * The current year and its time boundaries in the default time zone
+	 */
+	private static final class CurrentYear {
+		private final int year;
+		private final long from;
+		private final long until;
+
+		private CurrentYear() {
+			final Calendar cal = new GregorianCalendar();
+			this.year = cal.get(Calendar.YEAR);
+			cal.clear();
+			cal.set(this.year, Calendar.JANUARY, 1);
+			this.from = cal.getTimeInMillis();
+			cal.add(Calendar.YEAR, 1);
+			this.until = cal.getTimeInMillis();
+		}
+	}
+
+}
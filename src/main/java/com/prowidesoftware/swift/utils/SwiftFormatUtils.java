@@ -22,20 +22,23 @@ import com.prowidesoftware.swift.model.MIR;
 import com.prowidesoftware.swift.model.MOR;
 import com.prowidesoftware.deprecation.ProwideDeprecated;
 import com.prowidesoftware.deprecation.TargetYear;
+import com.prowidesoftware.swift.utils.SwiftDateTimeCodec.Format;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.time.DateFormatUtils;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
 import java.time.Year;
+import java.time.ZoneOffset;
 import java.util.Calendar;
 import java.util.Currency;
-import java.util.Date;
-import java.util.GregorianCalendar;
 
 /**
  * This class provides methods to convert field components to objects.
@@ -76,7 +79,7 @@ public class SwiftFormatUtils {
 	 */
 	public static Calendar getDate2(final String strDate) {
 		if ((strDate != null) && (strDate.length() == 6)) {
-			return getCalendar(strDate, "yyMMdd");
+			return getCalendar(strDate, Format.DATE2);
 		} else {
 			return null;
 		}
@@ -88,7 +91,31 @@ public class SwiftFormatUtils {
 	 * @return parsed date or null if the calendar is null
 	 */
 	public static String getDate2(final Calendar date) {
-		return getCalendar(date, "yyMMdd");
+		return getCalendar(date, Format.DATE2);
+	}
+
+	/**
+	 * Parses a DATE2 string (accept dates in format YYMMDD) into a LocalDate object.
+	 * <p>The century is set within 80 years before and 20 years after the current date, as in {@link #getDate2(String)}
+	 * @param strDate string to parse
+	 * @return parsed date or null if the argument did not matched the expected date format
+	 * @since 8.0.2
+	 */
+	public static LocalDate getLocalDate2(final String strDate) {
+		return SwiftDateTimeCodec.parseLocalDate(strDate, Format.DATE2);
+	}
+
+	/**
+	 * Parses a LocalDate object into a DATE2 string.
+	 * @param date the date to format
+	 * @return formatted date or null if the date is null
+	 * @since 8.0.2
+	 */
+	public static String getDate2(final LocalDate date) {
+		if (date == null) {
+			return null;
+		}
+		return SwiftDateTimeCodec.format(date.getYear(), date.getMonthValue(), date.getDayOfMonth(), 0, 0, 0, Format.DATE2);
 	}
 
 	/**
@@ -139,7 +166,7 @@ public class SwiftFormatUtils {
 	 */
 	public static Calendar getDate3(final String strDate) {
 		if ((strDate != null) && (strDate.length() == 4)) {
-			return getCalendar(strDate, "yyMM");
+			return getCalendar(strDate, Format.DATE3);
 		} else {
 			return null;
 		}
@@ -152,7 +179,7 @@ public class SwiftFormatUtils {
 	 * @since 6.4
 	 */
 	public static String getDate3(final Calendar date) {
-		return getCalendar(date, "yyMM");
+		return getCalendar(date, Format.DATE3);
 	}
 
 	/**
@@ -162,7 +189,7 @@ public class SwiftFormatUtils {
 	 */
 	public static Calendar getDate4(final String strDate) {
 		if ((strDate != null) && (strDate.length() == 8)) {
-			return getCalendar(strDate, "yyyyMMdd");
+			return getCalendar(strDate, Format.DATE4);
 		} else {
 			return null;
 		}
@@ -175,7 +202,30 @@ public class SwiftFormatUtils {
 	 * @since 6.4
 	 */
 	public static String getDate4(final Calendar date) {
-		return getCalendar(date, "yyyyMMdd");
+		return getCalendar(date, Format.DATE4);
+	}
+
+	/**
+	 * Parses a DATE4 string (accept dates in format YYYYMMDD) into a LocalDate object.
+	 * @param strDate string to parse
+	 * @return parsed date or null if the argument did not matched the expected date format
+	 * @since 8.0.2
+	 */
+	public static LocalDate getLocalDate4(final String strDate) {
+		return SwiftDateTimeCodec.parseLocalDate(strDate, Format.DATE4);
+	}
+
+	/**
+	 * Parses a LocalDate object into a DATE4 string.
+	 * @param date the date to format
+	 * @return formatted date or null if the date is null
+	 * @since 8.0.2
+	 */
+	public static String getDate4(final LocalDate date) {
+		if (date == null) {
+			return null;
+		}
+		return SwiftDateTimeCodec.format(date.getYear(), date.getMonthValue(), date.getDayOfMonth(), 0, 0, 0, Format.DATE4);
 	}
 
 	/**
@@ -185,7 +235,7 @@ public class SwiftFormatUtils {
 	 */
 	public static Calendar getYear(final String strDate) {
 		if ((strDate != null) && (strDate.length() == 4)) {
-			return getCalendar(strDate, "yyyy");
+			return getCalendar(strDate, Format.YEAR);
 		} else {
 			return null;
 		}
@@ -198,7 +248,7 @@ public class SwiftFormatUtils {
 	 * @since 6.4
 	 */
 	public static String getYear(final Calendar date) {
-		return getCalendar(date, "yyyy");
+		return getCalendar(date, Format.YEAR);
 	}
 
 	/**
@@ -254,36 +304,21 @@ public class SwiftFormatUtils {
 	 */
 	public static Calendar getHhmm(final String hhmm) {
 		if ((hhmm != null) && (hhmm.length() == 4)) {
-			return getCalendar(hhmm, "HHmm");
+			return getCalendar(hhmm, Format.HHMM);
 		} else {
 			return null;
 		}
 	}
 
-	private static Calendar getCalendar(final String value, final String format) {
-		if (value != null) {
-			try {
-				final SimpleDateFormat sdf = new SimpleDateFormat(format);
-				sdf.setLenient(false);
-				final Date d = sdf.parse(value);
-				final Calendar cal = new GregorianCalendar();
-				cal.setTime(d);
-				return cal;
-			} catch (final ParseException e) {
-				log.log(java.util.logging.Level.WARNING, "Could not parse '"+value+"' with pattern '"+format+"'");
-			}
-		}
-		return null;
+	private static Calendar getCalendar(final String value, final Format format) {
+		return SwiftDateTimeCodec.parse(value, format);
 	}
 
 	/**
 	 * @since 6.4
 	 */
-	private static String getCalendar(final Calendar date, final String format) {
-		if (date != null) {
-			return DateFormatUtils.format(date.getTime(), format);
-		}
-		return null;
+	private static String getCalendar(final Calendar date, final Format format) {
+		return SwiftDateTimeCodec.format(date, format);
 	}
 
 	/**
@@ -294,7 +329,7 @@ public class SwiftFormatUtils {
 	 */
 	public static Calendar getTime2(final String hhmmss) {
 		if ((hhmmss != null) && (hhmmss.length() == 6)) {
-			return getCalendar(hhmmss, "HHmmss");
+			return getCalendar(hhmmss, Format.TIME2);
 		} else {
 			return null;
 		}
@@ -307,7 +342,30 @@ public class SwiftFormatUtils {
 	 * @since 6.4
 	 */
 	public static String getTime2(final Calendar date) {
-		return getCalendar(date, "HHmmss");
+		return getCalendar(date, Format.TIME2);
+	}
+
+	/**
+	 * Parses a TIME2 string (accept times in format HHMMSS) into a LocalTime object.
+	 * @param hhmmss hour, minutes and seconds
+	 * @return parsed time or null if the argument did not matched the expected time format
+	 * @since 8.0.2
+	 */
+	public static LocalTime getLocalTime2(final String hhmmss) {
+		return SwiftDateTimeCodec.parseLocalTime(hhmmss, Format.TIME2);
+	}
+
+	/**
+	 * Parses a LocalTime object into a TIME2 string.
+	 * @param time the time to format
+	 * @return formatted time or null if the time is null
+	 * @since 8.0.2
+	 */
+	public static String getTime2(final LocalTime time) {
+		if (time == null) {
+			return null;
+		}
+		return SwiftDateTimeCodec.format(0, 0, 0, time.getHour(), time.getMinute(), time.getSecond(), Format.TIME2);
 	}
 
 	/**
@@ -319,9 +377,9 @@ public class SwiftFormatUtils {
 	public static Calendar getTime3(final String hhmmss) {
 		if (hhmmss != null) {
 			if (hhmmss.length() == 2) {
-				return getCalendar(hhmmss, "HH");
+				return getCalendar(hhmmss, Format.HOUR);
 			} else if (hhmmss.length() == 4) {
-				return getCalendar(hhmmss, "HHmm");
+				return getCalendar(hhmmss, Format.HHMM);
 			}
 		}
 		return null;
@@ -334,7 +392,33 @@ public class SwiftFormatUtils {
 	 * @since 6.4
 	 */
 	public static String getTime3(final Calendar date) {
-		return getCalendar(date, "HHmm");
+		return getCalendar(date, Format.HHMM);
+	}
+
+	/**
+	 * Parses a TIME3 string (accept times in format HH[MM]) into a LocalTime object.
+	 * @param hhmm hour, or hour and minutes
+	 * @return parsed time or null if the argument did not matched the expected time format
+	 * @since 8.0.2
+	 */
+	public static LocalTime getLocalTime3(final String hhmm) {
+		if (hhmm != null && hhmm.length() == 2) {
+			return SwiftDateTimeCodec.parseLocalTime(hhmm, Format.HOUR);
+		}
+		return SwiftDateTimeCodec.parseLocalTime(hhmm, Format.HHMM);
+	}
+
+	/**
+	 * Parses a LocalTime object into a TIME3 string.
+	 * @param time the time to format
+	 * @return formatted time or null if the time is null
+	 * @since 8.0.2
+	 */
+	public static String getTime3(final LocalTime time) {
+		if (time == null) {
+			return null;
+		}
+		return SwiftDateTimeCodec.format(0, 0, 0, time.getHour(), time.getMinute(), 0, Format.HHMM);
 	}
 
 	/**
@@ -364,7 +448,62 @@ public class SwiftFormatUtils {
 	 * @since 6.4
 	 */
 	public static String getOffset(final Calendar date) {
-		return getCalendar(date, "HHmm");
+		return getCalendar(date, Format.HHMM);
+	}
+
+	/**
+	 * Parses a sign and an offset in HHMM format into a ZoneOffset object.
+	 * @param sign the offset sign, '+' or '-', if null the offset is considered positive
+	 * @param offset the offset hour and minutes
+	 * @return parsed offset or null if the offset did not matched the expected format or is out of range
+	 * @since 8.0.2
+	 */
+	public static ZoneOffset getZoneOffset(final Character sign, final String offset) {
+		final LocalTime hhmm = SwiftDateTimeCodec.parseLocalTime(offset, Format.HHMM);
+		if (hhmm == null) {
+			return null;
+		}
+		final int seconds = hhmm.getHour() * 3600 + hhmm.getMinute() * 60;
+		try {
+			return ZoneOffset.ofTotalSeconds(sign != null && sign == '-' ? -seconds : seconds);
+		} catch (final DateTimeException e) {
+			log.log(java.util.logging.Level.WARNING, "Offset out of range " + sign + offset);
+			return null;
+		}
+	}
+
+	/**
+	 * Parses a ZoneOffset object into an offset string in HHMM format, with no sign.
+	 * @param offset the offset to format
+	 * @return formatted offset or null if the offset is null
+	 * @since 8.0.2
+	 */
+	public static String getOffset(final ZoneOffset offset) {
+		if (offset == null) {
+			return null;
+		}
+		final int seconds = Math.abs(offset.getTotalSeconds());
+		return SwiftDateTimeCodec.format(0, 0, 0, seconds / 3600, (seconds / 60) % 60, 0, Format.HHMM);
+	}
+
+	/**
+	 * Parses a date in YYYYMMDD format, a time in HHMMSS format, and a sign and offset in HHMM format, into an
+	 * OffsetDateTime object; as found for example in field 98E.
+	 * @param date4 the date
+	 * @param time2 the time
+	 * @param sign the offset sign, '+' or '-'
+	 * @param offset the offset hour and minutes
+	 * @return parsed date and time or null if any of the arguments did not matched the expected format
+	 * @since 8.0.2
+	 */
+	public static OffsetDateTime getOffsetDateTime(final String date4, final String time2, final Character sign, final String offset) {
+		final LocalDate date = getLocalDate4(date4);
+		final LocalTime time = getLocalTime2(time2);
+		final ZoneOffset zoneOffset = getZoneOffset(sign, offset);
+		if (date == null || time == null || zoneOffset == null) {
+			return null;
+		}
+		return OffsetDateTime.of(date, time, zoneOffset);
 	}
 
 	/**
@@ -451,7 +590,7 @@ public class SwiftFormatUtils {
 	 */
 	public static Calendar getDateTime(final String strDate) {
 		if ((strDate != null) && (strDate.length() == 12)) {
-			return getCalendar(strDate, "yyyyMMddHHmm");
+			return getCalendar(strDate, Format.DATETIME);
 		} else {
 			return null;
 		}
@@ -464,7 +603,30 @@ public class SwiftFormatUtils {
 	 * @since 7.4
 	 */
 	public static String getDateTime(final Calendar date) {
-		return getCalendar(date, "yyyyMMddHHmm");
+		return getCalendar(date, Format.DATETIME);
+	}
+
+	/**
+	 * Parses a DATETIME string (accepts dates with time in YYYYMMDDHHMM format) into a LocalDateTime object.
+	 * @param strDate string to parse
+	 * @return parsed date and time or null if the argument did not matched the expected format
+	 * @since 8.0.2
+	 */
+	public static LocalDateTime getLocalDateTime(final String strDate) {
+		return SwiftDateTimeCodec.parseLocalDateTime(strDate, Format.DATETIME);
+	}
+
+	/**
+	 * Parses a LocalDateTime object into a string containing the DATETIME with YYYYMMDDHHMM format.
+	 * @param dateTime the date and time to format
+	 * @return formatted date and time or null if the argument is null
+	 * @since 8.0.2
+	 */
+	public static String getDateTime(final LocalDateTime dateTime) {
+		if (dateTime == null) {
+			return null;
+		}
+		return SwiftDateTimeCodec.format(dateTime.getYear(), dateTime.getMonthValue(), dateTime.getDayOfMonth(), dateTime.getHour(), dateTime.getMinute(), 0, Format.DATETIME);
 	}
 
 	/**
@@ -475,7 +637,7 @@ public class SwiftFormatUtils {
 	 */
 	public static Calendar getDateTimeShortYear(final String strDate) {
 		if ((strDate != null) && (strDate.length() == 10)) {
-			return getCalendar(strDate, "yyMMddHHmm");
+			return getCalendar(strDate, Format.DATETIME_SHORT_YEAR);
 		} else {
 			return null;
 		}
@@ -488,7 +650,7 @@ public class SwiftFormatUtils {
 	 * @since 7.4
 	 */
 	public static String getDateTimeShortYear(final Calendar date) {
-		return getCalendar(date, "yyMMddHHmm");
+		return getCalendar(date, Format.DATETIME_SHORT_YEAR);
 	}
 
 	/**
@@ -499,7 +661,7 @@ public class SwiftFormatUtils {
 	 */
 	public static Calendar getDayTime(final String strDate) {
 		if ((strDate != null) && (strDate.length() == 6)) {
-			return getCalendar(strDate, "ddHHmm");
+			return getCalendar(strDate, Format.DAYTIME);
 		} else {
 			return null;
 		}
@@ -512,7 +674,7 @@ public class SwiftFormatUtils {
 	 * @since 7.4
 	 */
 	public static String getDayTime(final Calendar date) {
-		return getCalendar(date, "ddHHmm");
+		return getCalendar(date, Format.DAYTIME);
 	}
 
 	/**
@@ -527,7 +689,7 @@ public class SwiftFormatUtils {
 	public static Calendar getMonthDay(final String strDate) {
 		if ((strDate != null) && (strDate.length() == 4)) {
 			String year = String.valueOf(Calendar.getInstance().get(Calendar.YEAR));
-			return getCalendar(year + strDate, "yyyyMMdd");
+			return getCalendar(year + strDate, Format.DATE4);
 		} else {
 			return null;
 		}
@@ -541,7 +703,7 @@ public class SwiftFormatUtils {
 	 * @since 7.4
 	 */
 	public static String getMonthDay(final Calendar date) {
-		return getCalendar(date, "MMdd");
+		return getCalendar(date, Format.MONTHDAY);
 	}
 
 	/**
@@ -552,7 +714,7 @@ public class SwiftFormatUtils {
 	 */
 	public static Calendar getHour(final String strDate) {
 		if ((strDate != null) && (strDate.length() == 2)) {
-			return getCalendar(strDate, "HH");
+			return getCalendar(strDate, Format.HOUR);
 		} else {
 			return null;
 		}
@@ -565,7 +727,7 @@ public class SwiftFormatUtils {
 	 * @since 7.4
 	 */
 	public static String getHour(final Calendar date) {
-		return getCalendar(date, "HH");
+		return getCalendar(date, Format.HOUR);
 	}
 
 	/**
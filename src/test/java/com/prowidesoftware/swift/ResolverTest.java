@@ -0,0 +1,69 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift;
+
+import com.prowidesoftware.swift.model.MxId;
+import com.prowidesoftware.swift.model.mx.AbstractMX;
+import com.prowidesoftware.swift.model.mx.MxRead;
+import com.prowidesoftware.swift.model.mx.MxWrite;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test for {@link Resolver}
+ *
+ * @since 8.0.2
+ */
+public class ResolverTest {
+
+	@Test
+	public void testResolved() {
+		assertTrue(Resolver.mxRead() instanceof MxReadCoreV1);
+		assertTrue(Resolver.mxWrite() instanceof MxWriteCoreV1);
+		// a new instance on each call
+		assertNotSame(Resolver.mxRead(), Resolver.mxRead());
+		assertNotSame(Resolver.mxWrite(), Resolver.mxWrite());
+	}
+
+	@Test
+	public void testRegister() {
+		final MxRead read = new MxRead() {
+			@Override
+			public AbstractMX read(Class<? extends AbstractMX> targetClass, String xml, Class<?>[] classes) {
+				return null;
+			}
+
+			@Override
+			public AbstractMX read(String xml, MxId id) {
+				return null;
+			}
+		};
+		final MxWrite write = (namespace, obj, classes, prefix, includeXMLDeclaration) -> "";
+		try {
+			Resolver.register(read);
+			Resolver.register(write);
+			assertSame(read, Resolver.mxRead());
+			assertSame(write, Resolver.mxWrite());
+		} finally {
+			Resolver.register((MxRead) null);
+			Resolver.register((MxWrite) null);
+		}
+		assertTrue(Resolver.mxRead() instanceof MxReadCoreV1);
+		assertTrue(Resolver.mxWrite() instanceof MxWriteCoreV1);
+	}
+
+}
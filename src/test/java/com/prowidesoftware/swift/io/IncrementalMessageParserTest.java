@@ -0,0 +1,141 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io;
+
+import com.prowidesoftware.swift.io.parser.SwiftParserConfiguration;
+import com.prowidesoftware.swift.model.SwiftMessage;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test for {@link IncrementalMessageParser}
+ *
+ * @since 8.0.2
+ */
+public class IncrementalMessageParserTest {
+
+	private static final String MT103 = "{1:F01AAAAUSXXAXXX0000000000}{2:I103BBBBUSXXXXXXN}{3:{108:MUR}}" +
+			"{4:\r\n:20:REF{1:}\r\n:70:}-{\r\n-}{5:{CHK:123456789ABC}}{S:{SAC:}{COP:P}}";
+
+	private static final String ACK = "{1:F21AAAAUSXXAXXX0000000000}{4:{177:1801011200}{451:0}}" +
+			"{1:F01AAAAUSXXAXXX0000000000}{2:I103BBBBUSXXXXXXN}{4:\r\n:20:ACKED\r\n-}";
+
+	private static final String MT950 = "{1:F01AAAAUSXXAXXX0000000000}{2:O9501200180101BBBBUSXXAXXX00000000001801011200N}" +
+			"{4:\r\n:20:STMT\r\n-}{5:{CHK:123456789ABC}}";
+
+	private final List<SwiftMessage> messages = new ArrayList<>();
+	private final IncrementalMessageParser parser = new IncrementalMessageParser(this.messages::add);
+
+	@Test
+	public void testTrailerEndsMessage() throws Exception {
+		this.parser.feed(MT103);
+		assertEquals(1, this.messages.size());
+		assertEquals(SwiftMessage.parse(MT103), this.messages.get(0));
+		assertEquals(0, this.parser.getPendingLength());
+	}
+
+	@Test
+	public void testNextBlock1EndsMessage() throws Exception {
+		this.parser.feed(MT950 + "\r\n");
+		// the trailer may still be followed by a block S
+		assertTrue(this.messages.isEmpty());
+		this.parser.feed("{1:");
+		assertEquals(1, this.messages.size());
+		assertEquals(SwiftMessage.parse(MT950), this.messages.get(0));
+		assertEquals(3, this.parser.getPendingLength());
+	}
+
+	@Test
+	public void testServiceMessage() throws Exception {
+		// the original message appended to the ACK is part of the ACK
+		this.parser.feed(ACK);
+		assertTrue(this.messages.isEmpty());
+		this.parser.feed(MT950);
+		assertEquals(1, this.messages.size());
+		final SwiftMessage ack = this.messages.get(0);
+		assertEquals(SwiftMessage.parse(ACK), ack);
+		assertTrue(ack.isServiceMessage21());
+		assertEquals(1, ack.getUnparsedTextsSize().intValue());
+		this.parser.flush();
+		assertEquals(2, this.messages.size());
+		assertEquals(SwiftMessage.parse(MT950), this.messages.get(1));
+	}
+
+	@Test
+	public void testRandomChunks() throws Exception {
+		final String content = MT103 + "\r\n" + ACK + MT950 + "$\r\n" + MT950 + "$" + MT103;
+		final byte[] bytes = content.getBytes(StandardCharsets.US_ASCII);
+		final Random random = new Random(1);
+		int i = 0;
+		while (i < bytes.length) {
+			final int size = Math.min(random.nextInt(7), bytes.length - i);
+			final ByteBuffer chunk = ByteBuffer.allocateDirect(size);
+			chunk.put(bytes, i, size).flip();
+			this.parser.feed(chunk);
+			assertFalse(chunk.hasRemaining());
+			i += size;
+		}
+		this.parser.flush();
+		assertEquals(5, this.messages.size());
+		assertEquals(SwiftMessage.parse(MT103), this.messages.get(0));
+		assertEquals(SwiftMessage.parse(ACK), this.messages.get(1));
+		assertEquals(SwiftMessage.parse(MT950), this.messages.get(2));
+		assertEquals(SwiftMessage.parse(MT950), this.messages.get(3));
+		assertEquals(SwiftMessage.parse(MT103), this.messages.get(4));
+	}
+
+	@Test
+	public void testCharChunks() throws Exception {
+		final char[] chars = (MT950 + "$" + MT950).toCharArray();
+		for (int i = 0; i < chars.length; i++) {
+			this.parser.feed(chars, i, 1);
+		}
+		assertEquals(1, this.messages.size());
+		this.parser.flush();
+		assertEquals(2, this.messages.size());
+		this.parser.flush();
+		assertEquals(2, this.messages.size());
+	}
+
+	@Test
+	public void testIncompleteAndErrors() {
+		final List<String> failed = new ArrayList<>();
+		final IncrementalMessageParser strict = new IncrementalMessageParser(this.messages::add, (fin, e) -> failed.add(fin));
+		final SwiftParserConfiguration configuration = new SwiftParserConfiguration();
+		configuration.setLenient(false);
+		strict.setConfiguration(configuration);
+		strict.feed("{1:F01AAAAUSXXAXXX0000000000}{4:\r\n:20:REF\r\n");
+		assertTrue(this.messages.isEmpty());
+		strict.flush();
+		assertTrue(this.messages.isEmpty());
+		assertEquals(1, failed.size());
+		assertEquals(0, strict.getPendingLength());
+
+		strict.feed("{1:F01AAAAUSXXAXXX0000000000}{4:\r\n:20:REF\r\n");
+		strict.reset();
+		strict.feed(MT103);
+		assertEquals(1, this.messages.size());
+		assertEquals(1, failed.size());
+	}
+
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io;
+
+import com.prowidesoftware.swift.model.SwiftMessage;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test for {@link MappedMessageReader}
+ *
+ * @since 8.0.2
+ */
+public class MappedMessageReaderTest {
+
+	private static final String MSG1 = "{1:F01AAAAUSXXAXXX0000000000}{2:I103BBBBUSXXXXXXN}{4:\r\n:20:REF1\r\n:23B:CRED\r\n-}";
+	private static final String MSG2 = "{1:F01AAAAUSXXAXXX0000000000}{2:I202BBBBUSXXXXXXN}{4:\r\n:20:REF2\r\n:72:/ACC/ÑANDÚ €\r\n-}";
+
+	@Test
+	public void testRJESameAsRJEReader() throws IOException {
+		final String[] contents = {
+				"",
+				"$",
+				MSG1,
+				MSG1 + "$",
+				MSG1 + "$" + MSG2 + "$" + MSG1,
+				MSG1 + "$$" + MSG2 + "$\r\n",
+				"$" + MSG1 + "$" + MSG2 + "$"
+		};
+		for (String content : contents) {
+			final File file = write(content);
+			try {
+				final List<String> expected = read(new RJEReader(new InputStreamReader(Files.newInputStream(file.toPath()), StandardCharsets.UTF_8)));
+				for (int regionSize : new int[] {MappedMessageReader.DEFAULT_REGION_SIZE, 7, 1}) {
+					try (MappedMessageReader reader = new MappedMessageReader(file, MappedMessageReader.Format.RJE, StandardCharsets.UTF_8)) {
+						reader.setRegionSize(regionSize);
+						assertEquals(content, expected, read(reader));
+					}
+				}
+			} finally {
+				file.delete();
+			}
+		}
+	}
+
+	@Test
+	public void testPPCSameAsPPCReader() throws IOException {
+		final String[] contents = {
+				"",
+				"\u0001" + MSG1 + "\u0003",
+				"\u0001" + MSG1 + "\u0003  \u0001" + MSG2 + "\u0003\u0000\u0000",
+				"garbage\u0001" + MSG1 + "\u0003\u0001" + MSG2,
+		};
+		for (String content : contents) {
+			final File file = write(content);
+			try {
+				final List<String> expected = read(new PPCReader(new InputStreamReader(Files.newInputStream(file.toPath()), StandardCharsets.UTF_8)));
+				for (int regionSize : new int[] {MappedMessageReader.DEFAULT_REGION_SIZE, 7, 1}) {
+					try (MappedMessageReader reader = new MappedMessageReader(file, MappedMessageReader.Format.PPC, StandardCharsets.UTF_8)) {
+						reader.setRegionSize(regionSize);
+						assertEquals(content, expected, read(reader));
+					}
+				}
+			} finally {
+				file.delete();
+			}
+		}
+	}
+
+	@Test
+	public void testSlicesAndPosition() throws IOException {
+		final File file = write(MSG1 + "$" + MSG2 + "$" + MSG1);
+		try (MappedMessageReader reader = new MappedMessageReader(file, MappedMessageReader.Format.RJE, StandardCharsets.UTF_8)) {
+			final List<Long> offsets = new ArrayList<>();
+			while (reader.hasNext()) {
+				final MappedMessageReader.Slice slice = reader.nextSlice();
+				offsets.add(slice.getOffset());
+				assertEquals('{', slice.charAt(0));
+				assertEquals('}', slice.charAt(slice.length() - 1));
+				assertEquals("{1:", slice.subSequence(0, 3).toString());
+			}
+			assertEquals(3, offsets.size());
+			assertEquals(0L, offsets.get(0).longValue());
+			assertEquals(reader.getSize(), reader.getPosition());
+
+			reader.setPosition(offsets.get(1));
+			assertEquals(MSG2, reader.next());
+
+			reader.setPosition(0);
+			assertEquals(2, reader.skip(2));
+			final SwiftMessage m = reader.nextSwiftMessage();
+			assertEquals("REF1", m.getBlock4().getTagValue("20"));
+			assertEquals(0, reader.skip(1));
+			assertFalse(reader.hasNext());
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testSplitChar() throws IOException {
+		final File file = write(MSG1 + "#" + MSG2);
+		try (MappedMessageReader reader = new MappedMessageReader(file, MappedMessageReader.Format.RJE, StandardCharsets.UTF_8)) {
+			reader.setSplitChar('#');
+			assertEquals(MSG1, reader.next());
+			assertEquals(MSG2, reader.next());
+			assertFalse(reader.hasNext());
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testParallelParser() throws IOException {
+		final File file = write(MSG1 + "$" + MSG2 + "$");
+		try (MappedMessageReader reader = new MappedMessageReader(file, MappedMessageReader.Format.RJE, StandardCharsets.UTF_8)) {
+			assertEquals(2, new ParallelMessageParser().messages(reader).count());
+		} finally {
+			file.delete();
+		}
+	}
+
+	private static List<String> read(final AbstractReader reader) {
+		final List<String> result = new ArrayList<>();
+		while (reader.hasNext()) {
+			result.add(reader.next());
+		}
+		return result;
+	}
+
+	private static File write(final String content) throws IOException {
+		final File file = File.createTempFile("mapped", ".rje");
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+
+}
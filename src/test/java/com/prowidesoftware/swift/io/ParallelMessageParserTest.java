@@ -0,0 +1,152 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io;
+
+import com.prowidesoftware.swift.io.parser.SwiftParser;
+import com.prowidesoftware.swift.model.SwiftMessage;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test for {@link ParallelMessageParser}
+ *
+ * @since 8.0.2
+ */
+public class ParallelMessageParserTest {
+
+	private static final int COUNT = 50;
+
+	private static String rje() {
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < COUNT; i++) {
+			if (i > 0) {
+				sb.append("$");
+			}
+			if (i == 7) {
+				sb.append("{1:F01AAAAUSXXAXXX0000000000}{2:I103BBBBUSXXXXXXN}{4:\r\n:20:REF7\r\n");
+			} else {
+				sb.append("{1:F01AAAAUSXXAXXX0000000000}{2:I103BBBBUSXXXXXXN}{4:\r\n:20:REF").append(i).append("\r\n:23B:CRED\r\n-}");
+			}
+		}
+		// trailing separator
+		sb.append("$");
+		return sb.toString();
+	}
+
+	@Test
+	public void testOrderedSameAsSerial() throws Exception {
+		final List<ParallelMessageParser.Result> results;
+		try (Stream<ParallelMessageParser.Result> stream = new ParallelMessageParser().parse(new RJEReader(rje()))) {
+			results = stream.collect(Collectors.toList());
+		}
+		assertEquals(COUNT, results.size());
+
+		final RJEReader reader = new RJEReader(rje());
+		for (int i = 0; i < COUNT; i++) {
+			final ParallelMessageParser.Result r = results.get(i);
+			assertEquals(i, r.getIndex());
+			final String fin = reader.next();
+			assertEquals(fin, r.getFin());
+			final SwiftParser parser = new SwiftParser(fin);
+			SwiftMessage expected = null;
+			try {
+				expected = parser.message();
+			} catch (Exception e) {
+				assertNotNull(r.getException());
+			}
+			if (expected != null) {
+				assertNull(r.getException());
+				assertEquals(parser.getErrors(), r.getErrors());
+				assertEquals(expected.getBlock4().getTagValue("20"), r.getMessage().getBlock4().getTagValue("20"));
+			}
+		}
+		assertEquals("REF0", results.get(0).getMessage().getBlock4().getTagValue("20"));
+		assertTrue(results.get(0).isSuccess());
+	}
+
+	@Test
+	public void testUnordered() {
+		final ParallelMessageParser parser = new ParallelMessageParser();
+		parser.setOrdered(false);
+		parser.setMaxPending(4);
+		final Set<Long> indexes = new TreeSet<>();
+		try (Stream<ParallelMessageParser.Result> stream = parser.parse(new RJEReader(rje()))) {
+			stream.forEach(r -> assertTrue(indexes.add(r.getIndex())));
+		}
+		assertEquals(COUNT, indexes.size());
+		assertEquals(Long.valueOf(COUNT - 1), ((TreeSet<Long>) indexes).last());
+	}
+
+	@Test
+	public void testBoundedReadAhead() {
+		final int[] read = {0};
+		final RJEReader reader = new RJEReader(rje()) {
+			@Override
+			public String next() {
+				read[0]++;
+				return super.next();
+			}
+		};
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			final ParallelMessageParser parser = new ParallelMessageParser(executor);
+			parser.setMaxPending(3);
+			try (Stream<ParallelMessageParser.Result> stream = parser.parse(reader)) {
+				final ParallelMessageParser.Result first = stream.findFirst().orElse(null);
+				assertNotNull(first);
+				assertEquals(0, first.getIndex());
+			}
+			assertEquals(3, read[0]);
+
+			parser.setMaxPending(1);
+			assertEquals(COUNT, parser.parse(new RJEReader(rje())).count());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testMessages() {
+		final List<SwiftMessage> messages = new ParallelMessageParser().messages(new RJEReader(rje())).collect(Collectors.toList());
+		assertFalse(messages.isEmpty());
+		assertEquals("103", messages.get(0).getType());
+		assertEquals("REF" + (COUNT - 1), messages.get(messages.size() - 1).getBlock4().getTagValue("20"));
+	}
+
+	@Test
+	public void testPPC() {
+		final String ppc = "\u0001{1:F01AAAAUSXXAXXX0000000000}{2:I103BBBBUSXXXXXXN}{4:\r\n:20:REF1\r\n-}\u0003\u0001{1:F01AAAAUSXXAXXX0000000000}{2:I202BBBBUSXXXXXXN}{4:\r\n:20:REF2\r\n-}\u0003";
+		final List<SwiftMessage> messages = new ParallelMessageParser().messages(new PPCReader(ppc)).collect(Collectors.toList());
+		assertEquals(2, messages.size());
+		assertEquals("103", messages.get(0).getType());
+		assertEquals("202", messages.get(1).getType());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidMaxPending() {
+		new ParallelMessageParser().setMaxPending(0);
+	}
+
+}
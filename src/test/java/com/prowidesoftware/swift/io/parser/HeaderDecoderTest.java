@@ -0,0 +1,116 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io.parser;
+
+import com.prowidesoftware.swift.model.SwiftBlock1;
+import com.prowidesoftware.swift.model.SwiftBlock2Input;
+import com.prowidesoftware.swift.model.SwiftBlock2Output;
+import com.prowidesoftware.swift.model.SwiftMessage;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test for {@link HeaderDecoder}
+ *
+ * @since 8.0.2
+ */
+public class HeaderDecoderTest {
+
+	@Test
+	public void testSameAsStrictBlock1() {
+		final String[] values = {
+				"1:F01BANKBEBBAXXX2222123456", "1:F01BANKBEBBAXXX22221234567", "F01BANKBEBBAXXX2222123456",
+				"F01BANKBEBBAXXX222212345", "1:F01BANKBEBBAXXX", "1F01BANKBEBBAXXX2222123456", "F01", "", "1"
+		};
+		for (final String v : values) {
+			assertSameAsStrict(v, HeaderDecoder.checkBlock1(v), s -> new SwiftBlock1(s, false));
+		}
+	}
+
+	@Test
+	public void testSameAsStrictBlock2Input() {
+		final String[] values = {
+				"I100BANKDEFFXXXX", "I100BANKDEFFXXXXU", "2:I100BANKDEFFXXXXU3", "2:I100BANKDEFFXXXXU3003",
+				"i100BANKDEFFXXXXU3003", "O100BANKDEFFXXXXU3003", "I100BANKDEFF3", "I100BANKDEFFXXXXU30", "2:I100BANKDEFFXXXX",
+				"2:I100BANKDEFFX", "I100BANKDEFFXXXXU300312345", ""
+		};
+		for (final String v : values) {
+			assertSameAsStrict(v, HeaderDecoder.checkBlock2Input(v), s -> new SwiftBlock2Input(s, false));
+		}
+	}
+
+	@Test
+	public void testSameAsStrictBlock2Output() {
+		final String[] values = {
+				"O1001200970103BANKBEBBAXXX22221234569701031201", "O1001200970103BANKBEBBAXXX22221234569701031201N",
+				"2:O1001200970103BANKBEBBAXXX22221234569701031201", "2:O1001200970103BANKBEBBAXXX22221234569701031201N",
+				"I1001200970103BANKBEBBAXXX22221234569701031201N", "O1001200970103BANKBEBBAXXX22221234569701031201NN",
+				"2:O1001200970103BANKBEBBAXXX222212345697010312", "O100120097", ""
+		};
+		for (final String v : values) {
+			assertSameAsStrict(v, HeaderDecoder.checkBlock2Output(v), s -> new SwiftBlock2Output(s, false));
+		}
+	}
+
+	@Test
+	public void testParseErrors() throws IOException {
+		final SwiftParser parser = new SwiftParser("{1:F01BANKBEBBAXXX2222}{2:X100BANKDEFFXXXXU3003}{4:\r\n:20:REF\r\n-}");
+		final SwiftMessage msg = parser.message();
+		assertEquals("BANKBEBBAXXX", msg.getBlock1().getLogicalTerminal());
+		assertEquals("2222", msg.getBlock1().getSessionNumber());
+		assertEquals("100", msg.getBlock2().getMessageType());
+
+		final List<SwiftParseError> errors = parser.getParseErrors();
+		assertEquals(2, errors.size());
+		assertEquals('1', errors.get(0).getBlock());
+		assertEquals(21, errors.get(0).getOffset());
+		assertEquals("26 or 27 characters", errors.get(0).getExpected());
+		assertEquals("21", errors.get(0).getFound());
+		// not an input block 2, it is decoded as output
+		assertEquals('2', errors.get(1).getBlock());
+		assertEquals("46 to 49 characters", errors.get(1).getExpected());
+		assertEquals(parser.getErrors().get(0), errors.get(0).getMessage());
+		assertEquals(parser.getErrors().get(1), errors.get(1).getMessage());
+
+		parser.setData("{1:F01BANKBEBBAXXX2222123456}{2:I100BANKDEFFXXXXU3003}");
+		parser.message();
+		assertTrue(parser.getParseErrors().isEmpty());
+		assertTrue(parser.getErrors().isEmpty());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testStrict() throws IOException {
+		final SwiftParser parser = new SwiftParser("{1:F01BANKBEBBAXXX2222}");
+		parser.getConfiguration().setLenient(false);
+		parser.message();
+	}
+
+	private static void assertSameAsStrict(final String value, final SwiftParseError error, final Function<String, ?> strict) {
+		try {
+			strict.apply(value);
+			assertNull(value, error);
+		} catch (final IllegalArgumentException e) {
+			assertNotNull(value, error);
+			assertEquals(value, e.getMessage(), error.getMessage());
+		}
+	}
+
+}
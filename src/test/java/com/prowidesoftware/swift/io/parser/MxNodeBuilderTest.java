@@ -0,0 +1,133 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io.parser;
+
+import com.prowidesoftware.swift.model.MxNode;
+import org.junit.Test;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test for {@link MxNodeBuilder}
+ *
+ * @since 8.0.2
+ */
+public class MxNodeBuilderTest {
+
+	private static final String XML = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+			"<Env>" +
+			"<h:AppHdr xmlns:h=\"urn:swift:xsd:$ahV10\"><h:MsgRef>REF1</h:MsgRef></h:AppHdr>" +
+			"<Doc:Document xmlns:Doc=\"urn:iso:std:iso:20022:tech:xsd:camt.053.001.02\">" +
+			"<Doc:Ntry><Doc:Amt Ccy=\"EUR\">100.5</Doc:Amt><Doc:AddtlNtryInf>A &amp; B &lt;C&gt;</Doc:AddtlNtryInf></Doc:Ntry>" +
+			"<Doc:Ntry><Doc:Amt Ccy=\"USD\">7</Doc:Amt><Doc:AddtlNtryInf><![CDATA[x < y]]> and more</Doc:AddtlNtryInf></Doc:Ntry>" +
+			"</Doc:Document>" +
+			"</Env>";
+
+	@Test
+	public void testBuild() throws XMLStreamException {
+		final MxNode root = new MxNodeBuilder().build(new StringReader(XML));
+		assertEquals("/Env", root.path());
+		assertEquals("", root.getAttribute("xmlns"));
+
+		final MxNode hdr = root.findFirst("/Env/AppHdr");
+		assertEquals("urn:swift:xsd:$ahV10", hdr.getAttribute("xmlns"));
+		assertEquals("REF1", root.singlePathValue("/Env/AppHdr/MsgRef"));
+		// the namespace is set only in the first node of the namespace
+		assertNull(root.findFirst("/Env/AppHdr/MsgRef").getAttribute("xmlns"));
+
+		final MxNode doc = root.findFirst("/Env/Document");
+		assertEquals("urn:iso:std:iso:20022:tech:xsd:camt.053.001.02", doc.getAttribute("xmlns"));
+		assertEquals(2, root.find("/Env/Document/Ntry").size());
+		final MxNode amt = root.findFirst("/Env/Document/Ntry/Amt");
+		assertEquals("100.5", amt.getValue());
+		assertEquals("EUR", amt.getAttribute("Ccy"));
+		assertNull(doc.getValue());
+	}
+
+	@Test
+	public void testSplitText() throws XMLStreamException {
+		final MxNode root = new MxNodeBuilder().build(new StringReader(XML));
+		assertEquals("A & B <C>", root.find("/Env/Document/Ntry/AddtlNtryInf").get(0).getValue());
+		assertEquals("x < y and more", root.find("/Env/Document/Ntry/AddtlNtryInf").get(1).getValue());
+	}
+
+	@Test
+	public void testMixedContent() throws XMLStreamException {
+		final MxNode root = new MxNodeBuilder().build(new StringReader("<a>one<b>two</b>three</a>"));
+		assertEquals("onethree", root.getValue());
+		assertEquals("two", root.getChildren().get(0).getValue());
+	}
+
+	@Test
+	public void testInputStream() throws XMLStreamException {
+		final String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?><Document><Nm>Société</Nm></Document>";
+		final MxNode root = new MxNodeBuilder().build(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+		assertEquals("Société", root.singlePathValue("/Document/Nm"));
+	}
+
+	@Test
+	public void testInternedNames() throws XMLStreamException {
+		final MxNodeBuilder builder = new MxNodeBuilder();
+		final MxNode root1 = builder.build(new StringReader(XML));
+		final MxNode root2 = builder.build(new StringReader(XML));
+		final MxNode amt1 = root1.find("/Env/Document/Ntry/Amt").get(0);
+		final MxNode amt2 = root1.find("/Env/Document/Ntry/Amt").get(1);
+		final MxNode amt3 = root2.find("/Env/Document/Ntry/Amt").get(0);
+		assertSame(amt1.getLocalName(), amt2.getLocalName());
+		assertSame(amt1.getLocalName(), amt3.getLocalName());
+		assertSame(root1.findFirst("/Env/Document").getAttribute("xmlns"), root2.findFirst("/Env/Document").getAttribute("xmlns"));
+	}
+
+	@Test
+	public void testSameTreeAsParser() throws XMLStreamException {
+		final MxNode built = new MxNodeBuilder().build(new StringReader(XML));
+		final MxNode parsed = new MxParser(XML).parse();
+		assertEquals(built.find("/Env/Document/Ntry/Amt").size(), parsed.find("/Env/Document/Ntry/Amt").size());
+		assertEquals(built.singlePathValue("/Env/AppHdr/MsgRef"), parsed.singlePathValue("/Env/AppHdr/MsgRef"));
+	}
+
+	@Test(expected = XMLStreamException.class)
+	public void testMalformed() throws XMLStreamException {
+		new MxNodeBuilder().build(new StringReader("<a><b></a>"));
+	}
+
+	@Test
+	public void testAttributes() {
+		final MxNode node = new MxNode(null, "Amt");
+		assertNull(node.getAttributes());
+		assertNull(node.getAttribute("Ccy"));
+		node.addAttribute("Ccy", "EUR");
+		node.addAttribute("xmlns", "foo");
+		node.addAttribute("Ccy", "USD");
+		assertEquals("USD", node.getAttribute("Ccy"));
+		assertEquals("foo", node.getAttribute("xmlns"));
+
+		final Map<String, String> attributes = node.getAttributes();
+		assertEquals(2, attributes.size());
+		assertEquals("USD", attributes.get("Ccy"));
+		attributes.put("Ccy", "GBP");
+		assertEquals("GBP", node.getAttribute("Ccy"));
+		node.addAttribute("other", "bar");
+		assertEquals("bar", attributes.get("other"));
+	}
+
+}
@@ -285,6 +285,57 @@ public class MxParserTest {
 		assertNotNull(info.getException());
 	}
 	
+	@Test
+	public void testAnalyze() {
+		final String xml ="<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+		+ "<message>"
+		+ "<h:AppHdr xmlns:h=\"urn:iso:std:iso:20022:tech:xsd:head.001.001.01\">"
+		+ "<h:Fr><h:FIId><h:FinInstnId><h:BICFI>AAAAUSXXXXX</h:BICFI></h:FinInstnId></h:FIId></h:Fr>"
+		+ "<h:BizMsgIdr>REF1</h:BizMsgIdr>"
+		+ "</h:AppHdr>"
+		+ "<Doc:Document xmlns:Doc=\"urn:swift:xsd:camt.003.001.04\"></Doc:Document>"
+		+ "</message>";
+		final MxParser parser = new MxParser(xml);
+		final MxParser.MxAnalysis analysis = parser.analyze();
+		assertEquals(new MxId("camt.003.001.04"), analysis.getMxId());
+		assertEquals(new MxParser(xml).detectMessage(), analysis.getMxId());
+
+		final MxStructureInfo info = analysis.getStructureInfo();
+		assertNull(info.getException());
+		assertTrue(info.containsWrapper());
+		assertTrue(info.containsHeader());
+		assertTrue(info.containsDocument());
+		assertEquals("Doc", info.getDocumentPrefix());
+		assertEquals("h", info.getHeaderPrefix());
+		assertEquals("urn:iso:std:iso:20022:tech:xsd:head.001.001.01", info.getHeaderNamespace());
+
+		final BusinessHeader bh = analysis.getBusinessHeader();
+		assertNotNull(bh.getBusinessApplicationHeader());
+		assertEquals("REF1", bh.reference());
+		assertEquals("AAAAUSXXXXX", bh.from());
+
+		// the analysis is reused
+		assertSame(analysis, parser.analyze());
+		assertSame(info, parser.analyzeMessage());
+		assertSame(bh, parser.parseBusinessHeader());
+		assertEquals(analysis.getMxId(), parser.detectMessage());
+	}
+
+	@Test
+	public void testAnalyzeInvalid() {
+		final String xml = "<message><h:AppHdr xmlns:h=\"urn:swift:xsd:$ahV10\"><h:MsgRef>REF1</h:MsgRef></h:AppHdr>"
+				+ "<Doc:Document xmlns:Doc=\"urn:swift:xsd:camt.003.001.04\"></foo></message>";
+		final MxParser.MxAnalysis analysis = new MxParser(xml).analyze();
+		assertNotNull(analysis.getStructureInfo().getException());
+		assertNull(analysis.getBusinessHeader());
+		assertEquals(new MxId("camt.003.001.04"), analysis.getMxId());
+
+		final MxParser.MxAnalysis empty = new MxParser("").analyze();
+		assertNull(empty.getMxId());
+		assertNull(empty.getBusinessHeader());
+		assertFalse(empty.getStructureInfo().containsDocument());
+	}
+
 	@Test
 	public void testStrip() throws IOException, SAXException {
 		final String h = "<h:AppHdr xmlns:h=\"urn:iso:std:iso:20022:tech:xsd:head.001.001.01\"><From></From></h:AppHdr>";
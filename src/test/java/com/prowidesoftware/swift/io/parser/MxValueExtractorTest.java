@@ -0,0 +1,144 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io.parser;
+
+import com.prowidesoftware.swift.model.MxNode;
+import com.prowidesoftware.swift.model.MxPathSet;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test for {@link MxValueExtractor}
+ *
+ * @since 8.0.2
+ */
+public class MxValueExtractorTest {
+
+	private static final String XML = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+			"<RequestPayload>" +
+			"<h:AppHdr xmlns:h=\"urn:iso:std:iso:20022:tech:xsd:head.001.001.01\">" +
+			"<h:Fr><h:FIId><h:FinInstnId><h:BICFI>AAAAUSXXXXX</h:BICFI></h:FinInstnId></h:FIId></h:Fr>" +
+			"<h:To><h:FIId><h:FinInstnId><h:BICFI>BBBBUSXXXXX</h:BICFI></h:FinInstnId></h:FIId></h:To>" +
+			"<h:BizMsgIdr>BIZ1</h:BizMsgIdr>" +
+			"<h:MsgDefIdr>pacs.008.001.07</h:MsgDefIdr>" +
+			"</h:AppHdr>" +
+			"<Doc:Document xmlns:Doc=\"urn:iso:std:iso:20022:tech:xsd:pacs.008.001.07\">" +
+			"<Doc:FIToFICstmrCdtTrf>" +
+			"<Doc:GrpHdr><Doc:MsgId>MSG1</Doc:MsgId><Doc:InstgAgt><Doc:FinInstnId><Doc:BICFI>AAAAUSXX</Doc:BICFI></Doc:FinInstnId></Doc:InstgAgt></Doc:GrpHdr>" +
+			"<Doc:CdtTrfTxInf><Doc:PmtId><Doc:UETR>eb6305c9-1f7f-49de-aed0-16487c27b42d</Doc:UETR></Doc:PmtId>" +
+			"<Doc:IntrBkSttlmAmt Ccy=\"EUR\">100.00</Doc:IntrBkSttlmAmt></Doc:CdtTrfTxInf>" +
+			"<Doc:CdtTrfTxInf><Doc:PmtId><Doc:UETR>2</Doc:UETR></Doc:PmtId><Doc:IntrBkSttlmAmt Ccy=\"USD\">200.00</Doc:IntrBkSttlmAmt></Doc:CdtTrfTxInf>" +
+			"</Doc:FIToFICstmrCdtTrf>" +
+			"</Doc:Document>" +
+			"</RequestPayload>";
+
+	@Test
+	public void testExtract() {
+		final MxValueExtractor extractor = new MxValueExtractor(
+				"GrpHdr/MsgId",
+				"CdtTrfTxInf/IntrBkSttlmAmt",
+				"CdtTrfTxInf/PmtId/UETR",
+				"/RequestPayload/Document/FIToFICstmrCdtTrf/CdtTrfTxInf[2]/IntrBkSttlmAmt",
+				"/RequestPayload/AppHdr/BizMsgIdr",
+				"/Document/FIToFICstmrCdtTrf/GrpHdr/MsgId",
+				"GrpHdr/Foo");
+		final MxValueExtractor.Result result = extractor.extract(XML);
+		assertNull(result.getException());
+		assertEquals("MSG1", result.getValue("GrpHdr/MsgId"));
+		assertEquals("100.00", result.getValue("CdtTrfTxInf/IntrBkSttlmAmt"));
+		assertEquals("eb6305c9-1f7f-49de-aed0-16487c27b42d", result.getValue("CdtTrfTxInf/PmtId/UETR"));
+		assertEquals("200.00", result.getValue("/RequestPayload/Document/FIToFICstmrCdtTrf/CdtTrfTxInf[2]/IntrBkSttlmAmt"));
+		assertEquals("BIZ1", result.getValue("/RequestPayload/AppHdr/BizMsgIdr"));
+		// absolute paths start at the root element
+		assertFalse(result.isFound("/Document/FIToFICstmrCdtTrf/GrpHdr/MsgId"));
+		assertFalse(result.isFound("GrpHdr/Foo"));
+		assertNull(result.getValue("GrpHdr/Foo"));
+		assertNull(result.getHeader());
+
+		assertEquals("urn:iso:std:iso:20022:tech:xsd:pacs.008.001.07", result.getDocumentNamespace());
+		assertEquals("pacs.008.001.07", result.getMxId().id());
+		assertEquals(7, result.getValues().size());
+	}
+
+	@Test
+	public void testSameValuesAsTree() {
+		final String[] paths = {
+				"/RequestPayload/Document/FIToFICstmrCdtTrf/GrpHdr/InstgAgt/FinInstnId/BICFI",
+				"/RequestPayload/Document/FIToFICstmrCdtTrf/CdtTrfTxInf/PmtId/UETR",
+				"/RequestPayload/Document/FIToFICstmrCdtTrf/CdtTrfTxInf[2]/PmtId/UETR",
+				"/RequestPayload/Document/./.[3]/IntrBkSttlmAmt",
+				"/RequestPayload/AppHdr/To/FIId/FinInstnId/BICFI"
+		};
+		final MxNode tree = new MxParser(XML).parse();
+		final Map<String, String> expected = MxPathSet.compile(paths).findValues(tree);
+		assertEquals(expected, new MxValueExtractor(paths).extract(XML).getValues());
+	}
+
+	@Test
+	public void testHeader() {
+		final MxValueExtractor extractor = new MxValueExtractor(Arrays.asList("GrpHdr/MsgId", "/RequestPayload/AppHdr/BizMsgIdr"), true);
+		final MxValueExtractor.Result result = extractor.extract(new ByteArrayInputStream(XML.getBytes(StandardCharsets.UTF_8)));
+		assertNotNull(result.getHeader());
+		assertNotNull(result.getHeader().getBusinessApplicationHeader());
+		assertEquals("BIZ1", result.getHeader().reference());
+		assertEquals("AAAAUSXXXXX", result.getHeader().from());
+		assertEquals("MSG1", result.getValue("GrpHdr/MsgId"));
+		// the header content is consumed by the header parser
+		assertFalse(result.isFound("/RequestPayload/AppHdr/BizMsgIdr"));
+	}
+
+	@Test
+	public void testStopsWhenFound() {
+		// the content after the group header is not well-formed, but it is not read
+		final String xml = "<Doc:Document xmlns:Doc=\"urn:iso:std:iso:20022:tech:xsd:camt.053.001.02\">" +
+				"<Doc:BkToCstmrStmt><Doc:GrpHdr><Doc:MsgId>STMT1</Doc:MsgId></Doc:GrpHdr><Doc:Stmt><Doc:Ntry>";
+		final MxValueExtractor.Result result = new MxValueExtractor("GrpHdr/MsgId").extract(xml);
+		assertNull(result.getException());
+		assertEquals("STMT1", result.getValue("GrpHdr/MsgId"));
+		assertEquals("camt.053.001.02", result.getMxId().id());
+
+		final MxValueExtractor.Result incomplete = new MxValueExtractor("Stmt/Id").extract(xml);
+		assertNotNull(incomplete.getException());
+		assertNull(incomplete.getValue("Stmt/Id"));
+		assertEquals("camt.053.001.02", incomplete.getMxId().id());
+	}
+
+	@Test
+	public void testRelativePathPosition() {
+		final String xml = "<Document><X><Tx><Id>A</Id></Tx><Tx><Id>B</Id></Tx></X><Y><Tx><Id>C</Id></Tx></Y></Document>";
+		final MxValueExtractor.Result result = new MxValueExtractor("Tx[2]/Id", "Tx[1]/Id", "Tx[3]/Id", "X/Tx[2]/Id").extract(xml);
+		assertEquals("B", result.getValue("Tx[2]/Id"));
+		assertEquals("A", result.getValue("Tx[1]/Id"));
+		assertFalse(result.isFound("Tx[3]/Id"));
+		assertEquals("B", result.getValue("X/Tx[2]/Id"));
+		assertEquals(new MxParser(xml).parse().findFirst("/Document/X/Tx[2]/Id").getValue(), result.getValue("Tx[2]/Id"));
+	}
+
+	@Test
+	public void testEmpty() {
+		final MxValueExtractor.Result result = new MxValueExtractor("GrpHdr/MsgId").extract("");
+		assertNull(result.getValue("GrpHdr/MsgId"));
+		assertNull(result.getMxId());
+		assertNull(result.getException());
+	}
+
+}
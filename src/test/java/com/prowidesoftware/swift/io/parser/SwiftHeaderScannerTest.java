@@ -0,0 +1,141 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io.parser;
+
+import com.prowidesoftware.swift.model.MessageIOType;
+import com.prowidesoftware.swift.model.SwiftMessage;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test for {@link SwiftHeaderScanner}
+ *
+ * @since 8.0.2
+ */
+public class SwiftHeaderScannerTest {
+
+	private static final String INPUT = "{1:F01FOOSEDR0AXXX0000000000}{2:I103BARXUS33XXXXN}" +
+			"{3:{108:MUR12345}{119:STP}{121:eb6305c9-1f7f-49de-aed0-16487c27b42d}}" +
+			"{4:\r\n:20:REF{1}\r\n:23B:CRED\r\n:32A:180101EUR1,\r\n-}" +
+			"{5:{CHK:123456789ABC}{PDE:}}";
+
+	private static final String OUTPUT = "{1:F01BARXUS33AXXX0000000000}" +
+			"{2:O1031200180101FOOSEDR0AXXX00000000001801011200U}" +
+			"{3:{108:MUR12345}}" +
+			"{4:\r\n:20:REF\r\n-}" +
+			"{5:{CHK:123456789ABC}{PDM:FOOSEDR0AXXX}}";
+
+	@Test
+	public void testInput() {
+		final SwiftHeaderScanner.Header h = SwiftHeaderScanner.scan(INPUT);
+		assertEquals("01", h.getServiceId());
+		assertFalse(h.isServiceMessage());
+		assertEquals(MessageIOType.outgoing, h.getDirection());
+		assertEquals("103", h.getMessageType());
+		assertEquals("N", h.getPriority());
+		assertEquals("FOOSEDR0AXXX", h.getSender());
+		assertEquals("BARXUS33XXXX", h.getReceiver());
+		assertEquals("MUR12345", h.getMUR());
+		assertEquals("STP", h.getValidationFlag());
+		assertEquals("eb6305c9-1f7f-49de-aed0-16487c27b42d", h.getUETR());
+		assertTrue(h.isPDE());
+		assertNull(h.getPDE());
+		assertFalse(h.isPDM());
+		assertNull(h.getPDM());
+		assertSameAsParsed(INPUT, h);
+	}
+
+	@Test
+	public void testOutput() {
+		final SwiftHeaderScanner.Header h = SwiftHeaderScanner.scan(OUTPUT);
+		assertEquals(MessageIOType.incoming, h.getDirection());
+		assertEquals("103", h.getMessageType());
+		assertEquals("U", h.getPriority());
+		assertEquals("FOOSEDR0AXXX", h.getSender());
+		assertEquals("BARXUS33AXXX", h.getReceiver());
+		assertNull(h.getUETR());
+		assertFalse(h.isPDE());
+		assertTrue(h.isPDM());
+		assertEquals("FOOSEDR0AXXX", h.getPDM());
+		assertSameAsParsed(OUTPUT, h);
+	}
+
+	@Test
+	public void testCharsAndBytes() {
+		final String content = "xx" + OUTPUT + "yy";
+		final SwiftHeaderScanner.Header expected = SwiftHeaderScanner.scan(OUTPUT);
+		assertTrue(EqualsBuilder.reflectionEquals(expected, SwiftHeaderScanner.scan(OUTPUT.toCharArray())));
+		assertTrue(EqualsBuilder.reflectionEquals(expected, SwiftHeaderScanner.scan(content.toCharArray(), 2, OUTPUT.length())));
+		assertTrue(EqualsBuilder.reflectionEquals(expected, SwiftHeaderScanner.scan(OUTPUT.getBytes(StandardCharsets.US_ASCII))));
+		assertTrue(EqualsBuilder.reflectionEquals(expected, SwiftHeaderScanner.scan(content.getBytes(StandardCharsets.US_ASCII), 2, OUTPUT.length())));
+	}
+
+	@Test
+	public void testServiceMessage() {
+		final String fin = "{1:F21FOOSEDR0AXXX0000000000}{4:{177:1801011200}{451:0}}" +
+				"{1:F01FOOSEDR0AXXX0000000000}{2:I103BARXUS33XXXXN}{3:{108:OTHER}}{4:\r\n:20:REF\r\n-}";
+		final SwiftHeaderScanner.Header h = SwiftHeaderScanner.scan(fin);
+		assertEquals("21", h.getServiceId());
+		assertTrue(h.isServiceMessage());
+		assertEquals("FOOSEDR0AXXX", h.getSender());
+		assertNull(h.getReceiver());
+		// the appended message is not scanned
+		assertNull(h.getMessageType());
+		assertNull(h.getMUR());
+	}
+
+	@Test
+	public void testMalformed() {
+		SwiftHeaderScanner.Header h = SwiftHeaderScanner.scan("");
+		assertNull(h.getServiceId());
+		assertNull(h.getDirection());
+		assertNull(h.getSender());
+
+		h = SwiftHeaderScanner.scan("{1:F01FOO}{2:I1");
+		assertEquals("FOO", h.getSender());
+		assertEquals("1", h.getMessageType());
+		assertNull(h.getReceiver());
+		assertNull(h.getPriority());
+
+		h = SwiftHeaderScanner.scan("{1:F01FOOSEDR0AXXX0000000000}{2:I103BARXUS33XXXXN}{4:\r\n:20:REF\r\n");
+		assertEquals("103", h.getMessageType());
+		assertNull(h.getMUR());
+	}
+
+	private static void assertSameAsParsed(final String fin, final SwiftHeaderScanner.Header h) {
+		final SwiftMessage m;
+		try {
+			m = SwiftMessage.parse(fin);
+		} catch (IOException e) {
+			throw new AssertionError(e);
+		}
+		assertEquals(m.getDirection(), h.getDirection());
+		assertEquals(m.getType(), h.getMessageType());
+		assertEquals(m.getSender(), h.getSender());
+		assertEquals(m.getReceiver(), h.getReceiver());
+		assertEquals(m.getMUR(), h.getMUR());
+		assertEquals(m.getUETR(), h.getUETR());
+		assertEquals(m.getPDE(), h.getPDE());
+		assertEquals(m.getPDM(), h.getPDM());
+		assertEquals(m.getBlock3().getTagValue("119"), h.getValidationFlag());
+	}
+
+}
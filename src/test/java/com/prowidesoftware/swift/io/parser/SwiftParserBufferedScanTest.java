@@ -0,0 +1,104 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io.parser;
+
+import com.prowidesoftware.swift.model.SwiftMessage;
+import com.prowidesoftware.swift.utils.Lib;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the buffered scan mode produces the same results as the legacy char by char scan.
+ *
+ * @since 8.0.2
+ */
+public class SwiftParserBufferedScanTest {
+
+	@Test
+	public void testSampleFiles() throws IOException {
+		assertSameResult(Lib.readResource("MT320.txt"));
+		assertSameResult(Lib.readResource("SWIFTMT300_0000039099_0002.txt"));
+		assertSameResult(Lib.readResource("example_mt103.txt", "UTF-8"));
+		assertSameResult(Lib.readResource("sample_JPchar.txt", "UTF-8"));
+		assertSameResult(Lib.readResource("mt101.fin"));
+		assertSameResult(Lib.readResource("smallStatement.STA"));
+	}
+
+	@Test
+	public void testMessageLargerThanWindow() throws IOException {
+		final String fin = Lib.readResource("largeStatement.STA");
+		final SwiftMessage msg = assertSameResult(fin);
+		assertTrue(msg.getBlock4().size() > 1000);
+	}
+
+	@Test
+	public void testUnparsedTexts() throws IOException {
+		assertSameResult("{1:F21XYZABCAAXXX1111112222}{4:{177:0011111111}{451:0}}{1:F21XYZABCAAXXXX1111112222}{2:O5691340110817LXLXXXXX4A1000002782131108171440N}{3:{108:MT569 011 OF 021}}{4:\n"
+				+ ":35B:ISIN 123456ABCDEF\n"
+				+ ":16S:ADDINFO\n"
+				+ "-}{5:{CHK:15C62B525DAA}{TNG:}}{S:{SAC:}{COP:P}}");
+		assertSameResult("garbage{1:F01FOOBARXXAXXX0000000000}more garbage{2:I103FOOBARXXXXXXN}{4:\r\n:20:REF{1:F01AAAABBBBCCC0000000000}{4:\r\n:20:INNER\r\n-}\r\n-}trailing");
+	}
+
+	@Test
+	public void testBracketsInTextBlock() throws IOException {
+		assertSameResult("{1:F01FOOBARXXAXXX0000000000}{2:I103FOOBARXXXXXXN}{4:\r\n:20:REF}}{{\r\n:79:foo\r\n-\r\n}bar\r\n-}{5:{CHK:123}}");
+		assertSameResult("{1:F01FOOBARXXAXXX0000000000}{4:{101:foo}{102:{bar}}}{5:{CHK:123}}");
+		assertSameResult("{1:F01FOOBARXXAXXX0000000000}{4:\n:20:REF\n-}");
+	}
+
+	@Test
+	public void testMalformed() throws IOException {
+		assertSameResult("{1:F01FOOBARXXAXXX0000000000}{2:I103FOOBARXXXXXXN}{4:\r\n:20:REF\r\n:79:missing end");
+		assertSameResult("{1:F01FOOBARXXAXXX0000000000}{2:I103FOOBARXXXXXXN{4:\r\n:20:REF\r\n-}");
+		assertSameResult("{1:F01FOOBAR}{2:I103}");
+		assertSameResult("{1:F01FOOBARXXAXXX0000000000}{}{2:I103FOOBARXXXXXXN}");
+		assertSameResult("{4:");
+		assertSameResult("{");
+		assertSameResult("");
+	}
+
+	@Test
+	public void testSubsequentMessageCalls() throws IOException {
+		final String fin = "{1:F01FOOBARXXAXXX0000000000}{}{1:F01AAAABBBBCCC0000000000}{2:I103FOOBARXXXXXXN}";
+		final SwiftParser legacy = parser(fin, false);
+		final SwiftParser buffered = parser(fin, true);
+		assertEquals(legacy.message(), buffered.message());
+		assertEquals(legacy.message(), buffered.message());
+	}
+
+	private SwiftMessage assertSameResult(final String fin) throws IOException {
+		final SwiftParser legacy = parser(fin, false);
+		final SwiftParser buffered = parser(fin, true);
+		final SwiftMessage expected = legacy.message();
+		final SwiftMessage actual = buffered.message();
+		assertEquals(expected, actual);
+		final List<String> errors = legacy.getErrors();
+		assertEquals(errors, buffered.getErrors());
+		return actual;
+	}
+
+	private SwiftParser parser(final String fin, final boolean bufferedScan) {
+		final SwiftParser parser = new SwiftParser(fin);
+		parser.getConfiguration().setBufferedScan(bufferedScan);
+		return parser;
+	}
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io.parser;
+
+import com.prowidesoftware.swift.io.RJEReader;
+import com.prowidesoftware.swift.model.SwiftMessage;
+import com.prowidesoftware.swift.model.mt.mt9xx.MT940;
+import com.prowidesoftware.swift.utils.Lib;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the parser input from bytes produces the same results as the input from a String.
+ *
+ * @since 8.0.2
+ */
+public class SwiftParserBytesTest {
+
+	@Test
+	public void testSampleFiles() throws IOException {
+		assertSameResult(Lib.readResource("MT320.txt"), StandardCharsets.US_ASCII);
+		assertSameResult(Lib.readResource("mt101.fin"), StandardCharsets.ISO_8859_1);
+		assertSameResult(Lib.readResource("example_mt103.txt", "UTF-8"), StandardCharsets.UTF_8);
+		assertSameResult(Lib.readResource("largeStatement.STA"), StandardCharsets.UTF_8);
+	}
+
+	@Test
+	public void testNonAscii() throws IOException {
+		final String jp = Lib.readResource("sample_JPchar.txt", "UTF-8");
+		assertSameResult(jp, StandardCharsets.UTF_8);
+
+		final String cyrillic = "{1:F01FOOBARXXAXXX0000000000}{2:I103FOOBARXXXXXXN}{4:\r\n:20:REF\r\n:70:Оплата по договору\r\n-}";
+		final SwiftMessage msg = assertSameResult(cyrillic, Charset.forName("windows-1251"));
+		assertEquals("Оплата по договору", msg.getBlock4().getTagValue("70"));
+		assertSameResult(cyrillic, StandardCharsets.UTF_8);
+		assertSameResult(cyrillic, StandardCharsets.UTF_16);
+	}
+
+	@Test
+	public void testUnparsedTexts() throws IOException {
+		assertSameResult("{1:F21XYZABCAAXXX1111112222}{4:{177:0011111111}{451:0}}{1:F21XYZABCAAXXXX1111112222}{2:O5691340110817LXLXXXXX4A1000002782131108171440N}{4:\n"
+				+ ":35B:ISIN 123456ABCDEF\n"
+				+ "-}{5:{CHK:15C62B525DAA}{TNG:}}", StandardCharsets.US_ASCII);
+	}
+
+	@Test
+	public void testByteBuffer() throws IOException {
+		final String fin = "{1:F01FOOBARXXAXXX0000000000}{2:I103FOOBARXXXXXXN}{4:\r\n:20:REF\r\n-}";
+		final byte[] bytes = ("xx" + fin + "yy").getBytes(StandardCharsets.US_ASCII);
+		final ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+		buffer.put(bytes).position(2).limit(bytes.length - 2);
+		final SwiftMessage msg = new SwiftParser(buffer, StandardCharsets.US_ASCII).message();
+		assertEquals(SwiftMessage.parse(fin), msg);
+		assertEquals(2, buffer.position());
+
+		final ByteBuffer heap = ByteBuffer.wrap(bytes, 2, bytes.length - 4);
+		assertEquals(SwiftMessage.parse(fin), new SwiftParser(heap.slice(), StandardCharsets.US_ASCII).message());
+		assertEquals(SwiftMessage.parse(fin), new SwiftParser(heap, StandardCharsets.US_ASCII).message());
+		assertEquals(2, heap.position());
+	}
+
+	@Test
+	public void testMissingClosingBracket() throws IOException {
+		final String fin = "{1:F01FOOBARXXAXXX0000000000}{2:I103FOOBARXXXXXXN}{4:\r\n:20:REF\r\n";
+		final SwiftParser expected = new SwiftParser(fin);
+		final SwiftParser parser = new SwiftParser(fin.getBytes(StandardCharsets.US_ASCII), StandardCharsets.US_ASCII);
+		assertEquals(expected.message(), parser.message());
+		assertEquals(expected.getErrors(), parser.getErrors());
+		assertFalse(parser.getErrors().isEmpty());
+	}
+
+	@Test
+	public void testReaderCharset() throws IOException {
+		final byte[] bytes = Lib.readResource("sample_JPchar.txt", "UTF-8").getBytes(StandardCharsets.UTF_8);
+		final MT940 mt = (MT940) new RJEReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8).nextMT();
+		assertEquals("ﾞｱﾀｲﾍｲﾖｳｾﾝﾀ- AFEISEOHFIOSEIOIRT", mt.getField86().get(0).getComponent2());
+	}
+
+	private static SwiftMessage assertSameResult(final String fin, final Charset charset) throws IOException {
+		final SwiftMessage expected = new SwiftParser(fin).message();
+		final byte[] bytes = fin.getBytes(charset);
+		final SwiftMessage buffered = new SwiftParser(bytes, charset).message();
+		assertEquals(expected, buffered);
+
+		final SwiftParser parser = new SwiftParser(bytes, charset);
+		final SwiftParserConfiguration configuration = new SwiftParserConfiguration();
+		configuration.setBufferedScan(false);
+		parser.setConfiguration(configuration);
+		assertEquals(expected, parser.message());
+		return buffered;
+	}
+
+}
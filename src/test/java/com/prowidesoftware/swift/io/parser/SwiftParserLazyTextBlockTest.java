@@ -0,0 +1,184 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io.parser;
+
+import com.prowidesoftware.swift.io.writer.SwiftWriter;
+import com.prowidesoftware.swift.model.SwiftBlock4;
+import com.prowidesoftware.swift.model.SwiftMessage;
+import com.prowidesoftware.swift.utils.Lib;
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the lazy text block mode produces the same results as the default eager parsing.
+ *
+ * @since 8.0.2
+ */
+public class SwiftParserLazyTextBlockTest {
+
+	private static final String FIN = "{1:F01FOOBARXXAXXX0000000000}{2:I103FOOBARXXXXXXN}{3:{108:REF}}{4:\n" +
+			":20:REFERENCE\n" +
+			":32A:190101USD1,\n" +
+			":79:line 1\n" +
+			"line 2\n" +
+			"-}{5:{CHK:123}}";
+
+	@Test
+	public void testSampleFiles() throws IOException {
+		assertSameResult(Lib.readResource("MT320.txt"));
+		assertSameResult(Lib.readResource("example_mt103.txt", "UTF-8"));
+		assertSameResult(Lib.readResource("smallStatement.STA"));
+		assertSameResult(FIN);
+		assertSameResult("{1:F21XYZABCAAXXX1111112222}{4:{177:0011111111}{451:0}}");
+		assertSameResult("{1:F21XYZABCAAXXX1111112222}{4:{177:0011111111}garbage{451:0}}");
+		assertSameResult("garbage{1:F01FOOBARXXAXXX0000000000}{2:I103FOOBARXXXXXXN}{4:\r\n:20:REF{1:F01AAAABBBBCCC0000000000}{4:\r\n:20:INNER\r\n-}\r\n-}trailing");
+	}
+
+	@Test
+	public void testParsedOnAccess() throws IOException {
+		final SwiftMessage msg = parseLazy(FIN);
+		final SwiftBlock4 b4 = msg.getBlock4();
+		assertFalse(b4.isParsed());
+		assertEquals("4:\n:20:REFERENCE\n:32A:190101USD1,\n:79:line 1\nline 2\n-", b4.getRawContent());
+		assertEquals("FOOBARXXXXXX", msg.getReceiver());
+		assertFalse(b4.isParsed());
+
+		assertEquals("REFERENCE", b4.getTagValue("20"));
+		assertTrue(b4.isParsed());
+		assertNull(b4.getRawContent());
+		assertEquals(3, b4.size());
+	}
+
+	@Test
+	public void testParsedOnListAccess() throws IOException {
+		final SwiftBlock4 b4 = parseLazy(FIN).getBlock4();
+		assertEquals(3, b4.getTags().size());
+		assertTrue(b4.isParsed());
+	}
+
+	@Test
+	public void testUnparsedTexts() throws IOException {
+		final SwiftBlock4 b4 = parseLazy("{1:F21XYZABCAAXXX1111112222}{4:{177:0011111111}garbage{451:0}}").getBlock4();
+		assertFalse(b4.isParsed());
+		assertEquals(1, b4.getUnparsedTextsSize().intValue());
+		assertTrue(b4.isParsed());
+		assertEquals("garbage", b4.unparsedTextGetText(0));
+		assertEquals(2, b4.size());
+	}
+
+	@Test
+	public void testWriteRaw() throws IOException {
+		final SwiftMessage msg = parseLazy(FIN);
+		assertEquals(FIN, write(msg));
+		assertFalse(msg.getBlock4().isParsed());
+
+		// once parsed the block is written from its tags
+		msg.getBlock4().getTagByName("20").setValue("CHANGED");
+		assertTrue(write(msg).contains(":20:CHANGED"));
+	}
+
+	@Test
+	public void testSetTagsBeforeAccess() throws IOException {
+		final SwiftMessage msg = parseLazy(FIN);
+		msg.getBlock4().setTags(new ArrayList<>());
+		assertTrue(msg.getBlock4().isParsed());
+		assertTrue(msg.getBlock4().isEmpty());
+		assertTrue(write(msg).contains("{4:\r\n-}"));
+	}
+
+	@Test
+	public void testSerialization() throws IOException {
+		final SwiftMessage msg = parseLazy(FIN);
+		final SwiftMessage copy = SerializationUtils.clone(msg);
+		assertEquals(new SwiftParser(FIN).message(), copy);
+		assertTrue(copy.getBlock4().isParsed());
+	}
+
+	@Test
+	public void testConcurrentAccess() throws Exception {
+		final String fin = Lib.readResource("smallStatement.STA");
+		final SwiftMessage expected = new SwiftParser(fin).message();
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			for (int i = 0; i < 20; i++) {
+				final SwiftBlock4 b4 = parseLazy(fin).getBlock4();
+				final List<Future<Integer>> sizes = new ArrayList<>();
+				for (int t = 0; t < 4; t++) {
+					sizes.add(executor.submit(b4::size));
+				}
+				for (final Future<Integer> size : sizes) {
+					assertEquals(expected.getBlock4().size(), size.get().intValue());
+				}
+				assertEquals(expected.getBlock4(), b4);
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testConfiguration() throws IOException {
+		final SwiftParser parser = new SwiftParser(FIN);
+		final SwiftParserConfiguration configuration = new SwiftParserConfiguration();
+		configuration.setLazyTextBlock(true);
+		configuration.setLenient(false);
+		parser.setConfiguration(configuration);
+		final SwiftMessage msg = parser.message();
+
+		// changes in the configuration after the message is read do not affect the deferred parsing
+		configuration.setLenient(true);
+		configuration.setParseTextBlock(false);
+		assertFalse(msg.getBlock4().isParsed());
+		assertEquals(3, msg.getBlock4().size());
+		assertEquals(new SwiftParser(FIN).message(), msg);
+		assertTrue(parser.getErrors().isEmpty());
+	}
+
+	private static SwiftMessage parseLazy(final String fin) throws IOException {
+		final SwiftParser parser = new SwiftParser(fin);
+		final SwiftParserConfiguration configuration = new SwiftParserConfiguration();
+		configuration.setLazyTextBlock(true);
+		parser.setConfiguration(configuration);
+		return parser.message();
+	}
+
+	private static String write(final SwiftMessage msg) {
+		final StringWriter writer = new StringWriter();
+		SwiftWriter.writeMessage(msg, writer);
+		return writer.toString();
+	}
+
+	private static void assertSameResult(final String fin) throws IOException {
+		final SwiftMessage eager = new SwiftParser(fin).message();
+		final SwiftMessage lazy = parseLazy(fin);
+		assertFalse(lazy.getBlock4().isParsed());
+		assertEquals(eager, lazy);
+		assertEquals(eager.getBlock4().getTags(), lazy.getBlock4().getTags());
+		assertEquals(eager.getBlock4().getUnparsedTextsSize(), lazy.getBlock4().getUnparsedTextsSize());
+		assertEquals(write(eager), write(lazy));
+	}
+
+}
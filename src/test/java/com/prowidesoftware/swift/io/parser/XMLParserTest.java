@@ -15,7 +15,9 @@
  */
 package com.prowidesoftware.swift.io.parser;
 
+import com.prowidesoftware.ProwideException;
 import com.prowidesoftware.swift.io.writer.FINWriterVisitor;
+import com.prowidesoftware.swift.model.SwiftBlock2Output;
 import com.prowidesoftware.swift.model.SwiftMessage;
 import com.prowidesoftware.swift.model.mt.mt1xx.MT103;
 import com.prowidesoftware.swift.utils.SafeXmlUtils;
@@ -30,6 +32,10 @@ import javax.xml.parsers.ParserConfigurationException;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.StringReader;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.*;
 
@@ -455,5 +461,54 @@ public class XMLParserTest {
 		assertNull(m);
 	}
 
-}
+	@Test
+	public void testParseStream() throws IOException {
+		final String xml = "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>" +
+				"<message>" +
+				"<block2 type=\"output\"><messageType>199</messageType><MIRDate>190101</MIRDate></block2>" +
+				"<block4><tag><name>79</name><value>Caf\u00e9\nline2</value></tag></block4>" +
+				"<block name=\"S\"><tag><name>SAC</name><value/></tag></block>" +
+				"</message>";
+		final SwiftMessage m = new XMLParser().parse(new ByteArrayInputStream(xml.getBytes("ISO-8859-1")));
+		assertNotNull(m);
+		assertEquals("199", m.getType());
+		assertEquals("190101", ((SwiftBlock2Output) m.getBlock2()).getMIRDate());
+		assertEquals("Caf\u00e9\r\nline2", m.getBlock4().getTagValue("79"));
+		assertNotNull(m.getUserBlock("S"));
+		assertNull(m.getUserBlock("S").getTagValue("SAC"));
+	}
+
+	@Test
+	public void testParseNotSingleMessage() {
+		final XMLParser p = new XMLParser();
+		assertNull(p.parse("<messages/>"));
+		assertNull(p.parse("<messages><message/><message/></messages>"));
+		assertNull(p.parse(new StringReader("<message><block4>")));
+		assertNotNull(p.parse(new StringReader("<export><message/></export>")));
+	}
+
+	@Test
+	public void testMessages() {
+		final StringBuilder xml = new StringBuilder("<export>");
+		for (int i = 0; i < 10; i++) {
+			xml.append("<message><block1><logicalTerminal>BANKBEBBAXXX</logicalTerminal><sequenceNumber>").append(String.format("%06d", i)).append("</sequenceNumber></block1>")
+					.append("<block4><field><name>20</name><component number=\"1\">REF").append(i).append("</component></field></block4></message>");
+		}
+		xml.append("</export>");
+		try (Stream<SwiftMessage> messages = new XMLParser().messages(new StringReader(xml.toString()))) {
+			final List<SwiftMessage> list = messages.collect(Collectors.toList());
+			assertEquals(10, list.size());
+			for (int i = 0; i < 10; i++) {
+				assertEquals("REF" + i, list.get(i).getBlock4().getTagValue("20"));
+				assertEquals(String.format("%06d", i), list.get(i).getBlock1().getSequenceNumber());
+			}
+		}
+		assertEquals(0, new XMLParser().messages(new StringReader("<export/>")).count());
+	}
 
+	@Test(expected = ProwideException.class)
+	public void testMessagesMalformed() {
+		new XMLParser().messages(new StringReader("<export><message/><message>")).count();
+	}
+
+}
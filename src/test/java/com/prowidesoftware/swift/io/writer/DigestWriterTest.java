@@ -0,0 +1,89 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io.writer;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test for {@link DigestWriter}
+ *
+ * @since 8.0.2
+ */
+public class DigestWriterTest {
+
+	@Test
+	public void testSameAsStringBytes() throws Exception {
+		assertDigest("");
+		assertDigest(":20:REFERENCE\r\n");
+		assertDigest("ÑANDÚ € é中");
+		// supplementary character, unpaired high and low surrogates
+		assertDigest("a😀b");
+		assertDigest("a\uD83Db");
+		assertDigest("a\uDE00b");
+		assertDigest("a\uD83D");
+		// longer than the internal buffer
+		assertDigest(StringUtils.repeat("abc€", 1000));
+	}
+
+	@Test
+	public void testSection() throws Exception {
+		final DigestWriter writer = new DigestWriter(MessageDigest.getInstance("MD5"), MessageDigest.getInstance("MD5"));
+		assertNull(writer.sectionDigest());
+		writer.write("{1:F01}");
+		writer.startSection();
+		writer.write("{4:\r\n:20:REF\r\n-}");
+		writer.endSection();
+		writer.write("{5:}");
+		assertArrayEquals(md5("{1:F01}{4:\r\n:20:REF\r\n-}{5:}"), writer.digest());
+		assertArrayEquals(md5("{4:\r\n:20:REF\r\n-}"), writer.sectionDigest());
+		assertNull(writer.sectionDigest());
+	}
+
+	@Test
+	public void testNoSectionDigest() throws Exception {
+		final DigestWriter writer = new DigestWriter(MessageDigest.getInstance("MD5"));
+		writer.startSection();
+		writer.write("abc");
+		writer.endSection();
+		assertArrayEquals(md5("abc"), writer.digest());
+		assertNull(writer.sectionDigest());
+	}
+
+	private static void assertDigest(final String text) throws Exception {
+		final DigestWriter writer = new DigestWriter(MessageDigest.getInstance("MD5"));
+		writer.write(text);
+		assertArrayEquals(text, md5(text), writer.digest());
+
+		// char by char
+		final DigestWriter writer2 = new DigestWriter(MessageDigest.getInstance("MD5"));
+		for (char c : text.toCharArray()) {
+			writer2.write(c);
+		}
+		assertArrayEquals(text, md5(text), writer2.digest());
+	}
+
+	private static byte[] md5(final String text) throws NoSuchAlgorithmException {
+		return MessageDigest.getInstance("MD5").digest(text.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.model;
+
+import com.prowidesoftware.swift.io.parser.MxParser;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test for {@link MxPath} and {@link MxPathSet}
+ *
+ * @since 8.0.2
+ */
+public class MxPathTest {
+
+	private static final MxNode TREE = new MxParser("<Doc:Document xmlns:Doc=\"urn:iso:std:iso:20022:tech:xsd:pacs.008.001.02\">" +
+			"<Doc:FIToFICstmrCdtTrf>" +
+			"<Doc:GrpHdr><Doc:MsgId>MSG1</Doc:MsgId><Doc:NbOfTxs>3</Doc:NbOfTxs></Doc:GrpHdr>" +
+			"<Doc:CdtTrfTxInf><Doc:PmtId><Doc:EndToEndId>E1</Doc:EndToEndId></Doc:PmtId><Doc:Amt>10</Doc:Amt></Doc:CdtTrfTxInf>" +
+			"<Doc:CdtTrfTxInf><Doc:PmtId><Doc:EndToEndId>E2</Doc:EndToEndId></Doc:PmtId><Doc:Amt>20</Doc:Amt></Doc:CdtTrfTxInf>" +
+			"<Doc:SplmtryData/>" +
+			"<Doc:CdtTrfTxInf><Doc:PmtId><Doc:EndToEndId>E3</Doc:EndToEndId></Doc:PmtId><Doc:Amt>30</Doc:Amt></Doc:CdtTrfTxInf>" +
+			"</Doc:FIToFICstmrCdtTrf>" +
+			"</Doc:Document>").parse();
+
+	@Test
+	public void testCompile() {
+		final MxPath path = MxPath.compile("/Document/FIToFICstmrCdtTrf/CdtTrfTxInf[2]/Amt");
+		assertTrue(path.isAbsolute());
+		assertEquals(4, path.size());
+		assertEquals("CdtTrfTxInf", path.getName(2));
+		assertEquals(2, path.getPosition(2));
+		assertEquals(MxPath.ANY, path.getPosition(3));
+		assertEquals("/Document/FIToFICstmrCdtTrf/CdtTrfTxInf[2]/Amt", path.toString());
+
+		final MxPath relative = MxPath.compile("./GrpHdr/MsgId[@foo='bar']");
+		assertFalse(relative.isAbsolute());
+		assertEquals("MsgId", relative.getName(2));
+		assertEquals(MxPath.ANY, relative.getPosition(2));
+	}
+
+	@Test
+	public void testFind() {
+		final List<MxNode> amounts = MxPath.compile("/Document/FIToFICstmrCdtTrf/CdtTrfTxInf/Amt").find(TREE);
+		assertEquals(3, amounts.size());
+		assertEquals("10", amounts.get(0).getValue());
+		assertEquals("30", amounts.get(2).getValue());
+
+		assertEquals("20", MxPath.compile("/Document/FIToFICstmrCdtTrf/CdtTrfTxInf[2]/Amt").findValue(TREE));
+		assertEquals("30", MxPath.compile("/Document/FIToFICstmrCdtTrf/CdtTrfTxInf[3]/Amt").findValue(TREE));
+		assertNull(MxPath.compile("/Document/FIToFICstmrCdtTrf/CdtTrfTxInf[4]/Amt").findValue(TREE));
+		assertEquals(1, MxPath.compile("/Document/FIToFICstmrCdtTrf/CdtTrfTxInf[1]/Amt").find(TREE).size());
+
+		// case insensitive and any name
+		assertEquals("MSG1", MxPath.compile("/document/fitoficstmrcdttrf/grphdr/msgid").findValue(TREE));
+		assertEquals(2, MxPath.compile("/Document/FIToFICstmrCdtTrf/GrpHdr/.").find(TREE).size());
+		assertEquals("E2", MxPath.compile("/Document/FIToFICstmrCdtTrf/.[3]/PmtId/EndToEndId").findValue(TREE));
+	}
+
+	@Test
+	public void testFindRelative() {
+		final MxNode tx = TREE.find("/Document/FIToFICstmrCdtTrf/CdtTrfTxInf").get(1);
+		assertEquals("E2", MxPath.compile("./PmtId/EndToEndId").findValue(tx));
+		assertEquals("E2", MxPath.compile("CdtTrfTxInf/PmtId/EndToEndId").findValue(tx));
+		assertNull(MxPath.compile("Foo/PmtId/EndToEndId").findValue(tx));
+		// absolute paths are evaluated from the root
+		assertEquals("MSG1", MxPath.compile("/Document/FIToFICstmrCdtTrf/GrpHdr/MsgId").findValue(tx));
+	}
+
+	@Test
+	public void testFindNotFound() {
+		assertTrue(MxPath.compile("").find(TREE).isEmpty());
+		assertTrue(MxPath.compile("/Foo").find(TREE).isEmpty());
+		assertNull(MxPath.compile("/Document/Foo").findFirst(TREE));
+		assertNull(MxPath.compile("/Document").findFirst(null));
+	}
+
+	@Test
+	public void testNodeFindWithPredicate() {
+		assertEquals("E3", TREE.findFirst("/Document/FIToFICstmrCdtTrf/CdtTrfTxInf[3]/PmtId/EndToEndId").getValue());
+		assertEquals(1, TREE.find("/Document/FIToFICstmrCdtTrf/CdtTrfTxInf[2]").size());
+	}
+
+	@Test
+	public void testPathSet() {
+		final MxPathSet set = MxPathSet.compile(
+				"/Document/FIToFICstmrCdtTrf/GrpHdr/MsgId",
+				"/Document/FIToFICstmrCdtTrf/GrpHdr/NbOfTxs",
+				"/Document/FIToFICstmrCdtTrf/CdtTrfTxInf/Amt",
+				"/Document/FIToFICstmrCdtTrf/CdtTrfTxInf[2]/PmtId/EndToEndId",
+				"/Document/FIToFICstmrCdtTrf/CdtTrfTxInf",
+				"/Document/Foo",
+				"./GrpHdr/MsgId");
+
+		final Map<String, List<MxNode>> found = set.find(TREE);
+		assertEquals(7, found.size());
+		assertEquals(3, found.get("/Document/FIToFICstmrCdtTrf/CdtTrfTxInf/Amt").size());
+		assertEquals(3, found.get("/Document/FIToFICstmrCdtTrf/CdtTrfTxInf").size());
+		assertTrue(found.get("/Document/Foo").isEmpty());
+
+		final Map<String, String> values = set.findValues(TREE);
+		assertEquals("MSG1", values.get("/Document/FIToFICstmrCdtTrf/GrpHdr/MsgId"));
+		assertEquals("3", values.get("/Document/FIToFICstmrCdtTrf/GrpHdr/NbOfTxs"));
+		assertEquals("10", values.get("/Document/FIToFICstmrCdtTrf/CdtTrfTxInf/Amt"));
+		assertEquals("E2", values.get("/Document/FIToFICstmrCdtTrf/CdtTrfTxInf[2]/PmtId/EndToEndId"));
+		assertNull(values.get("/Document/Foo"));
+		assertNull(values.get("./GrpHdr/MsgId"));
+
+		// relative paths from a given node
+		assertEquals("MSG1", set.findValues(TREE.findFirst("/Document/FIToFICstmrCdtTrf")).get("./GrpHdr/MsgId"));
+	}
+
+	@Test
+	public void testPathSetSameAsPath() {
+		final String[] paths = {
+				"/Document/FIToFICstmrCdtTrf/CdtTrfTxInf[3]/Amt",
+				"/Document/FIToFICstmrCdtTrf/./PmtId/EndToEndId",
+				"/Document/FIToFICstmrCdtTrf/.[2]",
+				"/Document/FIToFICstmrCdtTrf/CdtTrfTxInf/PmtId/EndToEndId"
+		};
+		final Map<String, List<MxNode>> found = MxPathSet.compile(paths).find(TREE);
+		for (final String p : paths) {
+			assertEquals(p, MxPath.compile(p).find(TREE), found.get(p));
+		}
+	}
+
+}
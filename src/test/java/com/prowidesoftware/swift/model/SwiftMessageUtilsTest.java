@@ -21,12 +21,18 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
+import java.io.StringWriter;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.junit.Test;
 
+import com.prowidesoftware.swift.io.writer.SwiftWriter;
 import com.prowidesoftware.swift.model.field.Field13A;
 import com.prowidesoftware.swift.model.field.Field13B;
 import com.prowidesoftware.swift.model.field.Field13C;
@@ -261,4 +267,51 @@ public class SwiftMessageUtilsTest {
 		assertNull(money);
 	}
 
+	@Test
+	public void testChecksum() throws IOException {
+		final SwiftMessage m = SwiftMessage.parse("{1:F01BNPAFRPPZXXX0000000002}{2:I103BNPAFRPPXXXXN}{3:{108:REF1}}{4:\n" +
+			":20:REF\n" +
+			":70:ÑANDÚ €\n" +
+			"-}{5:{CHK:ABCDEF123456}}");
+		final StringWriter writer = new StringWriter();
+		SwiftWriter.writeMessage(m, writer, true);
+		assertEquals(md5(writer.toString()), SwiftMessageUtils.calculateChecksum(m));
+		assertEquals(md5(SwiftWriter.writeBlock4(m.getBlock4())), SwiftMessageUtils.calculateChecksum(m.getBlock4()));
+		assertNull(SwiftMessageUtils.calculateChecksum((SwiftMessage) null));
+		assertNull(SwiftMessageUtils.calculateChecksum((SwiftBlock4) null));
+
+		for (ChecksumAlgorithm algorithm : ChecksumAlgorithm.values()) {
+			for (ChecksumEncoding encoding : ChecksumEncoding.values()) {
+				final Pair<String, String> checksums = SwiftMessageUtils.calculateChecksums(m, algorithm, encoding);
+				assertEquals(SwiftMessageUtils.calculateChecksum(m, algorithm, encoding), checksums.getLeft());
+				assertEquals(SwiftMessageUtils.calculateChecksum(m.getBlock4(), algorithm, encoding), checksums.getRight());
+			}
+		}
+		assertEquals(44, SwiftMessageUtils.calculateChecksum(m, ChecksumAlgorithm.SHA256, ChecksumEncoding.BASE64).length());
+		assertEquals(16, SwiftMessageUtils.calculateChecksum(m, ChecksumAlgorithm.FNV1A64, ChecksumEncoding.HEX).length());
+	}
+
+	@Test
+	public void testChecksumsTagBlockSyntax() throws IOException {
+		// service message 21 block 4 is written with the tag block syntax
+		final SwiftMessage m = SwiftMessage.parse("{1:F21BNPAFRPPZXXX0000000002}{4:{177:1702090741}{451:0}}");
+		final Pair<String, String> checksums = SwiftMessageUtils.calculateChecksums(m, ChecksumAlgorithm.MD5, ChecksumEncoding.HEX);
+		assertEquals(SwiftMessageUtils.calculateChecksum(m), checksums.getLeft());
+		assertEquals(SwiftMessageUtils.calculateChecksum(m.getBlock4()), checksums.getRight());
+
+		// no block 4
+		final SwiftMessage empty = new SwiftMessage(true);
+		final Pair<String, String> emptyChecksums = SwiftMessageUtils.calculateChecksums(empty, ChecksumAlgorithm.MD5, ChecksumEncoding.HEX);
+		assertEquals(SwiftMessageUtils.calculateChecksum(empty), emptyChecksums.getLeft());
+		assertEquals(SwiftMessageUtils.calculateChecksum(empty.getBlock4()), emptyChecksums.getRight());
+	}
+
+	private static String md5(final String text) throws IOException {
+		try {
+			return ChecksumEncoding.HEX.encode(MessageDigest.getInstance("MD5").digest(text.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IOException(e);
+		}
+	}
+
 }
@@ -1770,4 +1770,177 @@ public class SwiftTagListBlockTest {
 		assertEquals("95P", list2.get(1).getTag(2).getName());
 	}
 	
-}
\ No newline at end of file
+	@Test
+	public void testIndexed() {
+		b.append(new Tag("16R", "GENL"));
+		b.append(new Tag("20C", ":SEME//REF"));
+		b.append(new Tag("98A", ":PREP//20190101"));
+		b.append(new Tag("16S", "GENL"));
+		b.append(new Tag("16R", "TRADDET"));
+		b.append(new Tag("98A", ":TRAD//20190102"));
+		b.append(new Tag("98C", ":SETT//20190103120000"));
+		b.append(new Tag("16S", "TRADDET"));
+		final SwiftTagListBlock indexed = new SwiftTagListBlock(b.getTags()).setIndexed(true);
+		assertTrue(indexed.isIndexed());
+		assertIndexedLookups(indexed);
+
+		// changes through the block API discard the index
+		indexed.append(new Tag("70E", "foo"));
+		assertIndexedLookups(indexed);
+		indexed.setTag(0, new Tag("16R", "FOO"));
+		assertEquals("FOO", indexed.getTagValue("16R"));
+		indexed.addTag(1, new Tag("98A", ":PREP//20190105"));
+		assertEquals(1, indexed.indexOfFirst("98A"));
+		indexed.removeTag("98A");
+		assertIndexedLookups(indexed);
+		indexed.removeAll("98A");
+		assertFalse(indexed.containsTag("98A"));
+		assertIndexedLookups(indexed);
+
+		// size changes done directly in the tags list are detected
+		indexed.getTags().add(new Tag("98B", ":FOO//BAR"));
+		assertEquals(":FOO//BAR", indexed.getTagValue("98B"));
+		indexed.clear();
+		assertNull(indexed.getTagByName("16R"));
+		assertEquals(0, indexed.countByName("16R"));
+	}
+
+	@Test
+	public void testSequenceIndex() {
+		final SwiftTagListBlock b = new SwiftTagListBlock();
+		b.append(new Tag("16R", "GENL"));
+		b.append(new Tag("20C", ":SEME//REF"));
+		b.append(new Tag("16R", "LINK"));
+		b.append(new Tag("20C", ":PREV//REF1"));
+		b.append(new Tag("16S", "LINK"));
+		b.append(new Tag("16R", "LINK"));
+		b.append(new Tag("16R", "LINK"));
+		b.append(new Tag("20C", ":PREV//REF2"));
+		b.append(new Tag("16S", "LINK\r"));
+		b.append(new Tag("16S", "GENL"));
+		b.append(new Tag("16S", "FIAC"));
+		b.append(new Tag("16R", "FIAC"));
+		b.append(new Tag("36B", ":SETT//UNIT/1,"));
+		assertSequenceLookups(b);
+
+		// changes through the block API discard the index
+		b.append(new Tag("16S", "FIAC"));
+		assertSequenceLookups(b);
+		b.setTag(2, new Tag("16R", "FOO"));
+		assertSequenceLookups(b);
+
+		// changes done directly in the tags list or in the boundary tags are detected
+		b.getTags().set(4, new Tag("16S", "FOO"));
+		assertSequenceLookups(b);
+		b.getTags().remove(0);
+		assertSequenceLookups(b);
+		b.getTag(1).setValue("LINK");
+		assertSequenceLookups(b);
+		b.getTag(1).setName("16S");
+		assertSequenceLookups(b);
+		final Tag sorted = new Tag("16R", "SORT");
+		sorted.setSortKey(1);
+		b.getTags().add(0, sorted);
+		assertSequenceLookups(b);
+
+		assertTrue(new SwiftTagListBlock().getSubBlocks("GENL").isEmpty());
+		assertTrue(new SwiftTagListBlock().getSubBlock("GENL").isEmpty());
+	}
+
+	@Test
+	public void testSubBlocksDelimitedWithOptionalTailCache() {
+		final String[] start = {"21"};
+		final String[] end = {"32B"};
+		final String[] tail = {"50A", "50K"};
+		final SwiftTagListBlock b = new SwiftTagListBlock();
+		b.append(new Tag("20", "REF"));
+		b.append(new Tag("21", "T1"));
+		b.append(new Tag("32B", "USD1,"));
+		b.append(new Tag("50K", "ME"));
+		b.append(new Tag("21", "T2"));
+		b.append(new Tag("32B", "USD2,"));
+		assertEquals(2, b.getSubBlocksDelimitedWithOptionalTail(start, end, tail).size());
+		assertEquals(3, b.getSubBlocksDelimitedWithOptionalTail(start, end, tail).get(0).size());
+		assertEquals("T1", b.getSubBlockDelimitedWithOptionalTail(start, end, tail).getTagValue("21"));
+
+		// a changed tag name is detected
+		b.getTag(1).setName("22");
+		final List<SwiftTagListBlock> result = b.getSubBlocksDelimitedWithOptionalTail(start, end, tail);
+		assertEquals(1, result.size());
+		assertEquals("T2", result.get(0).getTagValue("21"));
+		assertEquals("T2", b.getSubBlockDelimitedWithOptionalTail(start, end, tail).getTagValue("21"));
+
+		// the returned blocks are independent copies
+		result.get(0).append(new Tag("72", "foo"));
+		assertFalse(b.containsTag("72"));
+		assertEquals(2, b.getSubBlocksDelimitedWithOptionalTail(start, end, tail).get(0).size());
+	}
+
+	@Test
+	public void testSequenceIndexEnabled() {
+		final SwiftTagListBlock b = new SwiftTagListBlock().setIndexed(true);
+		b.append(new Tag("16R", "GENL"));
+		b.append(new Tag("16R", "LINK"));
+		b.append(new Tag("20C", ":PREV//REF1"));
+		b.append(new Tag("16S", "LINK"));
+		b.append(new Tag("16R", "LINK"));
+		b.append(new Tag("20C", ":PREV//REF2"));
+		b.append(new Tag("16S", "LINK\r"));
+		b.append(new Tag("16S", "GENL"));
+		b.append(new Tag("16R", "FIAC"));
+		assertSequenceLookups(b);
+
+		// changes through the block API and size changes in the tags list discard the index
+		b.append(new Tag("16S", "FIAC"));
+		assertSequenceLookups(b);
+		b.setTag(1, new Tag("16R", "FOO"));
+		assertSequenceLookups(b);
+		b.getTags().remove(0);
+		assertSequenceLookups(b);
+
+		// in place changes keeping the size require the index to be discarded
+		b.getTag(2).setName("16S");
+		b.getTags().set(0, new Tag("16R", "LINK"));
+		b.setIndexed(true);
+		assertSequenceLookups(b);
+
+		final String[] start = {"16R"};
+		final String[] end = {"16S"};
+		final String[] tail = {"20C"};
+		final SwiftTagListBlock plain = new SwiftTagListBlock(b.getTags());
+		assertEquals(plain.getSubBlocksDelimitedWithOptionalTail(start, end, tail), b.getSubBlocksDelimitedWithOptionalTail(start, end, tail));
+		assertEquals(plain.getSubBlockDelimitedWithOptionalTail(start, end, tail), b.getSubBlockDelimitedWithOptionalTail(start, end, tail));
+	}
+
+	private void assertSequenceLookups(final SwiftTagListBlock b) {
+		for (String name : new String[]{"GENL", "LINK", "FIAC", "FOO", "SORT", "NONE"}) {
+			final Tag start = new Tag("16R", name);
+			final Tag end = new Tag("16S", name);
+			assertEquals(name, b.getSubBlocks(start, end), b.getSubBlocks(name));
+			assertEquals(name, b.getSubBlock(start, end), b.getSubBlock(name));
+		}
+		// the returned blocks are independent copies
+		final SwiftTagListBlock genl = b.getSubBlock("GENL");
+		genl.append(new Tag("72", "foo"));
+		assertFalse(b.containsTag("72"));
+	}
+
+	private void assertIndexedLookups(final SwiftTagListBlock indexed) {
+		final SwiftTagListBlock plain = new SwiftTagListBlock(indexed.getTags());
+		for (String name : new String[]{"16R", "16S", "20C", "98A", "98C", "70E", "99Z"}) {
+			assertSame(plain.getTagByName(name), indexed.getTagByName(name));
+			assertArrayEquals(plain.getTagsByName(name), indexed.getTagsByName(name));
+			assertEquals(plain.containsTag(name), indexed.containsTag(name));
+			assertEquals(plain.getTagValue(name), indexed.getTagValue(name));
+			assertEquals(plain.countByName(name), indexed.countByName(name));
+			assertEquals(plain.indexOfFirst(name), indexed.indexOfFirst(name));
+			assertEquals(plain.indexOfLast(name), indexed.indexOfLast(name));
+		}
+		for (int number : new int[]{16, 20, 98, 70, 99}) {
+			assertSame(plain.getTagByNumber(number), indexed.getTagByNumber(number));
+			assertEquals(plain.getTagsByNumber(number), indexed.getTagsByNumber(number));
+			assertEquals(plain.containsTag(number), indexed.containsTag(number));
+		}
+	}
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.model.field;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test for {@link FieldFactory}
+ *
+ * @since 8.0.2
+ */
+public class FieldFactoryTest {
+
+	@After
+	public void tearDown() {
+		FieldFactory.unregister("99Y");
+		FieldFactory.unregister("20");
+	}
+
+	@Test
+	public void testCreate() {
+		Field f = FieldFactory.create("32A", "181127USD123,45");
+		assertTrue(f instanceof Field32A);
+		assertEquals("USD", ((Field32A) f).getCurrency());
+
+		// second call is served from the registry
+		f = FieldFactory.create("32A", "181128EUR1,");
+		assertEquals("EUR", ((Field32A) f).getCurrency());
+
+		f = FieldFactory.create("20", null);
+		assertTrue(f instanceof Field20);
+		assertNull(f.getComponent(1));
+	}
+
+	@Test
+	public void testUnknown() {
+		assertNull(FieldFactory.create("99Z", "foo"));
+		assertNull(FieldFactory.create("99Z", "foo"));
+		assertFalse(FieldFactory.isKnown("99Z"));
+		assertFalse(FieldFactory.isKnown(null));
+		assertNull(FieldFactory.create(null, "foo"));
+		assertNull(FieldFactory.constructor("99Z"));
+		assertTrue(FieldFactory.isKnown("32A"));
+		assertNotNull(FieldFactory.constructor("32A"));
+	}
+
+	@Test
+	public void testUnknownCacheFull() {
+		final Logger logger = Logger.getLogger(FieldFactory.class.getName());
+		final AtomicInteger warnings = new AtomicInteger();
+		final Handler handler = new Handler() {
+			@Override
+			public void publish(final LogRecord record) {
+				warnings.incrementAndGet();
+			}
+
+			@Override
+			public void flush() {
+			}
+
+			@Override
+			public void close() {
+			}
+		};
+		final boolean useParentHandlers = logger.getUseParentHandlers();
+		logger.setUseParentHandlers(false);
+		logger.addHandler(handler);
+		try {
+			for (int i = 0; i < 2000; i++) {
+				assertFalse(FieldFactory.isKnown("UNKNOWN" + i));
+			}
+			assertEquals(2000, warnings.get());
+
+			// the last names are still cached once the cache is full, and they are not resolved nor reported again
+			assertFalse(FieldFactory.isKnown("UNKNOWN1999"));
+			assertEquals(2000, warnings.get());
+			assertTrue(FieldFactory.isKnown("32A"));
+		} finally {
+			logger.removeHandler(handler);
+			logger.setUseParentHandlers(useParentHandlers);
+		}
+	}
+
+	@Test
+	public void testFromJson() {
+		final Field f = FieldFactory.fromJson("20", new Field20("REF").toJson());
+		assertTrue(f instanceof Field20);
+		assertEquals("REF", f.getValue());
+		assertNull(FieldFactory.fromJson("99Z", "{\"name\":\"99Z\"}"));
+	}
+
+	@Test
+	public void testRegister() {
+		FieldFactory.register("99Y", Field20::new);
+		final Field f = Field.getField("99Y", "REF");
+		assertTrue(f instanceof Field20);
+		assertEquals("REF", f.getValue());
+
+		FieldFactory.unregister("99Y");
+		assertFalse(FieldFactory.isKnown("99Y"));
+		assertNull(Field.getField("99Y", "REF"));
+	}
+
+	@Test
+	public void testUnregisterRestoresDefault() {
+		FieldFactory.register("20", value -> new Field20("CUSTOM"));
+		assertEquals("CUSTOM", FieldFactory.create("20", "REF").getValue());
+		FieldFactory.unregister("20");
+		assertEquals("REF", FieldFactory.create("20", "REF").getValue());
+	}
+
+}
@@ -21,11 +21,13 @@ import com.prowidesoftware.swift.model.SwiftTagListBlock;
 import com.prowidesoftware.swift.model.Tag;
 import com.prowidesoftware.swift.model.field.Field32A;
 import com.prowidesoftware.swift.model.field.Field35B;
+import com.prowidesoftware.swift.model.mt.mt1xx.MT101;
 import com.prowidesoftware.swift.model.mt.mt1xx.MT102;
 import com.prowidesoftware.swift.model.mt.mt1xx.MT103;
 import com.prowidesoftware.swift.model.mt.mt1xx.MT103_STP;
 import com.prowidesoftware.swift.model.mt.mt2xx.MT202;
 import com.prowidesoftware.swift.model.mt.mt2xx.MT202COV;
+import com.prowidesoftware.swift.model.mt.mt5xx.MT540;
 import com.prowidesoftware.swift.model.mt.mt5xx.MT547;
 import com.prowidesoftware.swift.model.mt.mt5xx.MT549;
 import com.prowidesoftware.swift.model.mt.mt9xx.MT940;
@@ -283,4 +285,47 @@ public class AbstractMTTest {
 				"-}{5:{CHK:3916EF336FF7}}");
 		assertEquals(ServiceIdType._01, mt.getSwiftMessage().getBlock1().getServiceIdType());
 	}
+
+	@Test
+	public void testSequenceByName() {
+		final MT540 mt = new MT540();
+		mt.append(new Tag("16R", "GENL"));
+		mt.append(new Tag("20C", ":SEME//REF"));
+		mt.append(new Tag("16R", "LINK"));
+		mt.append(new Tag("20C", ":PREV//REF1"));
+		mt.append(new Tag("16S", "LINK"));
+		mt.append(new Tag("16R", "LINK"));
+		mt.append(new Tag("20C", ":PREV//REF2"));
+		mt.append(new Tag("16S", "LINK"));
+		mt.append(new Tag("16S", "GENL"));
+
+		assertTrue(mt.containsSequence("A"));
+		assertFalse(mt.containsSequence("A1"));
+		assertFalse(mt.containsSequence("Z"));
+		assertTrue(mt.containsSequenceList("A1"));
+		assertFalse(mt.containsSequenceList("A"));
+
+		assertEquals(mt.getSequenceA(), mt.getSequence("A"));
+		assertEquals(9, mt.getSequence("A").size());
+		assertNull(mt.getSequence("Z"));
+		assertEquals(2, mt.getSequenceList("A1").size());
+		assertNull(mt.getSequenceList("Z"));
+
+		// static accessors receiving the parent sequence
+		final SwiftTagListBlock link = mt.getSequenceList("A1", mt.getSequence("A")).get(1);
+		assertEquals(":PREV//REF2", link.getTagValue("20C"));
+		assertEquals(0, mt.getSequence("B", mt.getSequence("A")).size());
+
+		// instance accessors receiving the parent sequence
+		final MT101 mt101 = new MT101();
+		mt101.append(new Tag("20", "REF"));
+		mt101.append(new Tag("28D", "1/1"));
+		mt101.append(new Tag("30", "190101"));
+		mt101.append(new Tag("21", "T1"));
+		mt101.append(new Tag("32B", "USD1,"));
+		mt101.append(new Tag("59", "FOO"));
+		mt101.append(new Tag("71A", "OUR"));
+		assertEquals("REF", mt101.getSequence("A", mt101.getSwiftMessage().getBlock4()).getTagValue("20"));
+		assertEquals(1, mt101.getSequenceList("B").size());
+	}
 }
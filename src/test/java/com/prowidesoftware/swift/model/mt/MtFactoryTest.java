@@ -0,0 +1,91 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.model.mt;
+
+import com.prowidesoftware.swift.model.SwiftMessage;
+import com.prowidesoftware.swift.model.SwiftTagListBlock;
+import com.prowidesoftware.swift.model.field.Field13A;
+import com.prowidesoftware.swift.model.field.Field20;
+import com.prowidesoftware.swift.model.mt.mt1xx.MT103;
+import com.prowidesoftware.swift.model.mt.mt1xx.MT103_REMIT;
+import com.prowidesoftware.swift.model.mt.mt1xx.MT103_STP;
+import com.prowidesoftware.swift.model.mt.mt2xx.MT202COV;
+import com.prowidesoftware.swift.model.mt.mt5xx.MT535;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test for {@link MtFactory}
+ *
+ * @since 8.0.2
+ */
+public class MtFactoryTest {
+
+	@Test
+	public void testCreate() {
+		final SwiftMessage m = new SwiftMessage(true);
+		assertTrue(MtFactory.create(m, "103", null) instanceof MT103);
+		assertTrue(MtFactory.create(m, "103", MTVariant.STP) instanceof MT103_STP);
+		assertTrue(MtFactory.create(m, "103", MTVariant.REMIT) instanceof MT103_REMIT);
+		assertTrue(MtFactory.create(m, "202", MTVariant.COV) instanceof MT202COV);
+
+		// second call is served from the table
+		final AbstractMT mt = MtFactory.create(m, "103", null);
+		assertTrue(mt instanceof MT103);
+		assertSame(m, mt.getSwiftMessage());
+	}
+
+	@Test
+	public void testUnknown() {
+		assertNull(MtFactory.create(new SwiftMessage(true), "999", MTVariant.STP));
+		assertNull(MtFactory.constructor("999", MTVariant.STP));
+		assertNull(MtFactory.constructor("", null));
+		assertNull(MtFactory.constructor(null, null));
+		assertNotNull(MtFactory.constructor("103", MTVariant.STP));
+	}
+
+	@Test
+	public void testToMT() {
+		AbstractMT mt = new MT103_STP().getSwiftMessage().toMT();
+		assertTrue(mt instanceof MT103_STP);
+		mt = new MT202COV().getSwiftMessage().toMT();
+		assertTrue(mt instanceof MT202COV);
+		assertTrue(AbstractMT.create(535) instanceof MT535);
+	}
+
+	@Test
+	public void testRegister() {
+		MtFactory.register("998", null, m -> new MT103(m));
+		assertTrue(MtFactory.create(new SwiftMessage(true), "998", null) instanceof MT103);
+	}
+
+	@Test
+	public void testCreateSequence() {
+		SwiftTagListBlock b = MtFactory.createSequence(MT535.class, "B1b", Field13A.emptyTag());
+		assertTrue(b instanceof MT535.SequenceB1b);
+		assertEquals(3, b.size());
+
+		b = MtFactory.createSequence(MT535.class, "B1b", new Field20("REF").asTag());
+		assertTrue(b instanceof MT535.SequenceB1b);
+		assertEquals("REF", b.getTagValue(Field20.NAME));
+
+		assertNull(MtFactory.createSequence(MT535.class, "Z"));
+		assertNull(MtFactory.createSequence(MT535.class, "Z"));
+		assertNull(MtFactory.createSequence(MT535.class, null));
+	}
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.model.mx;
+
+import com.prowidesoftware.swift.model.mx.dic.ApplicationHeader;
+import com.prowidesoftware.swift.model.mx.dic.BusinessApplicationHeaderV01;
+import com.prowidesoftware.swift.utils.SafeXmlUtils;
+import org.junit.After;
+import org.junit.Test;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.stream.StreamResult;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test for {@link JaxbContextCache}
+ *
+ * @since 8.0.2
+ */
+public class JaxbContextCacheTest {
+
+	@After
+	public void tearDown() {
+		JaxbContextCache.setMaxSize(JaxbContextCache.DEFAULT_MAX_SIZE);
+	}
+
+	@Test
+	public void testContextIsReused() throws JAXBException {
+		final JAXBContext c1 = JaxbContextCache.get(MockMsg.class);
+		assertSame(c1, JaxbContextCache.get(new Class[]{MockMsg.class}));
+		assertNotSame(c1, JaxbContextCache.get(ApplicationHeader.class));
+	}
+
+	@Test
+	public void testEviction() throws JAXBException {
+		JaxbContextCache.clear();
+		JaxbContextCache.setMaxSize(2);
+		final JAXBContext c1 = JaxbContextCache.get(MockMsg.class);
+		JaxbContextCache.get(ApplicationHeader.class);
+		JaxbContextCache.get(BusinessApplicationHeaderV01.class);
+		assertEquals(2, JaxbContextCache.size());
+		assertNotSame(c1, JaxbContextCache.get(MockMsg.class));
+	}
+
+	@Test
+	public void testMarshallerNotShared() throws Exception {
+		final Marshaller m1 = JaxbContextCache.marshaller(MockMsg.class);
+		m1.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
+		final Marshaller m2 = JaxbContextCache.marshaller(MockMsg.class);
+		assertNotSame(m1, m2);
+		assertEquals(Boolean.FALSE, m2.getProperty(Marshaller.JAXB_FORMATTED_OUTPUT));
+		assertNotSame(JaxbContextCache.unmarshaller(MockMsg.class), JaxbContextCache.unmarshaller(MockMsg.class));
+	}
+
+	@Test
+	public void testPooledMarshal() throws Exception {
+		final MockMsg msg = new MockMsg();
+		msg.setContent("foo");
+		final StringWriter formatted = new StringWriter();
+		JaxbContextCache.marshal(msg, new StreamResult(formatted), true, MockMsg.class);
+		final StringWriter plain = new StringWriter();
+		JaxbContextCache.marshal(msg, new StreamResult(plain), false, MockMsg.class);
+		assertTrue(formatted.toString().contains("\n"));
+		assertFalse(plain.toString().contains("\n"));
+
+		final XMLStreamReader reader = SafeXmlUtils.sharedInputFactory().createXMLStreamReader(new StringReader(plain.toString()));
+		reader.nextTag();
+		assertEquals("foo", JaxbContextCache.unmarshal(reader, MockMsg.class, MockMsg.class).getValue().getContent());
+	}
+
+}
@@ -1,5 +1,6 @@
 package com.prowidesoftware.swift.model.mx;
 
+import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
 
 @XmlRootElement
@@ -37,6 +38,7 @@ final class MockMsg extends AbstractMX {
         return 0;
     }
 
+    @XmlElement(namespace = "foo:namespace")
     public String getContent() {
         return content;
     }
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.model.mx;
+
+import com.prowidesoftware.swift.MxReadCoreV1;
+import com.prowidesoftware.swift.MxWriteCoreV1;
+import com.prowidesoftware.swift.model.MxId;
+import com.prowidesoftware.swift.model.mx.dic.ApplicationHeader;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test for {@link MxWriteCoreV1} and {@link MxReadCoreV1}
+ *
+ * @since 8.0.2
+ */
+public class MxCoreV1Test {
+
+	private final MxWriteCoreV1 writer = new MxWriteCoreV1();
+	private final MxReadCoreV1 reader = new MxReadCoreV1();
+
+	@Test
+	public void testWrite() throws Exception {
+		final MockMsg m = new MockMsg();
+		m.setContent("Hello World!");
+		final String xml = writer.message(m.getNamespace(), m, m.getClasses(), "Doc", true);
+		assertNotNull(xml);
+		assertTrue(xml.startsWith("<?xml"));
+		assertTrue(xml.contains("<Doc:Document xmlns:Doc=\"foo:namespace\""));
+		assertTrue(xml.contains("Hello World!"));
+		assertTrue(xml.contains("</Doc:Document>"));
+
+		final StringWriter sw = new StringWriter();
+		writer.write(sw, m.getNamespace(), m, null, "Doc", true);
+		assertEquals(xml, sw.toString());
+	}
+
+	@Test
+	public void testRoundTrip() {
+		final MockMsg m = new MockMsg();
+		m.setContent("Hello World!");
+		final String xml = writer.message(m.getNamespace(), m, m.getClasses(), null, false);
+
+		MockMsg parsed = (MockMsg) reader.read(MockMsg.class, xml, m.getClasses());
+		assertNotNull(parsed);
+		assertEquals("Hello World!", parsed.getContent());
+		assertNull(parsed.getBusinessHeader());
+
+		parsed = (MockMsg) reader.read(MockMsg.class, new StringReader(xml), null);
+		assertEquals("Hello World!", parsed.getContent());
+
+		parsed = (MockMsg) reader.read(MockMsg.class, new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), m.getClasses());
+		assertEquals("Hello World!", parsed.getContent());
+	}
+
+	@Test
+	public void testReadWithHeader() {
+		final ApplicationHeader ah = new ApplicationHeader();
+		ah.setMsgRef("REF1");
+		final MockMsg m = new MockMsg();
+		m.setContent("Hello World!");
+		final String xml = "<RequestPayload>" + new BusinessHeader(ah).xml("h", false)
+				+ writer.message(m.getNamespace(), m, m.getClasses(), "Doc", false) + "</RequestPayload>";
+
+		final MockMsg parsed = (MockMsg) reader.read(MockMsg.class, xml, m.getClasses());
+		assertNotNull(parsed);
+		assertEquals("Hello World!", parsed.getContent());
+		assertNotNull(parsed.getBusinessHeader());
+		assertEquals("REF1", parsed.getBusinessHeader().getApplicationHeader().getMsgRef());
+	}
+
+	@Test
+	public void testReadInvalid() {
+		assertNull(reader.read(MockMsg.class, "", null));
+		assertNull(reader.read(MockMsg.class, "<foo>", null));
+		assertNull(reader.read(MockMsg.class, "<foo></foo>", null));
+	}
+
+	@Test
+	public void testReadSpecificNotAvailable() {
+		final MockMsg m = new MockMsg();
+		final String xml = writer.message("urn:iso:std:iso:20022:tech:xsd:pacs.008.001.02", m, m.getClasses(), null, false);
+		assertNull(reader.read(xml, null));
+		assertNull(reader.read(xml, new MxId("pacs.008.001.02")));
+	}
+
+}
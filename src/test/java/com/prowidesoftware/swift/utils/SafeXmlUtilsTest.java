@@ -0,0 +1,166 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.utils;
+
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamReader;
+import java.io.StringReader;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test for {@link SafeXmlUtils}
+ *
+ * @since 8.0.2
+ */
+public class SafeXmlUtilsTest {
+
+	private static final String XXE = "<?xml version=\"1.0\"?><!DOCTYPE foo [<!ENTITY xxe SYSTEM \"file:///etc/passwd\">]><foo>&xxe;</foo>";
+
+	@Test
+	public void testSharedInputFactory() throws Exception {
+		final XMLInputFactory factory = SafeXmlUtils.sharedInputFactory();
+		assertSame(factory, SafeXmlUtils.sharedInputFactory());
+		assertEquals(Boolean.FALSE, factory.getProperty(XMLInputFactory.SUPPORT_DTD));
+		try {
+			factory.setProperty(XMLInputFactory.SUPPORT_DTD, true);
+			fail("the shared factory must not be modifiable");
+		} catch (final UnsupportedOperationException e) {
+			// expected
+		}
+		final XMLStreamReader reader = factory.createXMLStreamReader(new StringReader("<foo>bar</foo>"));
+		reader.nextTag();
+		assertEquals("bar", reader.getElementText());
+
+		// a new factory that can be further configured
+		final XMLInputFactory own = SafeXmlUtils.inputFactory();
+		assertNotSame(factory, own);
+		assertNotSame(own, SafeXmlUtils.inputFactory());
+		assertEquals(Boolean.FALSE, own.getProperty(XMLInputFactory.SUPPORT_DTD));
+		own.setProperty(XMLInputFactory.IS_COALESCING, true);
+	}
+
+	@Test
+	public void testDocumentBuilder() throws Exception {
+		// a new builder on each call
+		final DocumentBuilder builder = SafeXmlUtils.documentBuilder();
+		final DefaultHandler handler = new DefaultHandler();
+		builder.setErrorHandler(handler);
+		assertNotSame(builder, SafeXmlUtils.documentBuilder());
+		final Document doc = builder.parse(new InputSource(new StringReader("<foo>bar</foo>")));
+		assertEquals("bar", doc.getDocumentElement().getTextContent());
+		assertNotSame(builder, SafeXmlUtils.pooledDocumentBuilder(false));
+	}
+
+	@Test
+	public void testPooledDocumentBuilder() throws Exception {
+		final DocumentBuilder builder = SafeXmlUtils.pooledDocumentBuilder(false);
+		builder.setErrorHandler(new DefaultHandler());
+		final Document doc = builder.parse(new InputSource(new StringReader("<foo>bar</foo>")));
+		assertEquals("bar", doc.getDocumentElement().getTextContent());
+		assertSame(builder, SafeXmlUtils.pooledDocumentBuilder(false));
+		assertNotSame(builder, SafeXmlUtils.pooledDocumentBuilder(true));
+
+		// builders are not shared among threads
+		final AtomicReference<DocumentBuilder> other = new AtomicReference<>();
+		final Thread t = new Thread(() -> other.set(SafeXmlUtils.pooledDocumentBuilder(false)));
+		t.start();
+		t.join();
+		assertNotNull(other.get());
+		assertNotSame(builder, other.get());
+	}
+
+	@Test(expected = SAXException.class)
+	public void testDocumentBuilderRejectsDoctype() throws Exception {
+		final DocumentBuilder builder = SafeXmlUtils.documentBuilder();
+		builder.setErrorHandler(new DefaultHandler());
+		builder.parse(new InputSource(new StringReader(XXE)));
+	}
+
+	@Test(expected = SAXException.class)
+	public void testPooledDocumentBuilderRejectsDoctype() throws Exception {
+		final DocumentBuilder builder = SafeXmlUtils.pooledDocumentBuilder(false);
+		builder.setErrorHandler(new DefaultHandler());
+		builder.parse(new InputSource(new StringReader(XXE)));
+	}
+
+	@Test
+	public void testReader() throws Exception {
+		// a new reader on each call, keeping its handlers
+		final XMLReader reader = SafeXmlUtils.reader();
+		final DefaultHandler handler = new DefaultHandler();
+		reader.setContentHandler(handler);
+		assertNotSame(reader, SafeXmlUtils.reader());
+		assertNotSame(reader, SafeXmlUtils.pooledReader(false));
+		assertSame(handler, reader.getContentHandler());
+	}
+
+	@Test
+	public void testPooledReader() throws Exception {
+		final XMLReader reader = SafeXmlUtils.pooledReader(false);
+		final StringBuilder text = new StringBuilder();
+		reader.setContentHandler(new DefaultHandler() {
+			@Override
+			public void characters(final char[] ch, final int start, final int length) {
+				text.append(ch, start, length);
+			}
+		});
+		reader.parse(new InputSource(new StringReader("<foo>bar</foo>")));
+		assertEquals("bar", text.toString());
+
+		// reused with the handlers cleared
+		assertSame(reader, SafeXmlUtils.pooledReader(false));
+		assertNull(reader.getContentHandler());
+
+		// not reused once reconfigured
+		reader.setFeature("http://xml.org/sax/features/namespace-prefixes", true);
+		final XMLReader other = SafeXmlUtils.pooledReader(false);
+		assertNotSame(reader, other);
+		assertSame(other, SafeXmlUtils.pooledReader(false));
+	}
+
+	@Test
+	public void testPooledReaderNested() throws Exception {
+		final XMLReader reader = SafeXmlUtils.pooledReader(false);
+		final AtomicReference<XMLReader> nested = new AtomicReference<>();
+		reader.setContentHandler(new DefaultHandler() {
+			@Override
+			public void startElement(final String uri, final String localName, final String qName, final org.xml.sax.Attributes attributes) {
+				nested.set(SafeXmlUtils.pooledReader(false));
+			}
+		});
+		reader.parse(new InputSource(new StringReader("<foo/>")));
+		assertNotNull(nested.get());
+		assertNotSame(reader, nested.get());
+	}
+
+	@Test(expected = SAXException.class)
+	public void testPooledReaderRejectsDoctype() throws Exception {
+		final XMLReader reader = SafeXmlUtils.pooledReader(false);
+		reader.setErrorHandler(new DefaultHandler());
+		reader.parse(new InputSource(new StringReader(XXE)));
+	}
+
+}
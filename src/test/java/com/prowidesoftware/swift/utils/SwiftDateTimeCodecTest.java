@@ -0,0 +1,111 @@
+/*
+ * Copyright 2006-2018 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.utils;
+
+import com.prowidesoftware.swift.utils.SwiftDateTimeCodec.Format;
+import org.apache.commons.lang3.time.DateFormatUtils;
+import org.junit.Test;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test for {@link SwiftDateTimeCodec}, checking the results are the same as with SimpleDateFormat and DateFormatUtils
+ *
+ * @since 8.0.2
+ */
+public class SwiftDateTimeCodecTest {
+
+	@Test
+	public void testParseSameAsSimpleDateFormat() {
+		final int year = Calendar.getInstance().get(Calendar.YEAR);
+		final String boundary = String.format("%02d", (year - 80) % 100);
+		final String[][] values = {
+				{"DATE2", "181127", "000229", "010229", "991231", "000101", "131301", "180132", boundary + "0101", boundary + "1231"},
+				{"DATE3", "1811", "1800", "1813", "9912"},
+				{"DATE4", "20181127", "20000229", "19000229", "00000101", "20181131"},
+				{"YEAR", "2018", "0000", "0001"},
+				{"TIME2", "235959", "000000", "240000", "126000", "120060"},
+				{"HHMM", "2359", "0000", "2400", "1260"},
+				{"HOUR", "00", "23", "24"},
+				{"DATETIME", "201811272359", "201811272400", "201802290000"},
+				{"DATETIME_SHORT_YEAR", "1811272359", "1811272400", "0002290000", boundary + "01010000"},
+				{"DAYTIME", "012359", "312359", "322359", "000000"},
+		};
+		for (String[] row : values) {
+			final Format format = Format.valueOf(row[0]);
+			for (int i = 1; i < row.length; i++) {
+				final Calendar expected = legacyParse(row[i], format.pattern());
+				final Calendar actual = SwiftDateTimeCodec.parse(row[i], format);
+				if (expected == null) {
+					assertNull(format + " " + row[i], actual);
+				} else {
+					assertNotNull(format + " " + row[i], actual);
+					assertEquals(format + " " + row[i], expected.getTimeInMillis(), actual.getTimeInMillis());
+					assertEquals(format + " " + row[i], expected, actual);
+				}
+			}
+		}
+		assertNull(SwiftDateTimeCodec.parse(null, Format.DATE2));
+		assertNull(SwiftDateTimeCodec.parse("1811", Format.DATE2));
+	}
+
+	@Test
+	public void testParseNonDigits() {
+		// SimpleDateFormat would accept a partial number in the last field
+		assertNull(SwiftDateTimeCodec.parse("18112A", Format.DATE2));
+		assertNull(SwiftDateTimeCodec.parse("1811 7", Format.DATE2));
+		assertNull(SwiftDateTimeCodec.parse("2018112B", Format.DATE4));
+		assertNull(SwiftDateTimeCodec.parse("12:0", Format.HHMM));
+		assertNull(SwiftDateTimeCodec.parse("-1", Format.HOUR));
+		assertNull(SwiftDateTimeCodec.parseLocalDate("18112A", Format.DATE2));
+	}
+
+	@Test
+	public void testFormatSameAsDateFormatUtils() {
+		final Calendar[] dates = {
+				new GregorianCalendar(2018, Calendar.NOVEMBER, 27, 23, 59, 58),
+				new GregorianCalendar(2001, Calendar.JANUARY, 2, 3, 4, 5),
+				new GregorianCalendar(15, Calendar.JANUARY, 2, 0, 0, 0),
+				new GregorianCalendar(TimeZone.getTimeZone("GMT+09:30")),
+				Calendar.getInstance()
+		};
+		for (Calendar date : dates) {
+			for (Format format : Format.values()) {
+				assertEquals(format + " " + date.getTime(), DateFormatUtils.format(date.getTime(), format.pattern()), SwiftDateTimeCodec.format(date, format));
+			}
+		}
+		assertNull(SwiftDateTimeCodec.format(null, Format.DATE2));
+	}
+
+	private static Calendar legacyParse(final String value, final String pattern) {
+		try {
+			final SimpleDateFormat sdf = new SimpleDateFormat(pattern);
+			sdf.setLenient(false);
+			final Calendar cal = new GregorianCalendar();
+			cal.setTime(sdf.parse(value));
+			return cal;
+		} catch (final ParseException e) {
+			return null;
+		}
+	}
+
+}
@@ -18,7 +18,12 @@ package com.prowidesoftware.swift.utils;
 import org.junit.Test;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
 import java.time.Year;
+import java.time.ZoneOffset;
 import java.util.Calendar;
 
 import static org.junit.Assert.*;
@@ -170,4 +175,33 @@ public class SwiftFormatUtilsTest {
 		assertEquals(4, SwiftFormatUtils.decimalsInAmount(new BigDecimal("112789.2189")));
 	}
 	
+
+	@Test
+	public void testJavaTime() {
+		assertEquals(LocalDate.of(2018, 11, 27), SwiftFormatUtils.getLocalDate2("181127"));
+		assertEquals(LocalDate.of(2018, 11, 27), SwiftFormatUtils.getLocalDate4("20181127"));
+		assertNull(SwiftFormatUtils.getLocalDate4("20181131"));
+		assertNull(SwiftFormatUtils.getLocalDate2(null));
+		assertEquals("181127", SwiftFormatUtils.getDate2(LocalDate.of(2018, 11, 27)));
+		assertEquals("20181127", SwiftFormatUtils.getDate4(LocalDate.of(2018, 11, 27)));
+
+		assertEquals(LocalTime.of(23, 59, 1), SwiftFormatUtils.getLocalTime2("235901"));
+		assertNull(SwiftFormatUtils.getLocalTime2("245901"));
+		assertEquals(LocalTime.of(9, 5), SwiftFormatUtils.getLocalTime3("0905"));
+		assertEquals(LocalTime.of(9, 0), SwiftFormatUtils.getLocalTime3("09"));
+		assertEquals("235901", SwiftFormatUtils.getTime2(LocalTime.of(23, 59, 1)));
+		assertEquals("0905", SwiftFormatUtils.getTime3(LocalTime.of(9, 5)));
+
+		assertEquals(LocalDateTime.of(2018, 11, 27, 10, 30), SwiftFormatUtils.getLocalDateTime("201811271030"));
+		assertEquals("201811271030", SwiftFormatUtils.getDateTime(LocalDateTime.of(2018, 11, 27, 10, 30)));
+
+		assertEquals(ZoneOffset.ofHoursMinutes(-3, -30), SwiftFormatUtils.getZoneOffset('-', "0330"));
+		assertEquals(ZoneOffset.ofHours(2), SwiftFormatUtils.getZoneOffset('+', "0200"));
+		assertNull(SwiftFormatUtils.getZoneOffset('+', "1900"));
+		assertEquals("0330", SwiftFormatUtils.getOffset(ZoneOffset.ofHoursMinutes(-3, -30)));
+		assertEquals(OffsetDateTime.of(2018, 11, 27, 10, 30, 15, 0, ZoneOffset.ofHours(-3)),
+				SwiftFormatUtils.getOffsetDateTime("20181127", "103015", '-', "0300"));
+		assertNull(SwiftFormatUtils.getOffsetDateTime("20181127", "103015", '-', null));
+	}
+
 }